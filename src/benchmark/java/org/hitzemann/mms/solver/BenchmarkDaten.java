@@ -0,0 +1,76 @@
+package org.hitzemann.mms.solver;
+
+import java.util.Random;
+
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+
+/**
+ * Gemeinsame, reproduzierbare Eingabedaten für die Benchmarks.
+ * 
+ * @author chschu
+ */
+public final class BenchmarkDaten {
+
+    /**
+     * Startwert für die Zufallszahlen, damit alle Läufe die gleichen Daten verwenden.
+     */
+    public static final long SAAT = 1;
+
+    /**
+     * Nicht instanziierbar.
+     */
+    private BenchmarkDaten() {
+    }
+
+    /**
+     * Liefert einen typischen ersten Zug nach dem Muster 1122 (bei 4 Pins), also jede Farbe zweimal.
+     * 
+     * @param pins
+     *            Die Anzahl der Pins.
+     * @return Der erste Zug.
+     */
+    public static SpielKombination getErsterZug(final int pins) {
+        final int[] werte = new int[pins];
+        for (int i = 0; i < pins; i++) {
+            werte[i] = i / 2 + 1;
+        }
+        return new SpielKombination(werte);
+    }
+
+    /**
+     * Liefert eine zufällige, aber reproduzierbare geheime Kombination.
+     * 
+     * @param pins
+     *            Die Anzahl der Pins.
+     * @return Die geheime Kombination.
+     */
+    public static SpielKombination getGeheim(final int pins) {
+        final KombinationsRaum raum = KombinationsRaum.getInstance(pins);
+        return raum.getKombination(new Random(SAAT).nextInt(raum.getGroesse()));
+    }
+
+    /**
+     * Liefert die Kandidaten, die nach dem ersten Zug (siehe {@link #getErsterZug(int)}) für die geheime Kombination
+     * (siehe {@link #getGeheim(int)}) übrig bleiben.
+     * 
+     * @param berechner
+     *            Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     * @param pins
+     *            Die Anzahl der Pins.
+     * @return Die verbleibenden Kandidaten.
+     */
+    public static KombinationsMenge getKandidatenNachErstemZug(final IErgebnisBerechnung berechner, final int pins) {
+        final KombinationsRaum raum = KombinationsRaum.getInstance(pins);
+        final SpielKombination ersterZug = getErsterZug(pins);
+        final int antwort = berechner.berechneErgebnisCode(getGeheim(pins), ersterZug);
+        final KombinationsMenge result = new KombinationsMenge(raum);
+        for (SpielKombination kandidat : raum.getAlle()) {
+            if (berechner.berechneErgebnisCode(kandidat, ersterZug) == antwort) {
+                result.add(kandidat);
+            }
+        }
+        return result;
+    }
+}
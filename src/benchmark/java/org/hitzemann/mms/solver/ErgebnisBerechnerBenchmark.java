@@ -0,0 +1,120 @@
+package org.hitzemann.mms.solver;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark für die Implementierungen von {@link IErgebnisBerechnung}. Gemessen wird der Durchsatz pro berechnetem
+ * Ergebnis über eine feste Menge zufälliger Paare von internierten Kombinationen.
+ * 
+ * @author chschu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErgebnisBerechnerBenchmark {
+
+    /**
+     * Die Anzahl der Paare pro Aufruf.
+     */
+    private static final int PAARE = 1024;
+
+    /**
+     * Die Anzahl der Pins.
+     */
+    @Param({ "3", "4", "5", "6" })
+    public int pins;
+
+    /**
+     * Die zu messende Implementierung.
+     */
+    @Param({ "Default", "Linear", "BitParallel" })
+    public String implementierung;
+
+    /**
+     * Die zu messende Instanz.
+     */
+    private IErgebnisBerechnung berechner;
+
+    /**
+     * Die geheimen Kombinationen.
+     */
+    private SpielKombination[] geheim;
+
+    /**
+     * Die geratenen Kombinationen.
+     */
+    private SpielKombination[] geraten;
+
+    /**
+     * Erzeugt die zu messende Instanz und die Paare.
+     */
+    @Setup
+    public void setUp() {
+        if ("Default".equals(implementierung)) {
+            berechner = new DefaultErgebnisBerechner();
+        } else if ("Linear".equals(implementierung)) {
+            berechner = new LinearerErgebnisBerechner();
+        } else if ("BitParallel".equals(implementierung)) {
+            berechner = new BitParallelerErgebnisBerechner();
+        } else {
+            throw new IllegalArgumentException("Unbekannte Implementierung " + implementierung);
+        }
+        final KombinationsRaum raum = KombinationsRaum.getInstance(pins);
+        final Random random = new Random(BenchmarkDaten.SAAT);
+        geheim = new SpielKombination[PAARE];
+        geraten = new SpielKombination[PAARE];
+        for (int i = 0; i < PAARE; i++) {
+            geheim[i] = raum.getKombination(random.nextInt(raum.getGroesse()));
+            geraten[i] = raum.getKombination(random.nextInt(raum.getGroesse()));
+        }
+    }
+
+    /**
+     * Misst {@link IErgebnisBerechnung#berechneErgebnis(SpielKombination, SpielKombination)}.
+     * 
+     * @param blackhole
+     *            Senke für die Ergebnisse.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PAARE)
+    public void berechneErgebnis(final Blackhole blackhole) {
+        for (int i = 0; i < PAARE; i++) {
+            blackhole.consume(berechner.berechneErgebnis(geheim[i], geraten[i]));
+        }
+    }
+
+    /**
+     * Misst {@link IErgebnisBerechnung#berechneErgebnisCode(SpielKombination, SpielKombination)}.
+     * 
+     * @return Die Summe der Codes, damit die Berechnung nicht wegoptimiert wird.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PAARE)
+    public int berechneErgebnisCode() {
+        int result = 0;
+        for (int i = 0; i < PAARE; i++) {
+            result += berechner.berechneErgebnisCode(geheim[i], geraten[i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,68 @@
+package org.hitzemann.mms.solver;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.SpielKombination;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark für die Zugberechnung des {@link KnuthSolver}s nach dem ersten Zug. Gemessen wird
+ * {@link KnuthSolver#errechneBesteKombination(java.util.Set)}, also ohne den Cache.
+ * 
+ * @author chschu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KnuthSolverBenchmark {
+
+    /**
+     * Die Anzahl der Pins. Mit 6 Pins dauert ein einzelner Aufruf zu lange für eine sinnvolle Messung.
+     */
+    @Param({ "3", "4", "5" })
+    public int pins;
+
+    /**
+     * Der zu messende Solver.
+     */
+    private KnuthSolver solver;
+
+    /**
+     * Die Kandidaten nach dem ersten Zug.
+     */
+    private KombinationsMenge kandidaten;
+
+    /**
+     * Erzeugt den Solver und die Kandidaten.
+     */
+    @Setup
+    public void setUp() {
+        final IErgebnisBerechnung berechner = new LinearerErgebnisBerechner();
+        solver = new KnuthSolver(berechner, pins);
+        kandidaten = BenchmarkDaten.getKandidatenNachErstemZug(berechner, pins);
+    }
+
+    /**
+     * Misst die Berechnung des zweiten Zugs.
+     * 
+     * @return Der berechnete Zug.
+     */
+    @Benchmark
+    public SpielKombination errechneBesteKombination() {
+        return solver.errechneBesteKombination(kandidaten);
+    }
+}
@@ -0,0 +1,86 @@
+package org.hitzemann.mms.solver.rule;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hitzemann.mms.model.DefaultSpielKombinationFactory;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.solver.BenchmarkDaten;
+import org.hitzemann.mms.solver.IErgebnisBerechnung;
+import org.hitzemann.mms.solver.LinearerErgebnisBerechner;
+import org.hitzemann.mms.solver.rule.entropy.EntropyRule;
+import org.hitzemann.mms.solver.rule.mostparts.MostPartsRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark für {@link IRule#getGuess(KombinationsMenge)} der über alle Kombinationen suchenden Regeln, mit den
+ * Kandidaten nach dem ersten Zug.
+ * 
+ * @author chschu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RuleBenchmark {
+
+    /**
+     * Die Anzahl der Pins. Mit 6 Pins dauert ein einzelner Aufruf zu lange für eine sinnvolle Messung.
+     */
+    @Param({ "3", "4", "5" })
+    public int pins;
+
+    /**
+     * Die zu messende Regel.
+     */
+    @Param({ "Entropy", "MostParts" })
+    public String regel;
+
+    /**
+     * Die zu messende Instanz.
+     */
+    private IRule rule;
+
+    /**
+     * Die Kandidaten nach dem ersten Zug.
+     */
+    private KombinationsMenge kandidaten;
+
+    /**
+     * Erzeugt die Regel und die Kandidaten.
+     */
+    @Setup
+    public void setUp() {
+        final IErgebnisBerechnung berechner = new LinearerErgebnisBerechner();
+        if ("Entropy".equals(regel)) {
+            rule = new EntropyRule(berechner, new DefaultSpielKombinationFactory(), pins);
+        } else if ("MostParts".equals(regel)) {
+            rule = new MostPartsRule(berechner, new DefaultSpielKombinationFactory(), pins);
+        } else {
+            throw new IllegalArgumentException("Unbekannte Regel " + regel);
+        }
+        kandidaten = BenchmarkDaten.getKandidatenNachErstemZug(berechner, pins);
+    }
+
+    /**
+     * Misst die Berechnung des zweiten Zugs.
+     * 
+     * @return Der berechnete Zug.
+     */
+    @Benchmark
+    public SpielKombination getGuess() {
+        return rule.getGuess(kandidaten);
+    }
+}
@@ -0,0 +1,104 @@
+package org.hitzemann.mms.solver.rule;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hitzemann.mms.model.DefaultSpielKombinationFactory;
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.solver.BenchmarkDaten;
+import org.hitzemann.mms.solver.IErgebnisBerechnung;
+import org.hitzemann.mms.solver.LinearerErgebnisBerechner;
+import org.hitzemann.mms.solver.rule.knuth.KnuthRuleFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark für das Eliminieren der Kandidaten im {@link RuleSolver} nach dem ersten Zug. Da das Eliminieren den
+ * Solver verändert, wird vor jedem Aufruf ein Stapel neuer Solver erzeugt, der im Aufruf abgearbeitet wird. So fallen
+ * der Aufwand der Vorbereitung und die Ungenauigkeit der Zeitmessung pro Aufruf nicht ins Gewicht. Die Folge-Regel ist
+ * eine triviale
+ * {@link org.hitzemann.mms.solver.rule.knuth.GuessFirstRule}, so dass im Wesentlichen das Eliminieren gemessen wird.
+ * 
+ * @author chschu
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RuleSolverBenchmark {
+
+    /**
+     * Die Anzahl der Solver pro Aufruf.
+     */
+    private static final int SOLVER = 64;
+
+    /**
+     * Die Anzahl der Pins.
+     */
+    @Param({ "3", "4", "5", "6" })
+    public int pins;
+
+    /**
+     * Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     */
+    private final IErgebnisBerechnung berechner = new LinearerErgebnisBerechner();
+
+    /**
+     * Der erste Zug.
+     */
+    private SpielKombination ersterZug;
+
+    /**
+     * Die Antwort auf den ersten Zug.
+     */
+    private ErgebnisKombination antwort;
+
+    /**
+     * Die zu messenden Solver, für jeden Aufruf neu erzeugt.
+     */
+    private final RuleSolver[] solver = new RuleSolver[SOLVER];
+
+    /**
+     * Berechnet den ersten Zug und die Antwort darauf.
+     */
+    @Setup
+    public void setUp() {
+        ersterZug = BenchmarkDaten.getErsterZug(pins);
+        antwort = berechner.berechneErgebnis(BenchmarkDaten.getGeheim(pins), ersterZug);
+    }
+
+    /**
+     * Erzeugt neue Solver mit allen Kandidaten.
+     */
+    @Setup(Level.Invocation)
+    public void setUpSolver() {
+        for (int i = 0; i < SOLVER; i++) {
+            solver[i] = new RuleSolver(berechner, new DefaultSpielKombinationFactory(), pins,
+                    new KnuthRuleFactory().createGuessFirstRule(0, Integer.MAX_VALUE));
+        }
+    }
+
+    /**
+     * Misst das Eliminieren nach dem ersten Zug.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SOLVER)
+    public void eliminate() {
+        for (int i = 0; i < SOLVER; i++) {
+            solver[i].setLetzterZug(ersterZug, antwort);
+        }
+    }
+}
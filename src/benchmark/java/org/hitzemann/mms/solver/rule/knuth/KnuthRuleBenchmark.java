@@ -0,0 +1,97 @@
+package org.hitzemann.mms.solver.rule.knuth;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.solver.BenchmarkDaten;
+import org.hitzemann.mms.solver.IErgebnisBerechnung;
+import org.hitzemann.mms.solver.LinearerErgebnisBerechner;
+import org.hitzemann.mms.solver.rule.IRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark für {@link KnuthRule}. Die Regel ist nur für 4 Pins definiert, daher gibt es hier keinen Parameter für
+ * die Anzahl der Pins. Gemessen werden der erste Zug und der zweite Zug nach der Antwort auf den ersten.
+ * 
+ * @author chschu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KnuthRuleBenchmark {
+
+    /**
+     * Die Anzahl der Pins der {@link KnuthRule}.
+     */
+    private static final int PINS = 4;
+
+    /**
+     * Die Regel für den ersten Zug.
+     */
+    private IRule ersteRegel;
+
+    /**
+     * Alle Kandidaten.
+     */
+    private KombinationsMenge alleKandidaten;
+
+    /**
+     * Die Regel für den zweiten Zug.
+     */
+    private IRule zweiteRegel;
+
+    /**
+     * Die Kandidaten nach dem ersten Zug.
+     */
+    private KombinationsMenge kandidaten;
+
+    /**
+     * Erzeugt die Regeln und die Kandidaten.
+     */
+    @Setup
+    public void setUp() {
+        final IErgebnisBerechnung berechner = new LinearerErgebnisBerechner();
+        final KombinationsRaum raum = KombinationsRaum.getInstance(PINS);
+        ersteRegel = new KnuthRule();
+        alleKandidaten = new KombinationsMenge(raum);
+        alleKandidaten.addAll(raum.getAlle());
+        final SpielKombination ersterZug = ersteRegel.getGuess(alleKandidaten);
+        zweiteRegel = ersteRegel.getRuleForResponse(berechner.berechneErgebnis(BenchmarkDaten.getGeheim(PINS),
+                ersterZug));
+        kandidaten = BenchmarkDaten.getKandidatenNachErstemZug(berechner, PINS);
+    }
+
+    /**
+     * Misst den ersten Zug.
+     * 
+     * @return Der berechnete Zug.
+     */
+    @Benchmark
+    public SpielKombination ersterZug() {
+        return ersteRegel.getGuess(alleKandidaten);
+    }
+
+    /**
+     * Misst den zweiten Zug.
+     * 
+     * @return Der berechnete Zug.
+     */
+    @Benchmark
+    public SpielKombination zweiterZug() {
+        return zweiteRegel.getGuess(kandidaten);
+    }
+}
@@ -3,7 +3,6 @@
 package org.hitzemann.mms.solver.rule.knuth;
 
 import org.hitzemann.mms.model.SpielKombination;
-import org.hitzemann.mms.model.SpielStein;
 import org.hitzemann.mms.solver.rule.IRule;
 
 import java.math.BigInteger;
@@ -51,7 +50,14 @@ public class KnuthRuleParser extends Parser {
     public String getGrammarFileName() { return "C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g"; }
 
 
-    private static final SpielStein[] colorValues = SpielStein.values();
+    private static int[] toIntArray(final List<Integer> values) {
+    	final int[] result = new int[values.size()];
+    	int index = 0;
+    	for (Integer value : values) {
+    		result[index++] = value.intValue();
+    	}
+    	return result;
+    }
 
     private IKnuthRuleFactory ruleFactory;
 
@@ -62,7 +68,7 @@ public class KnuthRuleParser extends Parser {
 
 
     // $ANTLR start "start"
-    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:32:1: start returns [IRule value] : r= rule EOF ;
+    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:38:1: start returns [IRule value] : r= rule EOF ;
     public final IRule start() throws RecognitionException {
         IRule value = null;
 
@@ -71,8 +77,8 @@ public class KnuthRuleParser extends Parser {
 
 
         try {
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:36:3: (r= rule EOF )
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:37:3: r= rule EOF
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:42:3: (r= rule EOF )
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:43:3: r= rule EOF
             {
             pushFollow(FOLLOW_rule_in_start66);
             r=rule();
@@ -103,7 +109,7 @@ public class KnuthRuleParser extends Parser {
 
 
     // $ANTLR start "rule"
-    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:40:1: rule returns [IRule value] : (r= ruleAtMostTwo |r= ruleGuessFixedLeavesAtMostOne |r= ruleGuessFixedLeavesAtMostTwo |r= ruleGuessFixedLeavesMoreThanTwo );
+    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:46:1: rule returns [IRule value] : (r= ruleAtMostTwo |r= ruleGuessFixedLeavesAtMostOne |r= ruleGuessFixedLeavesAtMostTwo |r= ruleGuessFixedLeavesMoreThanTwo );
     public final IRule rule() throws RecognitionException {
         IRule value = null;
 
@@ -112,12 +118,12 @@ public class KnuthRuleParser extends Parser {
 
 
         try {
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:44:3: (r= ruleAtMostTwo |r= ruleGuessFixedLeavesAtMostOne |r= ruleGuessFixedLeavesAtMostTwo |r= ruleGuessFixedLeavesMoreThanTwo )
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:50:3: (r= ruleAtMostTwo |r= ruleGuessFixedLeavesAtMostOne |r= ruleGuessFixedLeavesAtMostTwo |r= ruleGuessFixedLeavesMoreThanTwo )
             int alt1=4;
             alt1 = dfa1.predict(input);
             switch (alt1) {
                 case 1 :
-                    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:45:3: r= ruleAtMostTwo
+                    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:51:3: r= ruleAtMostTwo
                     {
                     pushFollow(FOLLOW_ruleAtMostTwo_in_rule94);
                     r=ruleAtMostTwo();
@@ -128,7 +134,7 @@ public class KnuthRuleParser extends Parser {
                     }
                     break;
                 case 2 :
-                    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:46:5: r= ruleGuessFixedLeavesAtMostOne
+                    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:52:5: r= ruleGuessFixedLeavesAtMostOne
                     {
                     pushFollow(FOLLOW_ruleGuessFixedLeavesAtMostOne_in_rule102);
                     r=ruleGuessFixedLeavesAtMostOne();
@@ -139,7 +145,7 @@ public class KnuthRuleParser extends Parser {
                     }
                     break;
                 case 3 :
-                    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:47:5: r= ruleGuessFixedLeavesAtMostTwo
+                    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:53:5: r= ruleGuessFixedLeavesAtMostTwo
                     {
                     pushFollow(FOLLOW_ruleGuessFixedLeavesAtMostTwo_in_rule110);
                     r=ruleGuessFixedLeavesAtMostTwo();
@@ -150,7 +156,7 @@ public class KnuthRuleParser extends Parser {
                     }
                     break;
                 case 4 :
-                    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:48:5: r= ruleGuessFixedLeavesMoreThanTwo
+                    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:54:5: r= ruleGuessFixedLeavesMoreThanTwo
                     {
                     pushFollow(FOLLOW_ruleGuessFixedLeavesMoreThanTwo_in_rule118);
                     r=ruleGuessFixedLeavesMoreThanTwo();
@@ -181,7 +187,7 @@ public class KnuthRuleParser extends Parser {
 
 
     // $ANTLR start "ruleAtMostTwo"
-    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:51:1: ruleAtMostTwo returns [IRule value] : n= integer ;
+    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:57:1: ruleAtMostTwo returns [IRule value] : n= integer ;
     public final IRule ruleAtMostTwo() throws RecognitionException {
         IRule value = null;
 
@@ -190,8 +196,8 @@ public class KnuthRuleParser extends Parser {
 
 
         try {
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:56:3: (n= integer )
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:57:3: n= integer
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:62:3: (n= integer )
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:63:3: n= integer
             {
             pushFollow(FOLLOW_integer_in_ruleAtMostTwo144);
             n=integer();
@@ -221,7 +227,7 @@ public class KnuthRuleParser extends Parser {
 
 
     // $ANTLR start "ruleGuessFixedLeavesAtMostOne"
-    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:60:1: ruleGuessFixedLeavesAtMostOne returns [IRule value] : n= integer '(' c= combination ')' ;
+    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:66:1: ruleGuessFixedLeavesAtMostOne returns [IRule value] : n= integer '(' c= combination ')' ;
     public final IRule ruleGuessFixedLeavesAtMostOne() throws RecognitionException {
         IRule value = null;
 
@@ -232,8 +238,8 @@ public class KnuthRuleParser extends Parser {
 
 
         try {
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:65:3: (n= integer '(' c= combination ')' )
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:66:3: n= integer '(' c= combination ')'
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:71:3: (n= integer '(' c= combination ')' )
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:72:3: n= integer '(' c= combination ')'
             {
             pushFollow(FOLLOW_integer_in_ruleGuessFixedLeavesAtMostOne170);
             n=integer();
@@ -273,7 +279,7 @@ public class KnuthRuleParser extends Parser {
 
 
     // $ANTLR start "ruleGuessFixedLeavesAtMostTwo"
-    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:69:1: ruleGuessFixedLeavesAtMostTwo returns [IRule value] : n= integer '(' c= combination 'x' ')' ;
+    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:75:1: ruleGuessFixedLeavesAtMostTwo returns [IRule value] : n= integer '(' c= combination 'x' ')' ;
     public final IRule ruleGuessFixedLeavesAtMostTwo() throws RecognitionException {
         IRule value = null;
 
@@ -284,8 +290,8 @@ public class KnuthRuleParser extends Parser {
 
 
         try {
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:74:3: (n= integer '(' c= combination 'x' ')' )
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:75:3: n= integer '(' c= combination 'x' ')'
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:80:3: (n= integer '(' c= combination 'x' ')' )
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:81:3: n= integer '(' c= combination 'x' ')'
             {
             pushFollow(FOLLOW_integer_in_ruleGuessFixedLeavesAtMostTwo204);
             n=integer();
@@ -327,7 +333,7 @@ public class KnuthRuleParser extends Parser {
 
 
     // $ANTLR start "ruleGuessFixedLeavesMoreThanTwo"
-    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:78:1: ruleGuessFixedLeavesMoreThanTwo returns [IRule value] : n= integer '(' c= combination ':' rll= ruleListList ')' ;
+    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:84:1: ruleGuessFixedLeavesMoreThanTwo returns [IRule value] : n= integer '(' c= combination ':' rll= ruleListList ')' ;
     public final IRule ruleGuessFixedLeavesMoreThanTwo() throws RecognitionException {
         IRule value = null;
 
@@ -340,8 +346,8 @@ public class KnuthRuleParser extends Parser {
 
 
         try {
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:83:3: (n= integer '(' c= combination ':' rll= ruleListList ')' )
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:84:3: n= integer '(' c= combination ':' rll= ruleListList ')'
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:89:3: (n= integer '(' c= combination ':' rll= ruleListList ')' )
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:90:3: n= integer '(' c= combination ':' rll= ruleListList ')'
             {
             pushFollow(FOLLOW_integer_in_ruleGuessFixedLeavesMoreThanTwo240);
             n=integer();
@@ -389,7 +395,7 @@ public class KnuthRuleParser extends Parser {
 
 
     // $ANTLR start "ruleListList"
-    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:87:1: ruleListList returns [IRule[][] value] : r= ruleList ( ';' r= ruleList )* ;
+    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:93:1: ruleListList returns [IRule[][] value] : r= ruleList ( ';' r= ruleList )* ;
     public final IRule[][] ruleListList() throws RecognitionException {
         IRule[][] value = null;
 
@@ -401,8 +407,8 @@ public class KnuthRuleParser extends Parser {
         final List<IRule[]> resultList = new LinkedList<IRule[]>();
 
         try {
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:94:3: (r= ruleList ( ';' r= ruleList )* )
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:95:3: r= ruleList ( ';' r= ruleList )*
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:100:3: (r= ruleList ( ';' r= ruleList )* )
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:101:3: r= ruleList ( ';' r= ruleList )*
             {
             pushFollow(FOLLOW_ruleList_in_ruleListList285);
             r=ruleList();
@@ -414,7 +420,7 @@ public class KnuthRuleParser extends Parser {
                           resultList.add(r);
                          
 
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:99:3: ( ';' r= ruleList )*
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:105:3: ( ';' r= ruleList )*
             loop2:
             do {
                 int alt2=2;
@@ -427,7 +433,7 @@ public class KnuthRuleParser extends Parser {
 
                 switch (alt2) {
             	case 1 :
-            	    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:99:4: ';' r= ruleList
+            	    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:105:4: ';' r= ruleList
             	    {
             	    match(input,9,FOLLOW_9_in_ruleListList306); 
 
@@ -471,7 +477,7 @@ public class KnuthRuleParser extends Parser {
 
 
     // $ANTLR start "ruleList"
-    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:105:1: ruleList returns [IRule[] value] : r= rule ( ',' r= rule )* ;
+    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:111:1: ruleList returns [IRule[] value] : r= rule ( ',' r= rule )* ;
     public final IRule[] ruleList() throws RecognitionException {
         IRule[] value = null;
 
@@ -483,8 +489,8 @@ public class KnuthRuleParser extends Parser {
         final List<IRule> resultList = new LinkedList<IRule>();
 
         try {
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:112:3: (r= rule ( ',' r= rule )* )
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:113:3: r= rule ( ',' r= rule )*
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:118:3: (r= rule ( ',' r= rule )* )
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:119:3: r= rule ( ',' r= rule )*
             {
             pushFollow(FOLLOW_rule_in_ruleList364);
             r=rule();
@@ -496,7 +502,7 @@ public class KnuthRuleParser extends Parser {
                       resultList.add(r);
                      
 
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:117:3: ( ',' r= rule )*
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:123:3: ( ',' r= rule )*
             loop3:
             do {
                 int alt3=2;
@@ -509,7 +515,7 @@ public class KnuthRuleParser extends Parser {
 
                 switch (alt3) {
             	case 1 :
-            	    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:117:4: ',' r= rule
+            	    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:123:4: ',' r= rule
             	    {
             	    match(input,7,FOLLOW_7_in_ruleList381); 
 
@@ -553,7 +559,7 @@ public class KnuthRuleParser extends Parser {
 
 
     // $ANTLR start "combination"
-    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:123:1: combination returns [SpielKombination value] : (d= DIGIT | '{' i= integer '}' )+ ;
+    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:129:1: combination returns [SpielKombination value] : (d= DIGIT | '{' i= integer '}' )+ ;
     public final SpielKombination combination() throws RecognitionException {
         SpielKombination value = null;
 
@@ -563,13 +569,13 @@ public class KnuthRuleParser extends Parser {
 
 
 
-        final List<SpielStein> tempList = new LinkedList<SpielStein>();
+        final List<Integer> tempList = new LinkedList<Integer>();
 
         try {
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:130:3: ( (d= DIGIT | '{' i= integer '}' )+ )
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:131:3: (d= DIGIT | '{' i= integer '}' )+
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:136:3: ( (d= DIGIT | '{' i= integer '}' )+ )
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:137:3: (d= DIGIT | '{' i= integer '}' )+
             {
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:131:3: (d= DIGIT | '{' i= integer '}' )+
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:137:3: (d= DIGIT | '{' i= integer '}' )+
             int cnt4=0;
             loop4:
             do {
@@ -586,19 +592,19 @@ public class KnuthRuleParser extends Parser {
 
                 switch (alt4) {
             	case 1 :
-            	    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:132:5: d= DIGIT
+            	    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:138:5: d= DIGIT
             	    {
             	    d=(Token)match(input,DIGIT,FOLLOW_DIGIT_in_combination441); 
 
 
             	                 int digitValue = Character.getNumericValue((d!=null?d.getText():null).charAt(0));
-            	                 tempList.add(colorValues[digitValue - 1]);
+            	                 tempList.add(digitValue);
             	                
 
             	    }
             	    break;
             	case 2 :
-            	    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:137:7: '{' i= integer '}'
+            	    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:143:7: '{' i= integer '}'
             	    {
             	    match(input,11,FOLLOW_11_in_combination464); 
 
@@ -611,7 +617,7 @@ public class KnuthRuleParser extends Parser {
             	    match(input,12,FOLLOW_12_in_combination470); 
 
 
-            	                             tempList.add(colorValues[i.intValue() - 1]);
+            	                             tempList.add(i.intValue());
             	                            
 
             	    }
@@ -630,7 +636,7 @@ public class KnuthRuleParser extends Parser {
             }
 
 
-            value = new SpielKombination(tempList.toArray(new SpielStein[tempList.size()]));
+            value = new SpielKombination(toIntArray(tempList));
 
         }
         catch (RecognitionException re) {
@@ -648,7 +654,7 @@ public class KnuthRuleParser extends Parser {
 
 
     // $ANTLR start "integer"
-    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:144:1: integer returns [BigInteger value] : (d= DIGIT )+ ;
+    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:150:1: integer returns [BigInteger value] : (d= DIGIT )+ ;
     public final BigInteger integer() throws RecognitionException {
         BigInteger value = null;
 
@@ -659,10 +665,10 @@ public class KnuthRuleParser extends Parser {
         final StringBuilder builder = new StringBuilder();
 
         try {
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:151:3: ( (d= DIGIT )+ )
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:152:3: (d= DIGIT )+
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:157:3: ( (d= DIGIT )+ )
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:158:3: (d= DIGIT )+
             {
-            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:152:3: (d= DIGIT )+
+            // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:158:3: (d= DIGIT )+
             int cnt5=0;
             loop5:
             do {
@@ -676,7 +682,7 @@ public class KnuthRuleParser extends Parser {
 
                 switch (alt5) {
             	case 1 :
-            	    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:152:4: d= DIGIT
+            	    // C:\\Dokumente und Einstellungen\\schusterc\\git\\MasterMindSolver\\src\\main\\antlr\\KnuthRule.g:158:4: d= DIGIT
             	    {
             	    d=(Token)match(input,DIGIT,FOLLOW_DIGIT_in_integer534); 
 
@@ -814,4 +820,4 @@ public class KnuthRuleParser extends Parser {
     public static final BitSet FOLLOW_12_in_combination470 = new BitSet(new long[]{0x0000000000000812L});
     public static final BitSet FOLLOW_DIGIT_in_integer534 = new BitSet(new long[]{0x0000000000000012L});
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -8,7 +8,6 @@ options {
 package org.hitzemann.mms.solver.rule.knuth;
 
 import org.hitzemann.mms.model.SpielKombination;
-import org.hitzemann.mms.model.SpielStein;
 import org.hitzemann.mms.solver.rule.IRule;
 
 import java.math.BigInteger;
@@ -20,7 +19,14 @@ package org.hitzemann.mms.solver.rule.knuth;
 }
 
 @parser::members {
-private static final SpielStein[] colorValues = SpielStein.values();
+private static int[] toIntArray(final List<Integer> values) {
+	final int[] result = new int[values.size()];
+	int index = 0;
+	for (Integer value : values) {
+		result[index++] = value.intValue();
+	}
+	return result;
+}
 
 private IKnuthRuleFactory ruleFactory;
 
@@ -122,21 +128,21 @@ $value = resultList.toArray(new IRule[resultList.size()]);
 
 combination returns [SpielKombination value]
 @init {
-final List<SpielStein> tempList = new LinkedList<SpielStein>();
+final List<Integer> tempList = new LinkedList<Integer>();
 }
 @after {
-$value = new SpielKombination(tempList.toArray(new SpielStein[tempList.size()]));
+$value = new SpielKombination(toIntArray(tempList));
 }
   :
   (
     d=DIGIT 
             {
              int digitValue = Character.getNumericValue($d.text.charAt(0));
-             tempList.add(colorValues[digitValue - 1]);
+             tempList.add(digitValue);
             }
     | '{' i=integer '}' 
                         {
-                         tempList.add(colorValues[$i.value.intValue() - 1]);
+                         tempList.add($i.value.intValue());
                         }
   )+
   ;
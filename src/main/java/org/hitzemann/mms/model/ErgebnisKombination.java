@@ -4,11 +4,39 @@
 package org.hitzemann.mms.model;
 
 /**
+ * <p>
+ * Das Ergebnis eines Rateversuchs.
+ * </p>
+ * 
+ * <p>
+ * Jedes Ergebnis hat einen von der Pin-Anzahl unabhängigen Code ({@link #getCode()}), der die Ergebnisse dicht
+ * nummeriert. Für Ergebnisse mit kleiner Pin-Anzahl liefert {@link #valueOf(int, int)} bzw. {@link #valueOf(int)}
+ * kanonische Instanzen, so dass bei der Ergebnisberechnung keine Objekte erzeugt werden müssen.
+ * </p>
+ * 
  * @author simon
  * 
  */
 public class ErgebnisKombination implements Comparable<ErgebnisKombination> {
 
+    /**
+     * Die maximale Summe aus schwarz und weiss, für die kanonische Instanzen vorgehalten werden.
+     */
+    private static final int MAX_INTERNIERT = 20;
+
+    /**
+     * Die kanonischen Instanzen, indiziert über ihren Code.
+     */
+    private static final ErgebnisKombination[] INSTANZEN = new ErgebnisKombination[getAnzahlCodes(MAX_INTERNIERT)];
+
+    static {
+        for (int summe = 0; summe <= MAX_INTERNIERT; summe++) {
+            for (int schwarz = 0; schwarz <= summe; schwarz++) {
+                INSTANZEN[berechneCode(schwarz, summe - schwarz)] = new ErgebnisKombination(schwarz, summe - schwarz);
+            }
+        }
+    }
+
     /**
      * Anzahl der korrekten Steine.
      */
@@ -32,6 +60,87 @@ public class ErgebnisKombination implements Comparable<ErgebnisKombination> {
         this.weiss = paramWeiss;
     }
 
+    /**
+     * Liefert die kanonische Instanz für ein Ergebnis, sofern eine vorgehalten wird, ansonsten eine neue Instanz.
+     * 
+     * @param paramSchwarz
+     *            Anzahl der korrekten Steine
+     * @param paramWeiss
+     *            Anzahl der Steine mit korrekten Farben und falschen Positionen
+     * @return ErgebnisKombination mit den angegebenen Werten
+     */
+    public static ErgebnisKombination valueOf(final int paramSchwarz, final int paramWeiss) {
+        if (paramSchwarz >= 0 && paramWeiss >= 0 && paramSchwarz + paramWeiss <= MAX_INTERNIERT) {
+            return INSTANZEN[berechneCode(paramSchwarz, paramWeiss)];
+        }
+        return new ErgebnisKombination(paramSchwarz, paramWeiss);
+    }
+
+    /**
+     * Liefert das Ergebnis zu einem Code, als kanonische Instanz sofern eine vorgehalten wird.
+     * 
+     * @param code
+     *            Der Code, siehe {@link #getCode()}.
+     * @return ErgebnisKombination mit dem angegebenen Code
+     * @throws IllegalArgumentException
+     *             Der Code ist negativ.
+     */
+    public static ErgebnisKombination valueOf(final int code) {
+        if (code < 0) {
+            throw new IllegalArgumentException("Code muss >= 0 sein, war " + code);
+        }
+        if (code < INSTANZEN.length) {
+            return INSTANZEN[code];
+        }
+        // Summe aus schwarz und weiss ist die größte Zahl s mit s*(s+1)/2 <= code
+        int summe = (int) ((Math.sqrt(8.0 * code + 1) - 1) / 2);
+        while (summe * (summe + 1) / 2 > code) {
+            summe--;
+        }
+        while ((summe + 1) * (summe + 2) / 2 <= code) {
+            summe++;
+        }
+        final int schwarz = code - summe * (summe + 1) / 2;
+        return new ErgebnisKombination(schwarz, summe - schwarz);
+    }
+
+    /**
+     * Berechnet den Code eines Ergebnisses. Die Ergebnisse werden nach der Summe aus schwarz und weiss gruppiert, und
+     * innerhalb einer Gruppe nach schwarz nummeriert.
+     * 
+     * @param paramSchwarz
+     *            Anzahl der korrekten Steine
+     * @param paramWeiss
+     *            Anzahl der Steine mit korrekten Farben und falschen Positionen
+     * @return Der Code.
+     */
+    public static int berechneCode(final int paramSchwarz, final int paramWeiss) {
+        final int summe = paramSchwarz + paramWeiss;
+        return summe * (summe + 1) / 2 + paramSchwarz;
+    }
+
+    /**
+     * Liefert die Anzahl der Codes, die für Ergebnisse mit der angegebenen Pin-Anzahl verwendet werden. Alle diese
+     * Codes sind kleiner als der Rückgabewert.
+     * 
+     * @param pins
+     *            Die Anzahl der Pins.
+     * @return Die Anzahl der Codes.
+     */
+    public static int getAnzahlCodes(final int pins) {
+        return (pins + 1) * (pins + 2) / 2;
+    }
+
+    /**
+     * Liefert den Code dieses Ergebnisses. Der Code ist unabhängig von der Pin-Anzahl und für alle Ergebnisse mit
+     * höchstens n Pins kleiner als {@link #getAnzahlCodes(int)}.
+     * 
+     * @return Der Code.
+     */
+    public final int getCode() {
+        return berechneCode(schwarz, weiss);
+    }
+
     /**
      * Standard Getter für Attribut schwarz.
      * 
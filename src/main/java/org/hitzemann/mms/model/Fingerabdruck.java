@@ -0,0 +1,81 @@
+package org.hitzemann.mms.model;
+
+/**
+ * <p>
+ * Ein unveränderlicher 128-Bit-Fingerabdruck, z.B. einer {@link KombinationsMenge}.
+ * </p>
+ * 
+ * <p>
+ * Gleiche Mengen haben den gleichen Fingerabdruck. Ungleiche Mengen haben mit an Sicherheit grenzender
+ * Wahrscheinlichkeit unterschiedliche Fingerabdrücke, so dass der Fingerabdruck als kompakter Schlüssel anstelle
+ * einer Kopie der Menge verwendet werden kann.
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class Fingerabdruck {
+
+    /**
+     * Die höherwertigen 64 Bits.
+     */
+    private final long hoch;
+
+    /**
+     * Die niederwertigen 64 Bits.
+     */
+    private final long tief;
+
+    /**
+     * Erzeugt einen Fingerabdruck.
+     * 
+     * @param theHoch
+     *            Die höherwertigen 64 Bits.
+     * @param theTief
+     *            Die niederwertigen 64 Bits.
+     */
+    public Fingerabdruck(final long theHoch, final long theTief) {
+        hoch = theHoch;
+        tief = theTief;
+    }
+
+    /**
+     * Liefert die höherwertigen 64 Bits.
+     * 
+     * @return Die höherwertigen 64 Bits.
+     */
+    public long getHoch() {
+        return hoch;
+    }
+
+    /**
+     * Liefert die niederwertigen 64 Bits.
+     * 
+     * @return Die niederwertigen 64 Bits.
+     */
+    public long getTief() {
+        return tief;
+    }
+
+    @Override
+    public int hashCode() {
+        // die Bits sind bereits gut verteilt
+        return (int) tief;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Fingerabdruck)) {
+            return false;
+        }
+        final Fingerabdruck other = (Fingerabdruck) obj;
+        return hoch == other.hoch && tief == other.tief;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", hoch, tief);
+    }
+}
@@ -3,7 +3,8 @@ package org.hitzemann.mms.model;
 import java.util.List;
 
 /**
- * Factory-Schnittstelle für die Erzeugung von {@link SpielKombination}en.
+ * Factory-Schnittstelle für die Erzeugung von {@link SpielKombination}en. Ob die gelieferten Listen veränderbar sind
+ * und ob sie die Kombinationen tatsächlich halten, hängt von der Implementierung ab.
  * 
  * @author chschu
  */
@@ -20,4 +21,14 @@ public interface ISpielKombinationFactory {
      *             Übergebene Länge ist negativ.
      */
     List<SpielKombination> erzeugeAlle(int pins);
+
+    /**
+     * Erzeugt alle gemäß einer {@link SpielKonfiguration} gültigen {@link SpielKombination}en.
+     * 
+     * @param konfiguration
+     *            Die Konfiguration.
+     * @return Eine gemäß {@link SpielKombination#compareTo(SpielKombination)} aufsteigend sortierte {@link List} mit
+     *         allen gültigen {@link SpielKombination}en der Konfiguration.
+     */
+    List<SpielKombination> erzeugeAlle(SpielKonfiguration konfiguration);
 }
@@ -0,0 +1,219 @@
+package org.hitzemann.mms.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * Eine unveränderliche, bedarfsgesteuerte Sicht auf die gültigen {@link SpielKombination}en einer
+ * {@link SpielKonfiguration}, aufsteigend sortiert gemäß {@link SpielKombination#compareTo(SpielKombination)}.
+ * </p>
+ * 
+ * <p>
+ * Die Kombinationen werden nicht gehalten, sondern bei jedem Zugriff aus ihrem Index dekodiert. Der Speicherbedarf
+ * ist daher unabhängig von der Größe des Raums, und es wird auch kein {@link KombinationsRaum} erzeugt. Die
+ * gelieferten Kombinationen kennen ihren Code im {@link KombinationsRaum} der Konfiguration, sind aber nicht mit den
+ * dort internierten Instanzen identisch.
+ * </p>
+ * 
+ * <p>
+ * Sind keine Duplikate erlaubt, werden die Indizes als Rang in der lexikographischen Reihenfolge der Variationen ohne
+ * Wiederholung interpretiert, so dass auch dann jeder Index in konstanter Zeit (bezogen auf die Raumgröße) dekodiert
+ * wird. Mit {@link #subList(int, int)} und {@link #teile(int)} lässt sich die Sicht ohne Kopie in Teilbereiche
+ * zerlegen, etwa für die parallele Verarbeitung.
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class KombinationsAnsicht extends AbstractList<SpielKombination> implements RandomAccess {
+
+    /**
+     * Die Konfiguration.
+     */
+    private final SpielKonfiguration konfiguration;
+
+    /**
+     * Pro Position die Anzahl der gültigen Kombinationen, die sich nur ab der nächsten Position unterscheiden.
+     */
+    private final int[] bloecke;
+
+    /**
+     * Der erste Index (inklusive) dieser Sicht.
+     */
+    private final int von;
+
+    /**
+     * Der letzte Index (exklusive) dieser Sicht.
+     */
+    private final int bis;
+
+    /**
+     * Erzeugt eine Sicht auf alle gültigen Kombinationen einer Konfiguration.
+     * 
+     * @param theKonfiguration
+     *            Die Konfiguration.
+     * @throws IllegalArgumentException
+     *             Die Anzahl der Kombinationen oder der Wertebereich der Codes im {@link KombinationsRaum} ist zu groß
+     *             für eine Nummerierung mit int.
+     */
+    public KombinationsAnsicht(final SpielKonfiguration theKonfiguration) {
+        konfiguration = theKonfiguration;
+        final int pins = theKonfiguration.getPins();
+        final int farben = theKonfiguration.getFarben();
+        bloecke = new int[pins];
+        long groesse = 1;
+        long codes = 1;
+        for (int i = pins - 1; i >= 0; i--) {
+            bloecke[i] = (int) groesse;
+            if (theKonfiguration.isDuplikateErlaubt()) {
+                groesse *= farben;
+            } else {
+                groesse *= farben - i;
+            }
+            // auch ohne Duplikate laufen die Codes bis farben^pins
+            codes *= farben;
+            if (codes > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Kombinationsraum mit " + pins + " Pins und " + farben
+                        + " Farben ist zu groß");
+            }
+        }
+        von = 0;
+        bis = (int) groesse;
+    }
+
+    /**
+     * Erzeugt eine Teilsicht.
+     * 
+     * @param theAnsicht
+     *            Die Sicht, deren Dekodierungsdaten verwendet werden.
+     * @param theVon
+     *            Der erste Index (inklusive), absolut.
+     * @param theBis
+     *            Der letzte Index (exklusive), absolut.
+     */
+    private KombinationsAnsicht(final KombinationsAnsicht theAnsicht, final int theVon, final int theBis) {
+        konfiguration = theAnsicht.konfiguration;
+        bloecke = theAnsicht.bloecke;
+        von = theVon;
+        bis = theBis;
+    }
+
+    /**
+     * Liefert die Konfiguration.
+     * 
+     * @return Die Konfiguration.
+     */
+    public SpielKonfiguration getKonfiguration() {
+        return konfiguration;
+    }
+
+    @Override
+    public int size() {
+        return bis - von;
+    }
+
+    @Override
+    public SpielKombination get(final int index) {
+        final int[] farben = new int[konfiguration.getPins()];
+        final int code = dekodiere(pruefeIndex(index), farben);
+        return new SpielKombination(farben, code, konfiguration.getFarben());
+    }
+
+    /**
+     * Liefert den Code im {@link KombinationsRaum} der Konfiguration für die Kombination an einem Index, ohne die
+     * Kombination zu erzeugen.
+     * 
+     * @param index
+     *            Der Index in dieser Sicht.
+     * @return Der Code.
+     * @throws IndexOutOfBoundsException
+     *             Der Index liegt außerhalb der Sicht.
+     */
+    public int getCode(final int index) {
+        return dekodiere(pruefeIndex(index), new int[konfiguration.getPins()]);
+    }
+
+    @Override
+    public KombinationsAnsicht subList(final int fromIndex, final int toIndex) {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Teilbereich " + fromIndex + " bis " + toIndex + " bei Größe "
+                    + size());
+        }
+        return new KombinationsAnsicht(this, von + fromIndex, von + toIndex);
+    }
+
+    /**
+     * Zerlegt die Sicht in höchstens die angegebene Anzahl an möglichst gleich großen, nicht leeren Teilsichten.
+     * 
+     * @param anzahl
+     *            Die gewünschte Anzahl an Teilsichten. Muss positiv sein.
+     * @return Die Teilsichten, in Reihenfolge. Leer, falls diese Sicht leer ist.
+     * @throws IllegalArgumentException
+     *             Die Anzahl ist nicht positiv.
+     */
+    public List<KombinationsAnsicht> teile(final int anzahl) {
+        if (anzahl < 1) {
+            throw new IllegalArgumentException("Anzahl muss > 0 sein");
+        }
+        final int teile = Math.min(anzahl, size());
+        final List<KombinationsAnsicht> result = new ArrayList<KombinationsAnsicht>(teile);
+        for (int i = 0; i < teile; i++) {
+            final int teilVon = von + (int) ((long) size() * i / teile);
+            final int teilBis = von + (int) ((long) size() * (i + 1) / teile);
+            result.add(new KombinationsAnsicht(this, teilVon, teilBis));
+        }
+        return result;
+    }
+
+    /**
+     * Prüft einen Index und rechnet ihn in einen absoluten Index um.
+     * 
+     * @param index
+     *            Der Index in dieser Sicht.
+     * @return Der absolute Index.
+     * @throws IndexOutOfBoundsException
+     *             Der Index liegt außerhalb der Sicht.
+     */
+    private int pruefeIndex(final int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " bei Größe " + size());
+        }
+        return von + index;
+    }
+
+    /**
+     * Dekodiert einen absoluten Index.
+     * 
+     * @param index
+     *            Der absolute Index.
+     * @param farben
+     *            Wird mit den 0-basierten Farbindizes gefüllt.
+     * @return Der Code im {@link KombinationsRaum}.
+     */
+    private int dekodiere(final int index, final int[] farben) {
+        final int anzahlFarben = konfiguration.getFarben();
+        final boolean duplikateErlaubt = konfiguration.isDuplikateErlaubt();
+        int rest = index;
+        int code = 0;
+        for (int i = 0; i < farben.length; i++) {
+            int farbe = rest / bloecke[i];
+            rest %= bloecke[i];
+            if (!duplikateErlaubt) {
+                // farbe ist der Rang unter den noch unbenutzten Farben, die benutzten Farben davor überspringen
+                for (int j = 0; j <= farbe; j++) {
+                    for (int k = 0; k < i; k++) {
+                        if (farben[k] == j) {
+                            farbe++;
+                            break;
+                        }
+                    }
+                }
+            }
+            farben[i] = farbe;
+            code = code * anzahlFarben + farbe;
+        }
+        return code;
+    }
+}
@@ -0,0 +1,401 @@
+package org.hitzemann.mms.model;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>
+ * Eine Menge von {@link SpielKombination}en eines {@link KombinationsRaum}s, als dichtes Bitfeld über die Codes.
+ * </p>
+ * 
+ * <p>
+ * Einfügen, Entfernen und Enthaltensein-Prüfung über den Code sowie {@link #size()} laufen in konstanter Zeit. Die
+ * Iteration liefert die internierten Kombinationen des Raums in aufsteigender Reihenfolge der Codes, also sortiert
+ * gemäß {@link SpielKombination#compareTo(SpielKombination)}.
+ * </p>
+ * 
+ * <p>
+ * Als {@link java.util.Set} ist die Menge gleich zu jeder anderen Menge mit den gleichen Elementen, kann also z.B. als
+ * Schlüssel anstelle eines {@link java.util.HashSet} verwendet werden.
+ * </p>
+ * 
+ * <p>
+ * {@link #hashCode()} und {@link #getFingerabdruck()} werden bei jedem Einfügen und Entfernen fortgeschrieben und
+ * kosten daher beim Abruf nur konstante Zeit. Ein Cache kann mit der Menge selbst nachschlagen, ohne sie zu kopieren.
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class KombinationsMenge extends AbstractSet<SpielKombination> {
+
+    /**
+     * Anzahl der Bits pro Wort.
+     */
+    private static final int BITS_PRO_WORT = 64;
+
+    /**
+     * Verschiebung für die Umrechnung von Code in Wort-Index.
+     */
+    private static final int WORT_SHIFT = 6;
+
+    /**
+     * Startwert für die höherwertigen Bits des Fingerabdrucks.
+     */
+    private static final long SAAT_HOCH = 0x243F6A8885A308D3L;
+
+    /**
+     * Startwert für die niederwertigen Bits des Fingerabdrucks.
+     */
+    private static final long SAAT_TIEF = 0x13198A2E03707344L;
+
+    /**
+     * Multiplikator zum Spreizen der Codes vor dem Mischen (goldener Schnitt).
+     */
+    private static final long SPREIZUNG = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Der Raum, aus dem die Elemente stammen.
+     */
+    private final KombinationsRaum raum;
+
+    /**
+     * Das Bitfeld, Bit (code % 64) in Wort (code / 64) ist genau dann gesetzt, wenn der Code enthalten ist.
+     */
+    private final long[] woerter;
+
+    /**
+     * Die Anzahl der enthaltenen Codes.
+     */
+    private int anzahl;
+
+    /**
+     * Änderungszähler zur Erkennung von Änderungen während einer Iteration.
+     */
+    private int aenderungen;
+
+    /**
+     * Die höherwertigen Bits des Fingerabdrucks, werden bei jeder Änderung fortgeschrieben.
+     */
+    private long hoch;
+
+    /**
+     * Die niederwertigen Bits des Fingerabdrucks, werden bei jeder Änderung fortgeschrieben.
+     */
+    private long tief;
+
+    /**
+     * Der Hash-Code gemäß {@link java.util.Set#hashCode()}, wird bei jeder Änderung fortgeschrieben.
+     */
+    private int hash;
+
+    /**
+     * Der zuletzt gelieferte Fingerabdruck, oder <code>null</code> falls sich die Menge seitdem geändert hat.
+     */
+    private Fingerabdruck fingerabdruck;
+
+    /**
+     * Erzeugt eine leere Menge.
+     * 
+     * @param theRaum
+     *            Der Raum, aus dem die Elemente stammen.
+     */
+    public KombinationsMenge(final KombinationsRaum theRaum) {
+        raum = theRaum;
+        woerter = new long[(theRaum.getGroesse() + BITS_PRO_WORT - 1) >>> WORT_SHIFT];
+        anzahl = 0;
+        initialisiereSchluessel();
+    }
+
+    /**
+     * Erzeugt eine Kopie einer Menge.
+     * 
+     * @param original
+     *            Die zu kopierende Menge.
+     */
+    public KombinationsMenge(final KombinationsMenge original) {
+        raum = original.raum;
+        woerter = original.woerter.clone();
+        anzahl = original.anzahl;
+        hoch = original.hoch;
+        tief = original.tief;
+        hash = original.hash;
+        fingerabdruck = original.fingerabdruck;
+    }
+
+    /**
+     * Setzt Fingerabdruck und Hash-Code auf die Werte der leeren Menge.
+     */
+    private void initialisiereSchluessel() {
+        final SpielKonfiguration konfiguration = raum.getKonfiguration();
+        final long raumKennung = ((long) konfiguration.getPins() << 33) ^ ((long) konfiguration.getFarben() << 1)
+                ^ (konfiguration.isDuplikateErlaubt() ? 1 : 0);
+        hoch = mische(SAAT_HOCH + raumKennung * SPREIZUNG);
+        tief = mische(SAAT_TIEF + raumKennung * SPREIZUNG);
+        hash = 0;
+        fingerabdruck = null;
+    }
+
+    /**
+     * Schreibt Fingerabdruck und Hash-Code für einen eingefügten oder entfernten Code fort. Der Beitrag eines Codes
+     * zum Fingerabdruck wird per XOR verknüpft und hebt sich beim Entfernen also wieder auf.
+     * 
+     * @param code
+     *            Der Code.
+     * @param eingefuegt
+     *            <code>true</code>, falls der Code eingefügt wurde, <code>false</code>, falls er entfernt wurde.
+     */
+    private void aendereSchluessel(final int code, final boolean eingefuegt) {
+        final long gespreizt = (code + 1) * SPREIZUNG;
+        hoch ^= mische(gespreizt ^ SAAT_HOCH);
+        tief ^= mische(gespreizt ^ SAAT_TIEF);
+        final int elementHash = raum.getKombination(code).hashCode();
+        if (eingefuegt) {
+            hash += elementHash;
+        } else {
+            hash -= elementHash;
+        }
+        fingerabdruck = null;
+    }
+
+    /**
+     * Liefert den Raum, aus dem die Elemente stammen.
+     * 
+     * @return Der Raum.
+     */
+    public KombinationsRaum getRaum() {
+        return raum;
+    }
+
+    /**
+     * Prüft, ob ein Code enthalten ist.
+     * 
+     * @param code
+     *            Der Code.
+     * @return <code>true</code> genau dann, wenn der Code enthalten ist.
+     */
+    public boolean enthaeltCode(final int code) {
+        return (woerter[code >>> WORT_SHIFT] & (1L << code)) != 0;
+    }
+
+    /**
+     * Fügt einen Code hinzu.
+     * 
+     * @param code
+     *            Der Code.
+     * @return <code>true</code> genau dann, wenn der Code vorher nicht enthalten war.
+     */
+    public boolean fuegeCodeHinzu(final int code) {
+        final int index = code >>> WORT_SHIFT;
+        final long maske = 1L << code;
+        if ((woerter[index] & maske) != 0) {
+            return false;
+        }
+        woerter[index] |= maske;
+        anzahl++;
+        aenderungen++;
+        aendereSchluessel(code, true);
+        return true;
+    }
+
+    /**
+     * Entfernt einen Code.
+     * 
+     * @param code
+     *            Der Code.
+     * @return <code>true</code> genau dann, wenn der Code vorher enthalten war.
+     */
+    public boolean entferneCode(final int code) {
+        final int index = code >>> WORT_SHIFT;
+        final long maske = 1L << code;
+        if ((woerter[index] & maske) == 0) {
+            return false;
+        }
+        woerter[index] &= ~maske;
+        anzahl--;
+        aenderungen++;
+        aendereSchluessel(code, false);
+        return true;
+    }
+
+    /**
+     * Liefert den kleinsten enthaltenen Code, der mindestens so groß wie der angegebene ist. Zum Iterieren über alle
+     * Codes:
+     * 
+     * <pre>
+     * for (int code = menge.naechsterCode(0); code &gt;= 0; code = menge.naechsterCode(code + 1)) {
+     *     ...
+     * }
+     * </pre>
+     * 
+     * @param von
+     *            Der kleinste in Frage kommende Code.
+     * @return Der gefundene Code, oder -1 falls es keinen gibt.
+     */
+    public int naechsterCode(final int von) {
+        int index = von >>> WORT_SHIFT;
+        if (von < 0 || index >= woerter.length) {
+            return -1;
+        }
+        long wort = woerter[index] & (-1L << von);
+        while (wort == 0) {
+            index++;
+            if (index >= woerter.length) {
+                return -1;
+            }
+            wort = woerter[index];
+        }
+        return (index << WORT_SHIFT) + Long.numberOfTrailingZeros(wort);
+    }
+
+    /**
+     * <p>
+     * Liefert einen 128-Bit-{@link Fingerabdruck} der Menge.
+     * </p>
+     * 
+     * <p>
+     * Jeder Code trägt zwei unabhängig gemischte 64-Bit-Werte bei, die per XOR verknüpft werden. Der Fingerabdruck
+     * hängt also nur von den enthaltenen Codes und vom Raum ab, nicht von der Reihenfolge des Einfügens. Er wird bei
+     * jeder Änderung fortgeschrieben, der Abruf kostet daher konstante Zeit und liefert bis zur nächsten Änderung
+     * immer das gleiche Objekt.
+     * </p>
+     * 
+     * @return Der Fingerabdruck.
+     */
+    public Fingerabdruck getFingerabdruck() {
+        if (fingerabdruck == null) {
+            fingerabdruck = new Fingerabdruck(hoch, tief);
+        }
+        return fingerabdruck;
+    }
+
+    /**
+     * Mischfunktion für 64-Bit-Werte (Finalisierer von SplitMix64).
+     * 
+     * @param wert
+     *            Der Eingabewert.
+     * @return Der gemischte Wert.
+     */
+    private static long mische(final long wert) {
+        long z = wert;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Ermittelt den Code eines Objekts, falls es eine {@link SpielKombination} passender Länge ist.
+     * 
+     * @param o
+     *            Das Objekt.
+     * @return Der Code, oder -1.
+     */
+    private int codeVon(final Object o) {
+        if (o instanceof SpielKombination) {
+            final SpielKombination kombination = (SpielKombination) o;
+            if (kombination.getSpielSteineCount() == raum.getPins()) {
+                return raum.getCode(kombination);
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return anzahl;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        final int code = codeVon(o);
+        return code >= 0 && enthaeltCode(code);
+    }
+
+    @Override
+    public boolean add(final SpielKombination kombination) {
+        return fuegeCodeHinzu(raum.getCode(kombination));
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        final int code = codeVon(o);
+        return code >= 0 && entferneCode(code);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(woerter, 0L);
+        anzahl = 0;
+        aenderungen++;
+        initialisiereSchluessel();
+    }
+
+    @Override
+    public Iterator<SpielKombination> iterator() {
+        return new Iterator<SpielKombination>() {
+
+            /**
+             * Der nächste zu liefernde Code, oder -1.
+             */
+            private int naechster = naechsterCode(0);
+
+            /**
+             * Der zuletzt gelieferte Code, oder -1.
+             */
+            private int letzter = -1;
+
+            /**
+             * Der erwartete Stand des Änderungszählers.
+             */
+            private int erwarteteAenderungen = aenderungen;
+
+            @Override
+            public boolean hasNext() {
+                return naechster >= 0;
+            }
+
+            @Override
+            public SpielKombination next() {
+                if (erwarteteAenderungen != aenderungen) {
+                    throw new ConcurrentModificationException();
+                }
+                if (naechster < 0) {
+                    throw new NoSuchElementException();
+                }
+                letzter = naechster;
+                naechster = naechsterCode(naechster + 1);
+                return raum.getKombination(letzter);
+            }
+
+            @Override
+            public void remove() {
+                if (letzter < 0) {
+                    throw new IllegalStateException();
+                }
+                if (erwarteteAenderungen != aenderungen) {
+                    throw new ConcurrentModificationException();
+                }
+                entferneCode(letzter);
+                erwarteteAenderungen = aenderungen;
+                letzter = -1;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o instanceof KombinationsMenge && ((KombinationsMenge) o).raum == raum) {
+            final KombinationsMenge other = (KombinationsMenge) o;
+            return anzahl == other.anzahl && hash == other.hash && Arrays.equals(woerter, other.woerter);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        // passt zu AbstractSet#hashCode(), wird aber fortgeschrieben statt über alle Elemente berechnet
+        return hash;
+    }
+}
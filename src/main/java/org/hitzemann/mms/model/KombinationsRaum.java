@@ -0,0 +1,263 @@
+package org.hitzemann.mms.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Der Raum aller {@link SpielKombination}en einer {@link SpielKonfiguration}, mit einer dichten Nummerierung der
+ * Kombinationen.
+ * </p>
+ * 
+ * <p>
+ * Jede Kombination wird durch einen int-Code repräsentiert, der ihre Farbindizes als Ziffern einer Zahl zur Basis der
+ * Farbanzahl enthält. Die Position 0 ist dabei die höchstwertige Ziffer, die Reihenfolge der Codes entspricht also der
+ * Reihenfolge gemäß {@link SpielKombination#compareTo(SpielKombination)}.
+ * </p>
+ * 
+ * <p>
+ * Sind keine Duplikate erlaubt, bleibt die Nummerierung die gleiche. Die Codes von Kombinationen mit mehrfach
+ * vorkommenden Farben sind dann ungültig (siehe {@link #istGueltig(int)}) und tauchen in {@link #getAlle()} nicht auf.
+ * </p>
+ * 
+ * <p>
+ * Der Raum hält zu jedem Code genau eine (internierte) {@link SpielKombination}, die ihren Code kennt. Dadurch kann
+ * der Code dieser Instanzen ohne Rechnung ermittelt werden. Instanzen werden pro Pin-Anzahl nur einmal erzeugt und
+ * von {@link #getInstance(SpielKonfiguration)} gemeinsam verwendet.
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class KombinationsRaum {
+
+    /**
+     * Die bereits erzeugten Instanzen, nach Konfiguration.
+     */
+    private static final Map<SpielKonfiguration, KombinationsRaum> INSTANZEN = new HashMap<SpielKonfiguration, KombinationsRaum>();
+
+    /**
+     * Die Konfiguration.
+     */
+    private final SpielKonfiguration konfiguration;
+
+    /**
+     * Die Anzahl der Pins.
+     */
+    private final int pins;
+
+    /**
+     * Die Anzahl der Farben, also die Basis der Codes.
+     */
+    private final int farben;
+
+    /**
+     * Die internierten Kombinationen, indiziert über ihren Code.
+     */
+    private final SpielKombination[] kombinationen;
+
+    /**
+     * Unveränderliche Liste der gültigen Kombinationen aus {@link #kombinationen}.
+     */
+    private final List<SpielKombination> alle;
+
+    /**
+     * Erzeugt den Raum und interniert alle Kombinationen.
+     * 
+     * @param paramKonfiguration
+     *            Die Konfiguration.
+     */
+    private KombinationsRaum(final SpielKonfiguration paramKonfiguration) {
+        konfiguration = paramKonfiguration;
+        pins = paramKonfiguration.getPins();
+        farben = paramKonfiguration.getFarben();
+
+        long groesse = 1;
+        for (int i = 0; i < pins; i++) {
+            groesse *= farben;
+            if (groesse > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Kombinationsraum mit " + pins + " Pins und " + farben
+                        + " Farben ist zu groß");
+            }
+        }
+
+        kombinationen = new SpielKombination[(int) groesse];
+        final List<SpielKombination> gueltige = new ArrayList<SpielKombination>();
+        for (int code = 0; code < kombinationen.length; code++) {
+            kombinationen[code] = new SpielKombination(dekodiere(code), code, farben);
+            if (istGueltig(code)) {
+                gueltige.add(kombinationen[code]);
+            }
+        }
+        alle = Collections.unmodifiableList(gueltige);
+    }
+
+    /**
+     * Liefert den Raum aller Kombinationen mit der angegebenen Länge und den Farben aus {@link SpielStein}.
+     * 
+     * @param pins
+     *            Die Länge der Kombinationen. Darf nicht negativ sein.
+     * @return Der (gemeinsam verwendete) Raum.
+     * @throws IllegalArgumentException
+     *             Übergebene Länge ist negativ, oder der Raum ist zu groß für eine Nummerierung mit int.
+     */
+    public static KombinationsRaum getInstance(final int pins) {
+        return getInstance(new SpielKonfiguration(pins));
+    }
+
+    /**
+     * Liefert den Raum aller Kombinationen einer Konfiguration.
+     * 
+     * @param konfiguration
+     *            Die Konfiguration.
+     * @return Der (gemeinsam verwendete) Raum.
+     * @throws IllegalArgumentException
+     *             Der Raum ist zu groß für eine Nummerierung mit int.
+     */
+    public static synchronized KombinationsRaum getInstance(final SpielKonfiguration konfiguration) {
+        KombinationsRaum raum = INSTANZEN.get(konfiguration);
+        if (raum == null) {
+            raum = new KombinationsRaum(konfiguration);
+            INSTANZEN.put(konfiguration, raum);
+        }
+        return raum;
+    }
+
+    /**
+     * Berechnet die Farbindizes zu einem Code.
+     * 
+     * @param code
+     *            Der Code.
+     * @return Die 0-basierten Farbindizes.
+     */
+    private int[] dekodiere(final int code) {
+        final int[] result = new int[pins];
+        int rest = code;
+        for (int i = pins - 1; i >= 0; i--) {
+            result[i] = rest % farben;
+            rest /= farben;
+        }
+        return result;
+    }
+
+    /**
+     * Liefert die Konfiguration.
+     * 
+     * @return Die Konfiguration.
+     */
+    public SpielKonfiguration getKonfiguration() {
+        return konfiguration;
+    }
+
+    /**
+     * Liefert die Anzahl der Pins.
+     * 
+     * @return Die Anzahl der Pins.
+     */
+    public int getPins() {
+        return pins;
+    }
+
+    /**
+     * Liefert die Anzahl der Farben.
+     * 
+     * @return Die Anzahl der Farben.
+     */
+    public int getFarben() {
+        return farben;
+    }
+
+    /**
+     * Liefert die Anzahl der Codes im Raum. Die Codes sind 0 bis ausschließlich zu diesem Wert. Sind keine Duplikate
+     * erlaubt, sind nicht alle diese Codes gültig.
+     * 
+     * @return Die Anzahl der Codes.
+     */
+    public int getGroesse() {
+        return kombinationen.length;
+    }
+
+    /**
+     * Liefert die Anzahl der gültigen Kombinationen im Raum.
+     * 
+     * @return Die Anzahl der gültigen Kombinationen.
+     */
+    public int getAnzahlGueltige() {
+        return alle.size();
+    }
+
+    /**
+     * Prüft, ob ein Code eine gemäß der Konfiguration gültige Kombination bezeichnet.
+     * 
+     * @param code
+     *            Der Code.
+     * @return <code>true</code> genau dann, wenn Duplikate erlaubt sind oder keine Farbe mehrfach vorkommt.
+     */
+    public boolean istGueltig(final int code) {
+        if (konfiguration.isDuplikateErlaubt()) {
+            return true;
+        }
+        final SpielKombination kombination = kombinationen[code];
+        for (int i = 0; i < pins; i++) {
+            for (int j = i + 1; j < pins; j++) {
+                if (kombination.getFarbe(i) == kombination.getFarbe(j)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Liefert die internierte Kombination zu einem Code.
+     * 
+     * @param code
+     *            Der Code.
+     * @return Die internierte {@link SpielKombination}.
+     */
+    public SpielKombination getKombination(final int code) {
+        return kombinationen[code];
+    }
+
+    /**
+     * Ermittelt den Code einer Kombination. Für internierte Kombinationen ist das ein Feldzugriff, für alle anderen
+     * wird der Code aus den Farbindizes berechnet.
+     * 
+     * @param kombination
+     *            Die Kombination.
+     * @return Der Code.
+     * @throws IllegalArgumentException
+     *             Die Kombination hat die falsche Länge oder eine Farbe außerhalb des Raums.
+     */
+    public int getCode(final SpielKombination kombination) {
+        if (kombination.getSpielSteineCount() != pins) {
+            throw new IllegalArgumentException("Kombination hat " + kombination.getSpielSteineCount()
+                    + " Pins, erwartet wurden " + pins);
+        }
+        final int bekannt = kombination.getCode(farben);
+        if (bekannt != SpielKombination.KEIN_CODE) {
+            return bekannt;
+        }
+        int code = 0;
+        for (int i = 0; i < pins; i++) {
+            final int farbe = kombination.getFarbe(i);
+            if (farbe >= farben) {
+                throw new IllegalArgumentException("Farbe " + (farbe + 1) + " gibt es nur bei mehr als " + farben
+                        + " Farben");
+            }
+            code = code * farben + farbe;
+        }
+        return code;
+    }
+
+    /**
+     * Liefert alle gültigen internierten Kombinationen, aufsteigend nach Code sortiert.
+     * 
+     * @return Eine unveränderliche {@link List} aller gültigen Kombinationen.
+     */
+    public List<SpielKombination> getAlle() {
+        return alle;
+    }
+}
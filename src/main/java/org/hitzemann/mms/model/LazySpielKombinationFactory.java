@@ -0,0 +1,33 @@
+package org.hitzemann.mms.model;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Implementierung der {@link ISpielKombinationFactory}, die statt einer Liste aller Kombinationen eine
+ * {@link KombinationsAnsicht} liefert. Die Kombinationen werden erst beim Zugriff dekodiert, die gelieferten Listen
+ * sind unveränderlich.
+ * </p>
+ * 
+ * <p>
+ * Die Factory muss explizit übergeben werden, voreingestellt ist überall die {@link DefaultSpielKombinationFactory}.
+ * Sie spart nur die Kopien der Liste aller Kombinationen, die sonst jede Regel und jeder Solver anlegt. Regeln und
+ * Solver arbeiten weiterhin auf dem gemeinsamen {@link KombinationsRaum}, der alle Kombinationen einmal hält, der
+ * Speicherbedarf bleibt also linear in der Größe des Raums. Dafür wird bei jedem Zugriff eine neue, nicht
+ * internierte Kombination erzeugt.
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class LazySpielKombinationFactory implements ISpielKombinationFactory {
+
+    @Override
+    public List<SpielKombination> erzeugeAlle(final int pins) {
+        return erzeugeAlle(new SpielKonfiguration(pins));
+    }
+
+    @Override
+    public List<SpielKombination> erzeugeAlle(final SpielKonfiguration konfiguration) {
+        return new KombinationsAnsicht(konfiguration);
+    }
+}
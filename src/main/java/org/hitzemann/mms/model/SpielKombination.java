@@ -3,14 +3,80 @@ package org.hitzemann.mms.model;
 import java.util.Arrays;
 
 /**
+ * <p>
+ * Eine Kombination von Spielsteinen.
+ * </p>
+ * 
+ * <p>
+ * Die Farben werden intern als 0-basierte Farbindizes (entsprechend {@link SpielStein#ordinal()}) gehalten, damit die
+ * Ergebnisberechnung ohne Dereferenzierung von Enum-Konstanten auskommt. Dadurch sind auch Varianten mit mehr Farben
+ * als in {@link SpielStein} möglich, siehe {@link SpielKonfiguration}. Von einem {@link KombinationsRaum} erzeugte
+ * Instanzen kennen zusätzlich ihren Index (Code) im Raum.
+ * </p>
+ * 
+ * <p>
+ * Zu jeder Kombination wird bei der Erzeugung die Häufigkeit jeder Farbe vorberechnet (siehe
+ * {@link #getFarbHaeufigkeit(int)}), so dass die Ergebnisberechnung keine Zähl-Arrays anlegen muss. Für
+ * Kombinationen mit höchstens {@value #MAX_WORT_STEINE} Steinen und Farbindizes bis {@value #MAX_WORT_FARBE} werden
+ * die Farben und Häufigkeiten zusätzlich in je ein long gepackt (siehe {@link #getFarbWort()} und
+ * {@link #getHaeufigkeitsWort()}).
+ * </p>
+ * 
  * @author simon
  * 
  */
 public class SpielKombination implements Comparable<SpielKombination> {
+
+    /**
+     * Kennzeichnet einen nicht bekannten Code.
+     */
+    static final int KEIN_CODE = -1;
+
+    /**
+     * Die maximale Anzahl an Steinen, für die {@link #getFarbWort()} und {@link #getHaeufigkeitsWort()} berechnet
+     * werden. Die Häufigkeit einer Farbe passt dann immer in 4 Bit.
+     */
+    public static final int MAX_WORT_STEINE = 15;
+
+    /**
+     * Der maximale Farbindex, für den {@link #getFarbWort()} und {@link #getHaeufigkeitsWort()} berechnet werden.
+     */
+    public static final int MAX_WORT_FARBE = 15;
+
+    /**
+     * Cache für {@link SpielStein#values()}, um das Klonen des Arrays bei jedem Zugriff zu vermeiden.
+     */
+    private static final SpielStein[] SPIELSTEINE = SpielStein.values();
+
+    /**
+     * Internes Array mit den 0-basierten Farbindizes der Spielsteine.
+     */
+    private final int[] farben;
+
+    /**
+     * Die Häufigkeiten der Farben, indiziert über den Farbindex bis einschließlich zur höchsten vorkommenden Farbe.
+     */
+    private final int[] farbHaeufigkeiten;
+
+    /**
+     * Die Farbindizes, 4 Bit pro Position, oder 0 falls sie nicht in ein long passen.
+     */
+    private final long farbWort;
+
+    /**
+     * Die Häufigkeiten der Farben, 4 Bit pro Farbindex, oder 0 falls sie nicht in ein long passen.
+     */
+    private final long haeufigkeitsWort;
+
     /**
-     * Internes Array um die SpielSteine aufzubewahren.
+     * Der Code im {@link KombinationsRaum} mit der Farbanzahl {@link #codeBasis}, oder {@link #KEIN_CODE}.
      */
-    private final SpielStein[] spielSteine;
+    private final int code;
+
+    /**
+     * Die Farbanzahl (Basis der Stellenwertdarstellung), für die {@link #code} gilt.
+     */
+    private final int codeBasis;
 
     /**
      * Konstruktor für beliebig viele Steine in der SpielKombination.
@@ -19,28 +85,65 @@ public class SpielKombination implements Comparable<SpielKombination> {
      *            beliebige Anzahl an SpielSteinen
      */
     public SpielKombination(final SpielStein... paramSpielSteine) {
-        this.spielSteine = paramSpielSteine;
+        this.farben = new int[paramSpielSteine.length];
+        for (int i = 0; i < paramSpielSteine.length; i++) {
+            farben[i] = paramSpielSteine[i].ordinal();
+        }
+        this.farbHaeufigkeiten = zaehleFarben(farben);
+        this.farbWort = packeFarben(farben, farbHaeufigkeiten);
+        this.haeufigkeitsWort = packeHaeufigkeiten(farben, farbHaeufigkeiten);
+        this.code = KEIN_CODE;
+        this.codeBasis = 0;
     }
 
     /**
-     * Konstruktor für beliebig viele Steine die durch einen int statt einer Farbe referenziert werden.
+     * Konstruktor für beliebig viele Steine die durch einen int statt einer Farbe referenziert werden. Die Werte sind
+     * 1-basiert, 1 bis 6 entsprechen den Farben aus {@link SpielStein}, größere Werte weiteren Farben.
      * 
      * @param paramSpielSteinWerte
      *            beliebige Anzahl an SpielSteinen durch ints referenziert
+     * @throws IllegalArgumentException
+     *             Ein Wert ist kleiner als 1.
      */
     public SpielKombination(final int... paramSpielSteinWerte) {
-        final SpielStein[] values = SpielStein.values();
-        this.spielSteine = new SpielStein[paramSpielSteinWerte.length];
+        this.farben = new int[paramSpielSteinWerte.length];
         for (int i = 0; i < paramSpielSteinWerte.length; i++) {
-            spielSteine[i] = values[paramSpielSteinWerte[i] - 1];
+            if (paramSpielSteinWerte[i] < 1) {
+                throw new IllegalArgumentException("Farbwert muss > 0 sein, war " + paramSpielSteinWerte[i]);
+            }
+            farben[i] = paramSpielSteinWerte[i] - 1;
         }
+        this.farbHaeufigkeiten = zaehleFarben(farben);
+        this.farbWort = packeFarben(farben, farbHaeufigkeiten);
+        this.haeufigkeitsWort = packeHaeufigkeiten(farben, farbHaeufigkeiten);
+        this.code = KEIN_CODE;
+        this.codeBasis = 0;
+    }
+
+    /**
+     * Konstruktor für die von einem {@link KombinationsRaum} erzeugten Instanzen.
+     * 
+     * @param paramFarben
+     *            Die 0-basierten Farbindizes. Das Array wird ohne Kopie übernommen.
+     * @param paramCode
+     *            Der Code im {@link KombinationsRaum}.
+     * @param paramCodeBasis
+     *            Die Farbanzahl des {@link KombinationsRaum}s.
+     */
+    SpielKombination(final int[] paramFarben, final int paramCode, final int paramCodeBasis) {
+        this.farben = paramFarben;
+        this.farbHaeufigkeiten = zaehleFarben(farben);
+        this.farbWort = packeFarben(farben, farbHaeufigkeiten);
+        this.haeufigkeitsWort = packeHaeufigkeiten(farben, farbHaeufigkeiten);
+        this.code = paramCode;
+        this.codeBasis = paramCodeBasis;
     }
 
     @Override
     public final int hashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + Arrays.hashCode(spielSteine);
+        result = prime * result + Arrays.hashCode(farben);
         return result;
     }
 
@@ -56,7 +159,7 @@ public class SpielKombination implements Comparable<SpielKombination> {
             return false;
         }
         final SpielKombination other = (SpielKombination) obj;
-        if (!Arrays.equals(spielSteine, other.spielSteine)) {
+        if (!Arrays.equals(farben, other.farben)) {
             return false;
         }
         return true;
@@ -68,9 +171,140 @@ public class SpielKombination implements Comparable<SpielKombination> {
      * @param position
      *            Position des gewünschten SpielSteines
      * @return SpielStein an der gewünschen Position
+     * @throws IllegalStateException
+     *             Die Farbe an der Position hat keine Entsprechung in {@link SpielStein}.
      */
     public final SpielStein getSpielStein(final int position) {
-        return spielSteine[position];
+        if (farben[position] >= SPIELSTEINE.length) {
+            throw new IllegalStateException("Farbe " + (farben[position] + 1) + " ist kein SpielStein");
+        }
+        return SPIELSTEINE[farben[position]];
+    }
+
+    /**
+     * Gibt den 0-basierten Farbindex an einer bestimmten Position zurück. Für die Farben aus {@link SpielStein}
+     * entspricht er {@link SpielStein#ordinal()}.
+     * 
+     * @param position
+     *            Position des gewünschten SpielSteines
+     * @return Farbindex an der gewünschten Position
+     */
+    public final int getFarbe(final int position) {
+        return farben[position];
+    }
+
+    /**
+     * Liefert den höchsten vorkommenden Farbindex.
+     * 
+     * @return Der höchste Farbindex, oder -1 für eine leere Kombination.
+     */
+    public final int getHoechsteFarbe() {
+        return farbHaeufigkeiten.length - 1;
+    }
+
+    /**
+     * Liefert, wie viele Spielsteine eine Farbe haben.
+     * 
+     * @param farbe
+     *            Der Farbindex, von 0 bis einschließlich {@link #getHoechsteFarbe()}
+     * @return Die Anzahl der Spielsteine mit der Farbe
+     */
+    public final int getFarbHaeufigkeit(final int farbe) {
+        return farbHaeufigkeiten[farbe];
+    }
+
+    /**
+     * Liefert die Farbindizes als gepacktes Wort. Die Bits 4*i bis 4*i+3 enthalten den Farbindex an Position i, nicht
+     * belegte Positionen sind 0.
+     * 
+     * @return Das gepackte Wort, oder 0 falls die Kombination mehr als {@value #MAX_WORT_STEINE} Steine oder einen
+     *         Farbindex über {@value #MAX_WORT_FARBE} hat.
+     */
+    public final long getFarbWort() {
+        return farbWort;
+    }
+
+    /**
+     * Liefert die Häufigkeiten der Farben als gepacktes Wort. Die Bits 4*f bis 4*f+3 enthalten die Anzahl der
+     * Spielsteine mit dem Farbindex f.
+     * 
+     * @return Das gepackte Wort, oder 0 falls die Kombination mehr als {@value #MAX_WORT_STEINE} Steine oder einen
+     *         Farbindex über {@value #MAX_WORT_FARBE} hat.
+     */
+    public final long getHaeufigkeitsWort() {
+        return haeufigkeitsWort;
+    }
+
+    /**
+     * Prüft, ob die Farben und Häufigkeiten einer Kombination in je ein long gepackt werden können.
+     * 
+     * @param paramFarben
+     *            Die 0-basierten Farbindizes.
+     * @param paramFarbHaeufigkeiten
+     *            Die Häufigkeiten der Farben.
+     * @return <code>true</code> genau dann, wenn sie gepackt werden können.
+     */
+    private static boolean istPackbar(final int[] paramFarben, final int[] paramFarbHaeufigkeiten) {
+        return paramFarben.length <= MAX_WORT_STEINE && paramFarbHaeufigkeiten.length <= MAX_WORT_FARBE + 1;
+    }
+
+    /**
+     * Packt die Farbindizes in ein long, 4 Bit pro Position.
+     * 
+     * @param paramFarben
+     *            Die 0-basierten Farbindizes.
+     * @param paramFarbHaeufigkeiten
+     *            Die Häufigkeiten der Farben.
+     * @return Das gepackte Wort, oder 0 falls die Kombination nicht packbar ist.
+     */
+    private static long packeFarben(final int[] paramFarben, final int[] paramFarbHaeufigkeiten) {
+        if (!istPackbar(paramFarben, paramFarbHaeufigkeiten)) {
+            return 0L;
+        }
+        long result = 0L;
+        for (int i = 0; i < paramFarben.length; i++) {
+            result |= (long) paramFarben[i] << (4 * i);
+        }
+        return result;
+    }
+
+    /**
+     * Packt die Häufigkeiten der Farben in ein long, 4 Bit pro Farbindex.
+     * 
+     * @param paramFarben
+     *            Die 0-basierten Farbindizes.
+     * @param paramFarbHaeufigkeiten
+     *            Die Häufigkeiten der Farben.
+     * @return Das gepackte Wort, oder 0 falls die Kombination nicht packbar ist.
+     */
+    private static long packeHaeufigkeiten(final int[] paramFarben, final int[] paramFarbHaeufigkeiten) {
+        if (!istPackbar(paramFarben, paramFarbHaeufigkeiten)) {
+            return 0L;
+        }
+        long result = 0L;
+        for (int i = 0; i < paramFarbHaeufigkeiten.length; i++) {
+            result |= (long) paramFarbHaeufigkeiten[i] << (4 * i);
+        }
+        return result;
+    }
+
+    /**
+     * Zählt die Häufigkeiten der Farben.
+     * 
+     * @param paramFarben
+     *            Die 0-basierten Farbindizes.
+     * @return Die Häufigkeiten, indiziert über den Farbindex bis einschließlich zur höchsten vorkommenden Farbe.
+     */
+    private static int[] zaehleFarben(final int[] paramFarben) {
+        int hoechsteFarbe = -1;
+        for (int farbe : paramFarben) {
+            hoechsteFarbe = Math.max(hoechsteFarbe, farbe);
+        }
+        final int[] result = new int[hoechsteFarbe + 1];
+        for (int farbe : paramFarben) {
+            result[farbe]++;
+        }
+        return result;
     }
 
     /**
@@ -79,11 +313,35 @@ public class SpielKombination implements Comparable<SpielKombination> {
      * @return Anzahl der SpielSteine in der SpielKombination
      */
     public final int getSpielSteineCount() {
-        return spielSteine.length;
+        return farben.length;
+    }
+
+    /**
+     * Liefert den Code dieser Kombination in einem {@link KombinationsRaum} mit der angegebenen Farbanzahl, sofern die
+     * Instanz von einem solchen Raum erzeugt wurde.
+     * 
+     * @param basis
+     *            Die Farbanzahl des anfragenden {@link KombinationsRaum}s.
+     * @return Der Code, oder {@link #KEIN_CODE} falls er nicht bekannt ist.
+     */
+    final int getCode(final int basis) {
+        if (basis == codeBasis) {
+            return code;
+        }
+        return KEIN_CODE;
     }
 
     @Override
     public final String toString() {
+        // Farben ohne SpielStein werden mit ihrem 1-basierten Wert ausgegeben
+        final Object[] spielSteine = new Object[farben.length];
+        for (int i = 0; i < farben.length; i++) {
+            if (farben[i] < SPIELSTEINE.length) {
+                spielSteine[i] = SPIELSTEINE[farben[i]];
+            } else {
+                spielSteine[i] = farben[i] + 1;
+            }
+        }
         return "SpielKombination [spielSteine=" + Arrays.toString(spielSteine) + "]";
     }
 
@@ -97,9 +355,9 @@ public class SpielKombination implements Comparable<SpielKombination> {
         } else {
             final int steine = this.getSpielSteineCount();
             for (int i = 0; i < steine; i++) {
-                if (this.spielSteine[i].ordinal() > arg0.spielSteine[i].ordinal()) {
+                if (this.farben[i] > arg0.farben[i]) {
                     return 1;
-                } else if (this.spielSteine[i].ordinal() < arg0.spielSteine[i].ordinal()) {
+                } else if (this.farben[i] < arg0.farben[i]) {
                     return -1;
                 }
             }
@@ -0,0 +1,134 @@
+package org.hitzemann.mms.model;
+
+/**
+ * <p>
+ * Die Konfiguration einer Spielvariante: Anzahl der Pins, Anzahl der Farben und ob eine Farbe in einer Kombination
+ * mehrfach vorkommen darf.
+ * </p>
+ * 
+ * <p>
+ * Die klassische Variante verwendet die Farben aus {@link SpielStein} und erlaubt Duplikate, siehe
+ * {@link #SpielKonfiguration(int)}. Instanzen sind unveränderlich und können als Schlüssel verwendet werden.
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class SpielKonfiguration {
+
+    /**
+     * Die Anzahl der Farben der klassischen Variante.
+     */
+    public static final int STANDARD_FARBEN = SpielStein.values().length;
+
+    /**
+     * Die Anzahl der Pins.
+     */
+    private final int pins;
+
+    /**
+     * Die Anzahl der Farben.
+     */
+    private final int farben;
+
+    /**
+     * Ob eine Farbe mehrfach in einer Kombination vorkommen darf.
+     */
+    private final boolean duplikateErlaubt;
+
+    /**
+     * Erzeugt die Konfiguration der klassischen Variante mit den Farben aus {@link SpielStein} und erlaubten
+     * Duplikaten.
+     * 
+     * @param thePins
+     *            Die Anzahl der Pins. Darf nicht negativ sein.
+     * @throws IllegalArgumentException
+     *             Übergebene Länge ist negativ.
+     */
+    public SpielKonfiguration(final int thePins) {
+        this(thePins, STANDARD_FARBEN, true);
+    }
+
+    /**
+     * Erzeugt eine Konfiguration.
+     * 
+     * @param thePins
+     *            Die Anzahl der Pins. Darf nicht negativ sein.
+     * @param theFarben
+     *            Die Anzahl der Farben. Muss positiv sein.
+     * @param theDuplikateErlaubt
+     *            Ob eine Farbe mehrfach in einer Kombination vorkommen darf.
+     * @throws IllegalArgumentException
+     *             Übergebene Länge ist negativ, die Farbanzahl ist nicht positiv, oder ohne Duplikate gibt es mehr Pins
+     *             als Farben.
+     */
+    public SpielKonfiguration(final int thePins, final int theFarben, final boolean theDuplikateErlaubt) {
+        if (0 > thePins) {
+            throw new IllegalArgumentException("Übergebene Länge ist negativ");
+        }
+        if (1 > theFarben) {
+            throw new IllegalArgumentException("Anzahl der Farben muss > 0 sein");
+        }
+        if (!theDuplikateErlaubt && thePins > theFarben) {
+            throw new IllegalArgumentException("Ohne Duplikate darf es nicht mehr Pins (" + thePins + ") als Farben ("
+                    + theFarben + ") geben");
+        }
+        pins = thePins;
+        farben = theFarben;
+        duplikateErlaubt = theDuplikateErlaubt;
+    }
+
+    /**
+     * Liefert die Anzahl der Pins.
+     * 
+     * @return Die Anzahl der Pins.
+     */
+    public int getPins() {
+        return pins;
+    }
+
+    /**
+     * Liefert die Anzahl der Farben.
+     * 
+     * @return Die Anzahl der Farben.
+     */
+    public int getFarben() {
+        return farben;
+    }
+
+    /**
+     * Liefert, ob eine Farbe mehrfach in einer Kombination vorkommen darf.
+     * 
+     * @return <code>true</code> genau dann, wenn Duplikate erlaubt sind.
+     */
+    public boolean isDuplikateErlaubt() {
+        return duplikateErlaubt;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + pins;
+        result = prime * result + farben;
+        result = prime * result + (duplikateErlaubt ? 1231 : 1237);
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof SpielKonfiguration)) {
+            return false;
+        }
+        final SpielKonfiguration other = (SpielKonfiguration) obj;
+        return pins == other.pins && farben == other.farben && duplikateErlaubt == other.duplikateErlaubt;
+    }
+
+    @Override
+    public String toString() {
+        return "SpielKonfiguration [pins=" + pins + ", farben=" + farben + ", duplikateErlaubt=" + duplikateErlaubt
+                + "]";
+    }
+}
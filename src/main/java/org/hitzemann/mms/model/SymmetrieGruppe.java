@@ -0,0 +1,401 @@
+package org.hitzemann.mms.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>
+ * Eine Gruppe von Symmetrien des Spiels, bestehend aus einer Vertauschung der Positionen und einer Umbenennung der
+ * Farben. Solche Symmetrien erhalten die Ergebnisse, d.h. das Ergebnis für zwei Kombinationen ist das gleiche wie für
+ * ihre Bilder.
+ * </p>
+ * 
+ * <p>
+ * Die Gruppe enthält alle Symmetrien, die die bisher geratenen Kombinationen festhalten (siehe
+ * {@link #fixiere(SpielKombination)}). Diese bilden auch die Kandidatenmenge auf sich selbst ab, so dass zwei
+ * Kombinationen, die durch eine Symmetrie der Gruppe ineinander übergehen, als nächster Zug gleichwertig sind. Es
+ * genügt daher, pro Klasse gleichwertiger Kombinationen nur einen Repräsentanten zu bewerten. Als Repräsentant wird
+ * die gemäß {@link SpielKombination#compareTo(SpielKombination)} kleinste Kombination der Klasse verwendet, so dass
+ * eine Auswahl, die bei gleicher Bewertung die kleinste Kombination bevorzugt, durch die Reduktion nicht verändert
+ * wird.
+ * </p>
+ * 
+ * <p>
+ * Intern wird pro Vertauschung der Positionen höchstens eine Umbenennung der bisher verwendeten Farben gespeichert.
+ * Die noch nicht verwendeten Farben sind beliebig untereinander vertauschbar und werden nicht aufgezählt, die Anzahl
+ * der gespeicherten Elemente ist daher höchstens pins!.
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class SymmetrieGruppe {
+
+    /**
+     * Die Konfiguration.
+     */
+    private final SpielKonfiguration konfiguration;
+
+    /**
+     * Die Vertauschungen der Positionen, Position i wird auf Position positionen[k][i] abgebildet.
+     */
+    private final int[][] positionen;
+
+    /**
+     * Die zugehörigen Umbenennungen der verwendeten Farben, Farbe c wird auf farben[k][c] abgebildet, -1 für nicht
+     * verwendete Farben.
+     */
+    private final int[][] farben;
+
+    /**
+     * Die nicht verwendeten Farben, aufsteigend sortiert.
+     */
+    private final int[] freieFarben;
+
+    /**
+     * Die Anzahl aller gültigen Kombinationen der Konfiguration.
+     */
+    private final long anzahlKombinationen;
+
+    /**
+     * Erzeugt die Gruppe aller Symmetrien einer Konfiguration, also für ein Spiel ohne bisherige Züge.
+     * 
+     * @param theKonfiguration
+     *            Die Konfiguration.
+     */
+    public SymmetrieGruppe(final SpielKonfiguration theKonfiguration) {
+        konfiguration = theKonfiguration;
+        final List<int[]> permutationen = new ArrayList<int[]>();
+        erzeugePermutationen(new int[theKonfiguration.getPins()], 0, new boolean[theKonfiguration.getPins()],
+                permutationen);
+        positionen = permutationen.toArray(new int[permutationen.size()][]);
+        farben = new int[positionen.length][theKonfiguration.getFarben()];
+        for (int[] umbenennung : farben) {
+            Arrays.fill(umbenennung, -1);
+        }
+        freieFarben = new int[theKonfiguration.getFarben()];
+        for (int farbe = 0; farbe < freieFarben.length; farbe++) {
+            freieFarben[farbe] = farbe;
+        }
+        long anzahl = 1;
+        for (int i = 0; i < theKonfiguration.getPins(); i++) {
+            if (theKonfiguration.isDuplikateErlaubt()) {
+                anzahl *= theKonfiguration.getFarben();
+            } else {
+                anzahl *= theKonfiguration.getFarben() - i;
+            }
+        }
+        anzahlKombinationen = anzahl;
+    }
+
+    /**
+     * Erzeugt eine Untergruppe.
+     * 
+     * @param theKonfiguration
+     *            Die Konfiguration.
+     * @param thePositionen
+     *            Die Vertauschungen der Positionen.
+     * @param theFarben
+     *            Die zugehörigen Umbenennungen der verwendeten Farben.
+     * @param theFreieFarben
+     *            Die nicht verwendeten Farben, aufsteigend sortiert.
+     * @param theAnzahlKombinationen
+     *            Die Anzahl aller gültigen Kombinationen der Konfiguration.
+     */
+    private SymmetrieGruppe(final SpielKonfiguration theKonfiguration, final int[][] thePositionen,
+            final int[][] theFarben, final int[] theFreieFarben, final long theAnzahlKombinationen) {
+        konfiguration = theKonfiguration;
+        positionen = thePositionen;
+        farben = theFarben;
+        freieFarben = theFreieFarben;
+        anzahlKombinationen = theAnzahlKombinationen;
+    }
+
+    /**
+     * Erzeugt die Gruppe, die nur aus der Identität besteht. Sie ist für jede Kandidatenmenge gültig, etwa wenn die
+     * bisherigen Züge nicht bekannt sind.
+     * 
+     * @param konfiguration
+     *            Die Konfiguration.
+     * @return Die triviale Gruppe.
+     */
+    public static SymmetrieGruppe erzeugeTriviale(final SpielKonfiguration konfiguration) {
+        final int[] identitaet = new int[konfiguration.getPins()];
+        for (int i = 0; i < identitaet.length; i++) {
+            identitaet[i] = i;
+        }
+        final int[] farbIdentitaet = new int[konfiguration.getFarben()];
+        for (int farbe = 0; farbe < farbIdentitaet.length; farbe++) {
+            farbIdentitaet[farbe] = farbe;
+        }
+        return new SymmetrieGruppe(konfiguration, new int[][] { identitaet }, new int[][] { farbIdentitaet },
+                new int[0], 0);
+    }
+
+    /**
+     * Erzeugt rekursiv alle Permutationen.
+     * 
+     * @param aktuell
+     *            Die bisher belegten Stellen der Permutation.
+     * @param stelle
+     *            Die nächste zu belegende Stelle.
+     * @param belegt
+     *            Markiert die bereits verwendeten Werte.
+     * @param ergebnis
+     *            Wird mit den Permutationen gefüllt.
+     */
+    private static void erzeugePermutationen(final int[] aktuell, final int stelle, final boolean[] belegt,
+            final List<int[]> ergebnis) {
+        if (stelle == aktuell.length) {
+            ergebnis.add(aktuell.clone());
+            return;
+        }
+        for (int wert = 0; wert < aktuell.length; wert++) {
+            if (!belegt[wert]) {
+                belegt[wert] = true;
+                aktuell[stelle] = wert;
+                erzeugePermutationen(aktuell, stelle + 1, belegt, ergebnis);
+                belegt[wert] = false;
+            }
+        }
+    }
+
+    /**
+     * Liefert die Untergruppe der Symmetrien, die zusätzlich eine geratene Kombination festhalten.
+     * 
+     * @param geraten
+     *            Die geratene Kombination.
+     * @return Die Untergruppe.
+     * @throws IllegalArgumentException
+     *             Die Kombination hat die falsche Länge.
+     */
+    public SymmetrieGruppe fixiere(final SpielKombination geraten) {
+        final int pins = konfiguration.getPins();
+        if (geraten.getSpielSteineCount() != pins) {
+            throw new IllegalArgumentException("Kombination muss " + pins + " Pins haben");
+        }
+        if (isTrivial()) {
+            return this;
+        }
+        final List<int[]> neuePositionen = new ArrayList<int[]>();
+        final List<int[]> neueFarben = new ArrayList<int[]>();
+        for (int k = 0; k < positionen.length; k++) {
+            // die Umbenennung muss jede Farbe c = geraten[i] auf geraten[positionen[k][i]] abbilden
+            final int[] umbenennung = farben[k].clone();
+            final boolean[] neuesBild = new boolean[umbenennung.length];
+            boolean fixiert = true;
+            for (int i = 0; i < pins && fixiert; i++) {
+                final int farbe = geraten.getFarbe(i);
+                final int bild = geraten.getFarbe(positionen[k][i]);
+                if (umbenennung[farbe] >= 0) {
+                    fixiert = umbenennung[farbe] == bild;
+                } else {
+                    // freie Farben werden auf freie Farben abgebildet, und zwar eindeutig
+                    fixiert = farben[k][bild] < 0 && !neuesBild[bild];
+                    umbenennung[farbe] = bild;
+                    neuesBild[bild] = true;
+                }
+            }
+            if (fixiert) {
+                neuePositionen.add(positionen[k]);
+                neueFarben.add(umbenennung);
+            }
+        }
+
+        final boolean[] verwendet = new boolean[konfiguration.getFarben()];
+        for (int i = 0; i < pins; i++) {
+            verwendet[geraten.getFarbe(i)] = true;
+        }
+        int anzahlFrei = 0;
+        final int[] neueFreieFarben = new int[freieFarben.length];
+        for (int farbe : freieFarben) {
+            if (!verwendet[farbe]) {
+                neueFreieFarben[anzahlFrei++] = farbe;
+            }
+        }
+
+        return new SymmetrieGruppe(konfiguration, neuePositionen.toArray(new int[neuePositionen.size()][]),
+                neueFarben.toArray(new int[neueFarben.size()][]), Arrays.copyOf(neueFreieFarben, anzahlFrei),
+                anzahlKombinationen);
+    }
+
+    /**
+     * Liefert die Gruppe, die für eine Kandidatenmenge verwendet werden darf. Solange noch keine Kombination
+     * festgehalten wird, sind die bisherigen Züge unbekannt, und nur die Menge aller Kombinationen wird von allen
+     * Symmetrien auf sich selbst abgebildet. Für eine kleinere Kandidatenmenge wird dann die triviale Gruppe geliefert.
+     * 
+     * @param anzahlKandidaten
+     *            Die Anzahl der Kandidaten.
+     * @return Die zu verwendende Gruppe.
+     */
+    public SymmetrieGruppe fuerKandidaten(final int anzahlKandidaten) {
+        if (freieFarben.length == konfiguration.getFarben() && anzahlKandidaten != anzahlKombinationen) {
+            return erzeugeTriviale(konfiguration);
+        }
+        return this;
+    }
+
+    /**
+     * Liefert die Konfiguration.
+     * 
+     * @return Die Konfiguration.
+     */
+    public SpielKonfiguration getKonfiguration() {
+        return konfiguration;
+    }
+
+    /**
+     * Liefert die Anzahl der Elemente der Gruppe.
+     * 
+     * @return Die Anzahl der Elemente.
+     */
+    public long getAnzahlElemente() {
+        long anzahl = positionen.length;
+        for (int i = 2; i <= freieFarben.length; i++) {
+            anzahl *= i;
+        }
+        return anzahl;
+    }
+
+    /**
+     * Prüft, ob die Gruppe nur aus der Identität besteht, so dass jede Kombination ihr eigener Repräsentant ist.
+     * 
+     * @return <code>true</code> genau dann, wenn die Gruppe trivial ist.
+     */
+    public boolean isTrivial() {
+        return positionen.length == 1 && freieFarben.length <= 1;
+    }
+
+    /**
+     * Prüft, ob eine Kombination der Repräsentant ihrer Klasse ist, also kleiner oder gleich allen ihren Bildern.
+     * 
+     * @param kombination
+     *            Die Kombination.
+     * @return <code>true</code> genau dann, wenn die Kombination ein Repräsentant ist.
+     */
+    public boolean istRepraesentant(final SpielKombination kombination) {
+        final int pins = konfiguration.getPins();
+        final int[] urbild = new int[pins];
+        final int[] freiesBild = new int[konfiguration.getFarben()];
+        for (int k = 0; k < positionen.length; k++) {
+            for (int i = 0; i < pins; i++) {
+                urbild[positionen[k][i]] = i;
+            }
+            // freie Farben in der Reihenfolge ihres Auftretens im Bild auf die kleinsten freien Farben abbilden,
+            // das ergibt das kleinste Bild unter allen Umbenennungen der freien Farben
+            Arrays.fill(freiesBild, -1);
+            int naechsteFreie = 0;
+            for (int j = 0; j < pins; j++) {
+                final int farbe = kombination.getFarbe(urbild[j]);
+                int bild = farben[k][farbe];
+                if (bild < 0) {
+                    if (freiesBild[farbe] < 0) {
+                        freiesBild[farbe] = freieFarben[naechsteFreie++];
+                    }
+                    bild = freiesBild[farbe];
+                }
+                if (bild < kombination.getFarbe(j)) {
+                    return false;
+                } else if (bild > kombination.getFarbe(j)) {
+                    break;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Liefert die größte Kombination der Klasse einer Kombination, also ihr größtes Bild.
+     * 
+     * @param kombination
+     *            Die Kombination.
+     * @return Die größte Kombination der Klasse, interniert im {@link KombinationsRaum} der Konfiguration. Bei einer
+     *         trivialen Gruppe die übergebene Kombination selbst.
+     */
+    public SpielKombination groesstesBild(final SpielKombination kombination) {
+        if (isTrivial()) {
+            return kombination;
+        }
+        final int pins = konfiguration.getPins();
+        final int[] urbild = new int[pins];
+        final int[] freiesBild = new int[konfiguration.getFarben()];
+        final int[] bild = new int[pins];
+        final int[] groesstes = new int[pins];
+        Arrays.fill(groesstes, -1);
+        for (int k = 0; k < positionen.length; k++) {
+            for (int i = 0; i < pins; i++) {
+                urbild[positionen[k][i]] = i;
+            }
+            // freie Farben in der Reihenfolge ihres Auftretens im Bild auf die größten freien Farben abbilden,
+            // das ergibt das größte Bild unter allen Umbenennungen der freien Farben
+            Arrays.fill(freiesBild, -1);
+            int naechsteFreie = freieFarben.length - 1;
+            for (int j = 0; j < pins; j++) {
+                final int farbe = kombination.getFarbe(urbild[j]);
+                bild[j] = farben[k][farbe];
+                if (bild[j] < 0) {
+                    if (freiesBild[farbe] < 0) {
+                        freiesBild[farbe] = freieFarben[naechsteFreie--];
+                    }
+                    bild[j] = freiesBild[farbe];
+                }
+            }
+            for (int j = 0; j < pins; j++) {
+                if (bild[j] > groesstes[j]) {
+                    System.arraycopy(bild, 0, groesstes, 0, pins);
+                    break;
+                } else if (bild[j] < groesstes[j]) {
+                    break;
+                }
+            }
+        }
+        int code = 0;
+        for (int j = 0; j < pins; j++) {
+            code = code * konfiguration.getFarben() + groesstes[j];
+        }
+        return KombinationsRaum.getInstance(konfiguration).getKombination(code);
+    }
+
+    /**
+     * Liefert die Repräsentanten unter den angegebenen Kombinationen, in unveränderter Reihenfolge.
+     * 
+     * @param kombinationen
+     *            Die Kombinationen.
+     * @return Die Repräsentanten. Bei einer trivialen Gruppe die übergebene Liste selbst.
+     */
+    public List<SpielKombination> reduziere(final List<SpielKombination> kombinationen) {
+        if (isTrivial()) {
+            return kombinationen;
+        }
+        final List<SpielKombination> result = new ArrayList<SpielKombination>();
+        for (SpielKombination kombination : kombinationen) {
+            if (istRepraesentant(kombination)) {
+                result.add(kombination);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = konfiguration.hashCode();
+        result = prime * result + Arrays.deepHashCode(positionen);
+        result = prime * result + Arrays.deepHashCode(farben);
+        result = prime * result + Arrays.hashCode(freieFarben);
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof SymmetrieGruppe)) {
+            return false;
+        }
+        final SymmetrieGruppe other = (SymmetrieGruppe) obj;
+        return konfiguration.equals(other.konfiguration) && Arrays.deepEquals(positionen, other.positionen)
+                && Arrays.deepEquals(farben, other.farben) && Arrays.equals(freieFarben, other.freieFarben);
+    }
+}
@@ -0,0 +1,150 @@
+package org.hitzemann.mms.solver;
+
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielKonfiguration;
+import org.hitzemann.mms.model.SpielStein;
+
+/**
+ * <p>
+ * Implementierung von {@link IErgebnisBerechnung} mit konstanter Laufzeit, für Konfigurationen mit höchstens
+ * {@value SpielKombination#MAX_WORT_STEINE} Pins und {@value #MAX_FARBEN} Farben. Eine Alternative für
+ * Konfigurationen, für die der {@link TabellenErgebnisBerechner} zu groß wird, z.B. 6 Pins und 9 Farben. Sie wird
+ * nirgends automatisch gewählt, sondern vom Aufrufer explizit erzeugt, bisher nur in Tests und im Benchmark.
+ * </p>
+ * 
+ * <p>
+ * Die Berechnung verwendet die in jeder {@link SpielKombination} vorberechneten gepackten Wörter (siehe
+ * {@link SpielKombination#getFarbWort()} und {@link SpielKombination#getHaeufigkeitsWort()}) und verarbeitet alle
+ * Positionen bzw. Farben gleichzeitig:
+ * </p>
+ * 
+ * <ul>
+ * <li>schwarz := Länge - Anzahl der von 0 verschiedenen 4-Bit-Gruppen in (FarbWort(geheim) XOR FarbWort(geraten))</li>
+ * <li>weiss := Summe der 4-Bit-Gruppen von Minimum(HaeufigkeitsWort(geheim), HaeufigkeitsWort(geraten)) - schwarz</li>
+ * </ul>
+ * 
+ * <p>
+ * Das Minimum wird getrennt für die geraden und ungeraden 4-Bit-Gruppen berechnet, jeweils in 8 Bytes gleichzeitig.
+ * In jedem Byte wird dazu ein Hilfsbit über dem Wert gesetzt, so dass die Subtraktion keinen Übertrag in das nächste
+ * Byte erzeugt und das Hilfsbit danach angibt, welcher Wert kleiner ist.
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class BitParallelerErgebnisBerechner implements IErgebnisBerechnung {
+
+    /**
+     * Die maximale Anzahl der Farben.
+     */
+    public static final int MAX_FARBEN = SpielKombination.MAX_WORT_FARBE + 1;
+
+    /**
+     * Das jeweils niedrigste Bit jeder 4-Bit-Gruppe.
+     */
+    private static final long NIEDRIGSTE_BITS = 0x1111111111111111L;
+
+    /**
+     * Die niedrigen 4 Bit jedes Bytes.
+     */
+    private static final long NIEDRIGE_HAELFTEN = 0x0F0F0F0F0F0F0F0FL;
+
+    /**
+     * Das niedrigste Bit jedes Bytes.
+     */
+    private static final long EINSEN = 0x0101010101010101L;
+
+    /**
+     * Das Hilfsbit über den niedrigen 4 Bit jedes Bytes.
+     */
+    private static final long HILFSBITS = 0x1010101010101010L;
+
+    /**
+     * Die Anzahl der Farben.
+     */
+    private final int anzahlFarben;
+
+    /**
+     * Erzeugt eine Instanz für die Farben aus {@link SpielStein}.
+     */
+    public BitParallelerErgebnisBerechner() {
+        anzahlFarben = SpielKonfiguration.STANDARD_FARBEN;
+    }
+
+    /**
+     * Erzeugt eine Instanz für eine {@link SpielKonfiguration}.
+     * 
+     * @param konfiguration
+     *            Die Konfiguration.
+     * @throws IllegalArgumentException
+     *             Die Konfiguration hat mehr als {@value SpielKombination#MAX_WORT_STEINE} Pins oder mehr als
+     *             {@value #MAX_FARBEN} Farben.
+     */
+    public BitParallelerErgebnisBerechner(final SpielKonfiguration konfiguration) {
+        if (konfiguration.getPins() > SpielKombination.MAX_WORT_STEINE || konfiguration.getFarben() > MAX_FARBEN) {
+            throw new IllegalArgumentException(konfiguration + " passt nicht in ein long");
+        }
+        anzahlFarben = konfiguration.getFarben();
+    }
+
+    @Override
+    public ErgebnisKombination berechneErgebnis(final SpielKombination geheim, final SpielKombination geraten) {
+        return ErgebnisKombination.valueOf(berechneErgebnisCode(geheim, geraten));
+    }
+
+    @Override
+    public int berechneErgebnisCode(final SpielKombination geheim, final SpielKombination geraten) {
+        if (geheim == null) {
+            throw new IllegalArgumentException("Geheime Kombination ist null!");
+        }
+        if (geraten == null) {
+            throw new IllegalArgumentException("Geratene Kombination ist null!");
+        }
+
+        final int groesse = geheim.getSpielSteineCount();
+        if (geraten.getSpielSteineCount() != groesse) {
+            throw new IllegalArgumentException("Spielkombinationen haben unterschiedliche Größen!");
+        }
+        if (groesse > SpielKombination.MAX_WORT_STEINE) {
+            throw new IllegalArgumentException("Spielkombination hat mehr als " + SpielKombination.MAX_WORT_STEINE
+                    + " Steine!");
+        }
+
+        if (geheim.getHoechsteFarbe() >= anzahlFarben || geraten.getHoechsteFarbe() >= anzahlFarben) {
+            throw new IllegalArgumentException("Spielkombination hat mehr als " + anzahlFarben + " Farben!");
+        }
+
+        // "schwarz" berechnen, jede von 0 verschiedene 4-Bit-Gruppe ist eine abweichende Position
+        long abweichung = geheim.getFarbWort() ^ geraten.getFarbWort();
+        abweichung |= abweichung >>> 1;
+        abweichung |= abweichung >>> 2;
+        final int schwarz = groesse - Long.bitCount(abweichung & NIEDRIGSTE_BITS);
+
+        // "weiss" berechnen, getrennt für die geraden und ungeraden Farbindizes
+        final long geheimWort = geheim.getHaeufigkeitsWort();
+        final long geratenWort = geraten.getHaeufigkeitsWort();
+        final int weiss = summeMinimum(geheimWort & NIEDRIGE_HAELFTEN, geratenWort & NIEDRIGE_HAELFTEN)
+                + summeMinimum((geheimWort >>> 4) & NIEDRIGE_HAELFTEN, (geratenWort >>> 4) & NIEDRIGE_HAELFTEN)
+                - schwarz;
+
+        return ErgebnisKombination.berechneCode(schwarz, weiss);
+    }
+
+    /**
+     * Berechnet die Summe der byteweisen Minima zweier Wörter ohne Verzweigung.
+     * 
+     * @param a
+     *            Das erste Wort, mit Werten von 0 bis 15 in den niedrigen 4 Bit jedes Bytes.
+     * @param b
+     *            Das zweite Wort, mit Werten von 0 bis 15 in den niedrigen 4 Bit jedes Bytes.
+     * @return Die Summe der Minima über alle 8 Bytes.
+     */
+    private static int summeMinimum(final long a, final long b) {
+        // pro Byte 16 + a - b, das Hilfsbit bleibt genau dann gesetzt, wenn a >= b
+        final long differenz = (a | HILFSBITS) - b;
+        final long maskeB = ((differenz >>> 4) & EINSEN) * 0x0F;
+        final long minimum = (b & maskeB) | (a & ~maskeB);
+        // die Summe passt in das höchste Byte, da sie höchstens 8 * 15 ist
+        return (int) ((minimum * EINSEN) >>> 56);
+    }
+}
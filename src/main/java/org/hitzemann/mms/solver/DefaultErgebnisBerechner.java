@@ -49,7 +49,7 @@ public final class DefaultErgebnisBerechner implements IErgebnisBerechnung {
             }
             // Berechne korrekte Positionen
             for (int n = 0; n < geheim.getSpielSteineCount(); n++) {
-                if (geheimMap.get(n) && geratenMap.get(n) && geheim.getSpielStein(n).equals(geraten.getSpielStein(n))) {
+                if (geheimMap.get(n) && geratenMap.get(n) && geheim.getFarbe(n) == geraten.getFarbe(n)) {
                     geheimMap.put(n, false);
                     geratenMap.put(n, false);
                     korrekt++;
@@ -60,7 +60,7 @@ public final class DefaultErgebnisBerechner implements IErgebnisBerechnung {
                 for (int m = 0; m < geheim.getSpielSteineCount(); m++) {
                     if (m != n) {
                         if (geheimMap.get(n) && geratenMap.get(m)
-                                && geheim.getSpielStein(n).equals(geraten.getSpielStein(m))) {
+                                && geheim.getFarbe(n) == geraten.getFarbe(m)) {
                             geheimMap.put(n, false);
                             geratenMap.put(m, false);
                             position++;
@@ -69,6 +69,11 @@ public final class DefaultErgebnisBerechner implements IErgebnisBerechnung {
                 }
             }
         }
-        return new ErgebnisKombination(korrekt, position);
+        return ErgebnisKombination.valueOf(korrekt, position);
+    }
+
+    @Override
+    public int berechneErgebnisCode(final SpielKombination geheim, final SpielKombination geraten) {
+        return berechneErgebnis(geheim, geraten).getCode();
     }
 }
@@ -22,4 +22,17 @@ public interface IErgebnisBerechnung {
      */
     ErgebnisKombination berechneErgebnis(SpielKombination geheim, SpielKombination geraten);
 
+    /**
+     * Berechnet das Ergebnis wie {@link #berechneErgebnis(SpielKombination, SpielKombination)}, liefert aber nur dessen
+     * Code (siehe {@link ErgebnisKombination#getCode()}). Implementierungen sollten dabei keine Objekte erzeugen, damit
+     * die Methode in Schleifen über alle Kandidaten verwendet werden kann.
+     * 
+     * @param geheim
+     *            ReferenzSpielKombination
+     * @param geraten
+     *            Rateversuch
+     * @return Code der ErgebnisKombination für den Rateversuch
+     */
+    int berechneErgebnisCode(SpielKombination geheim, SpielKombination geraten);
+
 }
\ No newline at end of file
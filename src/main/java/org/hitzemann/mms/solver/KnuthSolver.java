@@ -3,21 +3,14 @@
  */
 package org.hitzemann.mms.solver;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
-import java.util.SortedSet;
-import java.util.TreeMap;
-import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
 
-import org.hitzemann.mms.model.DefaultSpielKombinationFactory;
 import org.hitzemann.mms.model.ErgebnisKombination;
-import org.hitzemann.mms.model.ISpielKombinationFactory;
+import org.hitzemann.mms.model.KombinationsMenge;
 import org.hitzemann.mms.model.SpielKombination;
-import org.hitzemann.mms.model.SpielStein;
+import org.hitzemann.mms.model.SpielKonfiguration;
+import org.hitzemann.mms.model.SymmetrieGruppe;
 
 /**
  * @author simon
@@ -26,46 +19,38 @@ import org.hitzemann.mms.model.SpielStein;
 public final class KnuthSolver implements ISolver {
 
     /**
-     * Cache für die gewählte Ratekombination in Abhängigkeit von der Menge der verfügbaren Kandidaten für die
-     * Geheimkombination.
+     * Cache für die gewählte Ratekombination in Abhängigkeit vom Fingerabdruck der Menge der verfügbaren Kandidaten
+     * für die Geheimkombination, gemeinsam für alle Solver, die ihre Strategie nicht selbst mitbringen.
      */
-    private static final Map<Set<SpielKombination>, SpielKombination> CACHE = new HashMap<Set<SpielKombination>, SpielKombination>();
+    private static final ZugCache CACHE = new ZugCache(KnuthStrategie.CACHE_KAPAZITAET);
 
     /**
-     * Anzahl der Pins in diesem Spiel.
+     * Die Strategie mit allen vorberechneten Daten, wird ggf. von mehreren Solvern gemeinsam verwendet.
      */
-    private final int pins;
+    private final KnuthStrategie strategie;
 
     /**
-     * Maximumscore einer Lösung, sollte größer sein als Farben^Pins.
+     * Die Symmetrien, die alle bisherigen Züge festhalten. Von gleichwertigen Ratekombinationen wird nur der
+     * Repräsentant bewertet.
      */
-    private final long maxscore;
-
-    /**
-     * Statisches Set mit allen Möglichkeiten, sollte für mehr Geschwindigkeit sorgen.
-     */
-    private SortedSet<SpielKombination> alleMoeglichkeiten;
-
-    /**
-     * Objekt zur Ergebnisberechnung.
-     */
-    private IErgebnisBerechnung ergebnisBerechner;
+    private SymmetrieGruppe symmetrie;
 
     /**
      * Set mit noch allen möglichen Lösungen für das aktuelle Spiel.
      */
-    private SortedSet<SpielKombination> geheimMoeglichkeiten;
+    private final KombinationsMenge geheimMoeglichkeiten;
 
     /**
-     * Set mit allen gültigen ErgebnisMöglichkeiten (Modulo dem Ergebnis, dass alle Pins richtig sind).
+     * Der Knoten des bisherigen Spielverlaufs im Präfixbaum der Antworten der Strategie, oder <code>null</code>, falls
+     * ein anderer als der gelieferte Zug geraten wurde.
      */
-    private SortedSet<ErgebnisKombination> ergebnisMoeglichkeiten;
+    private KnuthStrategie.Knoten knoten;
 
     /**
-     * Map aus SpielKombination und Score für den jeweiligen Zug. Die Score ist die Anzahl an Lösungen, die mindestens
-     * eliminiert werden.
+     * Der vorgegebene erste Zug, oder <code>null</code>, falls er bereits geraten wurde oder die Strategie den ersten
+     * Zug bestimmt. Liegt nur im Solver, damit er andere Solver mit der gleichen Strategie nicht beeinflusst.
      */
-    private Map<SpielKombination, Long> scoreMap;
+    private SpielKombination ersterZug;
 
     /**
      * Konstruktor für den Solver, der den ersten Rateversuch setzt.
@@ -78,15 +63,56 @@ public final class KnuthSolver implements ISolver {
      *            Erste zu ratende {@link SpielKombination}
      */
     public KnuthSolver(final IErgebnisBerechnung berechner, final int paramPins, final SpielKombination firstGuess) {
-        this(berechner, paramPins);
-        if (firstGuess.getSpielSteineCount() != paramPins) {
+        this(berechner, paramPins, firstGuess, null);
+    }
+
+    /**
+     * Konstruktor für den Solver, der den ersten Rateversuch setzt und die Ratekombinationen parallel bewertet. Die
+     * gerateten Kombinationen sind die gleichen wie bei serieller Bewertung.
+     * 
+     * @param berechner
+     *            Objekt, welches {@link IErgebnisBerechnung} implementiert, muss threadsicher sein
+     * @param paramPins
+     *            Anzahl der Pins
+     * @param firstGuess
+     *            Erste zu ratende {@link SpielKombination}
+     * @param paramExecutor
+     *            Executor für die parallele Bewertung, oder <code>null</code> für serielle Bewertung. Wird vom Solver
+     *            nicht beendet.
+     */
+    public KnuthSolver(final IErgebnisBerechnung berechner, final int paramPins, final SpielKombination firstGuess,
+            final ExecutorService paramExecutor) {
+        this(berechner, new SpielKonfiguration(paramPins), firstGuess, paramExecutor);
+    }
+
+    /**
+     * Konstruktor für den Solver für eine beliebige Spielvariante, der den ersten Rateversuch setzt und die
+     * Ratekombinationen parallel bewertet.
+     * 
+     * @param berechner
+     *            Objekt, welches {@link IErgebnisBerechnung} implementiert und die Farben der Konfiguration
+     *            unterstützt, muss bei paralleler Bewertung threadsicher sein
+     * @param konfiguration
+     *            Die Spielvariante
+     * @param firstGuess
+     *            Erste zu ratende {@link SpielKombination}
+     * @param paramExecutor
+     *            Executor für die parallele Bewertung, oder <code>null</code> für serielle Bewertung. Wird vom Solver
+     *            nicht beendet.
+     */
+    public KnuthSolver(final IErgebnisBerechnung berechner, final SpielKonfiguration konfiguration,
+            final SpielKombination firstGuess, final ExecutorService paramExecutor) {
+        this(berechner, konfiguration, paramExecutor);
+        if (firstGuess.getSpielSteineCount() != strategie.getPins()) {
             throw new IllegalArgumentException(
                     "Erster Rateversuch muss die gleiche Länge haben wie Pins im Spiel sind.");
         }
         // Ideal für 4 Pins - bleibt immer unter 6 Rateversuchen und brauch im
         // Schnitt am wenigsten Versuche:
-        // CACHE.put(alleMoeglichkeiten, new SpielKombination(1, 4, 1, 4));
-        CACHE.put(alleMoeglichkeiten, firstGuess);
+        // new SpielKombination(1, 4, 1, 4)
+        ersterZug = firstGuess;
+        // der Präfixbaum der Strategie beginnt mit ihrem eigenen ersten Zug
+        knoten = null;
     }
 
     /**
@@ -98,163 +124,102 @@ public final class KnuthSolver implements ISolver {
      *            Anzahl der Pins
      */
     public KnuthSolver(final IErgebnisBerechnung berechner, final int paramPins) {
-        this.ergebnisBerechner = berechner;
-        pins = paramPins;
-        if (paramPins < 1) {
-            throw new IllegalArgumentException("Anzahl der Pins muss > 0 sein");
-        }
-        maxscore = Math.round(Math.pow(SpielStein.values().length, pins)) + 1;
-
-        final ISpielKombinationFactory factory = new DefaultSpielKombinationFactory();
-        alleMoeglichkeiten = new TreeSet<SpielKombination>(factory.erzeugeAlle(pins));
-
-        scoreMap = new TreeMap<SpielKombination, Long>();
-        initialisiereErgebnisMoeglichkeiten();
-        geheimMoeglichkeiten = new TreeSet<SpielKombination>(alleMoeglichkeiten);
+        this(berechner, paramPins, (ExecutorService) null);
     }
 
     /**
-     * Für's Iterieren ein Set mit allen gültigen Ergebnissen für 4 Steine anlegen.
+     * Konstruktor für den Solver, der die Ratekombinationen parallel bewertet. Die gerateten Kombinationen sind die
+     * gleichen wie bei serieller Bewertung.
+     * 
+     * @param berechner
+     *            Objekt, welches IErgebnisBerechnung implementiert, muss threadsicher sein
+     * @param paramPins
+     *            Anzahl der Pins
+     * @param paramExecutor
+     *            Executor für die parallele Bewertung, oder <code>null</code> für serielle Bewertung. Wird vom Solver
+     *            nicht beendet.
      */
-    private void initialisiereErgebnisMoeglichkeiten() {
-        ergebnisMoeglichkeiten = new TreeSet<ErgebnisKombination>();
-        for (int schwarz = 0; schwarz <= pins; schwarz++) {
-            for (int weiss = 0; weiss <= pins; weiss++) {
-                if ((schwarz + weiss) <= pins && !(schwarz == pins - 1 && weiss == 1)) {
-                    ergebnisMoeglichkeiten.add(new ErgebnisKombination(schwarz, weiss));
-                }
-            }
-        }
+    public KnuthSolver(final IErgebnisBerechnung berechner, final int paramPins, final ExecutorService paramExecutor) {
+        this(berechner, new SpielKonfiguration(paramPins), paramExecutor);
     }
 
     /**
-     * Entferne alle möglichen Geheimkombinationen, die nicht durch die geratene Kombination und das Ergebnis
-     * dargestellt werden können.
+     * Konstruktor für den Solver für eine beliebige Spielvariante.
      * 
-     * @param ratekombi
-     *            Geratene SpielKombination
-     * @param ergebnis
-     *            Ergebnis für die geratene Kombination
-     * @param moeglichkeitenSet
-     *            Set aus SpielKombinationen über die iteriert wird
+     * @param berechner
+     *            Objekt, welches IErgebnisBerechnung implementiert und die Farben der Konfiguration unterstützt
+     * @param konfiguration
+     *            Die Spielvariante
      */
-    private void eleminiereMoeglichkeiten(final SpielKombination ratekombi, final ErgebnisKombination ergebnis,
-            final Set<SpielKombination> moeglichkeitenSet) {
-        if (ratekombi.getSpielSteineCount() != pins) {
-            throw new IllegalArgumentException("Ich wurde für eine andere Pinzahl initialisiert!");
-        }
-        for (final Iterator<SpielKombination> setIterator = moeglichkeitenSet.iterator(); setIterator.hasNext();) {
-            final SpielKombination geheim = setIterator.next();
-            if (!ergebnis.equals(ergebnisBerechner.berechneErgebnis(geheim, ratekombi))) {
-                setIterator.remove();
-            }
-        }
+    public KnuthSolver(final IErgebnisBerechnung berechner, final SpielKonfiguration konfiguration) {
+        this(berechner, konfiguration, (ExecutorService) null);
     }
 
     /**
-     * Zähle wieviele Möglichkeiten ein Spiel- und ErgebnisKombinationstupel von den noch übrigen geheimen Möglichkeiten
-     * übrig lassen würde.
+     * Konstruktor für den Solver für eine beliebige Spielvariante, der die Ratekombinationen parallel bewertet.
      * 
-     * @param ratekombi
-     *            SpielKombination die geraten werden soll
-     * @param ergebnis
-     *            ErgebnisKombination welche herauskommen soll
-     * @param geheimSet
-     *            SpielKombination Set der noch möglichen Lösungen
-     * @return Anzahl der SpielKombinationen die noch eine Lösung sein können
-     */
-    private int zaehleUebrigeMoeglichkeiten(final SpielKombination ratekombi, final ErgebnisKombination ergebnis,
-            final Set<SpielKombination> geheimSet) {
-        int anzahlUebrigerMoeglichkeiten = 0;
-        if (ratekombi.getSpielSteineCount() != pins) {
-            throw new IllegalArgumentException("Ich wurde für eine andere Pinzahl initialisiert!");
-        }
-        for (SpielKombination geheim : geheimSet) {
-            if (ergebnis.equals(ergebnisBerechner.berechneErgebnis(geheim, ratekombi))) {
-                anzahlUebrigerMoeglichkeiten++;
-            }
-        }
-        return anzahlUebrigerMoeglichkeiten;
+     * @param berechner
+     *            Objekt, welches IErgebnisBerechnung implementiert und die Farben der Konfiguration unterstützt, muss
+     *            bei paralleler Bewertung threadsicher sein
+     * @param konfiguration
+     *            Die Spielvariante
+     * @param paramExecutor
+     *            Executor für die parallele Bewertung, oder <code>null</code> für serielle Bewertung. Wird vom Solver
+     *            nicht beendet.
+     */
+    public KnuthSolver(final IErgebnisBerechnung berechner, final SpielKonfiguration konfiguration,
+            final ExecutorService paramExecutor) {
+        // eigene Strategie, aber gemeinsamer Cache und gemeinsamer Präfixbaum für alle Solver dieser Konfiguration
+        this(new KnuthStrategie(berechner, konfiguration, paramExecutor, CACHE,
+                KnuthStrategie.gemeinsameWurzel(konfiguration)));
     }
 
     /**
-     * Errechne die höchste Anzahl an geheimen Kombinationen, die jede geratene Kombination von den noch übrigen
-     * geheimen Möglichkeiten übriglassen würde.
+     * Konstruktor für einen Solver zu einer vorhandenen Strategie. Der Solver hält nur den Zustand seines Spiels, so
+     * dass beliebig viele Solver mit der gleichen Strategie in verschiedenen Threads spielen können.
      * 
-     * @param geheimSet
-     *            SpielKombination Set der noch möglichen Lösungen
-     */
-    private void errechneScoring(final Set<SpielKombination> geheimSet) {
-        long score;
-        long tempscore;
-        scoreMap.clear();
-        for (SpielKombination rate : alleMoeglichkeiten) {
-            score = -1;
-            for (ErgebnisKombination ergebnis : ergebnisMoeglichkeiten) {
-                tempscore = zaehleUebrigeMoeglichkeiten(rate, ergebnis, geheimSet);
-                if (tempscore > score) {
-                    score = tempscore;
-                }
-            }
-            if (score < geheimSet.size() && score > 0) {
-                scoreMap.put(rate, score);
-            }
-        }
-        if (scoreMap.size() < 1) {
-            throw new RuntimeException("Score Map hat weniger als einen Eintrag. Da stimmt was nicht...");
-        }
+     * @param paramStrategie
+     *            Die Strategie, wird nicht verändert
+     */
+    public KnuthSolver(final KnuthStrategie paramStrategie) {
+        strategie = paramStrategie;
+        symmetrie = strategie.getStartSymmetrie();
+        geheimMoeglichkeiten = strategie.erzeugeKandidaten();
+        knoten = strategie.getWurzel();
     }
 
     /**
-     * Suche die SpielKombination mit der geringsten WorstCase-Anzahl an übriggebliebenen Möglichkeiten.
+     * Suche die SpielKombination mit der geringsten WorstCase-Anzahl an übriggebliebenen Möglichkeiten. Ohne Cache
+     * und ohne Reduktion auf Repräsentanten, paketsichtbar für Tests.
      * 
      * @param geheimSet
      *            SpielKombination Set der noch möglichen Lösungen
      * @return SpielKombination welche das beste Ergebnis hervorbringen sollte
      */
-    private SpielKombination errechneBesteKombination(final Set<SpielKombination> geheimSet) {
-        SpielKombination tempkomb = null;
-        if (geheimSet.size() == 1) {
-            return geheimSet.iterator().next();
-        }
-        long tempscore = maxscore;
-        errechneScoring(geheimSet);
-        for (Entry<SpielKombination, Long> tempentry : scoreMap.entrySet()) {
-            if (tempentry.getValue() < tempscore) {
-                /*
-                 * Diese zusätzliche Bedingung generiert einen besseren Durchschnitt, schafft es aber nicht mehr alle
-                 * Kombinationen in unter 6 Schritten zu raten :(
-                 */
-                // || tempentry.getValue() == tempscore &&
-                // geheimSet.contains(tempentry.getKey())) {
-                tempscore = tempentry.getValue();
-                tempkomb = tempentry.getKey();
-            }
-        }
-        if (tempkomb == null) {
-            throw new RuntimeException("Ungültige Kombination für nächsten Zug.");
-        }
-        return tempkomb;
+    SpielKombination errechneBesteKombination(final Set<SpielKombination> geheimSet) {
+        return strategie.errechneBesteKombination(geheimSet);
+    }
+
+    /**
+     * Liefert den von allen Instanzen ohne eigene Strategie gemeinsam verwendeten Cache, z.B. zum Auslesen der Treffer
+     * und Fehlschläge.
+     * 
+     * @return Der Cache.
+     */
+    public static ZugCache getCache() {
+        return CACHE;
     }
 
     /**
      * {@inheritDoc}
      * 
-     * Die Kandidatenmenge ist veränderlich und daher als Cache-Schlüssel ungeeignet, deswegen müssen wir eine Kopie der
-     * Kandidatenmenge als Schlüssel verwenden.
      */
     @Override
     public SpielKombination getNeuerZug() {
-        // Kandidatenmenge ist veränderlich und deshalb als Cache-Schlüssel
-        // ungeeignet
-        // Kopie der Kandidatenmenge als Schlüssel verwenden!
-        final Set<SpielKombination> key = new HashSet<SpielKombination>(geheimMoeglichkeiten);
-        SpielKombination result = CACHE.get(key);
-        if (result == null) {
-            result = errechneBesteKombination(geheimMoeglichkeiten);
-            CACHE.put(key, result);
+        if (ersterZug != null) {
+            return ersterZug;
         }
-        return result;
+        return strategie.getZug(knoten, geheimMoeglichkeiten, symmetrie);
     }
 
     /**
@@ -263,10 +228,14 @@ public final class KnuthSolver implements ISolver {
      */
     @Override
     public void setLetzterZug(final SpielKombination zug, final ErgebnisKombination antwort) {
+        final int pins = strategie.getPins();
         if (((antwort.getSchwarz() + antwort.getWeiss()) > pins)
                 || (antwort.getSchwarz() == (pins - 1) && antwort.getWeiss() == 1)) {
             throw new IllegalArgumentException();
         }
-        eleminiereMoeglichkeiten(zug, antwort, geheimMoeglichkeiten);
+        strategie.eliminiere(zug, antwort, geheimMoeglichkeiten);
+        ersterZug = null;
+        symmetrie = symmetrie.fixiere(zug);
+        knoten = strategie.getFolgeKnoten(knoten, zug, antwort);
     }
 }
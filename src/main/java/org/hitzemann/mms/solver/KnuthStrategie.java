@@ -0,0 +1,581 @@
+package org.hitzemann.mms.solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.hitzemann.mms.model.DefaultSpielKombinationFactory;
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.Fingerabdruck;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielKonfiguration;
+import org.hitzemann.mms.model.SymmetrieGruppe;
+
+/**
+ * <p>
+ * Die Strategie des {@link KnuthSolver}: Geraten wird die kleinste Kombination, bei der im ungünstigsten Fall die
+ * wenigsten Kandidaten übrig bleiben und die die Kandidaten aufteilt.
+ * </p>
+ * 
+ * <p>
+ * Alle vorberechneten Daten (die Ratekombinationen und die {@link PartitionsBewertung}) werden nach der Erzeugung nicht
+ * mehr verändert, und die berechneten Züge werden in einem threadsicheren {@link ZugCache} hinterlegt. Eine Instanz
+ * kann daher von beliebig vielen {@link KnuthSolver}n in verschiedenen Threads gemeinsam verwendet werden, sofern die
+ * verwendete {@link IErgebnisBerechnung} threadsicher ist. Der Zustand eines Spiels, also die Kandidatenmenge und die
+ * Symmetrien der bisherigen Züge, liegt allein im jeweiligen Solver.
+ * </p>
+ * 
+ * <p>
+ * Vor dem {@link ZugCache} liegt ein Präfixbaum über die Antworten seit Spielbeginn (siehe {@link Knoten}). Solange
+ * ein Spiel nur die gelieferten Züge rät, ist die Kandidatenmenge durch die Antworten bestimmt, und der Zug ist ohne
+ * Fingerabdruck über den Folge-Knoten des vorherigen Zugs erreichbar. Der Baum wächst dabei bis zum vollständigen
+ * Entscheidungsbaum der Strategie heran. Der Baum gehört zur Instanz und hilft daher nur Spielen, die sich eine
+ * Strategie teilen. Die {@link KnuthSolver} ohne eigene Strategie verwenden zwar jeweils eine eigene Instanz, teilen
+ * sich aber einen Baum pro Konfiguration (siehe {@link #gemeinsameWurzel(SpielKonfiguration)}).
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class KnuthStrategie {
+
+    /**
+     * Maximale Anzahl an Einträgen im Cache einer neuen Strategie.
+     */
+    public static final int CACHE_KAPAZITAET = 10000;
+
+    /**
+     * Ein Knoten im Präfixbaum der Antworten. Hält den für den Pfad zu ratenden Zug und die Folge-Knoten, wird ohne
+     * Sperren aufgebaut.
+     * 
+     * @author chschu
+     */
+    static final class Knoten {
+
+        /**
+         * Der zu ratende Zug, oder <code>null</code> falls er noch nicht berechnet wurde.
+         */
+        private volatile SpielKombination zug;
+
+        /**
+         * Die Folge-Knoten, indiziert über den Antwort-Code.
+         */
+        private final AtomicReferenceArray<Knoten> kinder;
+
+        /**
+         * Erzeugt einen Knoten ohne Zug.
+         * 
+         * @param anzahlAntworten
+         *            Die Anzahl der möglichen Antwort-Codes.
+         */
+        private Knoten(final int anzahlAntworten) {
+            kinder = new AtomicReferenceArray<Knoten>(anzahlAntworten);
+        }
+    }
+
+    /**
+     * Die gemeinsamen Wurzeln pro Konfiguration, siehe {@link #gemeinsameWurzel(SpielKonfiguration)}.
+     */
+    private static final ConcurrentMap<SpielKonfiguration, Knoten> GEMEINSAME_WURZELN =
+            new ConcurrentHashMap<SpielKonfiguration, Knoten>();
+
+    /**
+     * Anzahl der Pins.
+     */
+    private final int pins;
+
+    /**
+     * Objekt zur Ergebnisberechnung.
+     */
+    private final IErgebnisBerechnung ergebnisBerechner;
+
+    /**
+     * Alle Möglichkeiten, wird nicht verändert.
+     */
+    private final KombinationsMenge alleMoeglichkeiten;
+
+    /**
+     * Alle Möglichkeiten als Array in aufsteigender Reihenfolge, für die Aufteilung auf Teilaufgaben.
+     */
+    private final SpielKombination[] rateMoeglichkeiten;
+
+    /**
+     * Die Symmetrien der Konfiguration, für ein Spiel ohne bisherige Züge.
+     */
+    private final SymmetrieGruppe startSymmetrie;
+
+    /**
+     * Bewertung der Ratekombinationen über das Histogramm der Ergebnisse.
+     */
+    private final PartitionsBewertung partitionsBewertung;
+
+    /**
+     * Executor für die parallele Bewertung der Ratekombinationen, oder <code>null</code> für serielle Bewertung.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Cache für die gewählte Ratekombination in Abhängigkeit vom Fingerabdruck der Kandidatenmenge.
+     */
+    private final ZugCache cache;
+
+    /**
+     * Die Wurzel des Präfixbaums der Antworten.
+     */
+    private final Knoten wurzel;
+
+    /**
+     * Erzeugt eine Strategie mit serieller Bewertung und eigenem Cache.
+     * 
+     * @param berechner
+     *            Objekt, welches {@link IErgebnisBerechnung} implementiert und die Farben der Konfiguration
+     *            unterstützt, muss bei gemeinsamer Verwendung threadsicher sein
+     * @param konfiguration
+     *            Die Spielvariante
+     */
+    public KnuthStrategie(final IErgebnisBerechnung berechner, final SpielKonfiguration konfiguration) {
+        this(berechner, konfiguration, null, new ZugCache(CACHE_KAPAZITAET));
+    }
+
+    /**
+     * Erzeugt eine Strategie.
+     * 
+     * @param berechner
+     *            Objekt, welches {@link IErgebnisBerechnung} implementiert und die Farben der Konfiguration
+     *            unterstützt, muss bei paralleler Bewertung oder gemeinsamer Verwendung threadsicher sein
+     * @param konfiguration
+     *            Die Spielvariante
+     * @param paramExecutor
+     *            Executor für die parallele Bewertung, oder <code>null</code> für serielle Bewertung. Wird von der
+     *            Strategie nicht beendet.
+     * @param paramCache
+     *            Der Cache für die berechneten Züge, kann von mehreren Strategien gemeinsam verwendet werden
+     * @throws IllegalArgumentException
+     *             Die Anzahl der Pins ist kleiner als 1.
+     */
+    public KnuthStrategie(final IErgebnisBerechnung berechner, final SpielKonfiguration konfiguration,
+            final ExecutorService paramExecutor, final ZugCache paramCache) {
+        this(berechner, konfiguration, paramExecutor, paramCache, null);
+    }
+
+    /**
+     * Erzeugt eine Strategie mit einem vorhandenen Präfixbaum, paketsichtbar für den {@link KnuthSolver}.
+     * 
+     * @param berechner
+     *            Objekt, welches {@link IErgebnisBerechnung} implementiert und die Farben der Konfiguration
+     *            unterstützt, muss bei paralleler Bewertung oder gemeinsamer Verwendung threadsicher sein
+     * @param konfiguration
+     *            Die Spielvariante
+     * @param paramExecutor
+     *            Executor für die parallele Bewertung, oder <code>null</code> für serielle Bewertung. Wird von der
+     *            Strategie nicht beendet.
+     * @param paramCache
+     *            Der Cache für die berechneten Züge, kann von mehreren Strategien gemeinsam verwendet werden
+     * @param paramWurzel
+     *            Die Wurzel des Präfixbaums, siehe {@link #gemeinsameWurzel(SpielKonfiguration)}, oder
+     *            <code>null</code> für einen eigenen Baum
+     * @throws IllegalArgumentException
+     *             Die Anzahl der Pins ist kleiner als 1.
+     */
+    KnuthStrategie(final IErgebnisBerechnung berechner, final SpielKonfiguration konfiguration,
+            final ExecutorService paramExecutor, final ZugCache paramCache, final Knoten paramWurzel) {
+        pins = konfiguration.getPins();
+        if (pins < 1) {
+            throw new IllegalArgumentException("Anzahl der Pins muss > 0 sein");
+        }
+        ergebnisBerechner = berechner;
+        alleMoeglichkeiten = new KombinationsMenge(KombinationsRaum.getInstance(konfiguration));
+        alleMoeglichkeiten.addAll(new DefaultSpielKombinationFactory().erzeugeAlle(konfiguration));
+        rateMoeglichkeiten = alleMoeglichkeiten.toArray(new SpielKombination[alleMoeglichkeiten.size()]);
+        startSymmetrie = new SymmetrieGruppe(konfiguration);
+        partitionsBewertung = new PartitionsBewertung(berechner, pins);
+        executor = paramExecutor;
+        cache = paramCache;
+        if (paramWurzel == null) {
+            wurzel = new Knoten(ErgebnisKombination.getAnzahlCodes(pins));
+        } else {
+            wurzel = paramWurzel;
+        }
+    }
+
+    /**
+     * Liefert die gemeinsame Wurzel des Präfixbaums für eine Konfiguration. Die Knoten hängen nur von den Antworten ab
+     * und werden ohne Sperren ergänzt, der Baum kann daher wie der gemeinsame {@link ZugCache} von allen Strategien
+     * der Konfiguration verwendet werden, sofern deren {@link IErgebnisBerechnung} korrekt rechnet.
+     * 
+     * @param konfiguration
+     *            Die Spielvariante
+     * @return Die Wurzel, für alle Aufrufe mit der gleichen Konfiguration die gleiche Instanz.
+     * @throws IllegalArgumentException
+     *             Die Anzahl der Pins ist kleiner als 1.
+     */
+    static Knoten gemeinsameWurzel(final SpielKonfiguration konfiguration) {
+        final Knoten vorhanden = GEMEINSAME_WURZELN.get(konfiguration);
+        if (vorhanden != null) {
+            return vorhanden;
+        }
+        if (konfiguration.getPins() < 1) {
+            throw new IllegalArgumentException("Anzahl der Pins muss > 0 sein");
+        }
+        final Knoten neu = new Knoten(ErgebnisKombination.getAnzahlCodes(konfiguration.getPins()));
+        final Knoten alt = GEMEINSAME_WURZELN.putIfAbsent(konfiguration, neu);
+        if (alt == null) {
+            return neu;
+        }
+        return alt;
+    }
+
+    /**
+     * Liefert die Anzahl der Pins.
+     * 
+     * @return Die Anzahl der Pins.
+     */
+    public int getPins() {
+        return pins;
+    }
+
+    /**
+     * Liefert den Cache für die berechneten Züge, z.B. zum Auslesen der Treffer und Fehlschläge.
+     * 
+     * @return Der Cache.
+     */
+    public ZugCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Erzeugt die Kandidatenmenge für ein neues Spiel.
+     * 
+     * @return Eine neue Menge mit allen Möglichkeiten.
+     */
+    public KombinationsMenge erzeugeKandidaten() {
+        return new KombinationsMenge(alleMoeglichkeiten);
+    }
+
+    /**
+     * Liefert die Symmetrien für ein neues Spiel.
+     * 
+     * @return Die Symmetrien der Konfiguration.
+     */
+    public SymmetrieGruppe getStartSymmetrie() {
+        return startSymmetrie;
+    }
+
+    /**
+     * Liefert die Wurzel des Präfixbaums der Antworten, für ein Spiel ohne bisherige Züge.
+     * 
+     * @return Die Wurzel.
+     */
+    Knoten getWurzel() {
+        return wurzel;
+    }
+
+    /**
+     * Liefert den Folge-Knoten im Präfixbaum der Antworten.
+     * 
+     * @param knoten
+     *            Der Knoten vor dem Zug, oder <code>null</code>
+     * @param zug
+     *            Der geratene Zug
+     * @param antwort
+     *            Die Antwort auf den Zug
+     * @return Der Folge-Knoten, oder <code>null</code> falls der Knoten <code>null</code> ist oder nicht den
+     *         geratenen Zug geliefert hat, die Kandidatenmenge also nicht mehr durch den Pfad bestimmt ist.
+     */
+    Knoten getFolgeKnoten(final Knoten knoten, final SpielKombination zug, final ErgebnisKombination antwort) {
+        if (knoten == null || !zug.equals(knoten.zug)) {
+            return null;
+        }
+        final int code = antwort.getCode();
+        final Knoten kind = knoten.kinder.get(code);
+        if (kind != null) {
+            return kind;
+        }
+        knoten.kinder.compareAndSet(code, null, new Knoten(knoten.kinder.length()));
+        return knoten.kinder.get(code);
+    }
+
+    /**
+     * Liefert den zu ratenden Zug über den Präfixbaum der Antworten, und falls er dort noch fehlt über
+     * {@link #getZug(KombinationsMenge, SymmetrieGruppe)}.
+     * 
+     * @param knoten
+     *            Der Knoten des bisherigen Spielverlaufs, oder <code>null</code> falls das Spiel den Baum verlassen
+     *            hat
+     * @param kandidaten
+     *            Die Kandidatenmenge, darf während der Berechnung nicht verändert werden
+     * @param symmetrie
+     *            Die Symmetrien, die alle bisherigen Züge festhalten
+     * @return Der zu ratende Zug.
+     */
+    SpielKombination getZug(final Knoten knoten, final KombinationsMenge kandidaten,
+            final SymmetrieGruppe symmetrie) {
+        if (knoten == null) {
+            return getZug(kandidaten, symmetrie);
+        }
+        SpielKombination result = knoten.zug;
+        if (result == null) {
+            result = getZug(kandidaten, symmetrie);
+            knoten.zug = result;
+        }
+        return result;
+    }
+
+    /**
+     * Entferne alle möglichen Geheimkombinationen, die nicht durch die geratene Kombination und das Ergebnis
+     * dargestellt werden können.
+     * 
+     * @param ratekombi
+     *            Geratene SpielKombination
+     * @param ergebnis
+     *            Ergebnis für die geratene Kombination
+     * @param kandidaten
+     *            Die Kandidatenmenge eines Spiels, wird verändert
+     */
+    public void eliminiere(final SpielKombination ratekombi, final ErgebnisKombination ergebnis,
+            final Set<SpielKombination> kandidaten) {
+        if (ratekombi.getSpielSteineCount() != pins) {
+            throw new IllegalArgumentException("Ich wurde für eine andere Pinzahl initialisiert!");
+        }
+        final int ergebnisCode = ergebnis.getCode();
+        for (final Iterator<SpielKombination> setIterator = kandidaten.iterator(); setIterator.hasNext();) {
+            final SpielKombination geheim = setIterator.next();
+            if (ergebnisBerechner.berechneErgebnisCode(geheim, ratekombi) != ergebnisCode) {
+                setIterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Liefert den zu ratenden Zug für eine Kandidatenmenge, aus dem Cache oder neu berechnet. Die Kandidatenmenge ist
+     * veränderlich und daher als Cache-Schlüssel ungeeignet, deswegen wird ihr Fingerabdruck als Schlüssel verwendet.
+     * 
+     * @param kandidaten
+     *            Die Kandidatenmenge, darf während der Berechnung nicht verändert werden
+     * @param symmetrie
+     *            Die Symmetrien, die alle bisherigen Züge festhalten. Von gleichwertigen Ratekombinationen wird nur
+     *            der Repräsentant bewertet.
+     * @return Der zu ratende Zug.
+     */
+    public SpielKombination getZug(final KombinationsMenge kandidaten, final SymmetrieGruppe symmetrie) {
+        final Fingerabdruck key = kandidaten.getFingerabdruck();
+        SpielKombination result = cache.get(key);
+        if (result == null) {
+            // nur Repräsentanten bewerten, der kleinste beste Zug ist immer einer
+            final List<SpielKombination> repraesentanten = symmetrie.reduziere(Arrays.asList(rateMoeglichkeiten));
+            result = errechneBesteKombination(kandidaten,
+                    repraesentanten.toArray(new SpielKombination[repraesentanten.size()]));
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Bewertet die Ratekombinationen in der Reihenfolge von {@link #errechneReihenfolge(SpielKombination[], Set)} und
+     * ermittelt die beste. Eine Kombination wird verworfen, sobald eine ihrer Partitionen nicht mehr kleiner ist als
+     * die WorstCase-Anzahl der besten bisher bewerteten Kombination.
+     * 
+     * @param kombinationen
+     *            Die zu bewertenden Ratekombinationen in aufsteigender Reihenfolge
+     * @param reihenfolge
+     *            Die Indizes der Ratekombinationen in der Reihenfolge der Bewertung
+     * @param geheimSet
+     *            SpielKombination Set der noch möglichen Lösungen
+     * @return Die beste Bewertung, kodiert wie bei {@link #kodiereBewertung(int, int)}
+     */
+    private long errechneBesteBewertung(final SpielKombination[] kombinationen, final int[] reihenfolge,
+            final Set<SpielKombination> geheimSet) {
+        // nur Kombinationen, die die Möglichkeiten aufteilen
+        long beste = kodiereBewertung(geheimSet.size(), 0);
+        final int[] histogramm = partitionsBewertung.erzeugeHistogramm();
+        for (int index : reihenfolge) {
+            beste = Math.min(beste, bewerte(kombinationen, index, geheimSet, histogramm, beste));
+        }
+        return beste;
+    }
+
+    /**
+     * Wie {@link #errechneBesteBewertung(SpielKombination[], int[], Set)}, aber verteilt auf mehrere Teilaufgaben im
+     * {@link #executor}, die sich die beste bisherige Bewertung teilen. Da nur Kombinationen verworfen werden, die
+     * nicht besser als eine tatsächlich bewertete sind, ist das Ergebnis das gleiche wie bei serieller Bewertung.
+     * 
+     * @param kombinationen
+     *            Die zu bewertenden Ratekombinationen in aufsteigender Reihenfolge
+     * @param reihenfolge
+     *            Die Indizes der Ratekombinationen in der Reihenfolge der Bewertung
+     * @param geheimSet
+     *            SpielKombination Set der noch möglichen Lösungen, darf während der Bewertung nicht verändert werden
+     * @return Die beste Bewertung, kodiert wie bei {@link #kodiereBewertung(int, int)}
+     */
+    private long errechneBesteBewertungParallel(final SpielKombination[] kombinationen, final int[] reihenfolge,
+            final Set<SpielKombination> geheimSet) {
+        final AtomicInteger naechste = new AtomicInteger();
+        final AtomicLong beste = new AtomicLong(kodiereBewertung(geheimSet.size(), 0));
+        final int anzahlAufgaben = Math.min(reihenfolge.length, Runtime.getRuntime().availableProcessors());
+        final List<Future<Void>> aufgaben = new ArrayList<Future<Void>>(anzahlAufgaben);
+        try {
+            for (int aufgabe = 0; aufgabe < anzahlAufgaben; aufgabe++) {
+                aufgaben.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        // eigenes Histogramm pro Aufgabe, damit parallele Teilaufgaben sich nicht stören
+                        final int[] histogramm = partitionsBewertung.erzeugeHistogramm();
+                        int position = naechste.getAndIncrement();
+                        while (position < reihenfolge.length) {
+                            final long bewertung = bewerte(kombinationen, reihenfolge[position], geheimSet,
+                                    histogramm, beste.get());
+                            long bisher = beste.get();
+                            while (bewertung < bisher && !beste.compareAndSet(bisher, bewertung)) {
+                                bisher = beste.get();
+                            }
+                            position = naechste.getAndIncrement();
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> aufgabe : aufgaben) {
+                aufgabe.get();
+            }
+            return beste.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Bewertung wurde unterbrochen.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Bewertung ist fehlgeschlagen.", e.getCause());
+        } finally {
+            for (Future<Void> aufgabe : aufgaben) {
+                aufgabe.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Bewertet eine Ratekombination, solange sie besser als die beste bisherige Bewertung sein kann.
+     * 
+     * @param kombinationen
+     *            Die Ratekombinationen in aufsteigender Reihenfolge
+     * @param index
+     *            Der Index der zu bewertenden Ratekombination
+     * @param geheimSet
+     *            SpielKombination Set der noch möglichen Lösungen
+     * @param histogramm
+     *            Puffer für das Histogramm
+     * @param beste
+     *            Die beste bisherige Bewertung, kodiert wie bei {@link #kodiereBewertung(int, int)}
+     * @return Die Bewertung der Kombination, falls sie besser als beste ist, ansonsten ein Wert, der nicht besser ist
+     */
+    private long bewerte(final SpielKombination[] kombinationen, final int index, final Set<SpielKombination> geheimSet,
+            final int[] histogramm, final long beste) {
+        // bei gleicher WorstCase-Anzahl gewinnt die kleinere Kombination
+        int schranke = (int) (beste >>> 32);
+        if (index < (int) beste) {
+            schranke++;
+        }
+        final int worstCase = partitionsBewertung.berechneGroesstePartition(kombinationen[index], geheimSet,
+                histogramm, schranke);
+        return kodiereBewertung(worstCase, index);
+    }
+
+    /**
+     * Kodiert die Bewertung einer Ratekombination so, dass die beste Bewertung die kleinste ist: Zuerst entscheidet
+     * die WorstCase-Anzahl übriger Möglichkeiten, bei Gleichstand die kleinere Kombination.
+     * 
+     * @param worstCase
+     *            Die WorstCase-Anzahl übriger Möglichkeiten
+     * @param index
+     *            Der Index der Ratekombination in aufsteigender Reihenfolge
+     * @return Die kodierte Bewertung
+     */
+    private static long kodiereBewertung(final int worstCase, final int index) {
+        return ((long) worstCase << 32) | index;
+    }
+
+    /**
+     * Errechne die Reihenfolge, in der die Ratekombinationen bewertet werden. Die noch möglichen Lösungen teilen die
+     * übrigen Möglichkeiten meist gut auf und werden daher zuerst bewertet, damit möglichst viele der anderen
+     * Kombinationen früh verworfen werden können.
+     * 
+     * @param kombinationen
+     *            Die Ratekombinationen in aufsteigender Reihenfolge
+     * @param geheimSet
+     *            SpielKombination Set der noch möglichen Lösungen
+     * @return Die Indizes der Ratekombinationen, zuerst die der möglichen Lösungen, jeweils aufsteigend
+     */
+    private static int[] errechneReihenfolge(final SpielKombination[] kombinationen,
+            final Set<SpielKombination> geheimSet) {
+        final int[] reihenfolge = new int[kombinationen.length];
+        int vorne = 0;
+        int hinten = kombinationen.length;
+        for (int i = kombinationen.length - 1; i >= 0; i--) {
+            if (!geheimSet.contains(kombinationen[i])) {
+                reihenfolge[--hinten] = i;
+            }
+        }
+        for (int i = 0; i < kombinationen.length; i++) {
+            if (geheimSet.contains(kombinationen[i])) {
+                reihenfolge[vorne++] = i;
+            }
+        }
+        return reihenfolge;
+    }
+
+    /**
+     * Suche die SpielKombination mit der geringsten WorstCase-Anzahl an übriggebliebenen Möglichkeiten. Ohne Cache
+     * und ohne Reduktion auf Repräsentanten, paketsichtbar für Tests.
+     * 
+     * @param geheimSet
+     *            SpielKombination Set der noch möglichen Lösungen
+     * @return SpielKombination welche das beste Ergebnis hervorbringen sollte
+     */
+    SpielKombination errechneBesteKombination(final Set<SpielKombination> geheimSet) {
+        return errechneBesteKombination(geheimSet, rateMoeglichkeiten);
+    }
+
+    /**
+     * Suche unter den angegebenen Ratekombinationen die SpielKombination mit der geringsten WorstCase-Anzahl an
+     * übriggebliebenen Möglichkeiten.
+     * 
+     * @param geheimSet
+     *            SpielKombination Set der noch möglichen Lösungen
+     * @param kombinationen
+     *            Die zu bewertenden Ratekombinationen in aufsteigender Reihenfolge
+     * @return SpielKombination welche das beste Ergebnis hervorbringen sollte
+     */
+    private SpielKombination errechneBesteKombination(final Set<SpielKombination> geheimSet,
+            final SpielKombination[] kombinationen) {
+        if (geheimSet.size() == 1) {
+            return geheimSet.iterator().next();
+        }
+        final int[] reihenfolge = errechneReihenfolge(kombinationen, geheimSet);
+        final long beste;
+        if (executor == null) {
+            beste = errechneBesteBewertung(kombinationen, reihenfolge, geheimSet);
+        } else {
+            beste = errechneBesteBewertungParallel(kombinationen, reihenfolge, geheimSet);
+        }
+        /*
+         * Bei gleicher WorstCase-Anzahl die mögliche Lösung zu bevorzugen generiert einen besseren Durchschnitt,
+         * schafft es aber nicht mehr alle Kombinationen in unter 6 Schritten zu raten :(
+         */
+        if ((int) (beste >>> 32) >= geheimSet.size()) {
+            throw new RuntimeException("Ungültige Kombination für nächsten Zug.");
+        }
+        return kombinationen[(int) beste];
+    }
+}
@@ -2,6 +2,7 @@ package org.hitzemann.mms.solver;
 
 import org.hitzemann.mms.model.ErgebnisKombination;
 import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielKonfiguration;
 import org.hitzemann.mms.model.SpielStein;
 
 /**
@@ -25,12 +26,44 @@ import org.hitzemann.mms.model.SpielStein;
  * <li>geratenProFarbe[X] := Anzahl der Spielsteine mit der Farbe X in der geratenen Kombination</li>
  * </ul>
  * 
+ * <p>
+ * Die Anzahlen pro Farbe sind in jeder {@link SpielKombination} vorberechnet (siehe
+ * {@link SpielKombination#getFarbHaeufigkeit(int)}), die Berechnung legt also keine Objekte an.
+ * </p>
+ * 
  * @author chschu
  */
 public final class LinearerErgebnisBerechner implements IErgebnisBerechnung {
 
+    /**
+     * Die Anzahl der Farben.
+     */
+    private final int anzahlFarben;
+
+    /**
+     * Erzeugt eine Instanz für die Farben aus {@link SpielStein}.
+     */
+    public LinearerErgebnisBerechner() {
+        anzahlFarben = SpielKonfiguration.STANDARD_FARBEN;
+    }
+
+    /**
+     * Erzeugt eine Instanz für die Farben einer {@link SpielKonfiguration}.
+     * 
+     * @param konfiguration
+     *            Die Konfiguration, nur die Anzahl der Farben ist relevant.
+     */
+    public LinearerErgebnisBerechner(final SpielKonfiguration konfiguration) {
+        anzahlFarben = konfiguration.getFarben();
+    }
+
     @Override
     public ErgebnisKombination berechneErgebnis(final SpielKombination geheim, final SpielKombination geraten) {
+        return ErgebnisKombination.valueOf(berechneErgebnisCode(geheim, geraten));
+    }
+
+    @Override
+    public int berechneErgebnisCode(final SpielKombination geheim, final SpielKombination geraten) {
         if (geheim == null) {
             throw new IllegalArgumentException("Geheime Kombination ist null!");
         }
@@ -43,28 +76,40 @@ public final class LinearerErgebnisBerechner implements IErgebnisBerechnung {
             throw new IllegalArgumentException("Spielkombinationen haben unterschiedliche Größen!");
         }
 
-        final int anzahlFarben = SpielStein.values().length;
+        if (geheim.getHoechsteFarbe() >= anzahlFarben || geraten.getHoechsteFarbe() >= anzahlFarben) {
+            throw new IllegalArgumentException("Spielkombination hat mehr als " + anzahlFarben + " Farben!");
+        }
 
-        // "schwarz", "geheimProFarbe[X]" und "geratenProFarbe[X]" berechnen
+        // "schwarz" berechnen
         int schwarz = 0;
-        final int[] geheimProFarbe = new int[anzahlFarben];
-        final int[] geratenProFarbe = new int[anzahlFarben];
         for (int i = 0; i < groesse; i++) {
-            final int geheimFarbe = geheim.getSpielStein(i).ordinal();
-            final int geratenFarbe = geraten.getSpielStein(i).ordinal();
-            geheimProFarbe[geheimFarbe]++;
-            geratenProFarbe[geratenFarbe]++;
-            if (geheimFarbe == geratenFarbe) {
+            if (geheim.getFarbe(i) == geraten.getFarbe(i)) {
                 schwarz++;
             }
         }
 
-        // "weiss" berechnen
+        // "weiss" berechnen, Farben oberhalb der höchsten gemeinsamen Farbe tragen nichts bei
         int weiss = -schwarz;
-        for (int i = 0; i < anzahlFarben; i++) {
-            weiss += Math.min(geheimProFarbe[i], geratenProFarbe[i]);
+        final int hoechsteFarbe = Math.min(geheim.getHoechsteFarbe(), geraten.getHoechsteFarbe());
+        for (int i = 0; i <= hoechsteFarbe; i++) {
+            weiss += minimum(geheim.getFarbHaeufigkeit(i), geraten.getFarbHaeufigkeit(i));
         }
 
-        return new ErgebnisKombination(schwarz, weiss);
+        return ErgebnisKombination.berechneCode(schwarz, weiss);
+    }
+
+    /**
+     * Berechnet das Minimum zweier Werte ohne Verzweigung.
+     * 
+     * @param a
+     *            Der erste Wert.
+     * @param b
+     *            Der zweite Wert.
+     * @return Das Minimum.
+     */
+    private static int minimum(final int a, final int b) {
+        final int differenz = a - b;
+        // differenz >> 31 ist -1 genau dann, wenn a < b
+        return b + (differenz & (differenz >> 31));
     }
 }
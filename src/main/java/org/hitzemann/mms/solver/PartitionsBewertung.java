@@ -0,0 +1,187 @@
+package org.hitzemann.mms.solver;
+
+import java.util.Arrays;
+
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+
+/**
+ * <p>
+ * Bewertung einer zu ratenden {@link SpielKombination} anhand der Partitionierung der Kandidatenmenge durch die
+ * möglichen Ergebnisse.
+ * </p>
+ * 
+ * <p>
+ * Die Kandidatenmenge wird pro zu ratender Kombination nur einmal durchlaufen. Dabei wird ein Histogramm der
+ * Ergebnisse erstellt, indiziert über {@link ErgebnisKombination#getCode()}. Daraus lassen sich direkt die Größe der
+ * größten Partition (Minimax-Bewertung nach Knuth), die Anzahl der Partitionen oder die Entropie ableiten.
+ * </p>
+ * 
+ * <p>
+ * Instanzen sind unveränderlich. Das Histogramm wird vom Aufrufer übergeben, so dass eine Instanz gleichzeitig von
+ * mehreren Threads mit jeweils eigenem Histogramm verwendet werden kann, sofern die verwendete
+ * {@link IErgebnisBerechnung} threadsicher ist.
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class PartitionsBewertung {
+
+    /**
+     * Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     */
+    private final IErgebnisBerechnung berechner;
+
+    /**
+     * Die Anzahl der möglichen Ergebnis-Codes, also die Länge der Histogramme.
+     */
+    private final int anzahlErgebnisse;
+
+    /**
+     * Erzeugt eine Instanz.
+     * 
+     * @param theBerechner
+     *            Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     * @param pins
+     *            Die Kombinationsgröße.
+     */
+    public PartitionsBewertung(final IErgebnisBerechnung theBerechner, final int pins) {
+        berechner = theBerechner;
+        anzahlErgebnisse = ErgebnisKombination.getAnzahlCodes(pins);
+    }
+
+    /**
+     * Erzeugt ein leeres Histogramm passender Länge.
+     * 
+     * @return Das Histogramm.
+     */
+    public int[] erzeugeHistogramm() {
+        return new int[anzahlErgebnisse];
+    }
+
+    /**
+     * Berechnet das Histogramm der Ergebnisse für eine zu ratende Kombination in einem Durchlauf über die Kandidaten.
+     * 
+     * @param geraten
+     *            Die zu ratende Kombination.
+     * @param kandidaten
+     *            Die Kandidaten für die geheime Kombination.
+     * @param histogramm
+     *            Das zu füllende Histogramm, siehe {@link #erzeugeHistogramm()}. Der vorherige Inhalt wird
+     *            überschrieben.
+     * @return Das übergebene Histogramm.
+     */
+    public int[] berechneHistogramm(final SpielKombination geraten, final Iterable<SpielKombination> kandidaten,
+            final int[] histogramm) {
+        Arrays.fill(histogramm, 0);
+        for (SpielKombination geheim : kandidaten) {
+            histogramm[berechner.berechneErgebnisCode(geheim, geraten)]++;
+        }
+        return histogramm;
+    }
+
+    /**
+     * Teilt die Kandidaten in einem Durchlauf nach dem Ergebnis für eine zu ratende Kombination auf, z.B. für den
+     * Aufbau eines Entscheidungsbaums.
+     * 
+     * @param geraten
+     *            Die zu ratende Kombination.
+     * @param kandidaten
+     *            Die Kandidaten für die geheime Kombination.
+     * @return Die Kandidaten pro Ergebnis-Code, jeweils im {@link KombinationsRaum} der Kandidaten, oder
+     *         <code>null</code> für nicht mögliche Ergebnisse.
+     */
+    public KombinationsMenge[] teileAuf(final SpielKombination geraten, final KombinationsMenge kandidaten) {
+        final KombinationsRaum raum = kandidaten.getRaum();
+        final KombinationsMenge[] partitionen = new KombinationsMenge[anzahlErgebnisse];
+        for (int code = kandidaten.naechsterCode(0); code >= 0; code = kandidaten.naechsterCode(code + 1)) {
+            final int ergebnis = berechner.berechneErgebnisCode(raum.getKombination(code), geraten);
+            if (partitionen[ergebnis] == null) {
+                partitionen[ergebnis] = new KombinationsMenge(raum);
+            }
+            partitionen[ergebnis].fuegeCodeHinzu(code);
+        }
+        return partitionen;
+    }
+
+    /**
+     * Berechnet die Größe der größten Partition, also die Anzahl der Kandidaten, die im ungünstigsten Fall übrig
+     * bleiben.
+     * 
+     * @param geraten
+     *            Die zu ratende Kombination.
+     * @param kandidaten
+     *            Die Kandidaten für die geheime Kombination.
+     * @param histogramm
+     *            Puffer für das Histogramm, siehe {@link #erzeugeHistogramm()}.
+     * @return Die Größe der größten Partition.
+     */
+    public int berechneGroesstePartition(final SpielKombination geraten, final Iterable<SpielKombination> kandidaten,
+            final int[] histogramm) {
+        berechneHistogramm(geraten, kandidaten, histogramm);
+        int result = 0;
+        for (int anzahl : histogramm) {
+            if (anzahl > result) {
+                result = anzahl;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Berechnet wie {@link #berechneGroesstePartition(SpielKombination, Iterable, int[])} die Größe der größten
+     * Partition, bricht aber ab, sobald eine Partition die angegebene Schranke erreicht. Damit kann eine Kombination
+     * verworfen werden, sobald sie nicht mehr besser sein kann als die beste bisher bewertete Kombination.
+     * 
+     * @param geraten
+     *            Die zu ratende Kombination.
+     * @param kandidaten
+     *            Die Kandidaten für die geheime Kombination.
+     * @param histogramm
+     *            Puffer für das Histogramm, siehe {@link #erzeugeHistogramm()}. Ist nach einem Abbruch unvollständig.
+     * @param schranke
+     *            Die Größe, ab der abgebrochen werden darf.
+     * @return Die Größe der größten Partition, falls diese kleiner als schranke ist, ansonsten ein Wert, der
+     *         mindestens schranke ist.
+     */
+    public int berechneGroesstePartition(final SpielKombination geraten, final Iterable<SpielKombination> kandidaten,
+            final int[] histogramm, final int schranke) {
+        Arrays.fill(histogramm, 0);
+        int result = 0;
+        for (SpielKombination geheim : kandidaten) {
+            final int anzahl = ++histogramm[berechner.berechneErgebnisCode(geheim, geraten)];
+            if (anzahl > result) {
+                result = anzahl;
+                if (result >= schranke) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Berechnet die Anzahl der nicht leeren Partitionen, also die Anzahl verschiedener möglicher Ergebnisse.
+     * 
+     * @param geraten
+     *            Die zu ratende Kombination.
+     * @param kandidaten
+     *            Die Kandidaten für die geheime Kombination.
+     * @param histogramm
+     *            Puffer für das Histogramm, siehe {@link #erzeugeHistogramm()}.
+     * @return Die Anzahl der Partitionen.
+     */
+    public int berechneAnzahlPartitionen(final SpielKombination geraten, final Iterable<SpielKombination> kandidaten,
+            final int[] histogramm) {
+        berechneHistogramm(geraten, kandidaten, histogramm);
+        int result = 0;
+        for (int anzahl : histogramm) {
+            if (anzahl > 0) {
+                result++;
+            }
+        }
+        return result;
+    }
+}
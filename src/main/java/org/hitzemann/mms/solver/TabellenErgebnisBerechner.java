@@ -0,0 +1,185 @@
+package org.hitzemann.mms.solver;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielKonfiguration;
+
+/**
+ * <p>
+ * Implementierung von {@link IErgebnisBerechnung}, die das Ergebnis in einer vorberechneten Tabelle nachschlägt.
+ * </p>
+ * 
+ * <p>
+ * Die Tabelle enthält für jedes Paar (geheim, geraten) von Codes aus dem {@link KombinationsRaum} das Ergebnis als
+ * vorzeichenloses Byte, kodiert gemäß {@link ErgebnisKombination#getCode()}. Sie wird pro {@link KombinationsRaum}
+ * nur einmal berechnet und von allen Instanzen gemeinsam verwendet. Für 4 Pins und 6 Farben belegt sie 1296 * 1296
+ * Bytes, also etwa 1,6 MB.
+ * </p>
+ * 
+ * <p>
+ * Da die Tabelle quadratisch mit der Größe des Raums wächst, ist diese Implementierung nur für kleine Pin-Anzahlen
+ * geeignet. Es werden nur Kombinationen mit der bei der Erzeugung angegebenen Länge unterstützt.
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class TabellenErgebnisBerechner implements IErgebnisBerechnung {
+
+    /**
+     * Die bereits berechneten Tabellen, nach {@link KombinationsRaum}.
+     */
+    private static final Map<KombinationsRaum, byte[]> TABELLEN = new HashMap<KombinationsRaum, byte[]>();
+
+    /**
+     * Die maximale Anzahl der Ergebnis-Codes, die in ein vorzeichenloses Byte passen.
+     */
+    private static final int MAX_CODES = 256;
+
+    /**
+     * Der Raum der unterstützten Kombinationen.
+     */
+    private final KombinationsRaum raum;
+
+    /**
+     * Die Anzahl der Kombinationen in {@link #raum}, also die Zeilenlänge der Tabelle.
+     */
+    private final int groesse;
+
+    /**
+     * Die Ergebnistabelle, indiziert über geheimCode * {@link #groesse} + geratenCode.
+     */
+    private final byte[] tabelle;
+
+    /**
+     * Erzeugt eine Instanz für Kombinationen der angegebenen Länge. Die Tabelle wird beim ersten Aufruf für eine
+     * Pin-Anzahl berechnet.
+     * 
+     * @param pins
+     *            Die Länge der Kombinationen.
+     * @throws IllegalArgumentException
+     *             Die Tabelle wäre zu groß.
+     */
+    public TabellenErgebnisBerechner(final int pins) {
+        this(new SpielKonfiguration(pins));
+    }
+
+    /**
+     * Erzeugt eine Instanz für die Kombinationen einer {@link SpielKonfiguration}. Die Tabelle wird beim ersten Aufruf
+     * für eine Konfiguration berechnet.
+     * 
+     * @param konfiguration
+     *            Die Konfiguration.
+     * @throws IllegalArgumentException
+     *             Die Tabelle wäre zu groß, oder die Ergebnis-Codes passen nicht in ein Byte.
+     */
+    public TabellenErgebnisBerechner(final SpielKonfiguration konfiguration) {
+        if (ErgebnisKombination.getAnzahlCodes(konfiguration.getPins()) > MAX_CODES) {
+            throw new IllegalArgumentException("Ergebnis-Codes für " + konfiguration + " passen nicht in ein Byte");
+        }
+        raum = KombinationsRaum.getInstance(konfiguration);
+        groesse = raum.getGroesse();
+        if ((long) groesse * groesse > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Ergebnistabelle für " + konfiguration + " ist zu groß");
+        }
+        tabelle = getTabelle(raum);
+    }
+
+    /**
+     * Liefert die gemeinsam verwendete Tabelle für einen Raum, und berechnet sie falls nötig.
+     * 
+     * @param raum
+     *            Der Raum.
+     * @return Die Tabelle.
+     */
+    private static synchronized byte[] getTabelle(final KombinationsRaum raum) {
+        byte[] result = TABELLEN.get(raum);
+        if (result == null) {
+            result = berechneTabelle(raum);
+            TABELLEN.put(raum, result);
+        }
+        return result;
+    }
+
+    /**
+     * Berechnet die Tabelle für einen Raum. Da das Ergebnis symmetrisch ist, wird jedes Paar nur einmal berechnet.
+     * 
+     * @param raum
+     *            Der Raum.
+     * @return Die Tabelle.
+     */
+    private static byte[] berechneTabelle(final KombinationsRaum raum) {
+        final int pins = raum.getPins();
+        final int groesse = raum.getGroesse();
+        final byte[] result = new byte[groesse * groesse];
+        final int[] geheimProFarbe = new int[raum.getFarben()];
+        final int[] geratenProFarbe = new int[raum.getFarben()];
+
+        for (int geheimCode = 0; geheimCode < groesse; geheimCode++) {
+            final SpielKombination geheim = raum.getKombination(geheimCode);
+            for (int geratenCode = geheimCode; geratenCode < groesse; geratenCode++) {
+                final SpielKombination geraten = raum.getKombination(geratenCode);
+
+                // wie in LinearerErgebnisBerechner, aber mit wiederverwendeten Arrays
+                int schwarz = 0;
+                for (int i = 0; i < pins; i++) {
+                    final int geheimFarbe = geheim.getFarbe(i);
+                    final int geratenFarbe = geraten.getFarbe(i);
+                    geheimProFarbe[geheimFarbe]++;
+                    geratenProFarbe[geratenFarbe]++;
+                    if (geheimFarbe == geratenFarbe) {
+                        schwarz++;
+                    }
+                }
+                int weiss = -schwarz;
+                for (int i = 0; i < geheimProFarbe.length; i++) {
+                    weiss += Math.min(geheimProFarbe[i], geratenProFarbe[i]);
+                    geheimProFarbe[i] = 0;
+                    geratenProFarbe[i] = 0;
+                }
+
+                final byte ergebnis = (byte) ErgebnisKombination.berechneCode(schwarz, weiss);
+                result[geheimCode * groesse + geratenCode] = ergebnis;
+                result[geratenCode * groesse + geheimCode] = ergebnis;
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public ErgebnisKombination berechneErgebnis(final SpielKombination geheim, final SpielKombination geraten) {
+        return ErgebnisKombination.valueOf(berechneErgebnisCode(geheim, geraten));
+    }
+
+    @Override
+    public int berechneErgebnisCode(final SpielKombination geheim, final SpielKombination geraten) {
+        if (geheim == null) {
+            throw new IllegalArgumentException("Geheime Kombination ist null!");
+        }
+        if (geraten == null) {
+            throw new IllegalArgumentException("Geratene Kombination ist null!");
+        }
+        if (geraten.getSpielSteineCount() != geheim.getSpielSteineCount()) {
+            throw new IllegalArgumentException("Spielkombinationen haben unterschiedliche Größen!");
+        }
+
+        return berechneErgebnisCode(raum.getCode(geheim), raum.getCode(geraten));
+    }
+
+    /**
+     * Schlägt das kodierte Ergebnis für zwei Codes aus dem {@link KombinationsRaum} nach.
+     * 
+     * @param geheimCode
+     *            Der Code der geheimen Kombination.
+     * @param geratenCode
+     *            Der Code der geratenen Kombination.
+     * @return Der Code des Ergebnisses, siehe {@link ErgebnisKombination#getCode()}.
+     */
+    public int berechneErgebnisCode(final int geheimCode, final int geratenCode) {
+        return tabelle[geheimCode * groesse + geratenCode] & 0xFF;
+    }
+}
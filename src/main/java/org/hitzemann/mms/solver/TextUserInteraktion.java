@@ -36,7 +36,7 @@ public final class TextUserInteraktion implements IUserInteraktion {
         System.out.print("\n");
         richtig = readnum("Wieviele Steine sind richtig? ");
         position = readnum("Wieviele Farben sind richtig, aber mit falschen Positionen? ");
-        return new ErgebnisKombination(richtig, position);
+        return ErgebnisKombination.valueOf(richtig, position);
     }
 
     @Override
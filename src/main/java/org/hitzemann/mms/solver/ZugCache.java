@@ -0,0 +1,217 @@
+package org.hitzemann.mms.solver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hitzemann.mms.model.Fingerabdruck;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.SpielKombination;
+
+/**
+ * <p>
+ * Ein größenbeschränkter Cache für zu ratende {@link SpielKombination}en, mit dem {@link Fingerabdruck} der
+ * Kandidatenmenge als Schlüssel.
+ * </p>
+ * 
+ * <p>
+ * Die Einträge sind über den Fingerabdruck auf mehrere Segmente verteilt, jeweils eine nach Zugriffen sortierte
+ * {@link LinkedHashMap} mit eigener Sperre und eigenen Zählern. Ist die Kapazität eines Segments erreicht, wird beim
+ * Einfügen sein am längsten nicht verwendeter Eintrag verdrängt (LRU), ohne die übrigen Einträge zu durchsuchen.
+ * Treffer und Fehlschläge bei {@link #get(Fingerabdruck)} werden pro Segment gezählt. Eine Instanz kann von beliebig
+ * vielen Solvern in verschiedenen Threads gemeinsam verwendet werden, gleichzeitige Zugriffe auf verschiedene
+ * Segmente behindern sich nicht. Kleine Caches bestehen aus nur einem Segment, die Verdrängung ist dann exakt LRU.
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class ZugCache {
+
+    /**
+     * Ein Segment, nach Zugriffen sortiert und auf seine Kapazität beschränkt. Alle Zugriffe erfolgen mit der Sperre
+     * des Segments.
+     */
+    private static final class Segment extends LinkedHashMap<Fingerabdruck, SpielKombination> {
+
+        /**
+         * Version für die Serialisierung.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Die maximale Anzahl an Einträgen im Segment.
+         */
+        private final int kapazitaet;
+
+        /**
+         * Die Anzahl der Treffer im Segment.
+         */
+        private long treffer;
+
+        /**
+         * Die Anzahl der Fehlschläge im Segment.
+         */
+        private long fehlschlaege;
+
+        /**
+         * Erzeugt ein leeres Segment.
+         * 
+         * @param theKapazitaet
+         *            Die maximale Anzahl an Einträgen im Segment.
+         */
+        private Segment(final int theKapazitaet) {
+            super(16, 0.75f, true);
+            kapazitaet = theKapazitaet;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Fingerabdruck, SpielKombination> eldest) {
+            return size() > kapazitaet;
+        }
+    }
+
+    /**
+     * Die maximale Anzahl der Segmente, eine Zweierpotenz.
+     */
+    private static final int MAX_SEGMENTE = 16;
+
+    /**
+     * Die minimale Kapazität pro Segment, kleinere Caches haben weniger Segmente.
+     */
+    private static final int MIN_SEGMENT_KAPAZITAET = 256;
+
+    /**
+     * Die Segmente, die Anzahl ist eine Zweierpotenz.
+     */
+    private final Segment[] segmente;
+
+    /**
+     * Die maximale Anzahl an Einträgen.
+     */
+    private final int kapazitaet;
+
+    /**
+     * Erzeugt einen leeren Cache.
+     * 
+     * @param theKapazitaet
+     *            Die maximale Anzahl an Einträgen.
+     * @throws IllegalArgumentException
+     *             Die Kapazität ist kleiner als 1.
+     */
+    public ZugCache(final int theKapazitaet) {
+        if (theKapazitaet < 1) {
+            throw new IllegalArgumentException("Kapazität muss > 0 sein");
+        }
+        kapazitaet = theKapazitaet;
+        int anzahl = 1;
+        while (anzahl < MAX_SEGMENTE && theKapazitaet / (2 * anzahl) >= MIN_SEGMENT_KAPAZITAET) {
+            anzahl *= 2;
+        }
+        segmente = new Segment[anzahl];
+        for (int i = 0; i < anzahl; i++) {
+            // die Kapazität möglichst gleichmäßig verteilen, die Summe ist genau die Gesamtkapazität
+            segmente[i] = new Segment(theKapazitaet / anzahl + (i < theKapazitaet % anzahl ? 1 : 0));
+        }
+    }
+
+    /**
+     * Liefert das Segment für einen Schlüssel.
+     * 
+     * @param schluessel
+     *            Der Schlüssel.
+     * @return Das Segment.
+     */
+    private Segment segment(final Fingerabdruck schluessel) {
+        // die höheren Bits wählen das Segment, die niedrigen den Bucket in der LinkedHashMap
+        final int hash = schluessel.hashCode();
+        return segmente[((hash ^ (hash >>> 16)) >>> 8) & (segmente.length - 1)];
+    }
+
+    /**
+     * Liefert die zu ratende Kombination für eine Kandidatenmenge.
+     * 
+     * @param schluessel
+     *            Der Fingerabdruck der Kandidatenmenge, siehe {@link KombinationsMenge#getFingerabdruck()}.
+     * @return Die zu ratende Kombination, oder <code>null</code> falls sie nicht im Cache ist.
+     */
+    public SpielKombination get(final Fingerabdruck schluessel) {
+        final Segment segment = segment(schluessel);
+        synchronized (segment) {
+            final SpielKombination zug = segment.get(schluessel);
+            if (zug == null) {
+                segment.fehlschlaege++;
+            } else {
+                segment.treffer++;
+            }
+            return zug;
+        }
+    }
+
+    /**
+     * Hinterlegt die zu ratende Kombination für eine Kandidatenmenge.
+     * 
+     * @param schluessel
+     *            Der Fingerabdruck der Kandidatenmenge, siehe {@link KombinationsMenge#getFingerabdruck()}.
+     * @param zug
+     *            Die zu ratende Kombination.
+     */
+    public void put(final Fingerabdruck schluessel, final SpielKombination zug) {
+        final Segment segment = segment(schluessel);
+        synchronized (segment) {
+            segment.put(schluessel, zug);
+        }
+    }
+
+    /**
+     * Liefert die aktuelle Anzahl an Einträgen.
+     * 
+     * @return Die Anzahl an Einträgen.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segmente) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Liefert die maximale Anzahl an Einträgen.
+     * 
+     * @return Die Kapazität.
+     */
+    public int getKapazitaet() {
+        return kapazitaet;
+    }
+
+    /**
+     * Liefert die Anzahl der Treffer bei {@link #get(Fingerabdruck)}.
+     * 
+     * @return Die Anzahl der Treffer.
+     */
+    public long getTreffer() {
+        long summe = 0;
+        for (Segment segment : segmente) {
+            synchronized (segment) {
+                summe += segment.treffer;
+            }
+        }
+        return summe;
+    }
+
+    /**
+     * Liefert die Anzahl der Fehlschläge bei {@link #get(Fingerabdruck)}.
+     * 
+     * @return Die Anzahl der Fehlschläge.
+     */
+    public long getFehlschlaege() {
+        long summe = 0;
+        for (Segment segment : segmente) {
+            synchronized (segment) {
+                summe += segment.fehlschlaege;
+            }
+        }
+        return summe;
+    }
+}
@@ -0,0 +1,473 @@
+package org.hitzemann.mms.solver.rule;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielKonfiguration;
+import org.hitzemann.mms.solver.IErgebnisBerechnung;
+import org.hitzemann.mms.solver.PartitionsBewertung;
+
+/**
+ * <p>
+ * Ein vollständig aufgelöster Entscheidungsbaum einer Strategie, gespeichert in flachen int-Arrays.
+ * </p>
+ * 
+ * <p>
+ * Jeder Knoten hat eine Nummer, die Wurzel ist {@link #ROOT}. Zu jedem Knoten ist der Code (siehe
+ * {@link KombinationsRaum#getCode(SpielKombination)}) der zu ratenden Kombination gespeichert, und zu jedem Paar aus
+ * Knoten und Antwort-Code (siehe {@link ErgebnisKombination#getCode()}) der Folge-Knoten. Ein Spiel lässt sich damit
+ * ohne Kandidatenliste allein durch Indexrechnung spielen. Zusätzlich ist zu jedem Knoten die Anzahl der Kandidaten
+ * gespeichert, mit der eine Regel prüfen kann, ob die erhaltenen Antworten zum Baum passen.
+ * </p>
+ * 
+ * <p>
+ * Der Baum wird mit {@link #compile(IRule, KombinationsRaum, IErgebnisBerechnung)} aus einer beliebigen Regel
+ * erzeugt, indem die Regel einmalig für alle möglichen geheimen Kombinationen ausgewertet wird. Instanzen sind
+ * unveränderlich.
+ * </p>
+ * 
+ * <p>
+ * Mit {@link #write(OutputStream)} und {@link #read(InputStream)} kann der Baum binär gespeichert und wieder geladen
+ * werden. Das Format besteht aus big-endian ints: {@link #MAGIC}, {@link #VERSION}, Pins, Farben, Duplikate erlaubt
+ * (0 oder 1), Anzahl der Knoten, und dann pro Knoten der Code der zu ratenden Kombination, die Anzahl der Kandidaten,
+ * die Anzahl der Folge-Knoten und pro Folge-Knoten der Antwort-Code und die Knoten-Nummer.
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class DecisionTree {
+
+    /**
+     * Die Nummer der Wurzel.
+     */
+    public static final int ROOT = 0;
+
+    /**
+     * Kennzeichnet einen nicht vorhandenen Folge-Knoten, entweder weil die Antwort nicht möglich ist oder weil das
+     * Spiel mit ihr gewonnen ist.
+     */
+    public static final int NO_NODE = -1;
+
+    /**
+     * Die Kennung am Anfang des Binärformats.
+     */
+    public static final int MAGIC = 0x4D4D5354;
+
+    /**
+     * Die Version des Binärformats.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Der Raum der Kombinationen.
+     */
+    private final KombinationsRaum space;
+
+    /**
+     * Die Anzahl der möglichen Antwort-Codes.
+     */
+    private final int responseCount;
+
+    /**
+     * Die Codes der zu ratenden Kombinationen, indiziert über die Knoten-Nummer.
+     */
+    private final int[] guesses;
+
+    /**
+     * Die Anzahl der Kandidaten, indiziert über die Knoten-Nummer.
+     */
+    private final int[] candidateCounts;
+
+    /**
+     * Die Folge-Knoten, indiziert über Knoten-Nummer * {@link #responseCount} + Antwort-Code.
+     */
+    private final int[] children;
+
+    /**
+     * Erzeugt eine Instanz.
+     * 
+     * @param theSpace
+     *            Der Raum der Kombinationen.
+     * @param theGuesses
+     *            Die Codes der zu ratenden Kombinationen. Wird ohne Kopie übernommen.
+     * @param theCandidateCounts
+     *            Die Anzahl der Kandidaten pro Knoten. Wird ohne Kopie übernommen.
+     * @param theChildren
+     *            Die Folge-Knoten. Wird ohne Kopie übernommen.
+     * @throws IllegalArgumentException
+     *             Die Arrays passen nicht zusammen oder enthalten ungültige Werte.
+     */
+    DecisionTree(final KombinationsRaum theSpace, final int[] theGuesses, final int[] theCandidateCounts,
+            final int[] theChildren) {
+        space = theSpace;
+        responseCount = ErgebnisKombination.getAnzahlCodes(theSpace.getPins());
+        guesses = theGuesses;
+        candidateCounts = theCandidateCounts;
+        children = theChildren;
+        if (guesses.length == 0) {
+            throw new IllegalArgumentException("tree must have at least one node");
+        }
+        if (candidateCounts.length != guesses.length) {
+            throw new IllegalArgumentException("expected " + guesses.length + " candidate counts, got "
+                    + candidateCounts.length);
+        }
+        for (int candidateCount : candidateCounts) {
+            if (candidateCount < 1 || candidateCount > space.getAnzahlGueltige()) {
+                throw new IllegalArgumentException("invalid candidate count " + candidateCount);
+            }
+        }
+        if (children.length != guesses.length * responseCount) {
+            throw new IllegalArgumentException("expected " + guesses.length * responseCount + " children, got "
+                    + children.length);
+        }
+        for (int guess : guesses) {
+            if (guess < 0 || guess >= space.getGroesse()) {
+                throw new IllegalArgumentException("invalid guess code " + guess);
+            }
+        }
+        for (int child : children) {
+            if (child != NO_NODE && (child <= ROOT || child >= guesses.length)) {
+                throw new IllegalArgumentException("invalid child node " + child);
+            }
+        }
+    }
+
+    /**
+     * Erzeugt den Entscheidungsbaum einer Regel, indem sie für alle gültigen Kombinationen des Raums als Kandidaten
+     * ausgewertet wird.
+     * 
+     * @param rule
+     *            Die Regel.
+     * @param space
+     *            Der Raum der Kombinationen.
+     * @param calculator
+     *            Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     * @return Der Entscheidungsbaum.
+     * @throws IllegalStateException
+     *             Die Regel führt für eine Kandidatenmenge zu keinem Fortschritt.
+     */
+    public static DecisionTree compile(final IRule rule, final KombinationsRaum space,
+            final IErgebnisBerechnung calculator) {
+        final KombinationsMenge candidates = new KombinationsMenge(space);
+        candidates.addAll(space.getAlle());
+        final Compiler compiler = new Compiler(space, calculator);
+        compiler.addNode(rule, candidates);
+        return new DecisionTree(space, Arrays.copyOf(compiler.guesses, compiler.nodeCount), Arrays.copyOf(
+                compiler.candidateCounts, compiler.nodeCount), Arrays.copyOf(compiler.children, compiler.nodeCount
+                * compiler.responseCount));
+    }
+
+    /**
+     * Lädt einen mit {@link #write(OutputStream)} gespeicherten Baum. Der Stream wird in einem Stück gelesen, aber
+     * nicht geschlossen.
+     * 
+     * @param in
+     *            Der Stream.
+     * @return Der Baum.
+     * @throws IOException
+     *             Fehler beim Lesen, oder der Inhalt ist kein gültiger Baum.
+     */
+    public static DecisionTree read(final InputStream in) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        for (int count = in.read(buffer); count >= 0; count = in.read(buffer)) {
+            bytes.write(buffer, 0, count);
+        }
+        final ByteBuffer data = ByteBuffer.wrap(bytes.toByteArray());
+        try {
+            if (data.getInt() != MAGIC) {
+                throw new IOException("not a decision tree");
+            }
+            final int version = data.getInt();
+            if (version != VERSION) {
+                throw new IOException("unsupported decision tree version " + version);
+            }
+            final KombinationsRaum space = readSpace(data);
+            final int responseCount = ErgebnisKombination.getAnzahlCodes(space.getPins());
+            final int nodeCount = data.getInt();
+            if (nodeCount < 1 || nodeCount > data.remaining() / 12
+                    || (long) nodeCount * responseCount > Integer.MAX_VALUE) {
+                throw new IOException("invalid node count " + nodeCount);
+            }
+            final int[] guesses = new int[nodeCount];
+            final int[] candidateCounts = new int[nodeCount];
+            final int[] children = new int[nodeCount * responseCount];
+            Arrays.fill(children, NO_NODE);
+            for (int node = 0; node < nodeCount; node++) {
+                guesses[node] = data.getInt();
+                if (guesses[node] < 0 || guesses[node] >= space.getGroesse() || !space.istGueltig(guesses[node])) {
+                    throw new IOException("invalid guess code " + guesses[node] + " at node " + node);
+                }
+                candidateCounts[node] = data.getInt();
+                if (candidateCounts[node] < 1 || candidateCounts[node] > space.getAnzahlGueltige()) {
+                    throw new IOException("invalid candidate count " + candidateCounts[node] + " at node " + node);
+                }
+                final int childCount = data.getInt();
+                if (childCount < 0 || childCount > responseCount) {
+                    throw new IOException("invalid child count " + childCount + " at node " + node);
+                }
+                for (int i = 0; i < childCount; i++) {
+                    final int response = data.getInt();
+                    if (response < 0 || response >= responseCount) {
+                        throw new IOException("invalid response code " + response + " at node " + node);
+                    }
+                    final int child = data.getInt();
+                    if (child <= ROOT || child >= nodeCount) {
+                        throw new IOException("invalid child node " + child + " at node " + node);
+                    }
+                    children[node * responseCount + response] = child;
+                }
+            }
+            if (data.hasRemaining()) {
+                throw new IOException(data.remaining() + " unexpected trailing bytes");
+            }
+            return new DecisionTree(space, guesses, candidateCounts, children);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("decision tree is truncated", e);
+        }
+    }
+
+    /**
+     * Liest die Konfiguration aus dem Kopf des Binärformats und liefert den zugehörigen Raum.
+     * 
+     * @param data
+     *            Die Daten, positioniert hinter der Version.
+     * @return Der Raum der Kombinationen.
+     * @throws IOException
+     *             Die Konfiguration ist ungültig.
+     */
+    private static KombinationsRaum readSpace(final ByteBuffer data) throws IOException {
+        final int pins = data.getInt();
+        final int colors = data.getInt();
+        final int duplicates = data.getInt();
+        if (duplicates != 0 && duplicates != 1) {
+            throw new IOException("invalid duplicates flag " + duplicates);
+        }
+        try {
+            return KombinationsRaum.getInstance(new SpielKonfiguration(pins, colors, duplicates != 0));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("invalid configuration with " + pins + " pins and " + colors + " colors", e);
+        }
+    }
+
+    /**
+     * Speichert den Baum im Binärformat. Der Stream wird nicht geschlossen.
+     * 
+     * @param out
+     *            Der Stream.
+     * @throws IOException
+     *             Fehler beim Schreiben.
+     */
+    public void write(final OutputStream out) throws IOException {
+        final SpielKonfiguration configuration = space.getKonfiguration();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream data = new DataOutputStream(bytes);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(configuration.getPins());
+        data.writeInt(configuration.getFarben());
+        data.writeInt(configuration.isDuplikateErlaubt() ? 1 : 0);
+        data.writeInt(guesses.length);
+        for (int node = 0; node < guesses.length; node++) {
+            data.writeInt(guesses[node]);
+            data.writeInt(candidateCounts[node]);
+            int childCount = 0;
+            for (int response = 0; response < responseCount; response++) {
+                if (getChild(node, response) != NO_NODE) {
+                    childCount++;
+                }
+            }
+            data.writeInt(childCount);
+            for (int response = 0; response < responseCount; response++) {
+                if (getChild(node, response) != NO_NODE) {
+                    data.writeInt(response);
+                    data.writeInt(getChild(node, response));
+                }
+            }
+        }
+        data.flush();
+        bytes.writeTo(out);
+    }
+
+    /**
+     * Liefert den Raum der Kombinationen.
+     * 
+     * @return Der Raum.
+     */
+    public KombinationsRaum getSpace() {
+        return space;
+    }
+
+    /**
+     * Liefert die Anzahl der Knoten.
+     * 
+     * @return Die Anzahl der Knoten.
+     */
+    public int getNodeCount() {
+        return guesses.length;
+    }
+
+    /**
+     * Liefert den Code der in einem Knoten zu ratenden Kombination.
+     * 
+     * @param node
+     *            Die Knoten-Nummer.
+     * @return Der Code der zu ratenden Kombination.
+     */
+    public int getGuessCode(final int node) {
+        return guesses[node];
+    }
+
+    /**
+     * Liefert die Anzahl der Kandidaten, für die ein Knoten erzeugt wurde.
+     * 
+     * @param node
+     *            Die Knoten-Nummer.
+     * @return Die Anzahl der Kandidaten.
+     */
+    public int getCandidateCount(final int node) {
+        return candidateCounts[node];
+    }
+
+    /**
+     * Liefert die in einem Knoten zu ratende Kombination.
+     * 
+     * @param node
+     *            Die Knoten-Nummer.
+     * @return Die zu ratende Kombination.
+     */
+    public SpielKombination getGuess(final int node) {
+        return space.getKombination(guesses[node]);
+    }
+
+    /**
+     * Liefert den Folge-Knoten für eine Antwort.
+     * 
+     * @param node
+     *            Die Knoten-Nummer.
+     * @param responseCode
+     *            Der Code der Antwort, siehe {@link ErgebnisKombination#getCode()}.
+     * @return Die Nummer des Folge-Knotens, oder {@link #NO_NODE}, wenn die Antwort nicht möglich ist oder das Spiel
+     *         gewonnen ist.
+     */
+    public int getChild(final int node, final int responseCode) {
+        return children[node * responseCount + responseCode];
+    }
+
+    /**
+     * Zustand für die Erzeugung eines Baums.
+     * 
+     * @author chschu
+     */
+    private static final class Compiler {
+
+        /**
+         * Der Raum der Kombinationen.
+         */
+        private final KombinationsRaum space;
+
+        /**
+         * Die Aufteilung der Kandidaten nach der Antwort.
+         */
+        private final PartitionsBewertung scorer;
+
+        /**
+         * Die Anzahl der möglichen Antwort-Codes.
+         */
+        private final int responseCount;
+
+        /**
+         * Der Antwort-Code für ein gewonnenes Spiel.
+         */
+        private final int solvedCode;
+
+        /**
+         * Die bisherigen Knoten-Codes, ggf. mit ungenutzter Reserve.
+         */
+        private int[] guesses = new int[16];
+
+        /**
+         * Die bisherigen Anzahlen der Kandidaten, ggf. mit ungenutzter Reserve.
+         */
+        private int[] candidateCounts = new int[guesses.length];
+
+        /**
+         * Die bisherigen Folge-Knoten, ggf. mit ungenutzter Reserve.
+         */
+        private int[] children;
+
+        /**
+         * Die Anzahl der bisherigen Knoten.
+         */
+        private int nodeCount;
+
+        /**
+         * Erzeugt eine Instanz.
+         * 
+         * @param theSpace
+         *            Der Raum der Kombinationen.
+         * @param theCalculator
+         *            Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+         */
+        Compiler(final KombinationsRaum theSpace, final IErgebnisBerechnung theCalculator) {
+            space = theSpace;
+            scorer = new PartitionsBewertung(theCalculator, theSpace.getPins());
+            responseCount = ErgebnisKombination.getAnzahlCodes(theSpace.getPins());
+            solvedCode = ErgebnisKombination.berechneCode(theSpace.getPins(), 0);
+            children = new int[guesses.length * responseCount];
+        }
+
+        /**
+         * Fügt rekursiv den Knoten für eine Regel und eine Kandidatenmenge samt aller Folge-Knoten hinzu.
+         * 
+         * @param rule
+         *            Die Regel.
+         * @param candidates
+         *            Die Kandidaten, nicht leer.
+         * @return Die Nummer des hinzugefügten Knotens.
+         */
+        int addNode(final IRule rule, final KombinationsMenge candidates) {
+            final SpielKombination guess = rule.getGuess(candidates);
+            if (guess == null) {
+                throw new IllegalStateException("rule returned no guess for " + candidates.size() + " candidates");
+            }
+
+            final int node = nodeCount++;
+            if (node == guesses.length) {
+                guesses = Arrays.copyOf(guesses, 2 * guesses.length);
+                candidateCounts = Arrays.copyOf(candidateCounts, guesses.length);
+                children = Arrays.copyOf(children, guesses.length * responseCount);
+            }
+            guesses[node] = space.getCode(guess);
+            candidateCounts[node] = candidates.size();
+            Arrays.fill(children, node * responseCount, (node + 1) * responseCount, NO_NODE);
+
+            // Kandidaten nach Antwort aufteilen
+            final KombinationsMenge[] parts = scorer.teileAuf(guess, candidates);
+
+            for (int response = 0; response < responseCount; response++) {
+                if (parts[response] != null && response != solvedCode) {
+                    if (parts[response].size() == candidates.size()) {
+                        throw new IllegalStateException("rule makes no progress with " + candidates.size()
+                                + " candidates");
+                    }
+                    final IRule nextRule = rule.getRuleForResponse(ErgebnisKombination.valueOf(response));
+                    // erst nach dem rekursiven Aufruf zugreifen, der das Array ersetzen kann
+                    final int child = addNode(nextRule, parts[response]);
+                    children[node * responseCount + response] = child;
+                }
+            }
+            return node;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.hitzemann.mms.solver.rule;
+
+import java.util.List;
+
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.SpielKombination;
+
+/**
+ * Eine Regel, die einem Knoten eines {@link DecisionTree} folgt. Die zu ratende Kombination ergibt sich allein aus dem
+ * Knoten, von den Kandidaten wird nur die Anzahl mit der des Knotens verglichen, um widersprüchliche Antworten zu
+ * erkennen.
+ * 
+ * @author chschu
+ */
+public final class DecisionTreeRule implements IRule {
+
+    /**
+     * Der Entscheidungsbaum.
+     */
+    private final DecisionTree tree;
+
+    /**
+     * Die Nummer des aktuellen Knotens.
+     */
+    private final int node;
+
+    /**
+     * Erzeugt eine Instanz für die Wurzel eines Entscheidungsbaums.
+     * 
+     * @param theTree
+     *            Der Entscheidungsbaum.
+     */
+    public DecisionTreeRule(final DecisionTree theTree) {
+        this(theTree, DecisionTree.ROOT);
+    }
+
+    /**
+     * Erzeugt eine Instanz für einen Knoten eines Entscheidungsbaums.
+     * 
+     * @param theTree
+     *            Der Entscheidungsbaum.
+     * @param theNode
+     *            Die Nummer des Knotens.
+     */
+    private DecisionTreeRule(final DecisionTree theTree, final int theNode) {
+        tree = theTree;
+        node = theNode;
+    }
+
+    @Override
+    public SpielKombination getGuess(final List<SpielKombination> candidates) {
+        checkCandidateCount(candidates.size());
+        return tree.getGuess(node);
+    }
+
+    @Override
+    public SpielKombination getGuess(final KombinationsMenge candidates) {
+        checkCandidateCount(candidates.size());
+        return tree.getGuess(node);
+    }
+
+    /**
+     * Prüft, ob die Anzahl der Kandidaten zum aktuellen Knoten passt.
+     * 
+     * @param candidateCount
+     *            Die Anzahl der Kandidaten.
+     * @throws IllegalArgumentException
+     *             Die Anzahl passt nicht zum Knoten.
+     */
+    private void checkCandidateCount(final int candidateCount) {
+        final int expectedCandidateCount = tree.getCandidateCount(node);
+        if (candidateCount != expectedCandidateCount) {
+            throw new IllegalArgumentException("expected exactly " + expectedCandidateCount + " candidates, got "
+                    + candidateCount);
+        }
+    }
+
+    @Override
+    public IRule getRuleForResponse(final ErgebnisKombination response) {
+        final int child = tree.getChild(node, response.getCode());
+        if (child == DecisionTree.NO_NODE) {
+            throw new IllegalArgumentException("no rule for response " + response);
+        }
+        return new DecisionTreeRule(tree, child);
+    }
+
+    @Override
+    public IRule getRuleForResponse(final SpielKombination guess, final ErgebnisKombination response) {
+        if (!guess.equals(tree.getGuess(node))) {
+            throw new IllegalArgumentException("move " + guess + " is not the move " + tree.getGuess(node)
+                    + " of the decision tree");
+        }
+        return getRuleForResponse(response);
+    }
+}
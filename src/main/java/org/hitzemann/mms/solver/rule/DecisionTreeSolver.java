@@ -0,0 +1,52 @@
+package org.hitzemann.mms.solver.rule;
+
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.solver.ISolver;
+
+/**
+ * Implementierung von {@link ISolver}, die einem {@link DecisionTree} folgt. Es wird keine Kandidatenmenge gehalten,
+ * jeder Zug ist ein Array-Zugriff. Daher können nur die gelieferten Züge gespielt werden.
+ * 
+ * @author chschu
+ */
+public final class DecisionTreeSolver implements ISolver {
+
+    /**
+     * Der Entscheidungsbaum.
+     */
+    private final DecisionTree tree;
+
+    /**
+     * Die Nummer des aktuellen Knotens.
+     */
+    private int node = DecisionTree.ROOT;
+
+    /**
+     * Erzeugt eine Instanz.
+     * 
+     * @param theTree
+     *            Der Entscheidungsbaum.
+     */
+    public DecisionTreeSolver(final DecisionTree theTree) {
+        tree = theTree;
+    }
+
+    @Override
+    public SpielKombination getNeuerZug() {
+        return tree.getGuess(node);
+    }
+
+    @Override
+    public void setLetzterZug(final SpielKombination zug, final ErgebnisKombination antwort) {
+        if (!zug.equals(tree.getGuess(node))) {
+            throw new IllegalArgumentException("move " + zug + " is not the move " + tree.getGuess(node)
+                    + " of the decision tree");
+        }
+        final int child = tree.getChild(node, antwort.getCode());
+        if (child == DecisionTree.NO_NODE) {
+            throw new IllegalArgumentException("no move for response " + antwort);
+        }
+        node = child;
+    }
+}
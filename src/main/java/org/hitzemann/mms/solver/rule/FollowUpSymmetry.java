@@ -0,0 +1,121 @@
+package org.hitzemann.mms.solver.rule;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SymmetrieGruppe;
+
+/**
+ * <p>
+ * Die Symmetrien für die Folge-Regeln einer {@link IRule}, die zusätzlich die geratene Kombination festhalten.
+ * </p>
+ * 
+ * <p>
+ * Eine Regel-Instanz kann von mehreren Threads gleichzeitig verwendet werden, z.B. die Start-Regel vieler parallel
+ * laufender Spiele. Die Symmetrien sind daher nur bekannt, solange jeder Aufruf von {@link IRule#getGuess(List)} die
+ * gleiche Kombination mit den gleichen Symmetrien geliefert hat. Die Symmetrien können sich auch bei gleicher
+ * Kombination unterscheiden, z.B. wenn eine Start-Regel zuerst alle Kombinationen und dann eine Teilmenge erhält.
+ * Andernfalls ist unbekannt, auf welchen Aufruf sich
+ * {@link IRule#getRuleForResponse(org.hitzemann.mms.model.ErgebnisKombination)} bezieht, und es darf nicht mehr
+ * reduziert werden. Wird eine andere als die gelieferte Kombination gespielt, gelten die Symmetrien ebenfalls nicht
+ * (siehe {@link #get(SpielKombination)}). Das Setzen und Lesen erfolgt ohne Sperren.
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class FollowUpSymmetry {
+
+    /**
+     * Eine geratene Kombination mit den zugehörigen Symmetrien.
+     */
+    private static final class Entry {
+
+        /**
+         * Die geratene Kombination, oder <code>null</code> nach verschiedenen geratenen Kombinationen.
+         */
+        private final SpielKombination guess;
+
+        /**
+         * Die Symmetrien, die zusätzlich die geratene Kombination festhalten.
+         */
+        private final SymmetrieGruppe symmetry;
+
+        /**
+         * Erzeugt einen Eintrag.
+         * 
+         * @param theGuess
+         *            Die geratene Kombination.
+         * @param theSymmetry
+         *            Die Symmetrien.
+         */
+        private Entry(final SpielKombination theGuess, final SymmetrieGruppe theSymmetry) {
+            guess = theGuess;
+            symmetry = theSymmetry;
+        }
+    }
+
+    /**
+     * Markierung für verschiedene geratene Kombinationen.
+     */
+    private static final Entry AMBIGUOUS = new Entry(null, null);
+
+    /**
+     * Der aktuelle Eintrag, <code>null</code> solange nichts geraten wurde.
+     */
+    private final AtomicReference<Entry> entry = new AtomicReference<Entry>();
+
+    /**
+     * Hinterlegt die geratene Kombination.
+     * 
+     * @param guess
+     *            Die geratene Kombination.
+     * @param symmetry
+     *            Die Symmetrien, die zusätzlich die geratene Kombination festhalten.
+     */
+    public void set(final SpielKombination guess, final SymmetrieGruppe symmetry) {
+        final Entry update = new Entry(guess, symmetry);
+        while (true) {
+            final Entry current = entry.get();
+            if (current == null) {
+                if (entry.compareAndSet(null, update)) {
+                    return;
+                }
+            } else if (current == AMBIGUOUS || current.guess.equals(guess) && current.symmetry.equals(symmetry)) {
+                return;
+            } else if (entry.compareAndSet(current, AMBIGUOUS)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Liefert die Symmetrien für die Folge-Regeln.
+     * 
+     * @return Die Symmetrien, oder <code>null</code> falls noch nichts oder verschiedene Kombinationen oder
+     *         Symmetrien geliefert wurden.
+     */
+    public SymmetrieGruppe get() {
+        final Entry current = entry.get();
+        if (current == null) {
+            return null;
+        }
+        return current.symmetry;
+    }
+
+    /**
+     * Liefert die Symmetrien für die Folge-Regeln, nachdem die angegebene Kombination gespielt wurde.
+     * 
+     * @param played
+     *            Die gespielte Kombination.
+     * @return Die Symmetrien, oder <code>null</code> falls noch nichts, verschiedene Kombinationen oder Symmetrien,
+     *         oder eine andere als die gespielte Kombination geliefert wurden.
+     */
+    public SymmetrieGruppe get(final SpielKombination played) {
+        final Entry current = entry.get();
+        if (current == null || current == AMBIGUOUS || !current.guess.equals(played)) {
+            return null;
+        }
+        return current.symmetry;
+    }
+}
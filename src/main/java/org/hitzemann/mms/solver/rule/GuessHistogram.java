@@ -0,0 +1,192 @@
+package org.hitzemann.mms.solver.rule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.solver.IErgebnisBerechnung;
+import org.hitzemann.mms.solver.PartitionsBewertung;
+
+/**
+ * <p>
+ * Die Verteilung der Anzahl der benötigten Rateversuche einer Strategie über alle geheimen Kombinationen eines
+ * {@link KombinationsRaum}s.
+ * </p>
+ * 
+ * <p>
+ * Mit {@link #evaluate(IRule, KombinationsRaum, IErgebnisBerechnung)} werden alle geheimen Kombinationen gleichzeitig
+ * gespielt, indem der Entscheidungsbaum der Regel Ebene für Ebene durchlaufen wird. Die geheimen Kombinationen eines
+ * Knotens werden nach der Antwort auf den geratenen Zug aufgeteilt, so dass jeder Zug nur einmal pro Kandidatenmenge
+ * berechnet wird, statt einmal pro geheimer Kombination. Jede Kandidatenmenge wird freigegeben, sobald sie aufgeteilt
+ * ist, statt bis zum Ende ihrer Ebene gehalten zu werden. Instanzen sind unveränderlich.
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class GuessHistogram {
+
+    /**
+     * Die Anzahl der geheimen Kombinationen, indiziert über die Anzahl der benötigten Rateversuche.
+     */
+    private final int[] counts;
+
+    /**
+     * Erzeugt eine Instanz.
+     * 
+     * @param theCounts
+     *            Die Anzahl der geheimen Kombinationen pro Anzahl an Rateversuchen. Wird ohne Kopie übernommen.
+     */
+    private GuessHistogram(final int[] theCounts) {
+        counts = theCounts;
+    }
+
+    /**
+     * Spielt eine Regel für alle gültigen Kombinationen des Raums als geheime Kombination und ermittelt die
+     * Verteilung der Anzahl der Rateversuche.
+     * 
+     * @param rule
+     *            Die Regel.
+     * @param space
+     *            Der Raum der Kombinationen.
+     * @param calculator
+     *            Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     * @return Die Verteilung.
+     * @throws IllegalStateException
+     *             Die Regel führt für eine Kandidatenmenge zu keinem Fortschritt.
+     */
+    public static GuessHistogram evaluate(final IRule rule, final KombinationsRaum space,
+            final IErgebnisBerechnung calculator) {
+        final PartitionsBewertung scorer = new PartitionsBewertung(calculator, space.getPins());
+        final int responseCount = ErgebnisKombination.getAnzahlCodes(space.getPins());
+        final int solvedCode = ErgebnisKombination.berechneCode(space.getPins(), 0);
+
+        final KombinationsMenge all = new KombinationsMenge(space);
+        all.addAll(space.getAlle());
+        List<IRule> rules = new ArrayList<IRule>();
+        List<KombinationsMenge> secrets = new ArrayList<KombinationsMenge>();
+        rules.add(rule);
+        secrets.add(all);
+
+        int[] counts = new int[1];
+        // in jeder Runde wird eine Ebene des Baums gespielt, also ein Rateversuch für alle noch offenen Spiele
+        for (int guessCount = 1; !rules.isEmpty(); guessCount++) {
+            final List<IRule> nextRules = new ArrayList<IRule>();
+            final List<KombinationsMenge> nextSecrets = new ArrayList<KombinationsMenge>();
+            for (int i = 0; i < rules.size(); i++) {
+                // Regel und Kandidaten der aktuellen Ebene nach der Verwendung freigeben
+                final IRule nodeRule = rules.set(i, null);
+                final KombinationsMenge candidates = secrets.set(i, null);
+                final SpielKombination guess = nodeRule.getGuess(candidates);
+                if (guess == null) {
+                    throw new IllegalStateException("rule returned no guess for " + candidates.size()
+                            + " candidates");
+                }
+
+                // geheime Kombinationen nach Antwort aufteilen
+                final KombinationsMenge[] parts = scorer.teileAuf(guess, candidates);
+
+                for (int response = 0; response < responseCount; response++) {
+                    if (parts[response] == null) {
+                        continue;
+                    }
+                    if (response == solvedCode) {
+                        if (guessCount == counts.length) {
+                            counts = Arrays.copyOf(counts, guessCount + 1);
+                        }
+                        counts[guessCount]++;
+                    } else {
+                        if (parts[response].size() == candidates.size()) {
+                            throw new IllegalStateException("rule makes no progress with " + candidates.size()
+                                    + " candidates");
+                        }
+                        nextRules.add(nodeRule.getRuleForResponse(ErgebnisKombination.valueOf(response)));
+                        nextSecrets.add(parts[response]);
+                    }
+                }
+            }
+            rules = nextRules;
+            secrets = nextSecrets;
+        }
+        return new GuessHistogram(counts);
+    }
+
+    /**
+     * Liefert die Anzahl der geheimen Kombinationen, die mit genau der angegebenen Anzahl an Rateversuchen gelöst
+     * werden.
+     * 
+     * @param guessCount
+     *            Die Anzahl der Rateversuche.
+     * @return Die Anzahl der geheimen Kombinationen.
+     */
+    public int getCount(final int guessCount) {
+        if (guessCount < 0 || guessCount >= counts.length) {
+            return 0;
+        }
+        return counts[guessCount];
+    }
+
+    /**
+     * Liefert die größte benötigte Anzahl an Rateversuchen.
+     * 
+     * @return Die größte Anzahl an Rateversuchen.
+     */
+    public int getMaxGuessCount() {
+        return counts.length - 1;
+    }
+
+    /**
+     * Liefert die Anzahl der gespielten geheimen Kombinationen.
+     * 
+     * @return Die Anzahl der geheimen Kombinationen.
+     */
+    public int getSecretCount() {
+        int result = 0;
+        for (int count : counts) {
+            result += count;
+        }
+        return result;
+    }
+
+    /**
+     * Liefert die Summe der Rateversuche über alle geheimen Kombinationen.
+     * 
+     * @return Die Summe der Rateversuche.
+     */
+    public long getTotalGuessCount() {
+        long result = 0;
+        for (int guessCount = 0; guessCount < counts.length; guessCount++) {
+            result += (long) guessCount * counts[guessCount];
+        }
+        return result;
+    }
+
+    /**
+     * Liefert die durchschnittliche Anzahl an Rateversuchen.
+     * 
+     * @return Der Durchschnitt.
+     */
+    public double getAverageGuessCount() {
+        return 1.0 * getTotalGuessCount() / getSecretCount();
+    }
+
+    /**
+     * Liefert die Verteilung im CSV-Format mit einer Zeile pro vorkommender Anzahl an Rateversuchen, z.B. zur Ausgabe
+     * nach einem Testlauf.
+     * 
+     * @return Die Verteilung als Text.
+     */
+    @Override
+    public String toString() {
+        final StringBuilder result = new StringBuilder("#guesses;frequency\n");
+        for (int guessCount = 0; guessCount < counts.length; guessCount++) {
+            if (counts[guessCount] > 0) {
+                result.append(guessCount).append(';').append(counts[guessCount]).append('\n');
+            }
+        }
+        return result.toString();
+    }
+}
@@ -3,6 +3,7 @@ package org.hitzemann.mms.solver.rule;
 import java.util.List;
 
 import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.KombinationsMenge;
 import org.hitzemann.mms.model.SpielKombination;
 
 /**
@@ -28,6 +29,17 @@ public interface IRule {
      */
     SpielKombination getGuess(List<SpielKombination> candidates);
 
+    /**
+     * Liefert die zu ratende {@link SpielKombination}, wobei die zulässigen Kandidaten als {@link KombinationsMenge}
+     * übergeben werden. Muss das gleiche Ergebnis liefern wie {@link #getGuess(List<SpielKombination>)} für eine Liste
+     * der gleichen Kandidaten in aufsteigender Reihenfolge.
+     * 
+     * @param candidates
+     *            Die zulässigen Kandidaten.
+     * @return Die zu ratende {@link SpielKombination}, muss nicht zwingend einer der zulässigen Kandidaten sein.
+     */
+    SpielKombination getGuess(KombinationsMenge candidates);
+
     /**
      * Liefert die Folge-Regel, falls das Raten von der von {@link #getGuess(List<SpielKombination>)} zurückgegebenen
      * {@link SpielKombination} in Verbindung mit der geheimen Kombination das angegebene Ergebnis liefert.
@@ -37,4 +49,20 @@ public interface IRule {
      * @return Die Folge-Regel.
      */
     IRule getRuleForResponse(ErgebnisKombination response);
+
+    /**
+     * Liefert die Folge-Regel, falls das Raten der angegebenen {@link SpielKombination} in Verbindung mit der geheimen
+     * Kombination das angegebene Ergebnis liefert. Die geratene Kombination muss nicht die von
+     * {@link #getGuess(List<SpielKombination>)} zurückgegebene sein. Regeln, die nur ihre eigenen Züge unterstützen,
+     * dürfen in diesem Fall eine {@link IllegalArgumentException} werfen.
+     * 
+     * @param guess
+     *            Die geratene {@link SpielKombination}.
+     * @param response
+     *            Die Antwort auf die geratene {@link SpielKombination}.
+     * @return Die Folge-Regel.
+     * @throws IllegalArgumentException
+     *             Die Regel unterstützt die geratene Kombination nicht.
+     */
+    IRule getRuleForResponse(SpielKombination guess, ErgebnisKombination response);
 }
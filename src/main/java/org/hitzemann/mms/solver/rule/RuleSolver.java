@@ -1,11 +1,13 @@
 package org.hitzemann.mms.solver.rule;
 
-import java.util.Iterator;
 import java.util.List;
 
 import org.hitzemann.mms.model.ErgebnisKombination;
 import org.hitzemann.mms.model.ISpielKombinationFactory;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
 import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielKonfiguration;
 import org.hitzemann.mms.solver.IErgebnisBerechnung;
 import org.hitzemann.mms.solver.ISolver;
 
@@ -31,7 +33,7 @@ public class RuleSolver implements ISolver {
     /**
      * Die Kandidaten für die geheime Kombination.
      */
-    private final List<SpielKombination> candidates;
+    private final KombinationsMenge candidates;
 
     /**
      * Erzeugt eine Instanz.
@@ -47,9 +49,44 @@ public class RuleSolver implements ISolver {
      */
     public RuleSolver(final IErgebnisBerechnung theCalculator, final ISpielKombinationFactory factory, final int pins,
             final IRule theRule) {
+        this(theCalculator, KombinationsRaum.getInstance(pins), factory.erzeugeAlle(pins), theRule);
+    }
+
+    /**
+     * Erzeugt eine Instanz für eine beliebige Spielvariante.
+     * 
+     * @param theCalculator
+     *            Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     * @param factory
+     *            Die zu verwendende Implementierung von {@link ISpielKombinationFactory}.
+     * @param configuration
+     *            Die Spielvariante.
+     * @param theRule
+     *            Die Regel.
+     */
+    public RuleSolver(final IErgebnisBerechnung theCalculator, final ISpielKombinationFactory factory,
+            final SpielKonfiguration configuration, final IRule theRule) {
+        this(theCalculator, KombinationsRaum.getInstance(configuration), factory.erzeugeAlle(configuration), theRule);
+    }
+
+    /**
+     * Erzeugt eine Instanz mit gegebenen initialen Kandidaten.
+     * 
+     * @param theCalculator
+     *            Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     * @param space
+     *            Der Raum, aus dem die Kandidaten stammen.
+     * @param initialCandidates
+     *            Die initialen Kandidaten.
+     * @param theRule
+     *            Die Regel.
+     */
+    private RuleSolver(final IErgebnisBerechnung theCalculator, final KombinationsRaum space,
+            final List<SpielKombination> initialCandidates, final IRule theRule) {
         calculator = theCalculator;
         rule = theRule;
-        candidates = factory.erzeugeAlle(pins);
+        candidates = new KombinationsMenge(space);
+        candidates.addAll(initialCandidates);
     }
 
     @Override
@@ -65,7 +102,7 @@ public class RuleSolver implements ISolver {
         eliminate(zug, antwort);
 
         // weiter zur Folge-Regel
-        rule = rule.getRuleForResponse(antwort);
+        rule = rule.getRuleForResponse(zug, antwort);
     }
 
     /**
@@ -78,11 +115,11 @@ public class RuleSolver implements ISolver {
      *            Die Antwort.
      */
     private void eliminate(final SpielKombination guess, final ErgebnisKombination response) {
-        for (final Iterator<SpielKombination> i = candidates.iterator(); i.hasNext();) {
-            final SpielKombination candidate = i.next();
-            final ErgebnisKombination actualResponse = calculator.berechneErgebnis(candidate, guess);
-            if (!actualResponse.equals(response)) {
-                i.remove();
+        final KombinationsRaum raum = candidates.getRaum();
+        final int responseCode = response.getCode();
+        for (int code = candidates.naechsterCode(0); code >= 0; code = candidates.naechsterCode(code + 1)) {
+            if (calculator.berechneErgebnisCode(raum.getKombination(code), guess) != responseCode) {
+                candidates.entferneCode(code);
             }
         }
     }
@@ -0,0 +1,111 @@
+package org.hitzemann.mms.solver.rule;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import org.hitzemann.mms.model.DefaultSpielKombinationFactory;
+import org.hitzemann.mms.model.ISpielKombinationFactory;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKonfiguration;
+import org.hitzemann.mms.solver.IErgebnisBerechnung;
+import org.hitzemann.mms.solver.LinearerErgebnisBerechner;
+import org.hitzemann.mms.solver.rule.entropy.EntropyRule;
+import org.hitzemann.mms.solver.rule.knuth.KnuthRuleWriter;
+import org.hitzemann.mms.solver.rule.minimax.MinimaxRule;
+import org.hitzemann.mms.solver.rule.mostparts.MostPartsRule;
+import org.hitzemann.mms.solver.rule.optimal.OptimalRule;
+
+/**
+ * <p>
+ * Werkzeug zur Offline-Erzeugung einer vollständigen Strategie. Eine {@link IRule} wird für alle geheimen
+ * Kombinationen einer {@link SpielKonfiguration} ausgewertet (siehe
+ * {@link DecisionTree#compile(IRule, KombinationsRaum, IErgebnisBerechnung)}), und der entstehende Entscheidungsbaum
+ * wird im Textformat der {@link org.hitzemann.mms.solver.rule.knuth.KnuthRule} (siehe {@link KnuthRuleWriter}) oder im
+ * Binärformat (siehe {@link DecisionTree#write(OutputStream)}) gespeichert.
+ * </p>
+ * 
+ * <p>
+ * Aufruf: <code>StrategyGenerator &lt;entropy|mostparts|minimax|optimal&gt; &lt;pins&gt; &lt;farben&gt;
+ * &lt;duplikate (true|false)&gt; &lt;text|binary&gt; &lt;datei&gt;</code>
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class StrategyGenerator {
+
+    /**
+     * Nicht instanziierbar.
+     */
+    private StrategyGenerator() {
+    }
+
+    /**
+     * Erzeugt eine der bekannten Regeln.
+     * 
+     * @param name
+     *            Der Name der Regel: "entropy", "mostparts", "minimax" oder "optimal".
+     * @param calculator
+     *            Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     * @param configuration
+     *            Die Spielvariante.
+     * @return Die Regel.
+     * @throws IllegalArgumentException
+     *             Der Name ist unbekannt.
+     */
+    public static IRule createRule(final String name, final IErgebnisBerechnung calculator,
+            final SpielKonfiguration configuration) {
+        final ISpielKombinationFactory factory = new DefaultSpielKombinationFactory();
+        if ("entropy".equals(name)) {
+            return new EntropyRule(calculator, factory, configuration);
+        } else if ("mostparts".equals(name)) {
+            return new MostPartsRule(calculator, factory, configuration);
+        } else if ("minimax".equals(name)) {
+            return new MinimaxRule(calculator, factory, configuration);
+        } else if ("optimal".equals(name)) {
+            return new OptimalRule(calculator, factory, configuration);
+        }
+        throw new IllegalArgumentException("unknown rule " + name);
+    }
+
+    /**
+     * Erzeugt die Strategie und speichert sie.
+     * 
+     * @param args
+     *            Die Argumente, siehe Klassenbeschreibung.
+     * @throws IOException
+     *             Fehler beim Schreiben der Datei.
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 6) {
+            throw new IllegalArgumentException("usage: StrategyGenerator <entropy|mostparts|minimax|optimal> <pins> "
+                    + "<colors> <duplicates (true|false)> <text|binary> <file>");
+        }
+        final SpielKonfiguration configuration = new SpielKonfiguration(Integer.parseInt(args[1]),
+                Integer.parseInt(args[2]), Boolean.parseBoolean(args[3]));
+        final IErgebnisBerechnung calculator = new LinearerErgebnisBerechner(configuration);
+        final IRule rule = createRule(args[0], calculator, configuration);
+        final String format = args[4];
+        if (!"text".equals(format) && !"binary".equals(format)) {
+            throw new IllegalArgumentException("unknown format " + format);
+        }
+
+        final DecisionTree tree = DecisionTree.compile(rule, KombinationsRaum.getInstance(configuration), calculator);
+
+        final OutputStream out = new BufferedOutputStream(new FileOutputStream(args[5]));
+        try {
+            if ("text".equals(format)) {
+                final Writer writer = new OutputStreamWriter(out, "UTF-8");
+                writer.write(KnuthRuleWriter.write(tree, calculator));
+                writer.flush();
+            } else {
+                tree.write(out);
+            }
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -1,12 +1,13 @@
 package org.hitzemann.mms.solver.rule.cache;
 
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.KombinationsMenge;
 import org.hitzemann.mms.model.SpielKombination;
 import org.hitzemann.mms.solver.rule.IRule;
 
@@ -18,7 +19,9 @@ import org.hitzemann.mms.solver.rule.IRule;
  * 
  * <p>
  * Die Folge-Regeln werden ebenfalls von einer {@link CacheRule} umschlossen, wobei der Cache innerhalb der gesamten
- * Regel-Hierarchie gemeinsam verwendet wird.
+ * Regel-Hierarchie gemeinsam verwendet wird. Der Standard-Cache ist eine {@link ConcurrentHashMap}, so dass die
+ * Hierarchie ohne Sperren von mehreren Threads gleichzeitig verwendet werden kann, sofern die gekapselte Regel
+ * threadsicher ist. Wird dieselbe Kandidatenmenge gleichzeitig angefragt, wird sie ggf. mehrfach berechnet.
  * </p>
  * 
  * <p>
@@ -44,10 +47,10 @@ public final class CacheRule implements IRule {
     /**
      * Der Cache zur Abbildung einer Kandidatenmenge auf die zu ratende {@link SpielKombination}.
      */
-    private Map<Set<SpielKombination>, SpielKombination> guessCache;
+    private final Map<Set<SpielKombination>, SpielKombination> guessCache;
 
     /**
-     * Erzeugt eine Instanz mit initial leerem Cache.
+     * Erzeugt eine Instanz mit initial leerem, threadsicherem Cache.
      * 
      * @param theDelegate
      *            Die gekapselte Regel.
@@ -55,7 +58,7 @@ public final class CacheRule implements IRule {
      *            Die Factory zur Erzeugung der Folge-Regeln.
      */
     public CacheRule(final IRule theDelegate, final ICacheRuleFactory theRuleFactory) {
-        this(theDelegate, new HashMap<Set<SpielKombination>, SpielKombination>(), theRuleFactory);
+        this(theDelegate, new ConcurrentHashMap<Set<SpielKombination>, SpielKombination>(), theRuleFactory);
     }
 
     /**
@@ -88,9 +91,27 @@ public final class CacheRule implements IRule {
         return cached;
     }
 
+    @Override
+    public SpielKombination getGuess(final KombinationsMenge candidates) {
+        // die Menge selbst zum Nachschlagen verwenden, ihr Hash-Code ist fortgeschrieben und kostet nichts
+        SpielKombination cached = guessCache.get(candidates);
+        if (cached == null) {
+            cached = delegate.getGuess(candidates);
+            // Kopie der Kandidatenmenge als Schlüssel verwenden, ist gleich zu einem HashSet mit den gleichen Elementen
+            guessCache.put(new KombinationsMenge(candidates), cached);
+        }
+        return cached;
+    }
+
     @Override
     public IRule getRuleForResponse(final ErgebnisKombination response) {
         // Folge-Regel wieder verpacken
         return ruleFactory.createCachingRule(delegate.getRuleForResponse(response), guessCache);
     }
+
+    @Override
+    public IRule getRuleForResponse(final SpielKombination guess, final ErgebnisKombination response) {
+        // Folge-Regel wieder verpacken
+        return ruleFactory.createCachingRule(delegate.getRuleForResponse(guess, response), guessCache);
+    }
 }
@@ -3,6 +3,7 @@ package org.hitzemann.mms.solver.rule.cache;
 import java.util.List;
 
 import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.KombinationsMenge;
 import org.hitzemann.mms.model.SpielKombination;
 import org.hitzemann.mms.solver.rule.IRule;
 
@@ -61,8 +62,21 @@ public final class FirstGuessCacheRule implements IRule {
         return guess;
     }
 
+    @Override
+    public SpielKombination getGuess(final KombinationsMenge candidates) {
+        if (guess == null) {
+            guess = delegate.getGuess(candidates);
+        }
+        return guess;
+    }
+
     @Override
     public IRule getRuleForResponse(final ErgebnisKombination response) {
         return delegate.getRuleForResponse(response);
     }
+
+    @Override
+    public IRule getRuleForResponse(final SpielKombination guess, final ErgebnisKombination response) {
+        return delegate.getRuleForResponse(guess, response);
+    }
 }
@@ -0,0 +1,299 @@
+package org.hitzemann.mms.solver.rule.cache;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.hitzemann.mms.model.Fingerabdruck;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielKonfiguration;
+
+/**
+ * <p>
+ * Ein dauerhafter Cache für zu ratende {@link SpielKombination}en in einer lokalen Datei, mit dem
+ * {@link Fingerabdruck} der Kandidatenmenge als Schlüssel (siehe {@link KombinationsMenge#getFingerabdruck()}).
+ * </p>
+ * 
+ * <p>
+ * Die Datei wird nur angehängt. Sie besteht aus big-endian Werten: {@link #MAGIC}, {@link #VERSION}, Pins, Farben,
+ * Duplikate erlaubt (0 oder 1) als ints, die Länge der Kennung der Regel als int und die Kennung in UTF-8, und dann
+ * pro Eintrag die beiden longs des Fingerabdrucks und der Code (siehe
+ * {@link KombinationsRaum#getCode(SpielKombination)}) der zu ratenden Kombination als int. Beim Öffnen werden alle
+ * Einträge in den Speicher gelesen, ein unvollständiger letzter Eintrag (z.B. nach einem Absturz beim Schreiben) wird
+ * abgeschnitten. Ein gefüllter Cache kann so zwischen Neustarts erhalten und als fertige Datei weitergegeben werden.
+ * </p>
+ * 
+ * <p>
+ * Die Züge hängen von der Regel ab, die sie berechnet hat. Die Kennung der Regel wird daher wie die Konfiguration beim
+ * Öffnen geprüft, so dass eine Datei nicht versehentlich mit einer anderen Regel weiterverwendet wird.
+ * </p>
+ * 
+ * <p>
+ * Lesen erfolgt ohne Sperren, nur das Anhängen neuer Einträge ist synchronisiert. Eine Datei darf nur von einer
+ * Instanz gleichzeitig geöffnet sein.
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class GuessFile implements Closeable {
+
+    /**
+     * Die Kennung am Anfang der Datei.
+     */
+    public static final int MAGIC = 0x4D4D4743;
+
+    /**
+     * Die Version des Dateiformats. Muss erhöht werden, wenn sich die Berechnung der Fingerabdrücke ändert.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Die Länge des Dateikopfs ohne die Kennung der Regel in Bytes.
+     */
+    private static final int HEADER_SIZE = 6 * 4;
+
+    /**
+     * Die maximale Länge der Kennung der Regel in Bytes.
+     */
+    private static final int MAX_RULE_ID_SIZE = 1024;
+
+    /**
+     * Die Kodierung der Kennung der Regel.
+     */
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * Die Länge eines Eintrags in Bytes.
+     */
+    private static final int ENTRY_SIZE = 2 * 8 + 4;
+
+    /**
+     * Der Raum der Kombinationen.
+     */
+    private final KombinationsRaum space;
+
+    /**
+     * Die Kennung der Regel, deren Züge die Datei enthält.
+     */
+    private final String ruleId;
+
+    /**
+     * Alle Einträge der Datei.
+     */
+    private final ConcurrentMap<Fingerabdruck, SpielKombination> entries =
+            new ConcurrentHashMap<Fingerabdruck, SpielKombination>();
+
+    /**
+     * Die geöffnete Datei.
+     */
+    private final RandomAccessFile file;
+
+    /**
+     * Der Stream zum Anhängen neuer Einträge.
+     */
+    private final DataOutputStream out;
+
+    /**
+     * Öffnet eine vorhandene Datei oder legt sie neu an.
+     * 
+     * @param path
+     *            Der Pfad der Datei.
+     * @param theSpace
+     *            Der Raum der Kombinationen. Muss bei einer vorhandenen Datei zu deren Kopf passen.
+     * @param theRuleId
+     *            Die Kennung der Regel, deren Züge in der Datei liegen, z.B. der Klassenname samt relevanter
+     *            Parameter. Muss bei einer vorhandenen Datei zu deren Kopf passen.
+     * @throws IOException
+     *             Fehler beim Lesen oder Schreiben, oder die Datei ist kein gültiger Cache für den Raum und die Regel.
+     * @throws IllegalArgumentException
+     *             Die Kennung der Regel ist länger als 1024 Bytes.
+     */
+    public GuessFile(final File path, final KombinationsRaum theSpace, final String theRuleId) throws IOException {
+        if (theRuleId.getBytes(UTF_8).length > MAX_RULE_ID_SIZE) {
+            throw new IllegalArgumentException("rule identifier is longer than " + MAX_RULE_ID_SIZE + " bytes");
+        }
+        space = theSpace;
+        ruleId = theRuleId;
+        file = new RandomAccessFile(path, "rw");
+        try {
+            final FileChannel channel = file.getChannel();
+            if (channel.size() == 0) {
+                writeHeader(channel);
+            } else {
+                readEntries(channel);
+            }
+            channel.position(channel.size());
+            out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Schreibt den Kopf in eine leere Datei.
+     * 
+     * @param channel
+     *            Der Kanal der Datei.
+     * @throws IOException
+     *             Fehler beim Schreiben.
+     */
+    private void writeHeader(final FileChannel channel) throws IOException {
+        final SpielKonfiguration configuration = space.getKonfiguration();
+        final byte[] ruleIdBytes = ruleId.getBytes(UTF_8);
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + ruleIdBytes.length);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.putInt(configuration.getPins());
+        header.putInt(configuration.getFarben());
+        header.putInt(configuration.isDuplikateErlaubt() ? 1 : 0);
+        header.putInt(ruleIdBytes.length);
+        header.put(ruleIdBytes);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+
+    /**
+     * Prüft den Kopf und liest alle vollständigen Einträge. Ein unvollständiger letzter Eintrag wird abgeschnitten.
+     * 
+     * @param channel
+     *            Der Kanal der Datei.
+     * @throws IOException
+     *             Fehler beim Lesen, oder die Datei ist kein gültiger Cache für den Raum und die Regel.
+     */
+    private void readEntries(final FileChannel channel) throws IOException {
+        final long size = channel.size();
+        if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+            throw new IOException("invalid guess file size " + size);
+        }
+        final ByteBuffer data = ByteBuffer.allocate((int) size);
+        channel.position(0);
+        while (data.hasRemaining()) {
+            if (channel.read(data) < 0) {
+                throw new IOException("guess file is truncated");
+            }
+        }
+        data.flip();
+        if (data.getInt() != MAGIC) {
+            throw new IOException("not a guess file");
+        }
+        final int version = data.getInt();
+        if (version != VERSION) {
+            throw new IOException("unsupported guess file version " + version);
+        }
+        final SpielKonfiguration configuration = space.getKonfiguration();
+        if (data.getInt() != configuration.getPins() || data.getInt() != configuration.getFarben()
+                || data.getInt() != (configuration.isDuplikateErlaubt() ? 1 : 0)) {
+            throw new IOException("guess file belongs to a different configuration");
+        }
+        final int ruleIdSize = data.getInt();
+        if (ruleIdSize < 0 || ruleIdSize > MAX_RULE_ID_SIZE || ruleIdSize > data.remaining()) {
+            throw new IOException("invalid rule identifier size " + ruleIdSize);
+        }
+        final byte[] ruleIdBytes = new byte[ruleIdSize];
+        data.get(ruleIdBytes);
+        final String fileRuleId = new String(ruleIdBytes, UTF_8);
+        if (!fileRuleId.equals(ruleId)) {
+            throw new IOException("guess file belongs to rule " + fileRuleId + ", not " + ruleId);
+        }
+        while (data.remaining() >= ENTRY_SIZE) {
+            final Fingerabdruck key = new Fingerabdruck(data.getLong(), data.getLong());
+            final int code = data.getInt();
+            if (code < 0 || code >= space.getGroesse()) {
+                throw new IOException("invalid guess code " + code);
+            }
+            entries.put(key, space.getKombination(code));
+        }
+        if (data.hasRemaining()) {
+            channel.truncate(data.position());
+        }
+    }
+
+    /**
+     * Liefert den Raum der Kombinationen.
+     * 
+     * @return Der Raum.
+     */
+    public KombinationsRaum getSpace() {
+        return space;
+    }
+
+    /**
+     * Liefert die Kennung der Regel, deren Züge die Datei enthält.
+     * 
+     * @return Die Kennung.
+     */
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    /**
+     * Liefert die zu ratende Kombination für eine Kandidatenmenge.
+     * 
+     * @param key
+     *            Der Fingerabdruck der Kandidatenmenge.
+     * @return Die zu ratende Kombination, oder <code>null</code> falls sie nicht im Cache ist.
+     */
+    public SpielKombination get(final Fingerabdruck key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Hinterlegt die zu ratende Kombination für eine Kandidatenmenge und hängt sie an die Datei an, falls sie noch
+     * nicht enthalten ist.
+     * 
+     * @param key
+     *            Der Fingerabdruck der Kandidatenmenge.
+     * @param guess
+     *            Die zu ratende Kombination.
+     * @throws IOException
+     *             Fehler beim Schreiben.
+     */
+    public void put(final Fingerabdruck key, final SpielKombination guess) throws IOException {
+        final int code = space.getCode(guess);
+        if (entries.putIfAbsent(key, space.getKombination(code)) == null) {
+            synchronized (out) {
+                out.writeLong(key.getHoch());
+                out.writeLong(key.getTief());
+                out.writeInt(code);
+                out.flush();
+            }
+        }
+    }
+
+    /**
+     * Liefert die Anzahl der Einträge.
+     * 
+     * @return Die Anzahl der Einträge.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Schließt die Datei.
+     * 
+     * @throws IOException
+     *             Fehler beim Schließen.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (out) {
+            out.close();
+        }
+        file.close();
+    }
+}
@@ -0,0 +1,128 @@
+package org.hitzemann.mms.solver.rule.cache;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.solver.rule.IRule;
+
+/**
+ * <p>
+ * Eine Regel, die als Cache für eine andere Regel fungiert, mit dem Pfad der Antworten seit der Start-Regel als
+ * Schlüssel. Jede Instanz ist ein Knoten eines Präfixbaums über die Antwort-Codes (siehe
+ * {@link ErgebnisKombination#getCode()}), der die einmal geratene Kombination und die Folge-Regeln hält. Der
+ * Nachschlag für einen Zug ist daher ein einzelner Zugriff auf den Folge-Knoten des vorherigen Zugs, ohne die
+ * Kandidatenmenge zu betrachten. Mit der Zeit wächst so der vollständige Entscheidungsbaum der Strategie heran.
+ * </p>
+ * 
+ * <p>
+ * Damit sich der Cache für den Aufrufer neutral verhält, muss die Kandidatenmenge allein durch den Pfad bestimmt sein:
+ * Alle Spiele müssen mit der gleichen Kandidatenmenge beginnen, und die gekapselte Regel muss für die gleiche
+ * Kandidatenmenge immer die gleiche Kombination liefern. Wird eine andere als die gelieferte Kombination geraten, ist
+ * die Kandidatenmenge nicht mehr durch den Pfad bestimmt, und das Spiel verlässt den Baum: Ab dort wird nur noch die
+ * gekapselte Regel verwendet (siehe {@link #getRuleForResponse(SpielKombination, ErgebnisKombination)}).
+ * </p>
+ * 
+ * <p>
+ * Der Baum wird ohne Sperren aufgebaut und kann von mehreren Threads gleichzeitig verwendet werden, sofern die
+ * gekapselte Regel threadsicher ist. Wird ein Knoten gleichzeitig zum ersten Mal erreicht, wird sein Zug ggf.
+ * mehrfach berechnet.
+ * </p>
+ * 
+ * <p>
+ * Die Regel wird nirgends automatisch verwendet, da nur der Aufrufer die gleiche Kandidatenmenge zu Beginn und eine
+ * deterministische gekapselte Regel sicherstellen kann. Wer die obigen Bedingungen sicherstellt, kapselt die
+ * Start-Regel selbst, z.B. mit <code>new RuleSolver(berechner, factory, pins, new PathCacheRule(regel, pins))</code>.
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class PathCacheRule implements IRule {
+
+    /**
+     * Die gekapselte Regel für diesen Knoten.
+     */
+    private final IRule delegate;
+
+    /**
+     * Die zu ratende Kombination, oder <code>null</code> falls sie noch nicht berechnet wurde.
+     */
+    private volatile SpielKombination guess;
+
+    /**
+     * Die Folge-Knoten, indiziert über den Antwort-Code.
+     */
+    private final AtomicReferenceArray<PathCacheRule> children;
+
+    /**
+     * Erzeugt den Start-Knoten.
+     * 
+     * @param theDelegate
+     *            Die gekapselte Regel.
+     * @param pins
+     *            Die Anzahl der Pins.
+     */
+    public PathCacheRule(final IRule theDelegate, final int pins) {
+        delegate = theDelegate;
+        children = new AtomicReferenceArray<PathCacheRule>(ErgebnisKombination.getAnzahlCodes(pins));
+    }
+
+    /**
+     * Erzeugt einen Folge-Knoten.
+     * 
+     * @param parent
+     *            Der vorherige Knoten.
+     * @param theDelegate
+     *            Die gekapselte Regel für den Folge-Knoten.
+     */
+    private PathCacheRule(final PathCacheRule parent, final IRule theDelegate) {
+        delegate = theDelegate;
+        children = new AtomicReferenceArray<PathCacheRule>(parent.children.length());
+    }
+
+    @Override
+    public SpielKombination getGuess(final List<SpielKombination> candidates) {
+        SpielKombination result = guess;
+        if (result == null) {
+            result = delegate.getGuess(candidates);
+            guess = result;
+        }
+        return result;
+    }
+
+    @Override
+    public SpielKombination getGuess(final KombinationsMenge candidates) {
+        SpielKombination result = guess;
+        if (result == null) {
+            result = delegate.getGuess(candidates);
+            guess = result;
+        }
+        return result;
+    }
+
+    @Override
+    public IRule getRuleForResponse(final ErgebnisKombination response) {
+        final int code = response.getCode();
+        final PathCacheRule child = children.get(code);
+        if (child != null) {
+            return child;
+        }
+        final PathCacheRule created = new PathCacheRule(this, delegate.getRuleForResponse(response));
+        // bei gleichzeitiger Erzeugung gewinnt der zuerst eingetragene Knoten
+        if (children.compareAndSet(code, null, created)) {
+            return created;
+        }
+        return children.get(code);
+    }
+
+    @Override
+    public IRule getRuleForResponse(final SpielKombination played, final ErgebnisKombination response) {
+        if (played.equals(guess)) {
+            return getRuleForResponse(response);
+        }
+        // anderer Zug, die Kandidaten sind nicht mehr durch den Pfad bestimmt
+        return delegate.getRuleForResponse(played, response);
+    }
+}
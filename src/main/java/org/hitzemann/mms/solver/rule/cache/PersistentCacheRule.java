@@ -0,0 +1,114 @@
+package org.hitzemann.mms.solver.rule.cache;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.Fingerabdruck;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.solver.rule.IRule;
+
+/**
+ * <p>
+ * Eine Regel, die als dauerhafter Cache für eine andere Regel fungiert. Die geratene Kombination wird in Abhängigkeit
+ * vom {@link Fingerabdruck} der Kandidatenmenge in einer {@link GuessFile} hinterlegt und steht damit auch nach einem
+ * Neustart wieder zur Verfügung.
+ * </p>
+ * 
+ * <p>
+ * Die Folge-Regeln werden ebenfalls von einer {@link PersistentCacheRule} umschlossen, die die gleiche Datei
+ * verwendet. Wie bei der {@link CacheRule} darf die geratene Kombination nur von der Kandidatenmenge abhängig sein.
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class PersistentCacheRule implements IRule {
+
+    /**
+     * Die gekapselte Regel.
+     */
+    private final IRule delegate;
+
+    /**
+     * Die Datei mit den gespeicherten Zügen.
+     */
+    private final GuessFile guessFile;
+
+    /**
+     * Die Factory zur Erzeugung der Folge-Regeln.
+     */
+    private final ICacheRuleFactory ruleFactory;
+
+    /**
+     * Erzeugt eine Instanz.
+     * 
+     * @param theDelegate
+     *            Die gekapselte Regel.
+     * @param theGuessFile
+     *            Die Datei mit den gespeicherten Zügen.
+     * @param theRuleFactory
+     *            Die Factory zur Erzeugung der Folge-Regeln.
+     */
+    public PersistentCacheRule(final IRule theDelegate, final GuessFile theGuessFile,
+            final ICacheRuleFactory theRuleFactory) {
+        delegate = theDelegate;
+        guessFile = theGuessFile;
+        ruleFactory = theRuleFactory;
+    }
+
+    @Override
+    public SpielKombination getGuess(final List<SpielKombination> candidates) {
+        // der Fingerabdruck einer Liste mit Duplikaten ist der ihrer Menge
+        final KombinationsMenge candidateSet = new KombinationsMenge(guessFile.getSpace());
+        candidateSet.addAll(candidates);
+        final Fingerabdruck key = candidateSet.getFingerabdruck();
+        SpielKombination cached = guessFile.get(key);
+        if (cached == null) {
+            cached = delegate.getGuess(candidates);
+            store(key, cached);
+        }
+        return cached;
+    }
+
+    @Override
+    public SpielKombination getGuess(final KombinationsMenge candidates) {
+        final Fingerabdruck key = candidates.getFingerabdruck();
+        SpielKombination cached = guessFile.get(key);
+        if (cached == null) {
+            cached = delegate.getGuess(candidates);
+            store(key, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * Speichert einen berechneten Zug in der Datei.
+     * 
+     * @param key
+     *            Der Fingerabdruck der Kandidatenmenge.
+     * @param guess
+     *            Der Zug.
+     * @throws IllegalStateException
+     *             Fehler beim Schreiben der Datei.
+     */
+    private void store(final Fingerabdruck key, final SpielKombination guess) {
+        try {
+            guessFile.put(key, guess);
+        } catch (IOException e) {
+            throw new IllegalStateException("unable to write guess file", e);
+        }
+    }
+
+    @Override
+    public IRule getRuleForResponse(final ErgebnisKombination response) {
+        // Folge-Regel wieder verpacken
+        return ruleFactory.createCachingRule(delegate.getRuleForResponse(response));
+    }
+
+    @Override
+    public IRule getRuleForResponse(final SpielKombination guess, final ErgebnisKombination response) {
+        // Folge-Regel wieder verpacken
+        return ruleFactory.createCachingRule(delegate.getRuleForResponse(guess, response));
+    }
+}
@@ -0,0 +1,46 @@
+package org.hitzemann.mms.solver.rule.cache;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.solver.rule.IRule;
+
+/**
+ * Implementierung von {@link ICacheRuleFactory}, die {@link PersistentCacheRule}s mit einer gemeinsamen
+ * {@link GuessFile} erzeugt.
+ * 
+ * @author chschu
+ */
+public final class PersistentCacheRuleFactory implements ICacheRuleFactory {
+
+    /**
+     * Die Datei mit den gespeicherten Zügen.
+     */
+    private final GuessFile guessFile;
+
+    /**
+     * Erzeugt eine Instanz.
+     * 
+     * @param theGuessFile
+     *            Die Datei mit den gespeicherten Zügen, wird von der Factory nicht geschlossen.
+     */
+    public PersistentCacheRuleFactory(final GuessFile theGuessFile) {
+        guessFile = theGuessFile;
+    }
+
+    @Override
+    public IRule createCachingRule(final IRule delegate) {
+        return new PersistentCacheRule(delegate, guessFile, this);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Der übergebene Cache wird nicht verwendet, da die Datei bereits alle Züge enthält.
+     */
+    @Override
+    public IRule createCachingRule(final IRule delegate, final Map<Set<SpielKombination>, SpielKombination> cache) {
+        return createCachingRule(delegate);
+    }
+}
@@ -1,11 +1,22 @@
 package org.hitzemann.mms.solver.rule.entropy;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.hitzemann.mms.model.ErgebnisKombination;
 import org.hitzemann.mms.model.ISpielKombinationFactory;
+import org.hitzemann.mms.model.KombinationsMenge;
 import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielKonfiguration;
+import org.hitzemann.mms.model.SymmetrieGruppe;
 import org.hitzemann.mms.solver.IErgebnisBerechnung;
+import org.hitzemann.mms.solver.PartitionsBewertung;
+import org.hitzemann.mms.solver.rule.FollowUpSymmetry;
 import org.hitzemann.mms.solver.rule.IRule;
 
 /**
@@ -39,11 +50,23 @@ import org.hitzemann.mms.solver.rule.IRule;
  * <p>
  * Diese Regel wählt anhand dieses Wertes aus allen (!) Kombinationen eine mit maximaler Entropie für eine gegebene
  * Menge von Kandidaten für die geheime Kombination aus. Existieren mehrere Kombinationen mit gleicher Entropie, wird
- * sofern möglich eine gewählt, die einer der Kandidaten für die geheime Kombination ist.
+ * sofern möglich die lexikographisch größte gewählt, die einer der Kandidaten für die geheime Kombination ist, und
+ * ansonsten die lexikographisch kleinste.
  * </p>
  * <p>
- * Da die Regel wiederholt angewendet werden soll, liefert {@link #getRuleForResponse(ErgebnisKombination)} einfach die
- * aktuelle Instanz.
+ * Bewertet werden nur die Repräsentanten bezüglich der Symmetrien, die alle bisher geratenen Kombinationen festhalten
+ * (siehe {@link SymmetrieGruppe}). Das Ergebnis ändert sich dadurch nicht, da alle Kombinationen einer Klasse die
+ * gleiche Entropie haben und entweder alle oder keine von ihnen Kandidaten sind. Für einen Kandidaten wird daher die
+ * größte Kombination seiner Klasse gewählt. Da die Regel wiederholt angewendet werden soll, liefert
+ * {@link #getRuleForResponse(ErgebnisKombination)} eine gleichartige Regel, die zusätzlich die zuletzt geratene
+ * Kombination festhält.
+ * </p>
+ * <p>
+ * Da alle Kandidaten gleich wahrscheinlich sind, gilt mit n := |S| und den Partitionsgrößen f_e auch H(S,x) =
+ * (log(n) - Summe(f_e*log(f_e), e aus allen Ergebnissen) / n) / log(2). Die Werte f*log(f) werden einmalig für alle
+ * möglichen Partitionsgrößen vorberechnet. Wird ein {@link ExecutorService} übergeben, so werden die Entropien in
+ * mehreren Teilaufgaben mit jeweils eigenem Histogramm berechnet. Die Auswahl erfolgt danach in der ursprünglichen
+ * Reihenfolge, das Ergebnis hängt also nicht von der Parallelisierung ab.
  * </p>
  * 
  * @author chschu
@@ -56,15 +79,45 @@ public final class EntropyRule implements IRule {
     private static final double EPSILON = 1e-9;
 
     /**
-     * Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     * Der natürliche Logarithmus von 2, für die Umrechnung zur Basis 2.
+     */
+    private static final double LOG_2 = Math.log(2.0);
+
+    /**
+     * Die Anzahl der Teilaufgaben pro Prozessor bei paralleler Berechnung.
      */
-    private final IErgebnisBerechnung calculator;
+    private static final int TASKS_PER_PROCESSOR = 4;
+
+    /**
+     * Die Bewertung über das Histogramm der Ergebnisse.
+     */
+    private final PartitionsBewertung scorer;
 
     /**
      * Eine Liste mit allen ratbaren {@link SpielKombination}en.
      */
     private final List<SpielKombination> allGuesses;
 
+    /**
+     * Die vorberechneten Werte f*log(f), indiziert über die Partitionsgröße f.
+     */
+    private final double[] nLogN;
+
+    /**
+     * Executor für die parallele Berechnung, oder <code>null</code> für serielle Berechnung.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Die Symmetrien, die alle bisher geratenen Kombinationen festhalten.
+     */
+    private final SymmetrieGruppe symmetry;
+
+    /**
+     * Die Symmetrien für die Folge-Regeln, die zusätzlich die zuletzt geratene Kombination festhalten.
+     */
+    private final FollowUpSymmetry followUpSymmetry = new FollowUpSymmetry();
+
     /**
      * Erzeugt eine Instanz.
      * 
@@ -76,93 +129,204 @@ public final class EntropyRule implements IRule {
      *            Die Kombinationsgröße.
      */
     public EntropyRule(final IErgebnisBerechnung theCalculator, final ISpielKombinationFactory factory, final int pins) {
-        calculator = theCalculator;
-        allGuesses = factory.erzeugeAlle(pins);
+        this(theCalculator, factory, new SpielKonfiguration(pins), null);
+    }
+
+    /**
+     * Erzeugt eine Instanz für eine beliebige Spielvariante.
+     * 
+     * @param theCalculator
+     *            Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     * @param factory
+     *            Die zu verwendende Implementierung von {@link ISpielKombinationFactory}.
+     * @param configuration
+     *            Die Spielvariante.
+     */
+    public EntropyRule(final IErgebnisBerechnung theCalculator, final ISpielKombinationFactory factory,
+            final SpielKonfiguration configuration) {
+        this(theCalculator, factory, configuration, null);
+    }
+
+    /**
+     * Erzeugt eine Instanz für eine beliebige Spielvariante.
+     * 
+     * @param theCalculator
+     *            Die zu verwendende Implementierung von {@link IErgebnisBerechnung}, muss bei paralleler Berechnung
+     *            threadsicher sein.
+     * @param factory
+     *            Die zu verwendende Implementierung von {@link ISpielKombinationFactory}.
+     * @param configuration
+     *            Die Spielvariante.
+     * @param theExecutor
+     *            Executor für die parallele Berechnung, oder <code>null</code> für serielle Berechnung. Wird von der
+     *            Regel nicht beendet.
+     */
+    public EntropyRule(final IErgebnisBerechnung theCalculator, final ISpielKombinationFactory factory,
+            final SpielKonfiguration configuration, final ExecutorService theExecutor) {
+        scorer = new PartitionsBewertung(theCalculator, configuration.getPins());
+        allGuesses = factory.erzeugeAlle(configuration);
+        nLogN = new double[allGuesses.size() + 1];
+        for (int f = 1; f < nLogN.length; f++) {
+            nLogN[f] = f * Math.log(f);
+        }
+        executor = theExecutor;
+        symmetry = new SymmetrieGruppe(configuration);
+    }
+
+    /**
+     * Erzeugt eine Folge-Regel, die alle Tabellen mit einer anderen Regel teilt.
+     * 
+     * @param parent
+     *            Die andere Regel.
+     * @param theSymmetry
+     *            Die Symmetrien, die alle bisher geratenen Kombinationen festhalten.
+     */
+    private EntropyRule(final EntropyRule parent, final SymmetrieGruppe theSymmetry) {
+        scorer = parent.scorer;
+        allGuesses = parent.allGuesses;
+        nLogN = parent.nLogN;
+        executor = parent.executor;
+        symmetry = theSymmetry;
     }
 
     /**
      * Ermittelt eine Kombination mit maximaler Entropie, bei gegebener Kandidatenmenge für die geheime Kombination.
-     * Falls es mehrere Kombinationen mit maximaler Entropie gibt, wird falls möglich eine gewählt, die Element der
-     * Kandidatenmenge.
+     * Falls es mehrere Kombinationen mit maximaler Entropie gibt, wird falls möglich die größte gewählt, die Element
+     * der Kandidatenmenge ist, und ansonsten die kleinste.
      * 
      * @param candidates
-     *            Die Kandidatenmenge für die geheime Kombination.
+     *            Die Kandidatenmenge für die geheime Kombination, darf während der Berechnung nicht verändert werden.
      * @return Die zu ratende Kombination
+     * @throws IllegalArgumentException
+     *             Die Kandidatenmenge ist leer.
      */
-    private SpielKombination determineMaximumEntropyGuess(final List<SpielKombination> candidates) {
+    private SpielKombination determineMaximumEntropyGuess(final Collection<SpielKombination> candidates) {
+        if (candidates.isEmpty()) {
+            // ohne Kandidaten wären alle Entropien NaN
+            throw new IllegalArgumentException("Keine Kandidaten");
+        }
+        // nur Repräsentanten bewerten, die kleinste beste Kombination ist immer einer, die größte beste nicht
+        final SymmetrieGruppe validSymmetry = symmetry.fuerKandidaten(candidates.size());
+        final List<SpielKombination> guesses = validSymmetry.reduziere(allGuesses);
+        final double[] entropies;
+        if (executor == null) {
+            entropies = getEntropies(guesses, 0, guesses.size(), candidates);
+        } else {
+            entropies = getEntropiesParallel(guesses, candidates);
+        }
+
         double maxEntropy = -1.0;
         SpielKombination result = null;
-
-        for (SpielKombination guess : allGuesses) {
-            final double entropy = getEntropy(guess, candidates);
-            // größere Entropie oder (gleiche Entropie und Kandidat)
-            if (entropy > maxEntropy + EPSILON || entropy > maxEntropy - EPSILON && candidates.contains(guess)) {
+        boolean resultIsCandidate = false;
+        for (int i = 0; i < entropies.length; i++) {
+            final SpielKombination guess = guesses.get(i);
+            final double entropy = entropies[i];
+            // größere Entropie oder (gleiche Entropie und größerer Kandidat), für Kandidaten zählt die größte
+            // Kombination der Klasse
+            if (entropy > maxEntropy + EPSILON) {
                 maxEntropy = entropy;
-                result = guess;
+                resultIsCandidate = candidates.contains(guess);
+                if (resultIsCandidate) {
+                    result = validSymmetry.groesstesBild(guess);
+                } else {
+                    result = guess;
+                }
+            } else if (entropy > maxEntropy - EPSILON && candidates.contains(guess)) {
+                final SpielKombination largest = validSymmetry.groesstesBild(guess);
+                if (!resultIsCandidate || largest.compareTo(result) > 0) {
+                    maxEntropy = entropy;
+                    result = largest;
+                    resultIsCandidate = true;
+                }
             }
         }
 
+        followUpSymmetry.set(result, validSymmetry.fixiere(result));
         return result;
     }
 
     /**
-     * Ermittelt die Entropie für eine zu ratende Kombination, bei gegebener Kandidatenmenge für die geheime
-     * Kombination.
+     * Ermittelt die Entropien für einen Bereich von zu ratenden Kombinationen, bei gegebener Kandidatenmenge für die
+     * geheime Kombination.
      * 
-     * @param guess
-     *            Die zu ratende Kombination.
+     * @param guesses
+     *            Die zu ratenden Kombinationen.
+     * @param from
+     *            Index der ersten zu bewertenden Kombination.
+     * @param to
+     *            Index hinter der letzten zu bewertenden Kombination.
      * @param candidates
      *            Die Kandidatenmenge für die geheime Kombination.
-     * @return Die Entropie.
-     */
-    private double getEntropy(final SpielKombination guess, final List<SpielKombination> candidates) {
-        // absolute Häufigkeiten der Ergebnisse ermitteln
-        final int[] frequencies = determineResponseFrequencies(guess, candidates);
-
-        // Entropie der geratenen Kombination berechnen
-        double entropy = 0.0;
-        for (int f : frequencies) {
-            // nur tatsächlich auftretende Ergebnisse einbeziehen (ansonsten
-            // müste log(0) gezogen werden)
-            if (f > 0) {
-                // relative Häufigkeit des Ergebnisses berechnen und in Entropie
-                // einfließen lassen
-                final double p = 1.0 * f / candidates.size();
-                entropy -= p * Math.log(p);
+     * @return Die Entropien der Kombinationen im Bereich, in gleicher Reihenfolge.
+     */
+    private double[] getEntropies(final List<SpielKombination> guesses, final int from, final int to,
+            final Collection<SpielKombination> candidates) {
+        final double[] entropies = new double[to - from];
+        // eigenes Histogramm pro Aufruf, damit parallele Teilaufgaben sich nicht stören
+        final int[] frequencies = scorer.erzeugeHistogramm();
+        final int n = candidates.size();
+        for (int i = from; i < to; i++) {
+            // absolute Häufigkeiten der Ergebnisse in einem Durchlauf ermitteln
+            scorer.berechneHistogramm(guesses.get(i), candidates, frequencies);
+            // leere Partitionen tragen wegen nLogN[0] = 0 nichts bei
+            double sum = 0.0;
+            for (int f : frequencies) {
+                sum += nLogN[f];
             }
+            // Umrechnung wegen Logarithmus zur Basis 2
+            entropies[i - from] = (nLogN[n] / n - sum / n) / LOG_2;
         }
-
-        // Umrechnung wegen Logarithmus zur Basis 2
-        entropy /= Math.log(2.0);
-
-        return entropy;
+        return entropies;
     }
 
     /**
-     * Ermittelt die absoluten Häufigkeiten der Ergebnisse für eine zu ratende Kombination. Die Zuordnung eines
-     * konkreten Ergebnisses zu seiner absoluten Häufigkeit ist für die Berechnung der Entropie irrelevant, deshalb
-     * werden hier nur die absoluten Häufigkeiten als int-Array zurückgegeben.
+     * Ermittelt die Entropien für alle zu ratenden Kombinationen, verteilt auf mehrere Teilaufgaben im
+     * {@link #executor}. Die Teilergebnisse werden in der ursprünglichen Reihenfolge zusammengesetzt.
      * 
+     * @param guesses
+     *            Die zu ratenden Kombinationen.
      * @param candidates
      *            Die Kandidatenmenge für die geheime Kombination.
-     * @param zuRaten
-     *            Die zu ratende Kombination.
-     * 
-     * @return Die absoluten Häufigkeiten aller Ergebnisse, ohne Zuordnung zu konkretem Ergebnis (da für Entropie
-     *         irrelevant).
-     */
-    private int[] determineResponseFrequencies(final SpielKombination zuRaten, final List<SpielKombination> candidates) {
-        final int pins = zuRaten.getSpielSteineCount();
-        final int[] result = new int[(pins + 1) * (pins + 1)];
-
-        // alle geheimen Kombinationen ausprobieren
-        for (SpielKombination geheim : candidates) {
-            final ErgebnisKombination ergebnis = calculator.berechneErgebnis(geheim, zuRaten);
-            final int key = ergebnis.getSchwarz() * (pins + 1) + ergebnis.getWeiss();
-            result[key]++;
+     * @return Die Entropien aller Kombinationen.
+     */
+    private double[] getEntropiesParallel(final List<SpielKombination> guesses,
+            final Collection<SpielKombination> candidates) {
+        final int count = guesses.size();
+        final int taskCount = Math.max(1,
+                Math.min(count, TASKS_PER_PROCESSOR * Runtime.getRuntime().availableProcessors()));
+        final List<Future<double[]>> tasks = new ArrayList<Future<double[]>>(taskCount);
+        try {
+            for (int task = 0; task < taskCount; task++) {
+                final int from = (int) ((long) count * task / taskCount);
+                final int to = (int) ((long) count * (task + 1) / taskCount);
+                tasks.add(executor.submit(new Callable<double[]>() {
+                    @Override
+                    public double[] call() {
+                        return getEntropies(guesses, from, to, candidates);
+                    }
+                }));
+            }
+            final double[] entropies = new double[count];
+            int position = 0;
+            for (Future<double[]> task : tasks) {
+                final double[] part = task.get();
+                System.arraycopy(part, 0, entropies, position, part.length);
+                position += part.length;
+            }
+            return entropies;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Berechnung wurde unterbrochen.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Berechnung ist fehlgeschlagen.", e.getCause());
+        } finally {
+            for (Future<double[]> task : tasks) {
+                task.cancel(true);
+            }
         }
-
-        return result;
     }
 
     @Override
@@ -170,8 +334,34 @@ public final class EntropyRule implements IRule {
         return determineMaximumEntropyGuess(candidates);
     }
 
+    @Override
+    public SpielKombination getGuess(final KombinationsMenge candidates) {
+        return determineMaximumEntropyGuess(candidates);
+    }
+
     @Override
     public IRule getRuleForResponse(final ErgebnisKombination response) {
-        return this;
+        return createFollowUpRule(followUpSymmetry.get());
+    }
+
+    @Override
+    public IRule getRuleForResponse(final SpielKombination guess, final ErgebnisKombination response) {
+        return createFollowUpRule(followUpSymmetry.get(guess));
+    }
+
+    /**
+     * Erzeugt die Folge-Regel mit den Symmetrien nach dem letzten Zug.
+     * 
+     * @param nextSymmetry
+     *            Die Symmetrien, oder <code>null</code> falls sie nicht bekannt sind.
+     * @return Die Folge-Regel.
+     */
+    private IRule createFollowUpRule(final SymmetrieGruppe nextSymmetry) {
+        if (nextSymmetry == null) {
+            // geratene Kombination unbekannt (z.B. aus einem Cache), nicht eindeutig oder nicht gespielt, daher keine
+            // Reduktion mehr
+            return new EntropyRule(this, SymmetrieGruppe.erzeugeTriviale(symmetry.getKonfiguration()));
+        }
+        return new EntropyRule(this, nextSymmetry);
     }
 }
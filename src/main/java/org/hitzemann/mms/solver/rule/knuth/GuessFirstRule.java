@@ -1,8 +1,10 @@
 package org.hitzemann.mms.solver.rule.knuth;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.KombinationsMenge;
 import org.hitzemann.mms.model.SpielKombination;
 import org.hitzemann.mms.solver.rule.IRule;
 
@@ -66,6 +68,22 @@ public final class GuessFirstRule implements IRule {
 
     @Override
     public SpielKombination getGuess(final List<SpielKombination> candidates) {
+        return guessFirst(candidates);
+    }
+
+    @Override
+    public SpielKombination getGuess(final KombinationsMenge candidates) {
+        return guessFirst(candidates);
+    }
+
+    /**
+     * Prüft die Anzahl der Kandidaten und liefert den ersten.
+     * 
+     * @param candidates
+     *            Die zulässigen Kandidaten.
+     * @return Der erste Kandidat.
+     */
+    private SpielKombination guessFirst(final Collection<SpielKombination> candidates) {
         final int candidateCount = candidates.size();
 
         if (candidateCount < minimumCandidateCount) {
@@ -91,4 +109,10 @@ public final class GuessFirstRule implements IRule {
         // Folge-Regel ist immer eine GuessFirstRule(0,max)
         return ruleFactory.createGuessFirstRule(0, maximumCandidateCount);
     }
+
+    @Override
+    public IRule getRuleForResponse(final SpielKombination guess, final ErgebnisKombination response) {
+        // die Folge-Regel hängt nicht vom Zug ab
+        return getRuleForResponse(response);
+    }
 }
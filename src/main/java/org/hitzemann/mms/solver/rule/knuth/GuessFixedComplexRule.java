@@ -3,6 +3,7 @@ package org.hitzemann.mms.solver.rule.knuth;
 import java.util.List;
 
 import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.KombinationsMenge;
 import org.hitzemann.mms.model.SpielKombination;
 import org.hitzemann.mms.solver.rule.IRule;
 
@@ -79,8 +80,22 @@ public final class GuessFixedComplexRule implements IRule {
 
     @Override
     public SpielKombination getGuess(final List<SpielKombination> candidates) {
-        final int candidateCount = candidates.size();
+        return getCheckedGuess(candidates.size());
+    }
 
+    @Override
+    public SpielKombination getGuess(final KombinationsMenge candidates) {
+        return getCheckedGuess(candidates.size());
+    }
+
+    /**
+     * Prüft die Anzahl der Kandidaten und liefert die zu ratende {@link SpielKombination}.
+     * 
+     * @param candidateCount
+     *            Die Anzahl der zulässigen Kandidaten.
+     * @return Die zu ratende {@link SpielKombination}.
+     */
+    private SpielKombination getCheckedGuess(final int candidateCount) {
         if (candidateCount != expectedCandidateCount) {
             throw new IllegalArgumentException("expected exactly " + expectedCandidateCount + " candidates, got "
                     + candidateCount);
@@ -96,4 +111,10 @@ public final class GuessFixedComplexRule implements IRule {
         // k-ter Eintrag von rechts in der j-ten Zeile (beide 0-basiert)
         return nextRules[j][nextRules[j].length - 1 - k];
     }
+
+    @Override
+    public IRule getRuleForResponse(final SpielKombination guess, final ErgebnisKombination response) {
+        // feste Folge-Regeln, eine abweichende Kandidatenanzahl fällt erst bei getGuess auf
+        return getRuleForResponse(response);
+    }
 }
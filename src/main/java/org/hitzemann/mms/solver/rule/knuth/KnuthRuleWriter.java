@@ -0,0 +1,195 @@
+package org.hitzemann.mms.solver.rule.knuth;
+
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.solver.IErgebnisBerechnung;
+import org.hitzemann.mms.solver.PartitionsBewertung;
+import org.hitzemann.mms.solver.rule.DecisionTree;
+
+/**
+ * <p>
+ * Schreibt einen {@link DecisionTree} als Text im Format der Grammatik {@code KnuthRule.g}, wie es auch für die
+ * {@link KnuthRule} verwendet wird (siehe {@link KnuthRuleGenerator}).
+ * </p>
+ * 
+ * <p>
+ * Die Kurzformen n, n(y) und n(y x) werden verwendet, wenn der Baum an der Stelle das gleiche Verhalten hat wie die
+ * entsprechenden Regeln der Grammatik, also ab dort jeweils den kleinsten Kandidaten rät. Ansonsten wird die
+ * vollständige Form n(y: ...) geschrieben. Das Einlesen mit {@link KnuthRuleGenerator#parse(String)} und erneute
+ * Erzeugen mit {@link DecisionTree#compile(org.hitzemann.mms.solver.rule.IRule, KombinationsRaum, IErgebnisBerechnung)}
+ * ergibt daher wieder den gleichen Baum.
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class KnuthRuleWriter {
+
+    /**
+     * Der Entscheidungsbaum.
+     */
+    private final DecisionTree tree;
+
+    /**
+     * Die Aufteilung der Kandidaten nach der Antwort.
+     */
+    private final PartitionsBewertung scorer;
+
+    /**
+     * Die Anzahl der Pins.
+     */
+    private final int pins;
+
+    /**
+     * Der Antwort-Code für ein gewonnenes Spiel.
+     */
+    private final int solvedCode;
+
+    /**
+     * Der bisher geschriebene Text.
+     */
+    private final StringBuilder builder = new StringBuilder();
+
+    /**
+     * Erzeugt eine Instanz.
+     * 
+     * @param theTree
+     *            Der Entscheidungsbaum.
+     * @param theCalculator
+     *            Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     */
+    private KnuthRuleWriter(final DecisionTree theTree, final IErgebnisBerechnung theCalculator) {
+        tree = theTree;
+        pins = theTree.getSpace().getPins();
+        scorer = new PartitionsBewertung(theCalculator, pins);
+        solvedCode = ErgebnisKombination.berechneCode(pins, 0);
+    }
+
+    /**
+     * Schreibt einen Entscheidungsbaum als Text.
+     * 
+     * @param tree
+     *            Der Entscheidungsbaum.
+     * @param calculator
+     *            Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     * @return Der Text.
+     */
+    public static String write(final DecisionTree tree, final IErgebnisBerechnung calculator) {
+        final KombinationsMenge candidates = new KombinationsMenge(tree.getSpace());
+        candidates.addAll(tree.getSpace().getAlle());
+        final KnuthRuleWriter writer = new KnuthRuleWriter(tree, calculator);
+        writer.writeRule(DecisionTree.ROOT, candidates);
+        return writer.builder.toString();
+    }
+
+    /**
+     * Schreibt die Regel für einen Knoten.
+     * 
+     * @param node
+     *            Die Knoten-Nummer.
+     * @param candidates
+     *            Die Kandidaten an diesem Knoten.
+     */
+    private void writeRule(final int node, final KombinationsMenge candidates) {
+        final int candidateCount = candidates.size();
+        builder.append(candidateCount);
+        if (candidateCount <= 2 && guessesFirst(node, candidates)) {
+            return;
+        }
+
+        final KombinationsMenge[] parts = partition(node, candidates);
+        int maxPartSize = 0;
+        boolean childrenGuessFirst = true;
+        for (int response = 0; response < parts.length; response++) {
+            if (response != solvedCode && parts[response] != null) {
+                maxPartSize = Math.max(maxPartSize, parts[response].size());
+                childrenGuessFirst &= guessesFirst(tree.getChild(node, response), parts[response]);
+            }
+        }
+
+        builder.append('(');
+        writeCombination(tree.getGuess(node));
+        if (childrenGuessFirst && maxPartSize <= 1) {
+            builder.append(')');
+        } else if (childrenGuessFirst && maxPartSize <= 2) {
+            builder.append("x)");
+        } else {
+            builder.append(':');
+            // Zeilen nach Anzahl schwarz, Spalten nach Anzahl weiß absteigend
+            for (int black = 0; black <= pins; black++) {
+                if (black > 0) {
+                    builder.append(';');
+                }
+                for (int white = pins - black; white >= 0; white--) {
+                    if (white < pins - black) {
+                        builder.append(',');
+                    }
+                    final int response = ErgebnisKombination.berechneCode(black, white);
+                    if (parts[response] == null) {
+                        builder.append(0);
+                    } else if (response == solvedCode) {
+                        builder.append(1);
+                    } else {
+                        writeRule(tree.getChild(node, response), parts[response]);
+                    }
+                }
+            }
+            builder.append(')');
+        }
+    }
+
+    /**
+     * Prüft, ob sich der Baum ab einem Knoten wie eine {@link GuessFirstRule} verhält, also immer den kleinsten
+     * Kandidaten rät.
+     * 
+     * @param node
+     *            Die Knoten-Nummer.
+     * @param candidates
+     *            Die Kandidaten an diesem Knoten.
+     * @return <code>true</code> genau dann, wenn immer der kleinste Kandidat geraten wird.
+     */
+    private boolean guessesFirst(final int node, final KombinationsMenge candidates) {
+        if (tree.getGuessCode(node) != candidates.naechsterCode(0)) {
+            return false;
+        }
+        final KombinationsMenge[] parts = partition(node, candidates);
+        for (int response = 0; response < parts.length; response++) {
+            if (response != solvedCode && parts[response] != null
+                    && !guessesFirst(tree.getChild(node, response), parts[response])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Teilt die Kandidaten an einem Knoten nach der Antwort auf.
+     * 
+     * @param node
+     *            Die Knoten-Nummer.
+     * @param candidates
+     *            Die Kandidaten an diesem Knoten.
+     * @return Die Kandidaten pro Antwort-Code, <code>null</code> für nicht mögliche Antworten.
+     */
+    private KombinationsMenge[] partition(final int node, final KombinationsMenge candidates) {
+        return scorer.teileAuf(tree.getGuess(node), candidates);
+    }
+
+    /**
+     * Schreibt eine Kombination. Farben bis 9 werden als Ziffer geschrieben, größere in geschweiften Klammern.
+     * 
+     * @param combination
+     *            Die Kombination.
+     */
+    private void writeCombination(final SpielKombination combination) {
+        for (int i = 0; i < combination.getSpielSteineCount(); i++) {
+            final int value = combination.getFarbe(i) + 1;
+            if (value <= 9) {
+                builder.append(value);
+            } else {
+                builder.append('{').append(value).append('}');
+            }
+        }
+    }
+}
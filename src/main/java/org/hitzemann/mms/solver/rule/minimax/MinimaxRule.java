@@ -0,0 +1,224 @@
+package org.hitzemann.mms.solver.rule.minimax;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.ISpielKombinationFactory;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielKonfiguration;
+import org.hitzemann.mms.model.SymmetrieGruppe;
+import org.hitzemann.mms.solver.IErgebnisBerechnung;
+import org.hitzemann.mms.solver.PartitionsBewertung;
+import org.hitzemann.mms.solver.rule.FollowUpSymmetry;
+import org.hitzemann.mms.solver.rule.IRule;
+
+/**
+ * <p>
+ * Eine Regel nach Knuth's Minimax-Verfahren, die immer die Kombination rät, bei der im ungünstigsten Fall die wenigsten
+ * Kandidaten übrig bleiben.
+ * </p>
+ * <p>
+ * Zunächst werden alle Kombinationen mit der minimalen Größe der größten Partition bei gegebener Kandidatenmenge
+ * ermittelt.
+ * </p>
+ * <p>
+ * Anschließend wird geprüft, ob unter diesen Kombinationen Elemente der Kandidatenmenge sind. Ist das der Fall, werden
+ * nur diese weiter berücksichtigt.
+ * </p>
+ * <p>
+ * Von den verbleibenden Kombinationen wird die lexikographisch kleinste als zu ratende Kombination geliefert.
+ * </p>
+ * <p>
+ * Die Kandidaten werden zuerst bewertet, da sie die Kandidatenmenge meist gut aufteilen. Die Bewertung einer
+ * Kombination wird abgebrochen, sobald eine ihrer Partitionen so groß ist, dass sie die beste bisher bewertete
+ * Kombination nicht mehr schlagen kann.
+ * </p>
+ * <p>
+ * Bewertet werden nur die Repräsentanten bezüglich der Symmetrien, die alle bisher geratenen Kombinationen festhalten
+ * (siehe {@link SymmetrieGruppe}). Das Ergebnis ändert sich dadurch nicht. Die Folge-Regel von
+ * {@link #getRuleForResponse(ErgebnisKombination)} hält zusätzlich die zuletzt geratene Kombination fest.
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class MinimaxRule implements IRule {
+
+    /**
+     * Die Bewertung über das Histogramm der Ergebnisse.
+     */
+    private final PartitionsBewertung scorer;
+
+    /**
+     * Alle möglichen {@link SpielKombination}en.
+     */
+    private final List<SpielKombination> allGuesses;
+
+    /**
+     * Der Raum der Kombinationen, für die Prüfung auf Kandidaten.
+     */
+    private final KombinationsRaum space;
+
+    /**
+     * Die Symmetrien, die alle bisher geratenen Kombinationen festhalten.
+     */
+    private final SymmetrieGruppe symmetry;
+
+    /**
+     * Die Symmetrien für die Folge-Regeln, die zusätzlich die zuletzt geratene Kombination festhalten.
+     */
+    private final FollowUpSymmetry followUpSymmetry = new FollowUpSymmetry();
+
+    /**
+     * Erzeugt eine Instanz.
+     * 
+     * @param theCalculator
+     *            Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     * @param factory
+     *            Die zu verwendende Implementierung von {@link ISpielKombinationFactory}.
+     * @param pins
+     *            Die Kombinationsgröße.
+     */
+    public MinimaxRule(final IErgebnisBerechnung theCalculator, final ISpielKombinationFactory factory, final int pins) {
+        this(theCalculator, factory, new SpielKonfiguration(pins));
+    }
+
+    /**
+     * Erzeugt eine Instanz für eine beliebige Spielvariante.
+     * 
+     * @param theCalculator
+     *            Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     * @param factory
+     *            Die zu verwendende Implementierung von {@link ISpielKombinationFactory}.
+     * @param configuration
+     *            Die Spielvariante.
+     */
+    public MinimaxRule(final IErgebnisBerechnung theCalculator, final ISpielKombinationFactory factory,
+            final SpielKonfiguration configuration) {
+        scorer = new PartitionsBewertung(theCalculator, configuration.getPins());
+        allGuesses = factory.erzeugeAlle(configuration);
+        space = KombinationsRaum.getInstance(configuration);
+        symmetry = new SymmetrieGruppe(configuration);
+    }
+
+    /**
+     * Erzeugt eine Folge-Regel, die alle Tabellen mit einer anderen Regel teilt.
+     * 
+     * @param parent
+     *            Die andere Regel.
+     * @param theSymmetry
+     *            Die Symmetrien, die alle bisher geratenen Kombinationen festhalten.
+     */
+    private MinimaxRule(final MinimaxRule parent, final SymmetrieGruppe theSymmetry) {
+        scorer = parent.scorer;
+        allGuesses = parent.allGuesses;
+        space = parent.space;
+        symmetry = theSymmetry;
+    }
+
+    @Override
+    public SpielKombination getGuess(final List<SpielKombination> candidates) {
+        return determineMinimaxGuess(candidates);
+    }
+
+    @Override
+    public SpielKombination getGuess(final KombinationsMenge candidates) {
+        return determineMinimaxGuess(candidates);
+    }
+
+    /**
+     * Ermittelt die zu ratende Kombination wie in der Klassenbeschreibung angegeben.
+     * 
+     * @param candidates
+     *            Die Kandidatenmenge für die geheime Kombination.
+     * @return Die zu ratende Kombination.
+     */
+    private SpielKombination determineMinimaxGuess(final Collection<SpielKombination> candidates) {
+        final Set<SpielKombination> candidateSet = toCandidateSet(candidates);
+        // nur Repräsentanten bewerten, die kleinste beste Kombination ist immer einer
+        final SymmetrieGruppe validSymmetry = symmetry.fuerKandidaten(candidates.size());
+        final List<SpielKombination> guesses = validSymmetry.reduziere(allGuesses);
+
+        // Rang pro Kombination: Kandidaten vor anderen Kombinationen, jeweils lexikographisch
+        final long[] ranks = new long[guesses.size()];
+        int candidateCount = 0;
+        for (int i = 0; i < ranks.length; i++) {
+            if (candidateSet.contains(guesses.get(i))) {
+                ranks[candidateCount++] = i;
+            }
+        }
+        int nonCandidateCount = 0;
+        for (int i = 0; i < ranks.length; i++) {
+            if (!candidateSet.contains(guesses.get(i))) {
+                ranks[candidateCount + nonCandidateCount++] = (1L << 31) | i;
+            }
+        }
+
+        // Bewertung als Größe der größten Partition * 2^32 + Rang minimieren, Kandidaten zuerst bewerten
+        long best = Long.MAX_VALUE;
+        final int[] histogram = scorer.erzeugeHistogramm();
+        for (long rank : ranks) {
+            // bei gleicher Größe gewinnt der kleinere Rang
+            final int bound;
+            if (best == Long.MAX_VALUE) {
+                bound = Integer.MAX_VALUE;
+            } else if (rank < (best & 0xFFFFFFFFL)) {
+                bound = (int) (best >>> 32) + 1;
+            } else {
+                bound = (int) (best >>> 32);
+            }
+            final long worstCase = scorer.berechneGroesstePartition(guesses.get((int) (rank & Integer.MAX_VALUE)),
+                    candidates, histogram, bound);
+            best = Math.min(best, (worstCase << 32) | rank);
+        }
+
+        final SpielKombination result = guesses.get((int) (best & Integer.MAX_VALUE));
+        followUpSymmetry.set(result, validSymmetry.fixiere(result));
+        return result;
+    }
+
+    /**
+     * Liefert die Kandidaten als Menge mit schneller Prüfung auf Enthaltensein.
+     * 
+     * @param candidates
+     *            Die Kandidatenmenge für die geheime Kombination.
+     * @return Die übergebene Menge, oder eine {@link KombinationsMenge} mit den Kandidaten.
+     */
+    private Set<SpielKombination> toCandidateSet(final Collection<SpielKombination> candidates) {
+        if (candidates instanceof Set) {
+            return (Set<SpielKombination>) candidates;
+        }
+        final KombinationsMenge result = new KombinationsMenge(space);
+        result.addAll(candidates);
+        return result;
+    }
+
+    @Override
+    public IRule getRuleForResponse(final ErgebnisKombination response) {
+        return createFollowUpRule(followUpSymmetry.get());
+    }
+
+    @Override
+    public IRule getRuleForResponse(final SpielKombination guess, final ErgebnisKombination response) {
+        return createFollowUpRule(followUpSymmetry.get(guess));
+    }
+
+    /**
+     * Erzeugt die Folge-Regel mit den Symmetrien nach dem letzten Zug.
+     * 
+     * @param nextSymmetry
+     *            Die Symmetrien, oder <code>null</code> falls sie nicht bekannt sind.
+     * @return Die Folge-Regel.
+     */
+    private IRule createFollowUpRule(final SymmetrieGruppe nextSymmetry) {
+        if (nextSymmetry == null) {
+            // geratene Kombination unbekannt (z.B. aus einem Cache), nicht eindeutig oder nicht gespielt, daher keine
+            // Reduktion mehr
+            return new MinimaxRule(this, SymmetrieGruppe.erzeugeTriviale(symmetry.getKonfiguration()));
+        }
+        return new MinimaxRule(this, nextSymmetry);
+    }
+}
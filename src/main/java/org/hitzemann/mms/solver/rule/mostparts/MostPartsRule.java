@@ -1,14 +1,19 @@
 package org.hitzemann.mms.solver.rule.mostparts;
 
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
 import org.hitzemann.mms.model.ErgebnisKombination;
 import org.hitzemann.mms.model.ISpielKombinationFactory;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
 import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielKonfiguration;
+import org.hitzemann.mms.model.SymmetrieGruppe;
 import org.hitzemann.mms.solver.IErgebnisBerechnung;
+import org.hitzemann.mms.solver.rule.FollowUpSymmetry;
 import org.hitzemann.mms.solver.rule.IRule;
 
 /**
@@ -26,6 +31,17 @@ import org.hitzemann.mms.solver.rule.IRule;
  * <p>
  * Von den verbleibenden Kombinationen wird die lexikographisch kleinste als zu ratende Kombination geliefert.
  * </p>
+ * <p>
+ * Die verschiedenen Antworten werden pro Kombination als Bitmaske über die Ergebnis-Codes gezählt. Sobald so viele
+ * Antworten gefunden sind, wie überhaupt möglich sind, wird die Zählung für diese Kombination beendet. Erreicht ein
+ * Kandidat diese Anzahl, so wird keine weitere Kombination mehr bewertet. Ob eine Kombination ein Kandidat ist, wird
+ * über eine {@link KombinationsMenge} geprüft.
+ * </p>
+ * <p>
+ * Bewertet werden nur die Repräsentanten bezüglich der Symmetrien, die alle bisher geratenen Kombinationen festhalten
+ * (siehe {@link SymmetrieGruppe}). Das Ergebnis ändert sich dadurch nicht. Die Folge-Regel von
+ * {@link #getRuleForResponse(ErgebnisKombination)} hält zusätzlich die zuletzt geratene Kombination fest.
+ * </p>
  * 
  * @author chschu
  */
@@ -36,11 +52,31 @@ public final class MostPartsRule implements IRule {
      */
     private final IErgebnisBerechnung calculator;
 
+    /**
+     * Die Anzahl der Ergebnis-Codes.
+     */
+    private final int responseCodeCount;
+
+    /**
+     * Der Raum der Kombinationen, für die Prüfung auf Kandidaten.
+     */
+    private final KombinationsRaum space;
+
     /**
      * Alle möglichen {@link SpielKombination}en.
      */
     private final List<SpielKombination> allGuesses;
 
+    /**
+     * Die Symmetrien, die alle bisher geratenen Kombinationen festhalten.
+     */
+    private final SymmetrieGruppe symmetry;
+
+    /**
+     * Die Symmetrien für die Folge-Regeln, die zusätzlich die zuletzt geratene Kombination festhalten.
+     */
+    private final FollowUpSymmetry followUpSymmetry = new FollowUpSymmetry();
+
     /**
      * Erzeugt eine Instanz.
      * 
@@ -52,49 +88,173 @@ public final class MostPartsRule implements IRule {
      *            Die Kombinationsgröße.
      */
     public MostPartsRule(final IErgebnisBerechnung theCalculator, final ISpielKombinationFactory factory, final int pins) {
+        this(theCalculator, factory, new SpielKonfiguration(pins));
+    }
+
+    /**
+     * Erzeugt eine Instanz für eine beliebige Spielvariante.
+     * 
+     * @param theCalculator
+     *            Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     * @param factory
+     *            Die zu verwendende Implementierung von {@link ISpielKombinationFactory}.
+     * @param configuration
+     *            Die Spielvariante.
+     */
+    public MostPartsRule(final IErgebnisBerechnung theCalculator, final ISpielKombinationFactory factory,
+            final SpielKonfiguration configuration) {
         calculator = theCalculator;
-        allGuesses = factory.erzeugeAlle(pins);
+        responseCodeCount = ErgebnisKombination.getAnzahlCodes(configuration.getPins());
+        space = KombinationsRaum.getInstance(configuration);
+        allGuesses = factory.erzeugeAlle(configuration);
+        symmetry = new SymmetrieGruppe(configuration);
+    }
+
+    /**
+     * Erzeugt eine Folge-Regel, die alle Tabellen mit einer anderen Regel teilt.
+     * 
+     * @param parent
+     *            Die andere Regel.
+     * @param theSymmetry
+     *            Die Symmetrien, die alle bisher geratenen Kombinationen festhalten.
+     */
+    private MostPartsRule(final MostPartsRule parent, final SymmetrieGruppe theSymmetry) {
+        calculator = parent.calculator;
+        responseCodeCount = parent.responseCodeCount;
+        space = parent.space;
+        allGuesses = parent.allGuesses;
+        symmetry = theSymmetry;
     }
 
     @Override
     public SpielKombination getGuess(final List<SpielKombination> candidates) {
-        // ermittle Kombinationen, die die Anzahl möglicher Antworten maximieren
+        return determineMostPartsGuess(candidates);
+    }
+
+    @Override
+    public SpielKombination getGuess(final KombinationsMenge candidates) {
+        return determineMostPartsGuess(candidates);
+    }
+
+    /**
+     * Ermittelt die zu ratende Kombination wie in der Klassenbeschreibung angegeben.
+     * 
+     * @param candidates
+     *            Die Kandidatenmenge für die geheime Kombination.
+     * @return Die zu ratende Kombination.
+     */
+    private SpielKombination determineMostPartsGuess(final Collection<SpielKombination> candidates) {
+        final Set<SpielKombination> candidateSet = toCandidateSet(candidates);
+        // höchstens ein Teil pro Ergebnis, (pins-1) schwarz und 1 weiß ist unmöglich
+        final int responseLimit = Math.min(candidates.size(), Math.max(1, responseCodeCount - 1));
+        final long[] responseMask = new long[(responseCodeCount + Long.SIZE - 1) / Long.SIZE];
+
+        // ermittle die kleinste Kombination und den kleinsten Kandidaten mit maximaler Anzahl möglicher Antworten
         int maxResponseCount = 0;
-        final List<SpielKombination> maxResponseCountGuesses = new LinkedList<SpielKombination>();
-        for (SpielKombination guess : allGuesses) {
+        SpielKombination firstGuess = null;
+        SpielKombination firstCandidate = null;
+        // nur Repräsentanten bewerten, die kleinste beste Kombination ist immer einer
+        final SymmetrieGruppe validSymmetry = symmetry.fuerKandidaten(candidates.size());
+        for (SpielKombination guess : validSymmetry.reduziere(allGuesses)) {
             // Anzahl möglicher Antworten für geratene Kombination ermitteln
-            final Set<ErgebnisKombination> results = new HashSet<ErgebnisKombination>();
-            for (SpielKombination candidate : candidates) {
-                results.add(calculator.berechneErgebnis(candidate, guess));
-            }
-            final int responseCount = results.size();
+            final int responseCount = countResponses(guess, candidates, responseLimit, responseMask);
             if (responseCount > maxResponseCount) {
-                maxResponseCountGuesses.clear();
-                maxResponseCountGuesses.add(guess);
                 maxResponseCount = responseCount;
-            } else if (responseCount == maxResponseCount) {
-                maxResponseCountGuesses.add(guess);
+                firstGuess = guess;
+                firstCandidate = null;
+            }
+            if (responseCount == maxResponseCount && firstCandidate == null && candidateSet.contains(guess)) {
+                firstCandidate = guess;
+                if (responseCount == responseLimit) {
+                    // kein späterer Kandidat kann mehr Antworten haben
+                    break;
+                }
             }
         }
 
-        // ermittle alle Kandidaten unter optimalen Kombinationen
-        final List<SpielKombination> maxResponseCountCandidates = new LinkedList<SpielKombination>(
-                maxResponseCountGuesses);
-        maxResponseCountCandidates.retainAll(candidates);
-
         // Kandidaten bevorzugen, und lexikographisch kleinsten zurückgeben
         final SpielKombination result;
-        if (!maxResponseCountCandidates.isEmpty()) {
-            result = maxResponseCountCandidates.get(0);
+        if (firstCandidate != null) {
+            result = firstCandidate;
         } else {
-            result = maxResponseCountGuesses.get(0);
+            result = firstGuess;
+        }
+
+        followUpSymmetry.set(result, validSymmetry.fixiere(result));
+        return result;
+    }
+
+    /**
+     * Zählt die verschiedenen möglichen Antworten für eine zu ratende Kombination.
+     * 
+     * @param guess
+     *            Die zu ratende Kombination.
+     * @param candidates
+     *            Die Kandidatenmenge für die geheime Kombination.
+     * @param limit
+     *            Die Anzahl, bei der die Zählung beendet werden darf.
+     * @param responseMask
+     *            Puffer für die Bitmaske der gefundenen Ergebnis-Codes. Der vorherige Inhalt wird überschrieben.
+     * @return Die Anzahl der verschiedenen Antworten, höchstens limit.
+     */
+    private int countResponses(final SpielKombination guess, final Collection<SpielKombination> candidates,
+            final int limit, final long[] responseMask) {
+        Arrays.fill(responseMask, 0L);
+        int count = 0;
+        for (SpielKombination secret : candidates) {
+            final int code = calculator.berechneErgebnisCode(secret, guess);
+            final int word = code / Long.SIZE;
+            final long bit = 1L << (code % Long.SIZE);
+            if ((responseMask[word] & bit) == 0) {
+                responseMask[word] |= bit;
+                count++;
+                if (count == limit) {
+                    break;
+                }
+            }
         }
+        return count;
+    }
 
+    /**
+     * Liefert die Kandidaten als Menge mit schneller Prüfung auf Enthaltensein.
+     * 
+     * @param candidates
+     *            Die Kandidatenmenge für die geheime Kombination.
+     * @return Die übergebene Menge, oder eine {@link KombinationsMenge} mit den Kandidaten.
+     */
+    private Set<SpielKombination> toCandidateSet(final Collection<SpielKombination> candidates) {
+        if (candidates instanceof Set) {
+            return (Set<SpielKombination>) candidates;
+        }
+        final KombinationsMenge result = new KombinationsMenge(space);
+        result.addAll(candidates);
         return result;
     }
 
     @Override
     public IRule getRuleForResponse(final ErgebnisKombination response) {
-        return this;
+        return createFollowUpRule(followUpSymmetry.get());
+    }
+
+    @Override
+    public IRule getRuleForResponse(final SpielKombination guess, final ErgebnisKombination response) {
+        return createFollowUpRule(followUpSymmetry.get(guess));
+    }
+
+    /**
+     * Erzeugt die Folge-Regel mit den Symmetrien nach dem letzten Zug.
+     * 
+     * @param nextSymmetry
+     *            Die Symmetrien, oder <code>null</code> falls sie nicht bekannt sind.
+     * @return Die Folge-Regel.
+     */
+    private IRule createFollowUpRule(final SymmetrieGruppe nextSymmetry) {
+        if (nextSymmetry == null) {
+            // geratene Kombination unbekannt (z.B. aus einem Cache), nicht eindeutig oder nicht gespielt, daher keine
+            // Reduktion mehr
+            return new MostPartsRule(this, SymmetrieGruppe.erzeugeTriviale(symmetry.getKonfiguration()));
+        }
+        return new MostPartsRule(this, nextSymmetry);
     }
 }
@@ -0,0 +1,814 @@
+package org.hitzemann.mms.solver.rule.optimal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.ISpielKombinationFactory;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielKonfiguration;
+import org.hitzemann.mms.model.SymmetrieGruppe;
+import org.hitzemann.mms.solver.IErgebnisBerechnung;
+import org.hitzemann.mms.solver.rule.FollowUpSymmetry;
+import org.hitzemann.mms.solver.rule.IRule;
+
+/**
+ * <p>
+ * Eine Regel, die die erwartete Anzahl an Zügen exakt minimiert.
+ * </p>
+ * <p>
+ * Die Kosten K(S) einer Kandidatenmenge S sind die Summe der Züge, die die Strategie für alle geheimen Kombinationen
+ * aus S benötigt. Für eine zu ratende Kombination x gilt K(S,x) = |S| + Summe(K(S_e), e aus allen Ergebnissen außer
+ * dem Gewinn), wobei S_e die Kandidaten mit dem Ergebnis e sind. Die Regel rät eine Kombination x mit minimalem
+ * K(S,x), die erwartete Anzahl an Zügen K(S)/|S| ist damit optimal.
+ * </p>
+ * <p>
+ * Die Suche erfolgt als Tiefensuche mit Branch-and-Bound. Für jede Menge der Größe n ist eine untere Schranke bekannt,
+ * die sich ergibt, wenn jeder Zug die Kandidaten maximal aufteilt. Die zu ratenden Kombinationen werden nach der
+ * Summe dieser Schranken über ihre Partitionen sortiert und nur so lange untersucht, wie die Schranke unter den
+ * Kosten der besten bisher gefundenen Kombination liegt. Kombinationen, die die Kandidaten nicht aufteilen, werden
+ * übersprungen. Trennt einer der Kandidaten alle übrigen Kandidaten voneinander, so ist er ohne weitere Suche
+ * optimal.
+ * </p>
+ * <p>
+ * Die Ergebnisse werden pro Kandidatenmenge gespeichert, und zwar exakt mit der besten Kombination, oder als untere
+ * Schranke, falls die Suche abgebrochen wurde. Die Kandidatenmengen werden dabei kanonisch als aufsteigend sortierte
+ * Indizes dargestellt. Wird ein {@link ExecutorService} übergeben, so werden die zu ratenden Kombinationen für die an
+ * {@link #getGuess(KombinationsMenge)} übergebene Menge parallel untersucht. Das Ergebnis hängt davon nicht ab: Bei
+ * gleichen Kosten wird immer die Kombination gewählt, die in der oben beschriebenen Sortierung zuerst kommt.
+ * </p>
+ * <p>
+ * Von Kombinationen, die durch eine Symmetrie der bisherigen Züge (siehe {@link SymmetrieGruppe}) ineinander
+ * überführt werden, wird nur der Repräsentant untersucht. Da die Indizes der Kombinationen ihrer natürlichen
+ * Sortierung entsprechen, ist der Repräsentant bei gleichen Kosten ohnehin die gewählte Kombination, das Ergebnis
+ * ändert sich dadurch also nicht. Die gespeicherten Ergebnisse hängen nicht von der Symmetrie ab.
+ * </p>
+ * <p>
+ * Da die Ergebnistabelle quadratisch und die Suche exponentiell mit der Größe des Raums wächst, ist diese Regel nur
+ * für kleine Spielvarianten geeignet.
+ * </p>
+ * <p>
+ * Da die Regel wiederholt angewendet werden soll, liefert {@link #getRuleForResponse(ErgebnisKombination)} eine
+ * Instanz, die sich alle Tabellen und Ergebnisse mit der aktuellen Instanz teilt und nur die Symmetrie nach dem
+ * letzten Zug verwendet.
+ * </p>
+ * 
+ * @author chschu
+ */
+public final class OptimalRule implements IRule {
+
+    /**
+     * Die maximale Anzahl der Ergebnis-Codes, die in ein vorzeichenloses Byte von {@link #responses} passen.
+     */
+    private static final int MAX_RESPONSE_COUNT = 256;
+
+    /**
+     * Der Raum der Kombinationen.
+     */
+    private final KombinationsRaum space;
+
+    /**
+     * Alle ratbaren {@link SpielKombination}en, aufsteigend sortiert und indiziert über ihre Position.
+     */
+    private final SpielKombination[] guesses;
+
+    /**
+     * Die Position der Kombination pro Code aus {@link #space}, oder -1.
+     */
+    private final int[] indexByCode;
+
+    /**
+     * Die Ergebnis-Codes als vorzeichenlose Bytes, indiziert über geratenIndex * {@link #guesses}.length +
+     * geheimIndex.
+     */
+    private final byte[] responses;
+
+    /**
+     * Die Anzahl der Ergebnis-Codes.
+     */
+    private final int responseCount;
+
+    /**
+     * Der Ergebnis-Code für ein gewonnenes Spiel.
+     */
+    private final int solvedCode;
+
+    /**
+     * Die untere Schranke der Kosten pro Mengengröße.
+     */
+    private final int[] lowerBounds;
+
+    /**
+     * Die bekannten Ergebnisse pro Kandidatenmenge.
+     */
+    private final ConcurrentMap<CandidateKey, Result> results;
+
+    /**
+     * Executor für die parallele Suche, oder <code>null</code> für serielle Suche.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Die Symmetrie der bisherigen Züge.
+     */
+    private final SymmetrieGruppe symmetry;
+
+    /**
+     * Die Symmetrien für die Folge-Regeln, die zusätzlich die zuletzt geratene Kombination festhalten.
+     */
+    private final FollowUpSymmetry followUpSymmetry = new FollowUpSymmetry();
+
+    /**
+     * Erzeugt eine Instanz mit serieller Suche.
+     * 
+     * @param theCalculator
+     *            Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     * @param factory
+     *            Die zu verwendende Implementierung von {@link ISpielKombinationFactory}.
+     * @param pins
+     *            Die Kombinationsgröße.
+     */
+    public OptimalRule(final IErgebnisBerechnung theCalculator, final ISpielKombinationFactory factory,
+            final int pins) {
+        this(theCalculator, factory, new SpielKonfiguration(pins), null);
+    }
+
+    /**
+     * Erzeugt eine Instanz mit serieller Suche für eine beliebige Spielvariante.
+     * 
+     * @param theCalculator
+     *            Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     * @param factory
+     *            Die zu verwendende Implementierung von {@link ISpielKombinationFactory}.
+     * @param configuration
+     *            Die Spielvariante.
+     */
+    public OptimalRule(final IErgebnisBerechnung theCalculator, final ISpielKombinationFactory factory,
+            final SpielKonfiguration configuration) {
+        this(theCalculator, factory, configuration, null);
+    }
+
+    /**
+     * Erzeugt eine Instanz für eine beliebige Spielvariante.
+     * 
+     * @param theCalculator
+     *            Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     * @param factory
+     *            Die zu verwendende Implementierung von {@link ISpielKombinationFactory}.
+     * @param configuration
+     *            Die Spielvariante.
+     * @param theExecutor
+     *            Executor für die parallele Suche, oder <code>null</code> für serielle Suche. Wird von der Regel nicht
+     *            beendet.
+     * @throws IllegalArgumentException
+     *             Die Ergebnistabelle wäre zu groß, oder die Ergebnis-Codes passen nicht in ein Byte.
+     */
+    public OptimalRule(final IErgebnisBerechnung theCalculator, final ISpielKombinationFactory factory,
+            final SpielKonfiguration configuration, final ExecutorService theExecutor) {
+        if (ErgebnisKombination.getAnzahlCodes(configuration.getPins()) > MAX_RESPONSE_COUNT) {
+            throw new IllegalArgumentException("Ergebnis-Codes für " + configuration + " passen nicht in ein Byte");
+        }
+        space = KombinationsRaum.getInstance(configuration);
+        final List<SpielKombination> allGuesses = factory.erzeugeAlle(configuration);
+        final int size = allGuesses.size();
+        if ((long) size * size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Ergebnistabelle für " + configuration + " ist zu groß");
+        }
+        guesses = new SpielKombination[size];
+        for (int i = 0; i < size; i++) {
+            guesses[i] = space.getKombination(space.getCode(allGuesses.get(i)));
+        }
+        Arrays.sort(guesses);
+        indexByCode = new int[space.getGroesse()];
+        Arrays.fill(indexByCode, -1);
+        for (int i = 0; i < size; i++) {
+            indexByCode[space.getCode(guesses[i])] = i;
+        }
+        responses = new byte[size * size];
+        for (int guess = 0; guess < size; guess++) {
+            for (int secret = 0; secret < size; secret++) {
+                responses[guess * size + secret] = (byte) theCalculator.berechneErgebnisCode(guesses[secret],
+                        guesses[guess]);
+            }
+        }
+        responseCount = ErgebnisKombination.getAnzahlCodes(configuration.getPins());
+        solvedCode = ErgebnisKombination.berechneCode(configuration.getPins(), 0);
+        lowerBounds = computeLowerBounds(size, responseCount - 2);
+        results = new ConcurrentHashMap<CandidateKey, Result>();
+        executor = theExecutor;
+        symmetry = new SymmetrieGruppe(configuration);
+    }
+
+    /**
+     * Erzeugt eine Instanz, die sich alle Tabellen und Ergebnisse mit einer anderen Instanz teilt.
+     * 
+     * @param parent
+     *            Die andere Instanz.
+     * @param theSymmetry
+     *            Die Symmetrie der bisherigen Züge.
+     */
+    private OptimalRule(final OptimalRule parent, final SymmetrieGruppe theSymmetry) {
+        space = parent.space;
+        guesses = parent.guesses;
+        indexByCode = parent.indexByCode;
+        responses = parent.responses;
+        responseCount = parent.responseCount;
+        solvedCode = parent.solvedCode;
+        lowerBounds = parent.lowerBounds;
+        results = parent.results;
+        executor = parent.executor;
+        symmetry = theSymmetry;
+    }
+
+    /**
+     * Berechnet die unteren Schranken der Kosten. Im besten Fall wird mit dem ersten Zug ein Kandidat gelöst, und
+     * jeder Zug teilt die restlichen Kandidaten auf alle möglichen Ergebnisse auf. Auf Ebene d (ab 1) werden dann
+     * höchstens m^(d-1) Kandidaten gelöst.
+     * 
+     * @param maxSize
+     *            Die größte Mengengröße.
+     * @param branching
+     *            Die Anzahl m der möglichen Ergebnisse außer dem Gewinn. Das Ergebnis mit (pins-1) schwarzen und einem
+     *            weißen Stein ist unmöglich und nicht mitgezählt.
+     * @return Die unteren Schranken pro Mengengröße.
+     */
+    private static int[] computeLowerBounds(final int maxSize, final int branching) {
+        final int[] result = new int[maxSize + 1];
+        int depth = 1;
+        long levelCapacity = 1;
+        int levelUsed = 0;
+        for (int n = 1; n <= maxSize; n++) {
+            if (levelUsed == levelCapacity) {
+                depth++;
+                levelCapacity *= branching;
+                levelUsed = 0;
+            }
+            result[n] = result[n - 1] + depth;
+            levelUsed++;
+        }
+        return result;
+    }
+
+    @Override
+    public SpielKombination getGuess(final List<SpielKombination> candidates) {
+        return determineOptimalGuess(candidates);
+    }
+
+    @Override
+    public SpielKombination getGuess(final KombinationsMenge candidates) {
+        return determineOptimalGuess(candidates);
+    }
+
+    @Override
+    public IRule getRuleForResponse(final ErgebnisKombination response) {
+        return createFollowUpRule(followUpSymmetry.get());
+    }
+
+    @Override
+    public IRule getRuleForResponse(final SpielKombination guess, final ErgebnisKombination response) {
+        return createFollowUpRule(followUpSymmetry.get(guess));
+    }
+
+    /**
+     * Erzeugt die Folge-Regel mit den Symmetrien nach dem letzten Zug.
+     * 
+     * @param nextSymmetry
+     *            Die Symmetrien, oder <code>null</code> falls sie nicht bekannt sind.
+     * @return Die Folge-Regel.
+     */
+    private IRule createFollowUpRule(final SymmetrieGruppe nextSymmetry) {
+        if (nextSymmetry == null) {
+            // letzter Zug unbekannt (z.B. aus einem Cache geliefert), nicht eindeutig oder nicht gespielt
+            return new OptimalRule(this, SymmetrieGruppe.erzeugeTriviale(symmetry.getKonfiguration()));
+        }
+        return new OptimalRule(this, nextSymmetry);
+    }
+
+    /**
+     * Liefert die minimale Summe der Züge, mit der alle Kandidaten gelöst werden können. Geteilt durch die Anzahl der
+     * Kandidaten ergibt sich die optimale erwartete Anzahl an Zügen.
+     * 
+     * @param candidates
+     *            Die Kandidatenmenge für die geheime Kombination.
+     * @return Die minimale Summe der Züge.
+     * @throws IllegalArgumentException
+     *             Die Kandidatenmenge ist leer.
+     */
+    public int getTotalGuessCount(final Collection<SpielKombination> candidates) {
+        final int[] indices = toIndices(candidates);
+        if (indices.length <= 2) {
+            return 2 * indices.length - 1;
+        }
+        return getExactResult(indices, symmetry.fuerKandidaten(indices.length)).cost;
+    }
+
+    /**
+     * Ermittelt die zu ratende Kombination wie in der Klassenbeschreibung angegeben.
+     * 
+     * @param candidates
+     *            Die Kandidatenmenge für die geheime Kombination.
+     * @return Die zu ratende Kombination.
+     * @throws IllegalArgumentException
+     *             Die Kandidatenmenge ist leer.
+     */
+    private SpielKombination determineOptimalGuess(final Collection<SpielKombination> candidates) {
+        final int[] indices = toIndices(candidates);
+        final SymmetrieGruppe validSymmetry = symmetry.fuerKandidaten(indices.length);
+        final SpielKombination result;
+        if (indices.length <= 2) {
+            result = guesses[indices[0]];
+        } else {
+            result = guesses[getExactResult(indices, validSymmetry).guess];
+        }
+        followUpSymmetry.set(result, validSymmetry.fixiere(result));
+        return result;
+    }
+
+    /**
+     * Rechnet die Kandidaten in aufsteigend sortierte Indizes um.
+     * 
+     * @param candidates
+     *            Die Kandidatenmenge.
+     * @return Die sortierten Indizes.
+     * @throws IllegalArgumentException
+     *             Die Kandidatenmenge ist leer.
+     */
+    private int[] toIndices(final Collection<SpielKombination> candidates) {
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("Keine Kandidaten");
+        }
+        final int[] result = new int[candidates.size()];
+        int i = 0;
+        for (SpielKombination candidate : candidates) {
+            result[i++] = indexByCode[space.getCode(candidate)];
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Liefert das exakte Ergebnis für eine Kandidatenmenge mit mindestens 3 Elementen und berechnet es bei Bedarf.
+     * 
+     * @param candidates
+     *            Die sortierten Indizes der Kandidaten.
+     * @param currentSymmetry
+     *            Die Symmetrie der Kandidaten.
+     * @return Das exakte Ergebnis.
+     */
+    private Result getExactResult(final int[] candidates, final SymmetrieGruppe currentSymmetry) {
+        final int perfectGuess = findPerfectGuess(candidates);
+        if (perfectGuess >= 0) {
+            return new Result(2 * candidates.length - 1, perfectGuess);
+        }
+        final CandidateKey key = new CandidateKey(candidates);
+        Result result = results.get(key);
+        if (result == null || !result.isExact()) {
+            if (executor == null) {
+                solve(candidates, Integer.MAX_VALUE, currentSymmetry);
+            } else {
+                solveParallel(candidates, currentSymmetry);
+            }
+            result = results.get(key);
+        }
+        return result;
+    }
+
+    /**
+     * Sucht den kleinsten Kandidaten, der alle übrigen Kandidaten voneinander trennt. Dessen Kosten 2n-1 sind die
+     * kleinstmöglichen, und er ist auch der erste in der Sortierung von
+     * {@link #orderGuesses(int[], int, SymmetrieGruppe)}.
+     * 
+     * @param candidates
+     *            Die sortierten Indizes der Kandidaten.
+     * @return Der Index des Kandidaten, oder -1.
+     */
+    private int findPerfectGuess(final int[] candidates) {
+        final int n = candidates.length;
+        if (lowerBounds[n] < 2 * n - 1) {
+            // es gibt weniger mögliche Ergebnisse als übrige Kandidaten
+            return -1;
+        }
+        final int[] sizes = new int[responseCount];
+        for (int guess : candidates) {
+            final int row = guess * guesses.length;
+            Arrays.fill(sizes, 0);
+            boolean perfect = true;
+            for (int candidate : candidates) {
+                final int response = responses[row + candidate] & 0xFF;
+                if (++sizes[response] > 1) {
+                    perfect = false;
+                    break;
+                }
+            }
+            if (perfect) {
+                return guess;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Ermittelt die minimalen Kosten einer Kandidatenmenge.
+     * 
+     * @param candidates
+     *            Die sortierten Indizes der Kandidaten.
+     * @param limit
+     *            Die Kosten, ab denen die Suche abgebrochen werden darf.
+     * @param currentSymmetry
+     *            Die Symmetrie der Kandidaten.
+     * @return Die exakten Kosten, falls diese kleiner als limit sind, ansonsten eine untere Schranke, die mindestens
+     *         limit ist.
+     */
+    private int solve(final int[] candidates, final int limit, final SymmetrieGruppe currentSymmetry) {
+        final int n = candidates.length;
+        if (n <= 2) {
+            // einen der Kandidaten raten
+            return 2 * n - 1;
+        }
+        if (lowerBounds[n] >= limit) {
+            return lowerBounds[n];
+        }
+        if (findPerfectGuess(candidates) >= 0) {
+            return 2 * n - 1;
+        }
+        final CandidateKey key = new CandidateKey(candidates);
+        final Result known = results.get(key);
+        if (known != null && (known.isExact() || known.cost >= limit)) {
+            return known.cost;
+        }
+
+        final long[] order = orderGuesses(candidates, limit, currentSymmetry);
+        int best = limit;
+        int bestGuess = -1;
+        for (long entry : order) {
+            if (getBound(entry) >= best) {
+                // alle weiteren Kombinationen haben eine mindestens so große Schranke
+                break;
+            }
+            final int cost = evaluate(candidates, getGuessIndex(entry), best, currentSymmetry);
+            if (cost < best) {
+                best = cost;
+                bestGuess = getGuessIndex(entry);
+            }
+        }
+
+        if (bestGuess >= 0) {
+            results.put(key, new Result(best, bestGuess));
+            return best;
+        }
+        // keine Kombination unter limit, exakte Ergebnisse anderer Threads nicht überschreiben
+        final Result lowerBound = new Result(limit, -1);
+        if (known == null) {
+            results.putIfAbsent(key, lowerBound);
+        } else {
+            results.replace(key, known, lowerBound);
+        }
+        return limit;
+    }
+
+    /**
+     * Ermittelt die minimalen Kosten einer Kandidatenmenge und speichert das Ergebnis. Die zu ratenden Kombinationen
+     * werden dabei in mehreren Teilaufgaben im {@link #executor} untersucht.
+     * 
+     * @param candidates
+     *            Die sortierten Indizes der Kandidaten.
+     * @param currentSymmetry
+     *            Die Symmetrie der Kandidaten.
+     */
+    private void solveParallel(final int[] candidates, final SymmetrieGruppe currentSymmetry) {
+        final long[] order = orderGuesses(candidates, Integer.MAX_VALUE, currentSymmetry);
+        final AtomicInteger next = new AtomicInteger();
+        final SearchState state = new SearchState();
+        final int taskCount = Math.min(order.length, Runtime.getRuntime().availableProcessors());
+        final List<Future<Void>> tasks = new ArrayList<Future<Void>>(taskCount);
+        try {
+            for (int task = 0; task < taskCount; task++) {
+                tasks.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        for (int position = next.getAndIncrement(); position < order.length; position = next
+                                .getAndIncrement()) {
+                            final int limit = state.getLimit(position);
+                            if (getBound(order[position]) < limit) {
+                                final int cost = evaluate(candidates, getGuessIndex(order[position]), limit,
+                                        currentSymmetry);
+                                if (cost < limit) {
+                                    state.offer(position, cost);
+                                }
+                            }
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Suche wurde unterbrochen.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Suche ist fehlgeschlagen.", e.getCause());
+        } finally {
+            for (Future<Void> task : tasks) {
+                task.cancel(true);
+            }
+        }
+        results.put(new CandidateKey(candidates),
+                new Result(state.getCost(), getGuessIndex(order[state.getPosition()])));
+    }
+
+    /**
+     * Ermittelt die Kosten einer zu ratenden Kombination.
+     * 
+     * @param candidates
+     *            Die sortierten Indizes der Kandidaten.
+     * @param guess
+     *            Der Index der zu ratenden Kombination.
+     * @param limit
+     *            Die Kosten, ab denen die Suche abgebrochen werden darf.
+     * @param currentSymmetry
+     *            Die Symmetrie der Kandidaten.
+     * @return Die exakten Kosten, falls diese kleiner als limit sind, ansonsten eine untere Schranke, die mindestens
+     *         limit ist.
+     */
+    private int evaluate(final int[] candidates, final int guess, final int limit,
+            final SymmetrieGruppe currentSymmetry) {
+        final int row = guess * guesses.length;
+        final int[] sizes = new int[responseCount];
+        for (int candidate : candidates) {
+            sizes[responses[row + candidate] & 0xFF]++;
+        }
+        int total = candidates.length;
+        for (int response = 0; response < responseCount; response++) {
+            if (response != solvedCode) {
+                total += lowerBounds[sizes[response]];
+            }
+        }
+        if (total >= limit) {
+            return total;
+        }
+
+        // Partitionen aufsteigend sortiert befüllen
+        final int[][] parts = new int[responseCount][];
+        for (int response = 0; response < responseCount; response++) {
+            parts[response] = new int[sizes[response]];
+        }
+        final int[] fill = new int[responseCount];
+        for (int candidate : candidates) {
+            final int response = responses[row + candidate] & 0xFF;
+            parts[response][fill[response]++] = candidate;
+        }
+
+        // große Partitionen zuerst, da sie die Schranke am stärksten verändern
+        final long[] bySize = new long[responseCount];
+        for (int response = 0; response < responseCount; response++) {
+            bySize[response] = ((long) -sizes[response] << 32) | response;
+        }
+        Arrays.sort(bySize);
+        SymmetrieGruppe nextSymmetry = null;
+        for (long entry : bySize) {
+            final int response = (int) entry;
+            final int size = sizes[response];
+            if (size <= 2) {
+                // für höchstens 2 Kandidaten ist die Schranke exakt
+                break;
+            }
+            if (response != solvedCode) {
+                if (nextSymmetry == null) {
+                    nextSymmetry = currentSymmetry.fixiere(guesses[guess]);
+                }
+                total -= lowerBounds[size];
+                total += solve(parts[response], limit - total, nextSymmetry);
+                if (total >= limit) {
+                    return total;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Ermittelt die sinnvollen zu ratenden Kombinationen für eine Kandidatenmenge, sortiert nach der unteren Schranke
+     * ihrer Kosten. Bei gleicher Schranke werden Kandidaten bevorzugt, danach entscheidet der Index.
+     * 
+     * @param candidates
+     *            Die sortierten Indizes der Kandidaten.
+     * @param limit
+     *            Kombinationen mit einer Schranke ab diesem Wert werden nicht geliefert.
+     * @param currentSymmetry
+     *            Die Symmetrie der Kandidaten, es werden nur deren Repräsentanten geliefert.
+     * @return Die Kombinationen, jeweils kodiert als Schranke * 2^32 + (kein Kandidat ? 2^31 : 0) + Index.
+     */
+    private long[] orderGuesses(final int[] candidates, final int limit, final SymmetrieGruppe currentSymmetry) {
+        final int n = candidates.length;
+        final int[] sizes = new int[responseCount];
+        final long[] order = new long[guesses.length];
+        int count = 0;
+        for (int guess = 0; guess < guesses.length; guess++) {
+            final int row = guess * guesses.length;
+            Arrays.fill(sizes, 0);
+            for (int candidate : candidates) {
+                sizes[responses[row + candidate] & 0xFF]++;
+            }
+            if (sizes[responses[row + candidates[0]] & 0xFF] == n && sizes[solvedCode] == 0) {
+                // teilt die Kandidaten nicht auf
+                continue;
+            }
+            int bound = n;
+            for (int response = 0; response < responseCount; response++) {
+                if (response != solvedCode) {
+                    bound += lowerBounds[sizes[response]];
+                }
+            }
+            if (bound >= limit || !currentSymmetry.istRepraesentant(guesses[guess])) {
+                continue;
+            }
+            final long notCandidate;
+            if (sizes[solvedCode] > 0) {
+                notCandidate = 0;
+            } else {
+                notCandidate = 1L << 31;
+            }
+            order[count++] = ((long) bound << 32) | notCandidate | guess;
+        }
+        final long[] result = Arrays.copyOf(order, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Liefert die Schranke aus einem Eintrag von {@link #orderGuesses(int[], int, SymmetrieGruppe)}.
+     * 
+     * @param entry
+     *            Der Eintrag.
+     * @return Die Schranke.
+     */
+    private static int getBound(final long entry) {
+        return (int) (entry >>> 32);
+    }
+
+    /**
+     * Liefert den Index der Kombination aus einem Eintrag von {@link #orderGuesses(int[], int, SymmetrieGruppe)}.
+     * 
+     * @param entry
+     *            Der Eintrag.
+     * @return Der Index.
+     */
+    private static int getGuessIndex(final long entry) {
+        return (int) (entry & Integer.MAX_VALUE);
+    }
+
+    /**
+     * Schlüssel für eine Kandidatenmenge, dargestellt als aufsteigend sortierte Indizes.
+     */
+    private static final class CandidateKey {
+
+        /**
+         * Die sortierten Indizes.
+         */
+        private final int[] indices;
+
+        /**
+         * Der vorberechnete Hashcode.
+         */
+        private final int hash;
+
+        /**
+         * Erzeugt einen Schlüssel.
+         * 
+         * @param theIndices
+         *            Die sortierten Indizes, dürfen nicht mehr verändert werden.
+         */
+        CandidateKey(final int[] theIndices) {
+            indices = theIndices;
+            hash = Arrays.hashCode(theIndices);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof CandidateKey && Arrays.equals(indices, ((CandidateKey) o).indices);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Das Ergebnis der Suche für eine Kandidatenmenge.
+     */
+    private static final class Result {
+
+        /**
+         * Die exakten Kosten, oder eine untere Schranke.
+         */
+        private final int cost;
+
+        /**
+         * Der Index der besten zu ratenden Kombination, oder -1 für eine untere Schranke.
+         */
+        private final int guess;
+
+        /**
+         * Erzeugt ein Ergebnis.
+         * 
+         * @param theCost
+         *            Die exakten Kosten, oder eine untere Schranke.
+         * @param theGuess
+         *            Der Index der besten zu ratenden Kombination, oder -1 für eine untere Schranke.
+         */
+        Result(final int theCost, final int theGuess) {
+            cost = theCost;
+            guess = theGuess;
+        }
+
+        /**
+         * Prüft, ob das Ergebnis exakt ist.
+         * 
+         * @return <code>true</code> genau dann, wenn die Kosten exakt sind.
+         */
+        boolean isExact() {
+            return guess >= 0;
+        }
+    }
+
+    /**
+     * Der gemeinsame Stand der parallelen Suche.
+     */
+    private static final class SearchState {
+
+        /**
+         * Die Kosten der besten bisher gefundenen Kombination.
+         */
+        private int cost = Integer.MAX_VALUE;
+
+        /**
+         * Die Position der besten bisher gefundenen Kombination in der Sortierung.
+         */
+        private int position = Integer.MAX_VALUE;
+
+        /**
+         * Liefert die Kosten, ab denen die Kombination an einer Position nicht mehr besser ist. Kombinationen vor der
+         * bisher besten müssen diese nur erreichen.
+         * 
+         * @param thePosition
+         *            Die Position in der Sortierung.
+         * @return Die Kosten.
+         */
+        synchronized int getLimit(final int thePosition) {
+            if (thePosition < position && cost < Integer.MAX_VALUE) {
+                return cost + 1;
+            }
+            return cost;
+        }
+
+        /**
+         * Meldet die exakten Kosten der Kombination an einer Position.
+         * 
+         * @param thePosition
+         *            Die Position in der Sortierung.
+         * @param theCost
+         *            Die exakten Kosten.
+         */
+        synchronized void offer(final int thePosition, final int theCost) {
+            if (theCost < cost || theCost == cost && thePosition < position) {
+                cost = theCost;
+                position = thePosition;
+            }
+        }
+
+        /**
+         * Liefert die Kosten der besten Kombination.
+         * 
+         * @return Die Kosten.
+         */
+        synchronized int getCost() {
+            return cost;
+        }
+
+        /**
+         * Liefert die Position der besten Kombination.
+         * 
+         * @return Die Position.
+         */
+        synchronized int getPosition() {
+            return position;
+        }
+    }
+}
@@ -4,8 +4,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.math.BigInteger;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
@@ -40,6 +42,32 @@ public final class DefaultSpielKombinationFactoryTest {
         public void testNegativeGroesse() {
             underTest.erzeugeAlle(-1);
         }
+
+        /**
+         * Test für eine Variante mit mehr Farben als in {@link SpielStein}.
+         */
+        @Test
+        public void testMehrFarben() {
+            final List<SpielKombination> alle = underTest.erzeugeAlle(new SpielKonfiguration(5, 8, true));
+            assertEquals(32768, alle.size());
+            assertEquals(new SpielKombination(8, 8, 8, 8, 8), alle.get(alle.size() - 1));
+        }
+
+        /**
+         * Test für eine Variante ohne Duplikate.
+         */
+        @Test
+        public void testOhneDuplikate() {
+            final List<SpielKombination> alle = underTest.erzeugeAlle(new SpielKonfiguration(4, 10, false));
+            assertEquals(10 * 9 * 8 * 7, alle.size());
+            for (SpielKombination cur : alle) {
+                final Set<Integer> farben = new HashSet<Integer>();
+                for (int i = 0; i < cur.getSpielSteineCount(); i++) {
+                    farben.add(cur.getFarbe(i));
+                }
+                assertEquals(cur.getSpielSteineCount(), farben.size());
+            }
+        }
     }
 
     /**
@@ -2,6 +2,7 @@ package org.hitzemann.mms.model;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Random;
@@ -164,6 +165,45 @@ public class ErgebnisKombinationTest {
         }
     }
 
+    /**
+     * Testet, ob die Codes aller Ergebnisse bis {@link #MAX_PINS} eindeutig und dicht sind, und ob
+     * {@link ErgebnisKombination#valueOf(int)} das passende Ergebnis liefert.
+     */
+    @Test
+    public final void testCodes() {
+        final boolean[] belegt = new boolean[ErgebnisKombination.getAnzahlCodes(MAX_PINS)];
+        for (int schwarz = 0; schwarz <= MAX_PINS; schwarz++) {
+            for (int weiss = 0; schwarz + weiss <= MAX_PINS; weiss++) {
+                final ErgebnisKombination a = new ErgebnisKombination(schwarz, weiss);
+                final int code = a.getCode();
+                assertFalse("code " + code + " used twice", belegt[code]);
+                belegt[code] = true;
+                assertTrue("code of " + a + " too large", code < ErgebnisKombination.getAnzahlCodes(schwarz + weiss));
+                assertEquals(a, ErgebnisKombination.valueOf(code));
+                assertEquals(a, ErgebnisKombination.valueOf(schwarz, weiss));
+            }
+        }
+    }
+
+    /**
+     * Testet, ob {@link ErgebnisKombination#valueOf(int, int)} für kleine Ergebnisse kanonische Instanzen liefert.
+     */
+    @Test
+    public final void testValueOfKanonisch() {
+        assertSame(ErgebnisKombination.valueOf(2, 1), ErgebnisKombination.valueOf(2, 1));
+        assertSame(ErgebnisKombination.valueOf(2, 1), ErgebnisKombination.valueOf(new ErgebnisKombination(2, 1)
+                .getCode()));
+    }
+
+    /**
+     * Testet, ob {@link ErgebnisKombination#valueOf(int)} für einen negativen Code eine
+     * {@link IllegalArgumentException} wirft.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public final void testValueOfNegativ() {
+        ErgebnisKombination.valueOf(-1);
+    }
+
     /**
      * Tested {@link ErgebnisKombination#toString()}.
      */
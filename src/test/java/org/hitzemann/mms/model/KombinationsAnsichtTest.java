@@ -0,0 +1,104 @@
+package org.hitzemann.mms.model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests für {@link KombinationsAnsicht}.
+ * 
+ * @author chschu
+ */
+public final class KombinationsAnsichtTest {
+
+    /**
+     * Test dass die Sicht für die klassische Variante genau die Kombinationen des {@link KombinationsRaum}s liefert.
+     */
+    @Test
+    public void testWieRaum() {
+        pruefeWieRaum(new SpielKonfiguration(4));
+    }
+
+    /**
+     * Test dass die Sicht für eine Variante ohne Duplikate genau die gültigen Kombinationen des
+     * {@link KombinationsRaum}s liefert.
+     */
+    @Test
+    public void testOhneDuplikateWieRaum() {
+        pruefeWieRaum(new SpielKonfiguration(3, 8, false));
+        pruefeWieRaum(new SpielKonfiguration(4, 4, false));
+    }
+
+    /**
+     * Test dass die Teilsichten zusammen die ganze Sicht ergeben.
+     */
+    @Test
+    public void testTeile() {
+        final KombinationsAnsicht underTest = new KombinationsAnsicht(new SpielKonfiguration(3, 7, false));
+        final List<KombinationsAnsicht> teile = underTest.teile(4);
+        assertEquals(4, teile.size());
+        final List<SpielKombination> zusammen = new ArrayList<SpielKombination>();
+        for (KombinationsAnsicht teil : teile) {
+            zusammen.addAll(teil);
+        }
+        assertEquals(underTest, zusammen);
+        final int versatz = teile.get(0).size();
+        assertEquals(underTest.subList(60, 70), teile.get(1).subList(60 - versatz, 70 - versatz));
+    }
+
+    /**
+     * Test dass nicht mehr Teilsichten als Kombinationen geliefert werden.
+     */
+    @Test
+    public void testTeileKlein() {
+        assertEquals(6, new KombinationsAnsicht(new SpielKonfiguration(1)).teile(10).size());
+    }
+
+    /**
+     * Test dass für große Räume kein {@link KombinationsRaum} benötigt wird.
+     */
+    @Test
+    public void testGross() {
+        final KombinationsAnsicht underTest = new KombinationsAnsicht(new SpielKonfiguration(9, 10, true));
+        assertEquals(1000000000, underTest.size());
+        assertEquals(999999999, underTest.getCode(999999999));
+        assertEquals(new SpielKombination(1, 2, 3, 4, 5, 6, 7, 8, 9), underTest.get(12345678));
+    }
+
+    /**
+     * Test für die zu werfende {@link IllegalArgumentException}, wenn die Codes ohne Duplikate nicht in ein int passen.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCodesZuGross() {
+        // nur 16 * 15 * ... * 9 Kombinationen, aber Codes bis 16^8
+        new KombinationsAnsicht(new SpielKonfiguration(8, 16, false));
+    }
+
+    /**
+     * Test für die bei einem Index außerhalb der Sicht zu werfende {@link IndexOutOfBoundsException}.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexAusserhalb() {
+        new KombinationsAnsicht(new SpielKonfiguration(2)).subList(5, 10).get(5);
+    }
+
+    /**
+     * Prüft, dass die Sicht für eine Konfiguration genau die gültigen Kombinationen des {@link KombinationsRaum}s mit
+     * den gleichen Codes liefert.
+     * 
+     * @param konfiguration
+     *            Die Konfiguration.
+     */
+    private static void pruefeWieRaum(final SpielKonfiguration konfiguration) {
+        final KombinationsRaum raum = KombinationsRaum.getInstance(konfiguration);
+        final KombinationsAnsicht underTest = new KombinationsAnsicht(konfiguration);
+        assertEquals(raum.getAlle(), underTest);
+        for (int i = 0; i < underTest.size(); i++) {
+            assertEquals(raum.getCode(raum.getAlle().get(i)), underTest.getCode(i));
+            assertEquals(underTest.getCode(i), raum.getCode(underTest.get(i)));
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package org.hitzemann.mms.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Tests für {@link KombinationsMenge}.
+ * 
+ * @author chschu
+ */
+public final class KombinationsMengeTest {
+
+    /**
+     * Der verwendete Raum.
+     */
+    private final KombinationsRaum raum = KombinationsRaum.getInstance(4);
+
+    /**
+     * Test für Einfügen, Entfernen und Enthaltensein über Codes, auch über Wortgrenzen hinweg.
+     */
+    @Test
+    public void testCodes() {
+        final KombinationsMenge underTest = new KombinationsMenge(raum);
+        assertTrue(underTest.isEmpty());
+        assertEquals(-1, underTest.naechsterCode(0));
+
+        assertTrue(underTest.fuegeCodeHinzu(63));
+        assertTrue(underTest.fuegeCodeHinzu(64));
+        assertTrue(underTest.fuegeCodeHinzu(1295));
+        assertFalse(underTest.fuegeCodeHinzu(64));
+        assertEquals(3, underTest.size());
+
+        assertEquals(63, underTest.naechsterCode(0));
+        assertEquals(64, underTest.naechsterCode(64));
+        assertEquals(1295, underTest.naechsterCode(65));
+        assertEquals(-1, underTest.naechsterCode(1296));
+
+        assertTrue(underTest.entferneCode(64));
+        assertFalse(underTest.entferneCode(64));
+        assertFalse(underTest.enthaeltCode(64));
+        assertTrue(underTest.enthaeltCode(63));
+        assertEquals(2, underTest.size());
+    }
+
+    /**
+     * Test dass sich die Menge wie ein {@link HashSet} mit den gleichen Elementen verhält.
+     */
+    @Test
+    public void testWieHashSet() {
+        final KombinationsMenge underTest = new KombinationsMenge(raum);
+        final Set<SpielKombination> referenz = new HashSet<SpielKombination>();
+        for (int code = 0; code < raum.getGroesse(); code += 7) {
+            // nicht internierte Kombinationen müssen genauso funktionieren
+            final SpielKombination interniert = raum.getKombination(code);
+            final int[] werte = new int[raum.getPins()];
+            for (int i = 0; i < werte.length; i++) {
+                werte[i] = interniert.getFarbe(i) + 1;
+            }
+            final SpielKombination kombination = new SpielKombination(werte);
+            assertTrue(underTest.add(kombination));
+            referenz.add(kombination);
+        }
+
+        assertEquals(referenz, underTest);
+        assertEquals(underTest, referenz);
+        assertEquals(referenz.hashCode(), underTest.hashCode());
+        assertTrue(underTest.contains(new SpielKombination(1, 1, 1, 1)));
+        assertFalse(underTest.contains(new SpielKombination(1, 1, 1, 2)));
+        assertFalse(underTest.contains(new SpielKombination(1, 1, 1)));
+        assertFalse(underTest.contains("foo"));
+    }
+
+    /**
+     * Test dass die Iteration die internierten Kombinationen in aufsteigender Reihenfolge liefert, und dass
+     * {@link Iterator#remove()} funktioniert.
+     */
+    @Test
+    public void testIterator() {
+        final KombinationsMenge underTest = new KombinationsMenge(raum);
+        underTest.addAll(raum.getAlle());
+
+        final List<SpielKombination> gelesen = new ArrayList<SpielKombination>();
+        for (final Iterator<SpielKombination> i = underTest.iterator(); i.hasNext();) {
+            final SpielKombination kombination = i.next();
+            gelesen.add(kombination);
+            if (raum.getCode(kombination) % 2 == 1) {
+                i.remove();
+            }
+        }
+
+        assertEquals(raum.getAlle(), gelesen);
+        assertSame(raum.getKombination(0), underTest.iterator().next());
+        assertEquals(raum.getGroesse() / 2, underTest.size());
+        for (SpielKombination kombination : underTest) {
+            assertEquals(0, raum.getCode(kombination) % 2);
+        }
+    }
+
+    /**
+     * Test dass Kopien unabhängig vom Original sind, aber gleich bleiben bis eines verändert wird.
+     */
+    @Test
+    public void testKopie() {
+        final KombinationsMenge original = new KombinationsMenge(raum);
+        original.fuegeCodeHinzu(17);
+        original.fuegeCodeHinzu(42);
+
+        final KombinationsMenge kopie = new KombinationsMenge(original);
+        assertEquals(original, kopie);
+        assertEquals(original.hashCode(), kopie.hashCode());
+
+        kopie.entferneCode(17);
+        assertFalse(original.equals(kopie));
+        assertTrue(original.enthaeltCode(17));
+        assertEquals(2, original.size());
+        assertEquals(1, kopie.size());
+    }
+
+    /**
+     * Test dass der Fingerabdruck nur von den enthaltenen Codes und vom Raum abhängt.
+     */
+    @Test
+    public void testFingerabdruck() {
+        final KombinationsMenge menge1 = new KombinationsMenge(raum);
+        menge1.fuegeCodeHinzu(5);
+        menge1.fuegeCodeHinzu(700);
+        final KombinationsMenge menge2 = new KombinationsMenge(raum);
+        menge2.fuegeCodeHinzu(700);
+        menge2.fuegeCodeHinzu(3);
+        menge2.fuegeCodeHinzu(5);
+        assertFalse(menge1.getFingerabdruck().equals(menge2.getFingerabdruck()));
+
+        menge2.entferneCode(3);
+        assertEquals(menge1.getFingerabdruck(), menge2.getFingerabdruck());
+
+        // gleiche Codes in einem anderen Raum
+        final KombinationsMenge menge3 = new KombinationsMenge(KombinationsRaum.getInstance(5));
+        menge3.fuegeCodeHinzu(5);
+        menge3.fuegeCodeHinzu(700);
+        assertFalse(menge1.getFingerabdruck().equals(menge3.getFingerabdruck()));
+
+        // leere Mengen verschiedener Räume
+        assertFalse(new KombinationsMenge(raum).getFingerabdruck().equals(
+                new KombinationsMenge(KombinationsRaum.getInstance(5)).getFingerabdruck()));
+    }
+
+    /**
+     * Test dass Hash-Code und Fingerabdruck nach beliebigen Änderungen mit denen einer neu aufgebauten Menge und dem
+     * Hash-Code eines {@link HashSet} übereinstimmen.
+     */
+    @Test
+    public void testFortgeschriebeneSchluessel() {
+        final KombinationsMenge menge = new KombinationsMenge(raum);
+        menge.addAll(raum.getAlle());
+        for (int code = 0; code < raum.getGroesse(); code += 3) {
+            menge.entferneCode(code);
+        }
+        for (final Iterator<SpielKombination> i = menge.iterator(); i.hasNext();) {
+            if (raum.getCode(i.next()) % 5 == 0) {
+                i.remove();
+            }
+        }
+        menge.fuegeCodeHinzu(0);
+        assertSchluesselWieNeu(menge);
+
+        final Fingerabdruck fingerabdruck = menge.getFingerabdruck();
+        assertSame(fingerabdruck, menge.getFingerabdruck());
+        menge.entferneCode(0);
+        assertFalse(fingerabdruck.equals(menge.getFingerabdruck()));
+        assertSchluesselWieNeu(menge);
+
+        menge.clear();
+        assertSchluesselWieNeu(menge);
+        assertEquals(new KombinationsMenge(raum).getFingerabdruck(), menge.getFingerabdruck());
+    }
+
+    /**
+     * Prüft Hash-Code und Fingerabdruck gegen eine neu in aufsteigender Reihenfolge aufgebaute Menge.
+     * 
+     * @param menge
+     *            Die zu prüfende Menge.
+     */
+    private void assertSchluesselWieNeu(final KombinationsMenge menge) {
+        final KombinationsMenge neu = new KombinationsMenge(raum);
+        for (int code = menge.naechsterCode(0); code >= 0; code = menge.naechsterCode(code + 1)) {
+            neu.fuegeCodeHinzu(code);
+        }
+        assertEquals(new HashSet<SpielKombination>(menge).hashCode(), menge.hashCode());
+        assertEquals(neu.hashCode(), menge.hashCode());
+        assertEquals(neu.getFingerabdruck(), menge.getFingerabdruck());
+    }
+}
@@ -0,0 +1,113 @@
+package org.hitzemann.mms.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests für {@link KombinationsRaum}.
+ * 
+ * @author chschu
+ */
+public final class KombinationsRaumTest {
+
+    /**
+     * Test dass Instanzen pro Pin-Anzahl gemeinsam verwendet werden.
+     */
+    @Test
+    public void testGetInstanceGemeinsam() {
+        assertSame(KombinationsRaum.getInstance(3), KombinationsRaum.getInstance(3));
+    }
+
+    /**
+     * Test für die bei negativem Parameter zu werfende {@link IllegalArgumentException}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeGroesse() {
+        KombinationsRaum.getInstance(-1);
+    }
+
+    /**
+     * Test für die bei zu großem Raum zu werfende {@link IllegalArgumentException}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testZuGross() {
+        KombinationsRaum.getInstance(12);
+    }
+
+    /**
+     * Test dass die Codes dicht sind und der Sortierung der Kombinationen entsprechen.
+     */
+    @Test
+    public void testCodesAufsteigend() {
+        final KombinationsRaum raum = KombinationsRaum.getInstance(4);
+        final List<SpielKombination> alle = raum.getAlle();
+        assertEquals(1296, raum.getGroesse());
+        assertEquals(raum.getGroesse(), alle.size());
+        for (int code = 0; code < raum.getGroesse(); code++) {
+            final SpielKombination kombination = raum.getKombination(code);
+            assertSame(kombination, alle.get(code));
+            assertEquals(code, raum.getCode(kombination));
+            if (code > 0) {
+                assertTrue(kombination.compareTo(raum.getKombination(code - 1)) > 0);
+            }
+        }
+    }
+
+    /**
+     * Test dass auch für nicht internierte Kombinationen der richtige Code berechnet wird.
+     */
+    @Test
+    public void testCodeNichtInterniert() {
+        final KombinationsRaum raum = KombinationsRaum.getInstance(4);
+        final SpielKombination kombination = new SpielKombination(2, 1, 6, 3);
+        final int code = raum.getCode(kombination);
+        assertEquals(((1 * 6 + 0) * 6 + 5) * 6 + 2, code);
+        assertEquals(kombination, raum.getKombination(code));
+    }
+
+    /**
+     * Test dass internierte Kombinationen eines anderen Raums nicht mit ihrem fremden Code verwendet werden.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCodeFalscheLaenge() {
+        KombinationsRaum.getInstance(4).getCode(KombinationsRaum.getInstance(3).getKombination(5));
+    }
+
+    /**
+     * Test dass die klassische Konfiguration denselben Raum liefert wie die Pin-Anzahl.
+     */
+    @Test
+    public void testGetInstanceKonfiguration() {
+        assertSame(KombinationsRaum.getInstance(3), KombinationsRaum.getInstance(new SpielKonfiguration(3, 6, true)));
+    }
+
+    /**
+     * Test dass ohne Duplikate alle Codes erhalten bleiben, aber nur gültige Kombinationen geliefert werden.
+     */
+    @Test
+    public void testOhneDuplikate() {
+        final KombinationsRaum raum = KombinationsRaum.getInstance(new SpielKonfiguration(3, 8, false));
+        assertEquals(512, raum.getGroesse());
+        assertEquals(336, raum.getAnzahlGueltige());
+        assertEquals(raum.getAnzahlGueltige(), raum.getAlle().size());
+        assertTrue(raum.istGueltig(raum.getCode(new SpielKombination(1, 7, 8))));
+        assertFalse(raum.istGueltig(raum.getCode(new SpielKombination(8, 2, 8))));
+        for (SpielKombination kombination : raum.getAlle()) {
+            assertTrue(raum.istGueltig(raum.getCode(kombination)));
+        }
+    }
+
+    /**
+     * Test für die bei einer Farbe außerhalb des Raums zu werfende {@link IllegalArgumentException}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCodeZuGrosseFarbe() {
+        KombinationsRaum.getInstance(3).getCode(new SpielKombination(1, 7, 2));
+    }
+}
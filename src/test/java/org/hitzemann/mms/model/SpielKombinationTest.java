@@ -121,4 +121,39 @@ public final class SpielKombinationTest {
 
         assertEquals("Constructors do not generate same objects a = " + a + ", b= " + b, a, b);
     }
+
+    /**
+     * Test für die vorberechneten Häufigkeiten der Farben, auch für Farben außerhalb von {@link SpielStein} und die
+     * Instanzen eines {@link KombinationsRaum}s.
+     */
+    @Test
+    public void testFarbHaeufigkeiten() {
+        final SpielKombination kombination = new SpielKombination(2, 9, 2, 4);
+        assertEquals(8, kombination.getHoechsteFarbe());
+        assertEquals(0, kombination.getFarbHaeufigkeit(0));
+        assertEquals(2, kombination.getFarbHaeufigkeit(1));
+        assertEquals(1, kombination.getFarbHaeufigkeit(3));
+        assertEquals(1, kombination.getFarbHaeufigkeit(8));
+
+        assertEquals(-1, new SpielKombination(new int[0]).getHoechsteFarbe());
+
+        final SpielKombination ausRaum = KombinationsRaum.getInstance(4).getKombination(7);
+        assertEquals(1, ausRaum.getHoechsteFarbe());
+        assertEquals(2, ausRaum.getFarbHaeufigkeit(0));
+        assertEquals(2, ausRaum.getFarbHaeufigkeit(1));
+    }
+
+    /**
+     * Test für die gepackten Farben und Häufigkeiten.
+     */
+    @Test
+    public void testGepackteWoerter() {
+        final SpielKombination kombination = new SpielKombination(2, 9, 2, 4);
+        assertEquals(0x3181L, kombination.getFarbWort());
+        assertEquals(0x100001020L, kombination.getHaeufigkeitsWort());
+
+        final SpielKombination zuGross = new SpielKombination(1, 17);
+        assertEquals(0L, zuGross.getFarbWort());
+        assertEquals(0L, zuGross.getHaeufigkeitsWort());
+    }
 }
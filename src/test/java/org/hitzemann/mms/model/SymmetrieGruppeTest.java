@@ -0,0 +1,131 @@
+package org.hitzemann.mms.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests für {@link SymmetrieGruppe}.
+ * 
+ * @author chschu
+ */
+public final class SymmetrieGruppeTest {
+
+    /**
+     * Die Standard-Konfiguration mit 4 Pins.
+     */
+    private final SpielKonfiguration konfiguration = new SpielKonfiguration(4);
+
+    /**
+     * Alle Kombinationen der Standard-Konfiguration, aufsteigend sortiert.
+     */
+    private final List<SpielKombination> alle = KombinationsRaum.getInstance(4).getAlle();
+
+    /**
+     * Test dass die volle Gruppe alle Vertauschungen der Positionen und Farben enthält und nur die 5 bekannten
+     * Repräsentanten 1111, 1112, 1122, 1123 und 1234 übrig bleiben.
+     */
+    @Test
+    public void testVolleGruppe() {
+        final SymmetrieGruppe gruppe = new SymmetrieGruppe(konfiguration);
+        assertEquals(24 * 720, gruppe.getAnzahlElemente());
+        assertFalse(gruppe.isTrivial());
+        final List<SpielKombination> repraesentanten = gruppe.reduziere(alle);
+        assertEquals(5, repraesentanten.size());
+        assertSame(alle.get(0), repraesentanten.get(0));
+        assertSame(alle.get(1), repraesentanten.get(1));
+        assertSame(alle.get(7), repraesentanten.get(2));
+        assertSame(alle.get(8), repraesentanten.get(3));
+        assertSame(alle.get(51), repraesentanten.get(4));
+    }
+
+    /**
+     * Test für die Untergruppe nach dem Zug 1122. Es bleiben die Vertauschungen innerhalb der beiden Hälften, das
+     * Tauschen der Hälften zusammen mit den Farben 1 und 2 sowie alle Vertauschungen der 4 freien Farben.
+     */
+    @Test
+    public void testFixiere() {
+        final SymmetrieGruppe gruppe = new SymmetrieGruppe(konfiguration).fixiere(alle.get(7));
+        assertEquals(8 * 24, gruppe.getAnzahlElemente());
+        assertTrue(gruppe.istRepraesentant(alle.get(7)));
+        // 1121 ist das Bild von 1112 nach Vertauschen der hinteren Positionen
+        assertFalse(gruppe.istRepraesentant(alle.get(6)));
+        assertTrue(gruppe.istRepraesentant(alle.get(1)));
+        // 1132 ist das Bild von 1123 nach Vertauschen der hinteren Positionen
+        assertFalse(gruppe.istRepraesentant(alle.get(2 * 6 + 1)));
+        assertTrue(gruppe.istRepraesentant(alle.get(8)));
+        int anzahl = 0;
+        for (SpielKombination kombination : alle) {
+            if (gruppe.istRepraesentant(kombination)) {
+                anzahl++;
+            }
+        }
+        assertEquals(anzahl, gruppe.reduziere(alle).size());
+        assertTrue(anzahl < alle.size() / 8);
+    }
+
+    /**
+     * Test für die größte Kombination einer Klasse, in der vollen Gruppe und nach dem Zug 1122.
+     */
+    @Test
+    public void testGroesstesBild() {
+        final SymmetrieGruppe gruppe = new SymmetrieGruppe(konfiguration);
+        // 1122 wird zu 6655
+        assertSame(alle.get(((5 * 6 + 5) * 6 + 4) * 6 + 4), gruppe.groesstesBild(alle.get(7)));
+        // 1234 wird zu 6543
+        assertSame(alle.get(((5 * 6 + 4) * 6 + 3) * 6 + 2), gruppe.groesstesBild(alle.get(51)));
+        // nach 1122 wird 1112 durch Tausch der Hälften und der Farben 1 und 2 zu 2122
+        assertSame(alle.get(((1 * 6 + 0) * 6 + 1) * 6 + 1), gruppe.fixiere(alle.get(7)).groesstesBild(alle.get(1)));
+        final SymmetrieGruppe triviale = SymmetrieGruppe.erzeugeTriviale(konfiguration);
+        assertSame(alle.get(7), triviale.groesstesBild(alle.get(7)));
+    }
+
+    /**
+     * Test dass Gruppen mit gleichen Symmetrien gleich sind, auch wenn sie getrennt erzeugt wurden.
+     */
+    @Test
+    public void testEquals() {
+        final SymmetrieGruppe gruppe = new SymmetrieGruppe(konfiguration);
+        assertEquals(gruppe.fixiere(alle.get(7)), gruppe.fixiere(alle.get(7)));
+        assertEquals(gruppe.fixiere(alle.get(7)).hashCode(), gruppe.fixiere(alle.get(7)).hashCode());
+        assertFalse(gruppe.fixiere(alle.get(7)).equals(gruppe.fixiere(alle.get(8))));
+        assertFalse(gruppe.fixiere(alle.get(7)).equals(SymmetrieGruppe.erzeugeTriviale(konfiguration)));
+    }
+
+    /**
+     * Test dass eine Kandidatenmenge ohne bekannte Züge nur mit der trivialen Gruppe reduziert wird.
+     */
+    @Test
+    public void testFuerKandidaten() {
+        final SymmetrieGruppe gruppe = new SymmetrieGruppe(konfiguration);
+        assertSame(gruppe, gruppe.fuerKandidaten(alle.size()));
+        assertTrue(gruppe.fuerKandidaten(alle.size() - 1).isTrivial());
+        final SymmetrieGruppe fixiert = gruppe.fixiere(alle.get(0));
+        assertSame(fixiert, fixiert.fuerKandidaten(1));
+    }
+
+    /**
+     * Test dass die triviale Gruppe keine Kombination entfernt.
+     */
+    @Test
+    public void testTriviale() {
+        final SymmetrieGruppe gruppe = SymmetrieGruppe.erzeugeTriviale(konfiguration);
+        assertTrue(gruppe.isTrivial());
+        assertEquals(1, gruppe.getAnzahlElemente());
+        assertSame(alle, gruppe.reduziere(alle));
+        assertSame(gruppe, gruppe.fixiere(alle.get(7)));
+    }
+
+    /**
+     * Test für die bei falscher Länge zu werfende {@link IllegalArgumentException}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testFixiereFalscheLaenge() {
+        new SymmetrieGruppe(konfiguration).fixiere(KombinationsRaum.getInstance(3).getKombination(0));
+    }
+}
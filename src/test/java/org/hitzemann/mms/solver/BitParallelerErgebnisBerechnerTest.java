@@ -0,0 +1,102 @@
+package org.hitzemann.mms.solver;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielKonfiguration;
+import org.hitzemann.mms.model.SpielStein;
+import org.junit.Test;
+
+/**
+ * Tests für {@link BitParallelerErgebnisBerechner}.
+ * 
+ * @author chschu
+ */
+public final class BitParallelerErgebnisBerechnerTest {
+
+    /**
+     * Test dass für alle Paare von Kombinationen der Standard-Konfiguration das gleiche Ergebnis wie bei
+     * {@link LinearerErgebnisBerechner} geliefert wird.
+     */
+    @Test
+    public void testAllePaare() {
+        final IErgebnisBerechnung referenz = new LinearerErgebnisBerechner();
+        final IErgebnisBerechnung underTest = new BitParallelerErgebnisBerechner();
+        final KombinationsRaum raum = KombinationsRaum.getInstance(4);
+        for (SpielKombination geheim : raum.getAlle()) {
+            for (SpielKombination geraten : raum.getAlle()) {
+                assertEquals(referenz.berechneErgebnisCode(geheim, geraten),
+                        underTest.berechneErgebnisCode(geheim, geraten));
+            }
+        }
+    }
+
+    /**
+     * Test dass für zufällige Paare mit 6 Pins und 9 Farben das gleiche Ergebnis wie bei
+     * {@link LinearerErgebnisBerechner} geliefert wird.
+     */
+    @Test
+    public void testSechsPinsNeunFarben() {
+        final SpielKonfiguration konfiguration = new SpielKonfiguration(6, 9, true);
+        final IErgebnisBerechnung referenz = new LinearerErgebnisBerechner(konfiguration);
+        final IErgebnisBerechnung underTest = new BitParallelerErgebnisBerechner(konfiguration);
+        final KombinationsRaum raum = KombinationsRaum.getInstance(konfiguration);
+        final Random random = new Random(1);
+        for (int i = 0; i < 100000; i++) {
+            final SpielKombination geheim = raum.getKombination(random.nextInt(raum.getGroesse()));
+            final SpielKombination geraten = raum.getKombination(random.nextInt(raum.getGroesse()));
+            assertEquals(referenz.berechneErgebnisCode(geheim, geraten),
+                    underTest.berechneErgebnisCode(geheim, geraten));
+        }
+    }
+
+    /**
+     * Test mit der größten unterstützten Konfiguration, bei der alle 4-Bit-Gruppen belegt sind.
+     */
+    @Test
+    public void testGroessteKonfiguration() {
+        final SpielKonfiguration konfiguration = new SpielKonfiguration(15, 16, true);
+        final IErgebnisBerechnung underTest = new BitParallelerErgebnisBerechner(konfiguration);
+        final SpielKombination geheim = new SpielKombination(16, 16, 16, 16, 16, 16, 16, 16, 16, 16, 16, 16, 16, 16,
+                16);
+        assertEquals(new ErgebnisKombination(15, 0), underTest.berechneErgebnis(geheim, geheim));
+        final SpielKombination geraten = new SpielKombination(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 16);
+        assertEquals(new ErgebnisKombination(1, 0), underTest.berechneErgebnis(geheim, geraten));
+        final SpielKombination gedreht = new SpielKombination(16, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14);
+        assertEquals(new ErgebnisKombination(0, 15), underTest.berechneErgebnis(geraten, gedreht));
+    }
+
+    /**
+     * Test für die bei zu großer Konfiguration zu werfende {@link IllegalArgumentException}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testZuVieleFarben() {
+        new BitParallelerErgebnisBerechner(new SpielKonfiguration(4, 17, true));
+    }
+
+    /**
+     * Test mit einer Kombination, die mehr Farben hat als die Konfiguration. Muss eine
+     * {@link IllegalArgumentException} werfen.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testFarbeAusserhalb() {
+        new BitParallelerErgebnisBerechner().berechneErgebnis(new SpielKombination(SpielStein.BLAU),
+                new SpielKombination(7));
+    }
+
+    /**
+     * Test mit zu langen Kombinationen. Muss eine {@link IllegalArgumentException} werfen.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testZuLang() {
+        final int[] werte = new int[SpielKombination.MAX_WORT_STEINE + 1];
+        Arrays.fill(werte, 1);
+        final SpielKombination kombination = new SpielKombination(werte);
+        new BitParallelerErgebnisBerechner().berechneErgebnis(kombination, kombination);
+    }
+}
@@ -164,6 +164,35 @@ public final class ErgebnisBerechnerTest {
         assertEquals(kombinationsGroesse, gesamtSchwarz);
     }
 
+    /**
+     * Test dass {@link IErgebnisBerechnung#berechneErgebnisCode(SpielKombination, SpielKombination)} den Code des von
+     * {@link IErgebnisBerechnung#berechneErgebnis(SpielKombination, SpielKombination)} gelieferten Ergebnisses liefert.
+     */
+    @Test
+    public void testErgebnisCode() {
+        // Deterministischer Zufallszahlengenerator
+        final Random rng = new Random(1);
+
+        final SpielStein[] alleSteine = SpielStein.values();
+
+        for (int i = 0; i < 1000; i++) {
+            final int kombinationsGroesse = rng.nextInt(10);
+
+            // 2 zufällige Kombinationen erzeugen
+            final SpielStein[] kombi1Array = new SpielStein[kombinationsGroesse];
+            final SpielStein[] kombi2Array = new SpielStein[kombinationsGroesse];
+            for (int j = 0; j < kombinationsGroesse; j++) {
+                kombi1Array[j] = alleSteine[rng.nextInt(alleSteine.length)];
+                kombi2Array[j] = alleSteine[rng.nextInt(alleSteine.length)];
+            }
+            final SpielKombination kombi1 = new SpielKombination(kombi1Array);
+            final SpielKombination kombi2 = new SpielKombination(kombi2Array);
+
+            assertEquals(berechner.berechneErgebnis(kombi1, kombi2).getCode(),
+                    berechner.berechneErgebnisCode(kombi1, kombi2));
+        }
+    }
+
     /**
      * Test mit <code>null</code> als geheime Kombination.
      */
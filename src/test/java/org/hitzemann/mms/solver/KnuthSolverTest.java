@@ -0,0 +1,197 @@
+package org.hitzemann.mms.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielKonfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests für {@link KnuthSolver}.
+ * 
+ * @author chschu
+ */
+public final class KnuthSolverTest {
+
+    /**
+     * Die Anzahl der Pins.
+     */
+    private static final int PINS = 3;
+
+    /**
+     * Der Ergebnisberechner.
+     */
+    private final IErgebnisBerechnung berechner = new TabellenErgebnisBerechner(PINS);
+
+    /**
+     * Der Executor für die parallele Bewertung.
+     */
+    private ExecutorService executor;
+
+    /**
+     * Erzeugt den Executor.
+     */
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    /**
+     * Beendet den Executor.
+     */
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Test dass die parallele Bewertung für die in einigen Spielen auftretenden Kandidatenmengen die gleichen
+     * Kombinationen liefert wie die serielle.
+     */
+    @Test
+    public void testParallelGleichSeriell() {
+        final KnuthSolver seriell = new KnuthSolver(berechner, PINS);
+        final KnuthSolver parallel = new KnuthSolver(berechner, PINS, executor);
+        final KombinationsRaum raum = KombinationsRaum.getInstance(PINS);
+
+        for (int geheimCode = 0; geheimCode < raum.getGroesse(); geheimCode += 23) {
+            final SpielKombination geheim = raum.getKombination(geheimCode);
+            final KombinationsMenge kandidaten = new KombinationsMenge(raum);
+            kandidaten.addAll(raum.getAlle());
+            while (kandidaten.size() > 1) {
+                final SpielKombination zug = seriell.errechneBesteKombination(kandidaten);
+                assertEquals(zug, parallel.errechneBesteKombination(kandidaten));
+                final int ergebnisCode = berechner.berechneErgebnisCode(geheim, zug);
+                for (final Iterator<SpielKombination> i = kandidaten.iterator(); i.hasNext();) {
+                    if (berechner.berechneErgebnisCode(i.next(), zug) != ergebnisCode) {
+                        i.remove();
+                    }
+                }
+            }
+            assertEquals(geheim, kandidaten.iterator().next());
+        }
+    }
+
+    /**
+     * Test dass die Bewertung mit Abbruch für die in einigen Spielen auftretenden Kandidatenmengen die kleinste
+     * Kombination mit minimaler WorstCase-Anzahl liefert, die die Kandidaten aufteilt.
+     */
+    @Test
+    public void testGegenVollstaendigeBewertung() {
+        final KnuthSolver solver = new KnuthSolver(berechner, PINS);
+        final PartitionsBewertung bewertung = new PartitionsBewertung(berechner, PINS);
+        final int[] histogramm = bewertung.erzeugeHistogramm();
+        final KombinationsRaum raum = KombinationsRaum.getInstance(PINS);
+
+        for (int geheimCode = 0; geheimCode < raum.getGroesse(); geheimCode += 19) {
+            final SpielKombination geheim = raum.getKombination(geheimCode);
+            final KombinationsMenge kandidaten = new KombinationsMenge(raum);
+            kandidaten.addAll(raum.getAlle());
+            while (kandidaten.size() > 1) {
+                int minWorstCase = kandidaten.size();
+                SpielKombination erwartet = null;
+                for (SpielKombination kombination : raum.getAlle()) {
+                    final int worstCase = bewertung.berechneGroesstePartition(kombination, kandidaten, histogramm);
+                    if (worstCase < minWorstCase) {
+                        minWorstCase = worstCase;
+                        erwartet = kombination;
+                    }
+                }
+                final SpielKombination zug = solver.errechneBesteKombination(kandidaten);
+                assertEquals(erwartet, zug);
+                final int ergebnisCode = berechner.berechneErgebnisCode(geheim, zug);
+                for (final Iterator<SpielKombination> i = kandidaten.iterator(); i.hasNext();) {
+                    if (berechner.berechneErgebnisCode(i.next(), zug) != ergebnisCode) {
+                        i.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Test dass die Reduktion auf Repräsentanten der Symmetrien in einigen Spielen die gleichen Züge liefert wie die
+     * Bewertung aller Kombinationen.
+     */
+    @Test
+    public void testSymmetrie() {
+        final KnuthSolver referenz = new KnuthSolver(berechner, PINS);
+        final KombinationsRaum raum = KombinationsRaum.getInstance(PINS);
+
+        for (int geheimCode = 0; geheimCode < raum.getGroesse(); geheimCode += 17) {
+            final SpielKombination geheim = raum.getKombination(geheimCode);
+            final KnuthSolver solver = new KnuthSolver(berechner, PINS);
+            final KombinationsMenge kandidaten = new KombinationsMenge(raum);
+            kandidaten.addAll(raum.getAlle());
+            SpielKombination zug;
+            do {
+                zug = solver.getNeuerZug();
+                assertEquals(referenz.errechneBesteKombination(kandidaten), zug);
+                final int ergebnisCode = berechner.berechneErgebnisCode(geheim, zug);
+                for (final Iterator<SpielKombination> i = kandidaten.iterator(); i.hasNext();) {
+                    if (berechner.berechneErgebnisCode(i.next(), zug) != ergebnisCode) {
+                        i.remove();
+                    }
+                }
+                solver.setLetzterZug(zug, berechner.berechneErgebnis(geheim, zug));
+            } while (!zug.equals(geheim));
+        }
+    }
+
+    /**
+     * Test dass ein vorgegebener erster Zug nur im eigenen Solver gilt und weder andere Solver mit der gleichen
+     * Strategie noch die Solver mit dem gemeinsamen Cache beeinflusst.
+     */
+    @Test
+    public void testErsterZug() {
+        final KombinationsRaum raum = KombinationsRaum.getInstance(PINS);
+        final SpielKombination ersterZug = raum.getKombination(raum.getGroesse() - 1);
+        final KnuthStrategie strategie = new KnuthStrategie(berechner, new SpielKonfiguration(PINS));
+        final SpielKombination standard = new KnuthSolver(strategie).getNeuerZug();
+        assertFalse(standard.equals(ersterZug));
+
+        final KnuthSolver solver = new KnuthSolver(berechner, PINS, ersterZug);
+        assertEquals(ersterZug, solver.getNeuerZug());
+        assertEquals(standard, new KnuthSolver(berechner, PINS).getNeuerZug());
+        assertEquals(standard, new KnuthSolver(strategie).getNeuerZug());
+
+        // nach dem ersten Zug rät der Solver wieder nach der Strategie
+        final SpielKombination geheim = raum.getKombination(0);
+        solver.setLetzterZug(ersterZug, berechner.berechneErgebnis(geheim, ersterZug));
+        final KombinationsMenge kandidaten = strategie.erzeugeKandidaten();
+        strategie.eliminiere(ersterZug, berechner.berechneErgebnis(geheim, ersterZug), kandidaten);
+        assertEquals(solver.errechneBesteKombination(kandidaten), solver.getNeuerZug());
+    }
+
+    /**
+     * Test dass eine Variante mit mehr Farben und ohne Duplikate für einige geheime Kombinationen gelöst wird und
+     * dabei nur gültige Kombinationen geraten werden.
+     */
+    @Test
+    public void testOhneDuplikate() {
+        final SpielKonfiguration konfiguration = new SpielKonfiguration(PINS, 8, false);
+        final IErgebnisBerechnung konfigurationsBerechner = new LinearerErgebnisBerechner(konfiguration);
+        final KombinationsRaum raum = KombinationsRaum.getInstance(konfiguration);
+
+        for (int i = 0; i < raum.getAnzahlGueltige(); i += 37) {
+            final SpielKombination geheim = raum.getAlle().get(i);
+            final KnuthSolver solver = new KnuthSolver(konfigurationsBerechner, konfiguration);
+            SpielKombination zug;
+            do {
+                zug = solver.getNeuerZug();
+                assertTrue(raum.istGueltig(raum.getCode(zug)));
+                solver.setLetzterZug(zug, konfigurationsBerechner.berechneErgebnis(geheim, zug));
+            } while (!zug.equals(geheim));
+        }
+    }
+}
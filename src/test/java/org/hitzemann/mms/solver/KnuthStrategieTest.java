@@ -0,0 +1,157 @@
+package org.hitzemann.mms.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielKonfiguration;
+import org.junit.Test;
+
+/**
+ * Tests für {@link KnuthStrategie}.
+ * 
+ * @author chschu
+ */
+public final class KnuthStrategieTest {
+
+    /**
+     * Die Anzahl der Pins.
+     */
+    private static final int PINS = 3;
+
+    /**
+     * Der Ergebnisberechner.
+     */
+    private final IErgebnisBerechnung berechner = new TabellenErgebnisBerechner(PINS);
+
+    /**
+     * Test dass alle Spiele mit einer gemeinsamen Strategie gleichzeitig in mehreren Threads die gleichen Züge liefern
+     * wie mit je einem eigenen Solver nacheinander. Der kleine Cache erzwingt dabei häufige Verdrängungen.
+     * 
+     * @throws Exception
+     *             Unerwarteter Fehler.
+     */
+    @Test
+    public void testGleichzeitigeSpiele() throws Exception {
+        final KombinationsRaum raum = KombinationsRaum.getInstance(PINS);
+        final KnuthStrategie strategie = new KnuthStrategie(berechner, new SpielKonfiguration(PINS), null,
+                new ZugCache(10));
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<List<SpielKombination>>> spiele = new ArrayList<Future<List<SpielKombination>>>();
+            for (final SpielKombination geheim : raum.getAlle()) {
+                spiele.add(executor.submit(new Callable<List<SpielKombination>>() {
+                    @Override
+                    public List<SpielKombination> call() {
+                        return spiele(new KnuthSolver(strategie), geheim);
+                    }
+                }));
+            }
+            for (int i = 0; i < raum.getGroesse(); i++) {
+                assertEquals(spiele(new KnuthSolver(berechner, PINS), raum.getKombination(i)), spiele.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(strategie.getCache().size() <= 10);
+    }
+
+    /**
+     * Test dass ein Spiel, das einen anderen als den gelieferten Zug rät, den Präfixbaum der Antworten verlässt und
+     * danach die Züge für seine tatsächliche Kandidatenmenge erhält, auch wenn der Baum für die gleiche Antwort auf
+     * den gelieferten Zug bereits einen Zug kennt.
+     */
+    @Test
+    public void testAbweichenderZug() {
+        final KombinationsRaum raum = KombinationsRaum.getInstance(PINS);
+        final KnuthStrategie strategie = new KnuthStrategie(berechner, new SpielKonfiguration(PINS));
+        final SpielKombination geheim = raum.getKombination(100);
+        spiele(new KnuthSolver(strategie), geheim);
+
+        final KnuthSolver solver = new KnuthSolver(strategie);
+        final SpielKombination geliefert = solver.getNeuerZug();
+        final SpielKombination abweichend = raum.getKombination(raum.getCode(geliefert) + 1);
+        final ErgebnisKombination antwort = berechner.berechneErgebnis(geheim, geliefert);
+        solver.setLetzterZug(abweichend, antwort);
+
+        final KombinationsMenge kandidaten = strategie.erzeugeKandidaten();
+        strategie.eliminiere(abweichend, antwort, kandidaten);
+        assertEquals(strategie.errechneBesteKombination(kandidaten), solver.getNeuerZug());
+    }
+
+    /**
+     * Test dass die gemeinsame Wurzel pro Konfiguration eindeutig ist und nur von Strategien verwendet wird, die sie
+     * übergeben bekommen.
+     */
+    @Test
+    public void testGemeinsameWurzel() {
+        final SpielKonfiguration konfiguration = new SpielKonfiguration(PINS);
+        final KnuthStrategie.Knoten wurzel = KnuthStrategie.gemeinsameWurzel(konfiguration);
+        assertSame(wurzel, KnuthStrategie.gemeinsameWurzel(new SpielKonfiguration(PINS)));
+        assertNotSame(wurzel, KnuthStrategie.gemeinsameWurzel(new SpielKonfiguration(PINS + 1)));
+        assertSame(wurzel, new KnuthStrategie(berechner, konfiguration, null, new ZugCache(1), wurzel).getWurzel());
+        assertNotSame(wurzel, new KnuthStrategie(berechner, konfiguration).getWurzel());
+    }
+
+    /**
+     * Test dass Solver ohne eigene Strategie mit der gemeinsamen Wurzel die gleichen Züge liefern wie mit einer
+     * eigenen Strategie.
+     */
+    @Test
+    public void testGemeinsamerBaum() {
+        final SpielKonfiguration konfiguration = new SpielKonfiguration(PINS);
+        final KombinationsRaum raum = KombinationsRaum.getInstance(konfiguration);
+        for (SpielKombination geheim : raum.getAlle()) {
+            assertEquals(spiele(new KnuthSolver(new KnuthStrategie(berechner, konfiguration)), geheim),
+                    spiele(new KnuthSolver(berechner, konfiguration), geheim));
+        }
+    }
+
+    /**
+     * Test mit einer Konfiguration ohne Pins. Muss eine {@link IllegalArgumentException} werfen.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testKeinePinsGemeinsameWurzel() {
+        KnuthStrategie.gemeinsameWurzel(new SpielKonfiguration(0));
+    }
+
+    /**
+     * Test für die bei ungültiger Pin-Anzahl zu werfende {@link IllegalArgumentException}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testKeinePins() {
+        new KnuthStrategie(berechner, new SpielKonfiguration(0));
+    }
+
+    /**
+     * Spielt ein Spiel bis zum Erraten der geheimen Kombination.
+     * 
+     * @param solver
+     *            Der Solver.
+     * @param geheim
+     *            Die geheime Kombination.
+     * @return Die geratenen Kombinationen.
+     */
+    private List<SpielKombination> spiele(final KnuthSolver solver, final SpielKombination geheim) {
+        final List<SpielKombination> zuege = new ArrayList<SpielKombination>();
+        SpielKombination zug;
+        do {
+            zug = solver.getNeuerZug();
+            zuege.add(zug);
+            solver.setLetzterZug(zug, berechner.berechneErgebnis(geheim, zug));
+        } while (!zug.equals(geheim));
+        return zuege;
+    }
+}
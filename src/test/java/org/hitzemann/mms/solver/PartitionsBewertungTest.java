@@ -0,0 +1,114 @@
+package org.hitzemann.mms.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.junit.Test;
+
+/**
+ * Tests für {@link PartitionsBewertung}.
+ * 
+ * @author chschu
+ */
+public final class PartitionsBewertungTest {
+
+    /**
+     * Der Ergebnisberechner.
+     */
+    private final IErgebnisBerechnung berechner = new LinearerErgebnisBerechner();
+
+    /**
+     * Test dass das Histogramm mit einzeln gezählten Ergebnissen übereinstimmt, und dass ein gebrauchter Puffer
+     * vorher geleert wird.
+     */
+    @Test
+    public void testHistogramm() {
+        final PartitionsBewertung underTest = new PartitionsBewertung(berechner, 3);
+        final List<SpielKombination> kandidaten = KombinationsRaum.getInstance(3).getAlle();
+        final SpielKombination geraten = new SpielKombination(1, 1, 2);
+        final int[] histogramm = underTest.erzeugeHistogramm();
+        Arrays.fill(histogramm, 42);
+
+        underTest.berechneHistogramm(geraten, kandidaten, histogramm);
+
+        int summe = 0;
+        for (int code = 0; code < histogramm.length; code++) {
+            int erwartet = 0;
+            for (SpielKombination geheim : kandidaten) {
+                if (berechner.berechneErgebnis(geheim, geraten).equals(ErgebnisKombination.valueOf(code))) {
+                    erwartet++;
+                }
+            }
+            assertEquals(erwartet, histogramm[code]);
+            summe += histogramm[code];
+        }
+        assertEquals(kandidaten.size(), summe);
+    }
+
+    /**
+     * Test dass die Aufteilung der Kandidaten zum Histogramm passt und jeder Kandidat in der Partition seines
+     * Ergebnisses liegt.
+     */
+    @Test
+    public void testTeileAuf() {
+        final PartitionsBewertung underTest = new PartitionsBewertung(berechner, 3);
+        final KombinationsRaum raum = KombinationsRaum.getInstance(3);
+        final KombinationsMenge kandidaten = new KombinationsMenge(raum);
+        kandidaten.addAll(raum.getAlle());
+        final SpielKombination geraten = new SpielKombination(1, 1, 2);
+
+        final KombinationsMenge[] partitionen = underTest.teileAuf(geraten, kandidaten);
+
+        final int[] histogramm = underTest.berechneHistogramm(geraten, kandidaten, underTest.erzeugeHistogramm());
+        assertEquals(histogramm.length, partitionen.length);
+        for (int code = 0; code < histogramm.length; code++) {
+            if (histogramm[code] == 0) {
+                assertNull(partitionen[code]);
+            } else {
+                assertEquals(histogramm[code], partitionen[code].size());
+                for (SpielKombination geheim : partitionen[code]) {
+                    assertEquals(code, berechner.berechneErgebnisCode(geheim, geraten));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test für größte Partition und Anzahl der Partitionen, mit dem bekannten Wert für Knuth's ersten Zug.
+     */
+    @Test
+    public void testPartitionen() {
+        final PartitionsBewertung underTest = new PartitionsBewertung(berechner, 4);
+        final List<SpielKombination> kandidaten = KombinationsRaum.getInstance(4).getAlle();
+        final SpielKombination geraten = new SpielKombination(1, 1, 2, 2);
+        final int[] histogramm = underTest.erzeugeHistogramm();
+
+        assertEquals(256, underTest.berechneGroesstePartition(geraten, kandidaten, histogramm));
+        // außer (3,1) ist für diese Kombination auch (1,3) unmöglich
+        assertEquals(13, underTest.berechneAnzahlPartitionen(geraten, kandidaten, histogramm));
+    }
+
+    /**
+     * Test dass die größte Partition mit Schranke exakt ist, solange sie unter der Schranke liegt, und ansonsten
+     * mindestens die Schranke liefert.
+     */
+    @Test
+    public void testGroesstePartitionMitSchranke() {
+        final PartitionsBewertung underTest = new PartitionsBewertung(berechner, 4);
+        final List<SpielKombination> kandidaten = KombinationsRaum.getInstance(4).getAlle();
+        final SpielKombination geraten = new SpielKombination(1, 1, 2, 2);
+        final int[] histogramm = underTest.erzeugeHistogramm();
+
+        assertEquals(256, underTest.berechneGroesstePartition(geraten, kandidaten, histogramm, 257));
+        assertEquals(256, underTest.berechneGroesstePartition(geraten, kandidaten, histogramm, 256));
+        assertEquals(100, underTest.berechneGroesstePartition(geraten, kandidaten, histogramm, 100));
+        assertEquals(1, underTest.berechneGroesstePartition(geraten, kandidaten, histogramm, 0));
+    }
+}
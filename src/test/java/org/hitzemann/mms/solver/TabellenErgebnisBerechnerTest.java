@@ -0,0 +1,128 @@
+package org.hitzemann.mms.solver;
+
+import static org.junit.Assert.assertEquals;
+
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielKonfiguration;
+import org.hitzemann.mms.model.SpielStein;
+import org.junit.Test;
+
+/**
+ * Tests für {@link TabellenErgebnisBerechner}.
+ * 
+ * @author chschu
+ */
+public final class TabellenErgebnisBerechnerTest {
+
+    /**
+     * Die Referenzimplementierung.
+     */
+    private final IErgebnisBerechnung referenz = new LinearerErgebnisBerechner();
+
+    /**
+     * Test dass für alle Paare von Kombinationen das gleiche Ergebnis wie bei {@link LinearerErgebnisBerechner}
+     * geliefert wird.
+     */
+    @Test
+    public void testAllePaare() {
+        for (int pins = 0; pins <= 3; pins++) {
+            final IErgebnisBerechnung underTest = new TabellenErgebnisBerechner(pins);
+            final KombinationsRaum raum = KombinationsRaum.getInstance(pins);
+            for (SpielKombination geheim : raum.getAlle()) {
+                for (SpielKombination geraten : raum.getAlle()) {
+                    assertEquals(referenz.berechneErgebnis(geheim, geraten),
+                            underTest.berechneErgebnis(geheim, geraten));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test dass auch bei einer Variante mit mehr Farben für alle Paare das gleiche Ergebnis wie bei
+     * {@link LinearerErgebnisBerechner} geliefert wird.
+     */
+    @Test
+    public void testMehrFarben() {
+        final SpielKonfiguration konfiguration = new SpielKonfiguration(2, 10, true);
+        final IErgebnisBerechnung linear = new LinearerErgebnisBerechner(konfiguration);
+        final IErgebnisBerechnung underTest = new TabellenErgebnisBerechner(konfiguration);
+        final KombinationsRaum raum = KombinationsRaum.getInstance(konfiguration);
+        for (SpielKombination geheim : raum.getAlle()) {
+            for (SpielKombination geraten : raum.getAlle()) {
+                assertEquals(linear.berechneErgebnis(geheim, geraten), underTest.berechneErgebnis(geheim, geraten));
+            }
+        }
+        assertEquals(new ErgebnisKombination(0, 2),
+                underTest.berechneErgebnis(new SpielKombination(9, 10), new SpielKombination(10, 9)));
+    }
+
+    /**
+     * Test mit nicht internierten Kombinationen.
+     */
+    @Test
+    public void testNichtInterniert() {
+        final IErgebnisBerechnung underTest = new TabellenErgebnisBerechner(4);
+        final SpielKombination geheim = new SpielKombination(SpielStein.ROT, SpielStein.BLAU, SpielStein.ROT,
+                SpielStein.GELB);
+        final SpielKombination geraten = new SpielKombination(SpielStein.GELB, SpielStein.ROT, SpielStein.ROT,
+                SpielStein.VIOLETT);
+        assertEquals(referenz.berechneErgebnis(geheim, geraten), underTest.berechneErgebnis(geheim, geraten));
+    }
+
+    /**
+     * Test mit Kombinationen, deren Länge nicht der Tabelle entspricht. Muss eine {@link IllegalArgumentException}
+     * werfen.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testFalscheGroesse() {
+        final SpielKombination kombination = new SpielKombination(SpielStein.BLAU, SpielStein.ROT);
+        new TabellenErgebnisBerechner(3).berechneErgebnis(kombination, kombination);
+    }
+
+    /**
+     * Test mit unterschiedlichen Eingabelängen. Muss eine {@link IllegalArgumentException} werfen.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnterschiedlicheGroessen() {
+        new TabellenErgebnisBerechner(1).berechneErgebnis(new SpielKombination(SpielStein.BLAU), new SpielKombination(
+                new int[0]));
+    }
+
+    /**
+     * Test mit <code>null</code> als geratene Kombination.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullGeraten() {
+        new TabellenErgebnisBerechner(1).berechneErgebnis(new SpielKombination(SpielStein.BLAU), null);
+    }
+
+    /**
+     * Test mit Ergebnis-Codes über 127, die als Byte mit Vorzeichen negativ wären.
+     */
+    @Test
+    public void testGrosseCodes() {
+        final SpielKonfiguration konfiguration = new SpielKonfiguration(15, 1, true);
+        final IErgebnisBerechnung underTest = new TabellenErgebnisBerechner(konfiguration);
+        final SpielKombination kombination = KombinationsRaum.getInstance(konfiguration).getKombination(0);
+        assertEquals(new ErgebnisKombination(15, 0), underTest.berechneErgebnis(kombination, kombination));
+        assertEquals(ErgebnisKombination.berechneCode(15, 0), underTest.berechneErgebnisCode(kombination, kombination));
+    }
+
+    /**
+     * Test für die bei zu großen Ergebnis-Codes zu werfende {@link IllegalArgumentException}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testZuVielePins() {
+        new TabellenErgebnisBerechner(new SpielKonfiguration(22, 1, true));
+    }
+
+    /**
+     * Test für die bei zu großer Tabelle zu werfende {@link IllegalArgumentException}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testZuGross() {
+        new TabellenErgebnisBerechner(6);
+    }
+}
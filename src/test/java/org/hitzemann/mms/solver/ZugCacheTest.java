@@ -0,0 +1,90 @@
+package org.hitzemann.mms.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.hitzemann.mms.model.Fingerabdruck;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielStein;
+import org.junit.Test;
+
+/**
+ * Tests für {@link ZugCache}.
+ * 
+ * @author chschu
+ */
+public final class ZugCacheTest {
+
+    /**
+     * Test für das Zählen von Treffern und Fehlschlägen.
+     */
+    @Test
+    public void testZaehler() {
+        final ZugCache underTest = new ZugCache(10);
+        final SpielKombination zug = new SpielKombination(SpielStein.ROT);
+
+        assertNull(underTest.get(new Fingerabdruck(1, 2)));
+        underTest.put(new Fingerabdruck(1, 2), zug);
+        assertSame(zug, underTest.get(new Fingerabdruck(1, 2)));
+        assertSame(zug, underTest.get(new Fingerabdruck(1, 2)));
+        assertNull(underTest.get(new Fingerabdruck(2, 1)));
+
+        assertEquals(2, underTest.getTreffer());
+        assertEquals(2, underTest.getFehlschlaege());
+        assertEquals(1, underTest.size());
+    }
+
+    /**
+     * Test dass bei erreichter Kapazität der am längsten nicht verwendete Eintrag verdrängt wird.
+     */
+    @Test
+    public void testVerdraengung() {
+        final ZugCache underTest = new ZugCache(2);
+        final SpielKombination zug1 = new SpielKombination(SpielStein.ROT);
+        final SpielKombination zug2 = new SpielKombination(SpielStein.GRUEN);
+        final SpielKombination zug3 = new SpielKombination(SpielStein.BLAU);
+
+        underTest.put(new Fingerabdruck(0, 1), zug1);
+        underTest.put(new Fingerabdruck(0, 2), zug2);
+        // Zugriff macht den ersten Eintrag zum zuletzt verwendeten
+        underTest.get(new Fingerabdruck(0, 1));
+        underTest.put(new Fingerabdruck(0, 3), zug3);
+
+        assertEquals(2, underTest.size());
+        assertSame(zug1, underTest.get(new Fingerabdruck(0, 1)));
+        assertNull(underTest.get(new Fingerabdruck(0, 2)));
+        assertSame(zug3, underTest.get(new Fingerabdruck(0, 3)));
+    }
+
+    /**
+     * Test dass ein Cache mit mehreren Segmenten insgesamt nicht über seine Kapazität wächst und die zuletzt
+     * eingefügten Einträge behält.
+     */
+    @Test
+    public void testSegmente() {
+        final ZugCache underTest = new ZugCache(1024);
+        final SpielKombination zug = new SpielKombination(SpielStein.ROT);
+        final Random random = new Random(1);
+        Fingerabdruck letzter = null;
+        for (int i = 0; i < 10000; i++) {
+            letzter = new Fingerabdruck(random.nextLong(), random.nextLong());
+            underTest.put(letzter, zug);
+        }
+        assertTrue(underTest.size() <= 1024);
+        assertTrue(underTest.size() > 1024 * 3 / 4);
+        assertSame(zug, underTest.get(letzter));
+        assertEquals(1, underTest.getTreffer());
+    }
+
+    /**
+     * Test für die bei ungültiger Kapazität zu werfende {@link IllegalArgumentException}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testKapazitaetNull() {
+        new ZugCache(0);
+    }
+}
@@ -0,0 +1,271 @@
+package org.hitzemann.mms.solver.rule;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielKonfiguration;
+import org.hitzemann.mms.solver.IErgebnisBerechnung;
+import org.hitzemann.mms.solver.ISolver;
+import org.hitzemann.mms.solver.LinearerErgebnisBerechner;
+import org.hitzemann.mms.solver.rule.knuth.KnuthRule;
+import org.hitzemann.mms.solver.rule.knuth.KnuthRuleFactory;
+import org.hitzemann.mms.solver.rule.optimal.OptimalRule;
+import org.junit.Test;
+
+/**
+ * Tests für {@link DecisionTree}, {@link DecisionTreeRule} und {@link DecisionTreeSolver}.
+ * 
+ * @author chschu
+ */
+public final class DecisionTreeTest {
+
+    /**
+     * Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     */
+    private final IErgebnisBerechnung calculator = new LinearerErgebnisBerechner();
+
+    /**
+     * Test dass der Baum der {@link KnuthRule} alle geheimen Kombinationen mit der bekannten Gesamtzahl an Zügen
+     * löst.
+     */
+    @Test
+    public void testKnuthRule() {
+        final DecisionTree tree = KnuthRule.getDecisionTree();
+        int total = 0;
+        for (SpielKombination secret : tree.getSpace().getAlle()) {
+            final int moves = play(tree, secret);
+            assertTrue(moves <= 5);
+            total += moves;
+        }
+        assertEquals(5801, total);
+    }
+
+    /**
+     * Test für den Baum einer Regel, deren Züge von den Kandidaten abhängen.
+     */
+    @Test
+    public void testGuessFirstRule() {
+        final KombinationsRaum space = KombinationsRaum.getInstance(2);
+        final DecisionTree tree = DecisionTree.compile(new KnuthRuleFactory().createGuessFirstRule(0,
+                Integer.MAX_VALUE), space, calculator);
+        assertSame(space.getKombination(0), tree.getGuess(DecisionTree.ROOT));
+        for (SpielKombination secret : space.getAlle()) {
+            play(tree, secret);
+        }
+    }
+
+    /**
+     * Test für die bei einer Regel ohne Fortschritt zu werfende {@link IllegalStateException}.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testNoProgress() {
+        final KombinationsRaum space = KombinationsRaum.getInstance(1);
+        final IRule ruleMock = mock(IRule.class);
+        when(ruleMock.getGuess(any(KombinationsMenge.class))).thenReturn(space.getKombination(0));
+        when(ruleMock.getRuleForResponse(any(ErgebnisKombination.class))).thenReturn(ruleMock);
+        DecisionTree.compile(ruleMock, space, calculator);
+    }
+
+    /**
+     * Test für die bei einer unmöglichen Antwort zu werfende {@link IllegalArgumentException}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnmoeglicheAntwort() {
+        final ISolver underTest = new DecisionTreeSolver(KnuthRule.getDecisionTree());
+        // auf 1122 ist 3 schwarz, 1 weiß nicht möglich
+        underTest.setLetzterZug(underTest.getNeuerZug(), ErgebnisKombination.valueOf(3, 1));
+    }
+
+    /**
+     * Test für die bei einem anderen als dem gelieferten Zug zu werfende {@link IllegalArgumentException}.
+     */
+    @Test
+    public void testAndererZug() {
+        final ISolver underTest = new DecisionTreeSolver(KnuthRule.getDecisionTree());
+        final SpielKombination guess = underTest.getNeuerZug();
+        final SpielKombination other = KombinationsRaum.getInstance(4).getKombination(0);
+        try {
+            underTest.setLetzterZug(other, ErgebnisKombination.valueOf(0, 0));
+            fail("expected Exception not thrown");
+        } catch (IllegalArgumentException e) {
+            // erwartet, der Solver bleibt beim ersten Zug
+            assertSame(guess, underTest.getNeuerZug());
+        }
+    }
+
+    /**
+     * Test für die bei einem anderen als dem Zug des Knotens zu werfende {@link IllegalArgumentException} der
+     * {@link DecisionTreeRule}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testRegelAndererZug() {
+        new DecisionTreeRule(KnuthRule.getDecisionTree()).getRuleForResponse(KombinationsRaum.getInstance(4)
+                .getKombination(0), ErgebnisKombination.valueOf(0, 0));
+    }
+
+    /**
+     * Test für die bei widersprüchlichen Antworten zu werfende {@link IllegalArgumentException}. Die Kandidaten
+     * entsprechen der Antwort 0 schwarz, 0 weiß auf 1122, der Regel wird aber 0 schwarz, 2 weiß gemeldet.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testWiderspruechlicheAntworten() {
+        final IRule rule = new KnuthRule();
+        final SpielKombination guess = rule.getGuess(KombinationsRaum.getInstance(4).getAlle());
+        final List<SpielKombination> candidates = new ArrayList<SpielKombination>();
+        for (SpielKombination candidate : KombinationsRaum.getInstance(4).getAlle()) {
+            if (calculator.berechneErgebnis(candidate, guess).equals(ErgebnisKombination.valueOf(0, 0))) {
+                candidates.add(candidate);
+            }
+        }
+        rule.getRuleForResponse(ErgebnisKombination.valueOf(0, 2)).getGuess(candidates);
+    }
+
+    /**
+     * Test dass die Reduktion auf Repräsentanten der Symmetrien die Bäume der Regeln nicht verändert. Die Regel für
+     * eine Antwort vor dem ersten Zug kennt den letzten Zug nicht und untersucht daher alle Kombinationen. Sie wird von
+     * einer eigenen Instanz erzeugt, da sich die {@link OptimalRule} ihre Ergebnisse mit dieser teilt.
+     * 
+     * @throws IOException
+     *             Unerwarteter Fehler.
+     */
+    @Test
+    public void testSymmetrie() throws IOException {
+        final SpielKonfiguration configuration = new SpielKonfiguration(3, 5, true);
+        final KombinationsRaum space = KombinationsRaum.getInstance(configuration);
+        final ErgebnisKombination response = ErgebnisKombination.valueOf(0, 0);
+        for (String name : new String[] {"entropy", "mostparts", "minimax", "optimal" }) {
+            final IRule unreduced = StrategyGenerator.createRule(name, calculator, configuration)
+                    .getRuleForResponse(response);
+            final IRule rule = StrategyGenerator.createRule(name, calculator, configuration);
+            assertArrayEquals(toBytes(DecisionTree.compile(unreduced, space, calculator)),
+                    toBytes(DecisionTree.compile(rule, space, calculator)));
+        }
+    }
+
+    /**
+     * Test dass ein gespeicherter und wieder geladener Baum gleich bleibt.
+     * 
+     * @throws IOException
+     *             Unerwarteter Fehler.
+     */
+    @Test
+    public void testWriteRead() throws IOException {
+        final DecisionTree tree = KnuthRule.getDecisionTree();
+        final byte[] bytes = toBytes(tree);
+        final DecisionTree underTest = DecisionTree.read(new ByteArrayInputStream(bytes));
+        assertSame(tree.getSpace(), underTest.getSpace());
+        assertEquals(tree.getNodeCount(), underTest.getNodeCount());
+        assertArrayEquals(bytes, toBytes(underTest));
+    }
+
+    /**
+     * Test für die bei unvollständigen Daten zu werfende {@link IOException}.
+     * 
+     * @throws IOException
+     *             Erwarteter Fehler.
+     */
+    @Test(expected = IOException.class)
+    public void testReadAbgeschnitten() throws IOException {
+        final byte[] bytes = toBytes(KnuthRule.getDecisionTree());
+        DecisionTree.read(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 4)));
+    }
+
+    /**
+     * Test für die bei einem ungültigen Zug-Code zu werfende {@link IOException}.
+     * 
+     * @throws IOException
+     *             Erwarteter Fehler.
+     */
+    @Test(expected = IOException.class)
+    public void testReadUngueltigerZug() throws IOException {
+        final ByteBuffer bytes = ByteBuffer.wrap(toBytes(KnuthRule.getDecisionTree()));
+        // Zug-Code der Wurzel hinter den 6 ints des Kopfs
+        bytes.putInt(6 * 4, 1296);
+        DecisionTree.read(new ByteArrayInputStream(bytes.array()));
+    }
+
+    /**
+     * Test für die bei einer ungültigen Knoten-Nummer zu werfende {@link IOException}.
+     * 
+     * @throws IOException
+     *             Erwarteter Fehler.
+     */
+    @Test(expected = IOException.class)
+    public void testReadUngueltigerKnoten() throws IOException {
+        final ByteBuffer bytes = ByteBuffer.wrap(toBytes(KnuthRule.getDecisionTree()));
+        // erster Folge-Knoten der Wurzel hinter Kopf, Zug-Code, Kandidaten, Anzahl der Folge-Knoten und Antwort-Code
+        bytes.putInt(10 * 4, DecisionTree.ROOT);
+        DecisionTree.read(new ByteArrayInputStream(bytes.array()));
+    }
+
+    /**
+     * Test für die bei einer ungültigen Konfiguration zu werfende {@link IOException}.
+     * 
+     * @throws IOException
+     *             Erwarteter Fehler.
+     */
+    @Test(expected = IOException.class)
+    public void testReadUngueltigeKonfiguration() throws IOException {
+        final ByteBuffer bytes = ByteBuffer.wrap(toBytes(KnuthRule.getDecisionTree()));
+        // Anzahl der Farben
+        bytes.putInt(3 * 4, 0);
+        DecisionTree.read(new ByteArrayInputStream(bytes.array()));
+    }
+
+    /**
+     * Speichert einen Baum im Binärformat.
+     * 
+     * @param tree
+     *            Der Baum.
+     * @return Die Bytes.
+     * @throws IOException
+     *             Unerwarteter Fehler.
+     */
+    private static byte[] toBytes(final DecisionTree tree) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        tree.write(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Spielt ein Spiel mit einem {@link DecisionTreeSolver}.
+     * 
+     * @param tree
+     *            Der Entscheidungsbaum.
+     * @param secret
+     *            Die geheime Kombination.
+     * @return Die Anzahl der Züge.
+     */
+    private int play(final DecisionTree tree, final SpielKombination secret) {
+        final ISolver solver = new DecisionTreeSolver(tree);
+        final int pins = secret.getSpielSteineCount();
+        int moves = 0;
+        while (true) {
+            final SpielKombination guess = solver.getNeuerZug();
+            final ErgebnisKombination response = calculator.berechneErgebnis(secret, guess);
+            moves++;
+            if (response.getSchwarz() == pins) {
+                return moves;
+            }
+            solver.setLetzterZug(guess, response);
+        }
+    }
+}
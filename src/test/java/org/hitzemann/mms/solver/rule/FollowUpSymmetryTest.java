@@ -0,0 +1,85 @@
+package org.hitzemann.mms.solver.rule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.List;
+
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielKonfiguration;
+import org.hitzemann.mms.model.SymmetrieGruppe;
+import org.junit.Test;
+
+/**
+ * Tests für {@link FollowUpSymmetry}.
+ * 
+ * @author chschu
+ */
+public final class FollowUpSymmetryTest {
+
+    /**
+     * Die Standard-Konfiguration mit 4 Pins.
+     */
+    private final SpielKonfiguration configuration = new SpielKonfiguration(4);
+
+    /**
+     * Alle Kombinationen der Standard-Konfiguration, aufsteigend sortiert.
+     */
+    private final List<SpielKombination> all = KombinationsRaum.getInstance(4).getAlle();
+
+    /**
+     * Test dass die Symmetrien erhalten bleiben, solange die gleiche Kombination mit gleichen Symmetrien geliefert
+     * wird, auch wenn die Symmetrien jeweils neu berechnet wurden.
+     */
+    @Test
+    public void testGleicheKombination() {
+        final SymmetrieGruppe symmetry = new SymmetrieGruppe(configuration);
+        final FollowUpSymmetry underTest = new FollowUpSymmetry();
+        assertNull(underTest.get());
+        underTest.set(all.get(7), symmetry.fixiere(all.get(7)));
+        underTest.set(all.get(7), symmetry.fixiere(all.get(7)));
+        assertEquals(symmetry.fixiere(all.get(7)), underTest.get());
+    }
+
+    /**
+     * Test dass nach verschiedenen Kombinationen keine Symmetrien mehr geliefert werden.
+     */
+    @Test
+    public void testVerschiedeneKombinationen() {
+        final SymmetrieGruppe symmetry = new SymmetrieGruppe(configuration);
+        final FollowUpSymmetry underTest = new FollowUpSymmetry();
+        underTest.set(all.get(7), symmetry.fixiere(all.get(7)));
+        underTest.set(all.get(8), symmetry.fixiere(all.get(8)));
+        underTest.set(all.get(7), symmetry.fixiere(all.get(7)));
+        assertNull(underTest.get());
+    }
+
+    /**
+     * Test dass nach gleicher Kombination mit verschiedenen Symmetrien keine Symmetrien mehr geliefert werden, z.B.
+     * bei einer Start-Regel, die zuerst alle Kombinationen und dann eine Teilmenge erhält.
+     */
+    @Test
+    public void testVerschiedeneSymmetrien() {
+        final SymmetrieGruppe symmetry = new SymmetrieGruppe(configuration);
+        final FollowUpSymmetry underTest = new FollowUpSymmetry();
+        underTest.set(all.get(7), symmetry.fixiere(all.get(7)));
+        underTest.set(all.get(7), symmetry.fuerKandidaten(all.size() - 1).fixiere(all.get(7)));
+        assertNull(underTest.get());
+    }
+
+    /**
+     * Test dass die Symmetrien nur für die gelieferte Kombination gelten, nicht für eine andere gespielte.
+     */
+    @Test
+    public void testGespielteKombination() {
+        final SymmetrieGruppe symmetry = new SymmetrieGruppe(configuration);
+        final FollowUpSymmetry underTest = new FollowUpSymmetry();
+        assertNull(underTest.get(all.get(7)));
+        underTest.set(all.get(7), symmetry.fixiere(all.get(7)));
+        assertEquals(symmetry.fixiere(all.get(7)), underTest.get(all.get(7)));
+        assertNull(underTest.get(all.get(8)));
+        underTest.set(all.get(8), symmetry.fixiere(all.get(8)));
+        assertNull(underTest.get(all.get(7)));
+    }
+}
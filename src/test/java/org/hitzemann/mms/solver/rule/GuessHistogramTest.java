@@ -0,0 +1,70 @@
+package org.hitzemann.mms.solver.rule;
+
+import static org.junit.Assert.assertEquals;
+
+import org.hitzemann.mms.model.DefaultSpielKombinationFactory;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.solver.IErgebnisBerechnung;
+import org.hitzemann.mms.solver.ISolver;
+import org.hitzemann.mms.solver.LinearerErgebnisBerechner;
+import org.hitzemann.mms.solver.rule.knuth.KnuthRule;
+import org.hitzemann.mms.solver.rule.minimax.MinimaxRule;
+import org.junit.Test;
+
+/**
+ * Tests für {@link GuessHistogram}.
+ * 
+ * @author chschu
+ */
+public final class GuessHistogramTest {
+
+    /**
+     * Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     */
+    private final IErgebnisBerechnung calculator = new LinearerErgebnisBerechner();
+
+    /**
+     * Test dass die {@link KnuthRule} alle geheimen Kombinationen mit der bekannten Verteilung löst.
+     */
+    @Test
+    public void testKnuthRule() {
+        final GuessHistogram histogram = GuessHistogram.evaluate(new KnuthRule(), KombinationsRaum.getInstance(4),
+                calculator);
+        assertEquals(1296, histogram.getSecretCount());
+        assertEquals(5801, histogram.getTotalGuessCount());
+        assertEquals(5, histogram.getMaxGuessCount());
+        assertEquals(0, histogram.getCount(0));
+        assertEquals(1, histogram.getCount(1));
+        assertEquals(0, histogram.getCount(6));
+        assertEquals(5801.0 / 1296, histogram.getAverageGuessCount(), 1e-12);
+    }
+
+    /**
+     * Test dass die Verteilung mit der beim einzelnen Spielen aller geheimen Kombinationen übereinstimmt.
+     */
+    @Test
+    public void testGegenEinzelneSpiele() {
+        final KombinationsRaum space = KombinationsRaum.getInstance(3);
+        final int[] expected = new int[10];
+        for (SpielKombination secret : space.getAlle()) {
+            final ISolver solver = new RuleSolver(calculator, new DefaultSpielKombinationFactory(), 3,
+                    new MinimaxRule(calculator, new DefaultSpielKombinationFactory(), 3));
+            int guessCount = 0;
+            SpielKombination guess;
+            do {
+                guess = solver.getNeuerZug();
+                guessCount++;
+                solver.setLetzterZug(guess, calculator.berechneErgebnis(secret, guess));
+            } while (!guess.equals(secret));
+            expected[guessCount]++;
+        }
+
+        final GuessHistogram histogram = GuessHistogram.evaluate(
+                new MinimaxRule(calculator, new DefaultSpielKombinationFactory(), 3), space, calculator);
+        for (int guessCount = 0; guessCount < expected.length; guessCount++) {
+            assertEquals(expected[guessCount], histogram.getCount(guessCount));
+        }
+        assertEquals(space.getGroesse(), histogram.getSecretCount());
+    }
+}
@@ -0,0 +1,92 @@
+package org.hitzemann.mms.solver.rule;
+
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.solver.IErgebnisBerechnung;
+
+/**
+ * <p>
+ * Vergleicht die von einer {@link IRule} gewählten Kombinationen mit einer Referenzberechnung ohne Reduktion auf
+ * Repräsentanten, für die Standard-Konfiguration mit 4 Pins.
+ * </p>
+ * 
+ * <p>
+ * Geprüft werden alle Kombinationen sowie die Kandidatenmengen nach einigen ersten Zügen, jeweils als Liste und als
+ * {@link KombinationsMenge}. Die Referenzberechnung liefert die jeweilige Testklasse.
+ * </p>
+ * 
+ * @author chschu
+ */
+public abstract class ReferenceGuessCheck {
+
+    /**
+     * Die ersten Züge 1122, 1123, 1234 und 2345.
+     */
+    private static final int[] FIRST_GUESSES = {7, 8, 51, 310 };
+
+    /**
+     * Der Abstand zwischen den Indizes der geheimen Kombinationen, für die die Kandidatenmenge geprüft wird.
+     */
+    private static final int SECRET_STEP = 89;
+
+    /**
+     * Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     */
+    private final IErgebnisBerechnung calculator;
+
+    /**
+     * Erzeugt eine Instanz.
+     * 
+     * @param theCalculator
+     *            Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     */
+    protected ReferenceGuessCheck(final IErgebnisBerechnung theCalculator) {
+        calculator = theCalculator;
+    }
+
+    /**
+     * Prüft, dass die Regel für alle Kandidatenmengen die gleiche Kombination wählt wie die Referenzberechnung.
+     * 
+     * @param rule
+     *            Die zu prüfende Regel.
+     */
+    public final void check(final IRule rule) {
+        final KombinationsRaum space = KombinationsRaum.getInstance(4);
+        final List<SpielKombination> all = space.getAlle();
+        assertSame(getReferenceGuess(all, all), rule.getGuess(all));
+        for (int first : FIRST_GUESSES) {
+            for (int secret = 0; secret < space.getGroesse(); secret += SECRET_STEP) {
+                final int response = calculator.berechneErgebnisCode(all.get(secret), all.get(first));
+                final List<SpielKombination> candidates = new ArrayList<SpielKombination>();
+                final KombinationsMenge candidateSet = new KombinationsMenge(space);
+                for (SpielKombination candidate : all) {
+                    if (calculator.berechneErgebnisCode(candidate, all.get(first)) == response) {
+                        candidates.add(candidate);
+                        candidateSet.add(candidate);
+                    }
+                }
+                final SpielKombination expected = getReferenceGuess(all, candidates);
+                assertSame(expected, rule.getGuess(candidates));
+                assertSame(expected, rule.getGuess(candidateSet));
+            }
+        }
+    }
+
+    /**
+     * Ermittelt die zu ratende Kombination ohne Reduktion auf Repräsentanten.
+     * 
+     * @param all
+     *            Alle Kombinationen, aufsteigend sortiert.
+     * @param candidates
+     *            Die Kandidaten.
+     * @return Die zu ratende Kombination.
+     */
+    protected abstract SpielKombination getReferenceGuess(List<SpielKombination> all,
+            List<SpielKombination> candidates);
+}
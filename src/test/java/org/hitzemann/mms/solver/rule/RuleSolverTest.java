@@ -4,7 +4,6 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
-import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.same;
 import static org.mockito.Mockito.mock;
@@ -12,15 +11,21 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedList;
 import java.util.List;
 
+import org.hitzemann.mms.model.DefaultSpielKombinationFactory;
 import org.hitzemann.mms.model.ErgebnisKombination;
 import org.hitzemann.mms.model.ISpielKombinationFactory;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
 import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielKonfiguration;
+import org.hitzemann.mms.model.SpielStein;
 import org.hitzemann.mms.solver.IErgebnisBerechnung;
 import org.hitzemann.mms.solver.ISolver;
+import org.hitzemann.mms.solver.LinearerErgebnisBerechner;
 import org.junit.Test;
 
 /**
@@ -39,9 +44,9 @@ public final class RuleSolverTest {
         final ISpielKombinationFactory factoryMock = mock(ISpielKombinationFactory.class);
         final IRule ruleMock = mock(IRule.class);
 
-        new RuleSolver(calculatorMock, factoryMock, 143, ruleMock);
+        new RuleSolver(calculatorMock, factoryMock, 3, ruleMock);
 
-        verify(factoryMock).erzeugeAlle(143);
+        verify(factoryMock).erzeugeAlle(3);
         verifyNoMoreInteractions(calculatorMock, factoryMock, ruleMock);
     }
 
@@ -53,21 +58,23 @@ public final class RuleSolverTest {
         final IErgebnisBerechnung calculatorMock = mock(IErgebnisBerechnung.class);
         final ISpielKombinationFactory factoryMock = mock(ISpielKombinationFactory.class);
         final IRule ruleMock = mock(IRule.class);
-        final SpielKombination guess = new SpielKombination(new int[0]);
-        @SuppressWarnings("unchecked")
-        final List<SpielKombination> candidatesMock = mock(List.class);
+        final SpielKombination guess = new SpielKombination(SpielStein.ROT);
+        final List<SpielKombination> candidates = Arrays.asList(new SpielKombination(SpielStein.GRUEN),
+                new SpielKombination(SpielStein.ORANGE));
 
-        when(factoryMock.erzeugeAlle(anyInt())).thenReturn(candidatesMock);
+        when(factoryMock.erzeugeAlle(anyInt())).thenReturn(candidates);
 
-        final ISolver underTest = new RuleSolver(calculatorMock, factoryMock, 3, ruleMock);
+        final ISolver underTest = new RuleSolver(calculatorMock, factoryMock, 1, ruleMock);
 
-        when(ruleMock.getGuess(anyListOf(SpielKombination.class))).thenReturn(guess);
+        when(ruleMock.getGuess(any(KombinationsMenge.class))).thenReturn(guess);
 
         assertSame(guess, underTest.getNeuerZug());
 
-        verify(ruleMock).getGuess(eq(candidatesMock));
-        verify(factoryMock).erzeugeAlle(3);
-        verifyNoMoreInteractions(calculatorMock, factoryMock, ruleMock, candidatesMock);
+        final KombinationsMenge expected = new KombinationsMenge(KombinationsRaum.getInstance(1));
+        expected.addAll(candidates);
+        verify(ruleMock).getGuess(eq(expected));
+        verify(factoryMock).erzeugeAlle(1);
+        verifyNoMoreInteractions(calculatorMock, factoryMock, ruleMock);
     }
 
     /**
@@ -78,33 +85,76 @@ public final class RuleSolverTest {
         final IErgebnisBerechnung calculatorMock = mock(IErgebnisBerechnung.class);
         final ISpielKombinationFactory factoryMock = mock(ISpielKombinationFactory.class);
         final IRule ruleMock = mock(IRule.class);
-        final SpielKombination candidate1 = new SpielKombination(new int[0]);
-        final SpielKombination candidate2 = new SpielKombination(new int[0]);
-        final SpielKombination candidate3 = new SpielKombination(new int[0]);
-        final SpielKombination candidate4 = new SpielKombination(new int[0]);
-        final SpielKombination guess = new SpielKombination(new int[0]);
-        final List<SpielKombination> candidates = new LinkedList<SpielKombination>(Arrays.asList(candidate1,
-                candidate2, candidate3, candidate4));
+        final IRule nextRuleMock = mock(IRule.class);
+        final SpielKombination candidate1 = new SpielKombination(SpielStein.ROT);
+        final SpielKombination candidate2 = new SpielKombination(SpielStein.GRUEN);
+        final SpielKombination candidate3 = new SpielKombination(SpielStein.BLAU);
+        final SpielKombination candidate4 = new SpielKombination(SpielStein.GELB);
+        final SpielKombination guess = new SpielKombination(SpielStein.VIOLETT);
+        final List<SpielKombination> candidates = Arrays.asList(candidate1, candidate2, candidate3, candidate4);
         final ErgebnisKombination response = new ErgebnisKombination(0, 0);
 
         when(factoryMock.erzeugeAlle(anyInt())).thenReturn(candidates);
 
-        final ISolver underTest = new RuleSolver(calculatorMock, factoryMock, 5, ruleMock);
+        final ISolver underTest = new RuleSolver(calculatorMock, factoryMock, 1, ruleMock);
 
         final ErgebnisKombination otherResponse = new ErgebnisKombination(1, 0);
-        when(calculatorMock.berechneErgebnis(any(SpielKombination.class), any(SpielKombination.class))).thenReturn(
-                response, response, otherResponse);
+        when(calculatorMock.berechneErgebnisCode(any(SpielKombination.class), any(SpielKombination.class)))
+                .thenReturn(response.getCode(), response.getCode(), otherResponse.getCode());
+        when(ruleMock.getRuleForResponse(any(SpielKombination.class), any(ErgebnisKombination.class))).thenReturn(
+                nextRuleMock);
 
         underTest.setLetzterZug(guess, response);
+        underTest.getNeuerZug();
+
+        // Kandidaten werden in aufsteigender Reihenfolge geprüft, die beiden letzten passen nicht
+        final KombinationsMenge expected = new KombinationsMenge(KombinationsRaum.getInstance(1));
+        expected.add(candidate1);
+        expected.add(candidate2);
+        verify(nextRuleMock).getGuess(eq(expected));
+
+        verify(calculatorMock).berechneErgebnisCode(eq(candidate1), same(guess));
+        verify(calculatorMock).berechneErgebnisCode(eq(candidate2), same(guess));
+        verify(calculatorMock).berechneErgebnisCode(eq(candidate3), same(guess));
+        verify(calculatorMock).berechneErgebnisCode(eq(candidate4), same(guess));
+        verify(factoryMock).erzeugeAlle(1);
+        verify(ruleMock).getRuleForResponse(same(guess), same(response));
+        verifyNoMoreInteractions(calculatorMock, factoryMock, ruleMock, nextRuleMock);
+    }
 
-        assertEquals(2, candidates.size());
-
-        verify(calculatorMock).berechneErgebnis(same(candidate1), same(guess));
-        verify(calculatorMock).berechneErgebnis(same(candidate2), same(guess));
-        verify(calculatorMock).berechneErgebnis(same(candidate3), same(guess));
-        verify(calculatorMock).berechneErgebnis(same(candidate4), same(guess));
-        verify(factoryMock).erzeugeAlle(5);
-        verify(ruleMock).getRuleForResponse(same(response));
-        verifyNoMoreInteractions(calculatorMock, factoryMock, ruleMock);
+    /**
+     * Test dass die Regeln nach einem anderen als dem gelieferten Zug die gleiche Kombination liefern wie ohne
+     * Reduktion auf Repräsentanten. Die Regel für eine Antwort vor dem ersten Zug kennt den letzten Zug nicht und
+     * reduziert daher nicht.
+     */
+    @Test
+    public void testAndererZug() {
+        final SpielKonfiguration configuration = new SpielKonfiguration(3, 5, true);
+        final IErgebnisBerechnung calculator = new LinearerErgebnisBerechner(configuration);
+        final List<SpielKombination> all = KombinationsRaum.getInstance(configuration).getAlle();
+        final ErgebnisKombination anyResponse = ErgebnisKombination.valueOf(0, 0);
+        for (String name : new String[] {"entropy", "mostparts", "minimax", "optimal" }) {
+            final IRule unreduced = StrategyGenerator.createRule(name, calculator, configuration).getRuleForResponse(
+                    anyResponse);
+            final IRule rule = StrategyGenerator.createRule(name, calculator, configuration);
+            for (SpielKombination played : all) {
+                for (SpielKombination secret : all) {
+                    final ISolver underTest = new RuleSolver(calculator, new DefaultSpielKombinationFactory(),
+                            configuration, rule);
+                    if (played.equals(underTest.getNeuerZug())) {
+                        continue;
+                    }
+                    final ErgebnisKombination response = calculator.berechneErgebnis(secret, played);
+                    underTest.setLetzterZug(played, response);
+                    final List<SpielKombination> candidates = new ArrayList<SpielKombination>();
+                    for (SpielKombination candidate : all) {
+                        if (calculator.berechneErgebnis(candidate, played).equals(response)) {
+                            candidates.add(candidate);
+                        }
+                    }
+                    assertEquals(unreduced.getGuess(candidates), underTest.getNeuerZug());
+                }
+            }
+        }
     }
 }
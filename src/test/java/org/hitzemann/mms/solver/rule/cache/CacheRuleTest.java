@@ -6,6 +6,7 @@ import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.same;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -17,7 +18,10 @@ import java.util.Map;
 import java.util.Set;
 
 import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
 import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielStein;
 import org.hitzemann.mms.solver.rule.IRule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -89,6 +93,47 @@ public final class CacheRuleTest {
         verifyNoMoreInteractions(cacheMock, ruleMock, ruleFactoryMock);
     }
 
+    /**
+     * Test für {@link IRule#getGuess(KombinationsMenge)} bei einem "Cache Hit", bei dem die Kandidatenmenge selbst
+     * ohne Kopie zum Nachschlagen verwendet wird.
+     */
+    @Test
+    public void testGetGuessKombinationsMengeCacheHit() {
+        final CacheRule underTest = new CacheRule(ruleMock, cacheMock, ruleFactoryMock);
+        final KombinationsMenge candidates = new KombinationsMenge(KombinationsRaum.getInstance(4));
+        final SpielKombination guess = new SpielKombination(1, 1, 2, 2);
+
+        when(cacheMock.get(any())).thenReturn(guess);
+
+        assertSame(guess, underTest.getGuess(candidates));
+
+        verify(cacheMock).get(same(candidates));
+        verifyNoMoreInteractions(cacheMock, ruleMock, ruleFactoryMock);
+    }
+
+    /**
+     * Test für {@link IRule#getGuess(KombinationsMenge)} bei einem "Cache Miss", bei dem eine Kopie der
+     * Kandidatenmenge als Schlüssel hinterlegt wird.
+     */
+    @Test
+    public void testGetGuessKombinationsMengeCacheMiss() {
+        final CacheRule underTest = new CacheRule(ruleMock, cacheMock, ruleFactoryMock);
+        final KombinationsMenge candidates = new KombinationsMenge(KombinationsRaum.getInstance(4));
+        final SpielKombination guess = new SpielKombination(1, 1, 2, 2);
+        candidates.add(guess);
+
+        when(cacheMock.get(any())).thenReturn(null);
+        when(ruleMock.getGuess(any(KombinationsMenge.class))).thenReturn(guess);
+
+        assertSame(guess, underTest.getGuess(candidates));
+
+        verify(cacheMock).get(same(candidates));
+        verify(ruleMock).getGuess(same(candidates));
+        verify(cacheMock).put(eq(candidates), same(guess));
+        verify(cacheMock, never()).put(same(candidates), any(SpielKombination.class));
+        verifyNoMoreInteractions(cacheMock, ruleMock, ruleFactoryMock);
+    }
+
     /**
      * Test für {@link IRule#getRuleForResponse(ErgebnisKombination)}.
      */
@@ -109,4 +154,27 @@ public final class CacheRuleTest {
         verify(ruleFactoryMock).createCachingRule(same(nextRuleMock), same(cacheMock));
         verifyNoMoreInteractions(cacheMock, ruleMock, ruleFactoryMock, nextRuleMock, wrappedNextRuleMock);
     }
+
+    /**
+     * Test für {@link IRule#getRuleForResponse(SpielKombination, ErgebnisKombination)}.
+     */
+    @Test
+    public void testGetRuleForResponseGespielt() {
+        final CacheRule underTest = new CacheRule(ruleMock, cacheMock, ruleFactoryMock);
+        final IRule nextRuleMock = mock(IRule.class);
+        final IRule wrappedNextRuleMock = mock(IRule.class);
+        final SpielKombination played = new SpielKombination(SpielStein.BLAU);
+        final ErgebnisKombination response = new ErgebnisKombination(0, 0);
+
+        when(ruleMock.getRuleForResponse(any(SpielKombination.class), any(ErgebnisKombination.class))).thenReturn(
+                nextRuleMock);
+        final Map<Set<SpielKombination>, SpielKombination> anyCache = any();
+        when(ruleFactoryMock.createCachingRule(any(IRule.class), anyCache)).thenReturn(wrappedNextRuleMock);
+
+        assertSame(wrappedNextRuleMock, underTest.getRuleForResponse(played, response));
+
+        verify(ruleMock).getRuleForResponse(same(played), same(response));
+        verify(ruleFactoryMock).createCachingRule(same(nextRuleMock), same(cacheMock));
+        verifyNoMoreInteractions(cacheMock, ruleMock, ruleFactoryMock, nextRuleMock, wrappedNextRuleMock);
+    }
 }
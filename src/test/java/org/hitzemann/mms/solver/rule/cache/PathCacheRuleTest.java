@@ -0,0 +1,119 @@
+package org.hitzemann.mms.solver.rule.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import org.hitzemann.mms.model.DefaultSpielKombinationFactory;
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.solver.IErgebnisBerechnung;
+import org.hitzemann.mms.solver.LinearerErgebnisBerechner;
+import org.hitzemann.mms.solver.rule.GuessHistogram;
+import org.hitzemann.mms.solver.rule.IRule;
+import org.hitzemann.mms.solver.rule.entropy.EntropyRule;
+import org.junit.Test;
+
+/**
+ * Tests für {@link PathCacheRule}.
+ * 
+ * @author chschu
+ */
+public final class PathCacheRuleTest {
+
+    /**
+     * Test dass der Zug eines Knotens nur einmal von der gekapselten Regel berechnet wird.
+     */
+    @Test
+    public void testGetGuess() {
+        final IRule ruleMock = mock(IRule.class);
+        final PathCacheRule underTest = new PathCacheRule(ruleMock, 4);
+        final KombinationsMenge candidates = new KombinationsMenge(KombinationsRaum.getInstance(4));
+        final SpielKombination guess = new SpielKombination(1, 1, 2, 2);
+
+        when(ruleMock.getGuess(any(KombinationsMenge.class))).thenReturn(guess);
+
+        assertSame(guess, underTest.getGuess(candidates));
+        assertSame(guess, underTest.getGuess(candidates));
+
+        verify(ruleMock).getGuess(same(candidates));
+        verifyNoMoreInteractions(ruleMock);
+    }
+
+    /**
+     * Test dass für jede Antwort genau ein Folge-Knoten erzeugt und wiederverwendet wird.
+     */
+    @Test
+    public void testGetRuleForResponse() {
+        final IRule ruleMock = mock(IRule.class);
+        final IRule nextRuleMock = mock(IRule.class);
+        final PathCacheRule underTest = new PathCacheRule(ruleMock, 4);
+        final ErgebnisKombination response = ErgebnisKombination.valueOf(1, 2);
+
+        when(ruleMock.getRuleForResponse(any(ErgebnisKombination.class))).thenReturn(nextRuleMock);
+
+        final IRule next = underTest.getRuleForResponse(response);
+        assertSame(next, underTest.getRuleForResponse(response));
+        assertNotSame(next, underTest.getRuleForResponse(ErgebnisKombination.valueOf(2, 1)));
+
+        verify(ruleMock).getRuleForResponse(same(response));
+        verify(ruleMock, times(2)).getRuleForResponse(any(ErgebnisKombination.class));
+        verifyNoMoreInteractions(ruleMock, nextRuleMock);
+    }
+
+    /**
+     * Test dass ein Spiel nach einem anderen als dem gelieferten Zug den Baum verlässt und die Folge-Regel der
+     * gekapselten Regel erhält.
+     */
+    @Test
+    public void testAndererZug() {
+        final IRule ruleMock = mock(IRule.class);
+        final IRule nextRuleMock = mock(IRule.class);
+        final PathCacheRule underTest = new PathCacheRule(ruleMock, 4);
+        final KombinationsMenge candidates = new KombinationsMenge(KombinationsRaum.getInstance(4));
+        final SpielKombination guess = new SpielKombination(1, 1, 2, 2);
+        final SpielKombination played = new SpielKombination(1, 2, 3, 4);
+        final ErgebnisKombination response = ErgebnisKombination.valueOf(1, 2);
+
+        when(ruleMock.getGuess(any(KombinationsMenge.class))).thenReturn(guess);
+        when(ruleMock.getRuleForResponse(any(SpielKombination.class), any(ErgebnisKombination.class))).thenReturn(
+                nextRuleMock);
+        when(ruleMock.getRuleForResponse(any(ErgebnisKombination.class))).thenReturn(nextRuleMock);
+
+        underTest.getGuess(candidates);
+        assertSame(nextRuleMock, underTest.getRuleForResponse(played, response));
+        final IRule next = underTest.getRuleForResponse(guess, response);
+        assertNotSame(nextRuleMock, next);
+        assertSame(next, underTest.getRuleForResponse(response));
+
+        verify(ruleMock).getGuess(same(candidates));
+        verify(ruleMock).getRuleForResponse(same(played), same(response));
+        verify(ruleMock).getRuleForResponse(same(response));
+        verifyNoMoreInteractions(ruleMock, nextRuleMock);
+    }
+
+    /**
+     * Test dass die Regel beim ersten und beim wiederholten Durchlaufen aller geheimen Kombinationen die gleichen
+     * Züge liefert wie die gekapselte Regel.
+     */
+    @Test
+    public void testWieGekapselteRegel() {
+        final IErgebnisBerechnung calculator = new LinearerErgebnisBerechner();
+        final KombinationsRaum space = KombinationsRaum.getInstance(3);
+        final String expected = GuessHistogram.evaluate(
+                new EntropyRule(calculator, new DefaultSpielKombinationFactory(), 3), space, calculator).toString();
+        final PathCacheRule underTest = new PathCacheRule(new EntropyRule(calculator,
+                new DefaultSpielKombinationFactory(), 3), 3);
+        assertEquals(expected, GuessHistogram.evaluate(underTest, space, calculator).toString());
+        assertEquals(expected, GuessHistogram.evaluate(underTest, space, calculator).toString());
+    }
+}
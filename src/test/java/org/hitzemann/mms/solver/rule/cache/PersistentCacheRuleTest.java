@@ -0,0 +1,167 @@
+package org.hitzemann.mms.solver.rule.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.hitzemann.mms.model.DefaultSpielKombinationFactory;
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.Fingerabdruck;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.solver.IErgebnisBerechnung;
+import org.hitzemann.mms.solver.LinearerErgebnisBerechner;
+import org.hitzemann.mms.solver.rule.GuessHistogram;
+import org.hitzemann.mms.solver.rule.IRule;
+import org.hitzemann.mms.solver.rule.minimax.MinimaxRule;
+import org.hitzemann.mms.solver.rule.mostparts.MostPartsRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests für {@link PersistentCacheRule}, {@link PersistentCacheRuleFactory} und {@link GuessFile}.
+ * 
+ * @author chschu
+ */
+public final class PersistentCacheRuleTest {
+
+    /**
+     * Die Kennung der Regel für die Cache-Dateien.
+     */
+    private static final String RULE_ID = MinimaxRule.class.getName();
+
+    /**
+     * Verzeichnis für die Cache-Dateien.
+     */
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     */
+    private final IErgebnisBerechnung calculator = new LinearerErgebnisBerechner();
+
+    /**
+     * Der Raum der Kombinationen.
+     */
+    private final KombinationsRaum space = KombinationsRaum.getInstance(3);
+
+    /**
+     * Test dass nach dem erneuten Öffnen der Datei alle Züge aus dem Cache geliefert werden, ohne die gekapselte
+     * Regel zu befragen.
+     * 
+     * @throws IOException
+     *             Unerwarteter Fehler.
+     */
+    @Test
+    public void testWiederherstellung() throws IOException {
+        final File path = new File(folder.getRoot(), "guesses.bin");
+        final GuessHistogram expected;
+        final SpielKombination expectedFirstGuess;
+        final GuessFile written = new GuessFile(path, space, RULE_ID);
+        try {
+            final IRule rule = new PersistentCacheRuleFactory(written).createCachingRule(new MinimaxRule(calculator,
+                    new DefaultSpielKombinationFactory(), 3));
+            expected = GuessHistogram.evaluate(rule, space, calculator);
+            expectedFirstGuess = rule.getGuess(space.getAlle());
+        } finally {
+            written.close();
+        }
+
+        final IRule delegateMock = mock(IRule.class);
+        when(delegateMock.getRuleForResponse(any(ErgebnisKombination.class))).thenReturn(delegateMock);
+        final GuessFile read = new GuessFile(path, space, RULE_ID);
+        try {
+            assertEquals(written.size(), read.size());
+            final IRule rule = new PersistentCacheRuleFactory(read).createCachingRule(delegateMock);
+            final GuessHistogram actual = GuessHistogram.evaluate(rule, space, calculator);
+            assertEquals(expected.toString(), actual.toString());
+            assertSame(expectedFirstGuess, rule.getGuess(space.getAlle()));
+        } finally {
+            read.close();
+        }
+        verify(delegateMock, never()).getGuess(any(KombinationsMenge.class));
+        verify(delegateMock, never()).getGuess(any(List.class));
+    }
+
+    /**
+     * Test dass ein unvollständiger letzter Eintrag beim Öffnen abgeschnitten wird und danach weitere Einträge
+     * angehängt werden können.
+     * 
+     * @throws IOException
+     *             Unerwarteter Fehler.
+     */
+    @Test
+    public void testUnvollstaendigerEintrag() throws IOException {
+        final File path = new File(folder.getRoot(), "guesses.bin");
+        GuessFile guessFile = new GuessFile(path, space, RULE_ID);
+        guessFile.put(new Fingerabdruck(1, 2), space.getKombination(3));
+        guessFile.close();
+        final FileOutputStream out = new FileOutputStream(path, true);
+        out.write(new byte[] {1, 2, 3, 4, 5 });
+        out.close();
+
+        guessFile = new GuessFile(path, space, RULE_ID);
+        assertEquals(1, guessFile.size());
+        guessFile.put(new Fingerabdruck(3, 4), space.getKombination(5));
+        guessFile.close();
+
+        guessFile = new GuessFile(path, space, RULE_ID);
+        assertEquals(2, guessFile.size());
+        assertSame(space.getKombination(3), guessFile.get(new Fingerabdruck(1, 2)));
+        assertSame(space.getKombination(5), guessFile.get(new Fingerabdruck(3, 4)));
+        guessFile.close();
+    }
+
+    /**
+     * Test für die beim Öffnen mit einer anderen Konfiguration zu werfende {@link IOException}.
+     * 
+     * @throws IOException
+     *             Erwarteter Fehler.
+     */
+    @Test(expected = IOException.class)
+    public void testAndereKonfiguration() throws IOException {
+        final File path = new File(folder.getRoot(), "guesses.bin");
+        new GuessFile(path, space, RULE_ID).close();
+        new GuessFile(path, KombinationsRaum.getInstance(4), RULE_ID).close();
+    }
+
+    /**
+     * Test für die beim Öffnen mit einer anderen Regel zu werfende {@link IOException}. Die Datei bleibt dabei
+     * unverändert und kann mit der ursprünglichen Regel weiter verwendet werden.
+     * 
+     * @throws IOException
+     *             Unerwarteter Fehler.
+     */
+    @Test
+    public void testAndereRegel() throws IOException {
+        final File path = new File(folder.getRoot(), "guesses.bin");
+        GuessFile guessFile = new GuessFile(path, space, RULE_ID);
+        guessFile.put(new Fingerabdruck(1, 2), space.getKombination(3));
+        guessFile.close();
+
+        try {
+            new GuessFile(path, space, MostPartsRule.class.getName()).close();
+            fail("expected Exception not thrown");
+        } catch (IOException e) {
+            // erwartet
+        }
+
+        guessFile = new GuessFile(path, space, RULE_ID);
+        assertEquals(RULE_ID, guessFile.getRuleId());
+        assertSame(space.getKombination(3), guessFile.get(new Fingerabdruck(1, 2)));
+        guessFile.close();
+    }
+}
@@ -0,0 +1,118 @@
+package org.hitzemann.mms.solver.rule.entropy;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.hitzemann.mms.model.DefaultSpielKombinationFactory;
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielKonfiguration;
+import org.hitzemann.mms.solver.IErgebnisBerechnung;
+import org.hitzemann.mms.solver.LinearerErgebnisBerechner;
+import org.hitzemann.mms.solver.rule.DecisionTree;
+import org.hitzemann.mms.solver.rule.ReferenceGuessCheck;
+import org.junit.Test;
+
+/**
+ * Tests für {@link EntropyRule}.
+ * 
+ * @author chschu
+ */
+public final class EntropyRuleTest {
+
+    /**
+     * Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     */
+    private final IErgebnisBerechnung calculator = new LinearerErgebnisBerechner();
+
+    /**
+     * Test dass für einige Kandidatenmengen, als Liste und als {@link KombinationsMenge}, die gleiche Kombination
+     * gewählt wird wie bei direkter Berechnung der Entropie über die relativen Häufigkeiten.
+     */
+    @Test
+    public void testGegenDirekteBerechnung() {
+        final EntropyRule rule = new EntropyRule(calculator, new DefaultSpielKombinationFactory(), 4);
+        new ReferenceGuessCheck(calculator) {
+            @Override
+            protected SpielKombination getReferenceGuess(final List<SpielKombination> all,
+                    final List<SpielKombination> candidates) {
+                return EntropyRuleTest.this.getReferenceGuess(all, candidates);
+            }
+        }.check(rule);
+    }
+
+    /**
+     * Test für die bei leerer Kandidatenmenge zu werfende {@link IllegalArgumentException}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testKeineKandidaten() {
+        new EntropyRule(calculator, new DefaultSpielKombinationFactory(), 4)
+                .getGuess(new ArrayList<SpielKombination>());
+    }
+
+    /**
+     * Test dass die parallele Berechnung den gleichen Entscheidungsbaum liefert wie die serielle Berechnung.
+     * 
+     * @throws IOException
+     *             Unerwarteter Fehler.
+     */
+    @Test
+    public void testParallel() throws IOException {
+        final SpielKonfiguration configuration = new SpielKonfiguration(3, 6, true);
+        final KombinationsRaum space = KombinationsRaum.getInstance(configuration);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final ByteArrayOutputStream serial = new ByteArrayOutputStream();
+            DecisionTree.compile(new EntropyRule(calculator, new DefaultSpielKombinationFactory(), configuration),
+                    space, calculator).write(serial);
+            final ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+            DecisionTree.compile(
+                    new EntropyRule(calculator, new DefaultSpielKombinationFactory(), configuration, executor), space,
+                    calculator).write(parallel);
+            assertArrayEquals(serial.toByteArray(), parallel.toByteArray());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Ermittelt die zu ratende Kombination über die relativen Häufigkeiten, ohne Reduktion auf Repräsentanten.
+     * 
+     * @param all
+     *            Alle Kombinationen, aufsteigend sortiert.
+     * @param candidates
+     *            Die Kandidaten.
+     * @return Die letzte Kombination maximaler Entropie, die ein Kandidat ist, und ansonsten die erste.
+     */
+    private SpielKombination getReferenceGuess(final List<SpielKombination> all,
+            final List<SpielKombination> candidates) {
+        double maxEntropy = -1.0;
+        SpielKombination result = null;
+        for (SpielKombination guess : all) {
+            final int[] frequencies = new int[ErgebnisKombination.getAnzahlCodes(4)];
+            for (SpielKombination candidate : candidates) {
+                frequencies[calculator.berechneErgebnisCode(candidate, guess)]++;
+            }
+            double entropy = 0.0;
+            for (int f : frequencies) {
+                if (f > 0) {
+                    final double p = 1.0 * f / candidates.size();
+                    entropy -= p * Math.log(p) / Math.log(2.0);
+                }
+            }
+            if (entropy > maxEntropy + 1e-9 || entropy > maxEntropy - 1e-9 && candidates.contains(guess)) {
+                maxEntropy = entropy;
+                result = guess;
+            }
+        }
+        return result;
+    }
+}
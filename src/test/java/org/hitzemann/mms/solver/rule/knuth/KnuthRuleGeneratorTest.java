@@ -0,0 +1,46 @@
+package org.hitzemann.mms.solver.rule.knuth;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+/**
+ * Tests für {@link KnuthRuleGenerator}.
+ * 
+ * @author chschu
+ */
+public final class KnuthRuleGeneratorTest {
+
+    /**
+     * Test dass die beim Build erzeugte Resource dem aus der Beschreibung erzeugten Baum entspricht.
+     * 
+     * @throws IOException
+     *             Unerwarteter Fehler.
+     */
+    @Test
+    public void testResourceAktuell() throws IOException {
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        KnuthRuleGenerator.generate().write(expected);
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        KnuthRule.getDecisionTree().write(actual);
+        assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+    }
+
+    /**
+     * Test dass der Baum bei fehlender Resource berechnet wird.
+     * 
+     * @throws IOException
+     *             Unerwarteter Fehler.
+     */
+    @Test
+    public void testOhneResource() throws IOException {
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        KnuthRule.getDecisionTree().write(expected);
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        KnuthRule.loadTree("Fehlt.tree").write(actual);
+        assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+    }
+}
@@ -0,0 +1,94 @@
+package org.hitzemann.mms.solver.rule.knuth;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.hitzemann.mms.model.DefaultSpielKombinationFactory;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKonfiguration;
+import org.hitzemann.mms.solver.IErgebnisBerechnung;
+import org.hitzemann.mms.solver.LinearerErgebnisBerechner;
+import org.hitzemann.mms.solver.rule.DecisionTree;
+import org.hitzemann.mms.solver.rule.entropy.EntropyRule;
+import org.hitzemann.mms.solver.rule.minimax.MinimaxRule;
+import org.junit.Test;
+
+/**
+ * Tests für {@link KnuthRuleWriter}.
+ * 
+ * @author chschu
+ */
+public final class KnuthRuleWriterTest {
+
+    /**
+     * Test dass der geschriebene Baum der {@link KnuthRule} wieder eingelesen den gleichen Baum ergibt.
+     * 
+     * @throws IOException
+     *             Unerwarteter Fehler.
+     */
+    @Test
+    public void testKnuthRule() throws IOException {
+        final IErgebnisBerechnung calculator = new LinearerErgebnisBerechner();
+        assertRoundTrip(KnuthRule.getDecisionTree(), calculator);
+    }
+
+    /**
+     * Test für den Baum der {@link EntropyRule} bei 3 Pins.
+     * 
+     * @throws IOException
+     *             Unerwarteter Fehler.
+     */
+    @Test
+    public void testEntropyRule() throws IOException {
+        final SpielKonfiguration configuration = new SpielKonfiguration(3);
+        final IErgebnisBerechnung calculator = new LinearerErgebnisBerechner(configuration);
+        final DecisionTree tree = DecisionTree.compile(new EntropyRule(calculator,
+                new DefaultSpielKombinationFactory(), configuration), KombinationsRaum.getInstance(configuration),
+                calculator);
+        assertRoundTrip(tree, calculator);
+    }
+
+    /**
+     * Test für Farben größer als 9, die in geschweiften Klammern geschrieben werden.
+     * 
+     * @throws IOException
+     *             Unerwarteter Fehler.
+     */
+    @Test
+    public void testVieleFarben() throws IOException {
+        final SpielKonfiguration configuration = new SpielKonfiguration(2, 12, true);
+        final IErgebnisBerechnung calculator = new LinearerErgebnisBerechner(configuration);
+        final DecisionTree tree = DecisionTree.compile(new MinimaxRule(calculator,
+                new DefaultSpielKombinationFactory(), configuration), KombinationsRaum.getInstance(configuration),
+                calculator);
+        final String text = assertRoundTrip(tree, calculator);
+        assertTrue(text.matches("(?s).*\\{1[012]\\}.*"));
+    }
+
+    /**
+     * Schreibt einen Baum, liest ihn wieder ein und prüft, dass der gleiche Baum entsteht.
+     * 
+     * @param tree
+     *            Der Baum.
+     * @param calculator
+     *            Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     * @return Der geschriebene Text.
+     * @throws IOException
+     *             Unerwarteter Fehler.
+     */
+    private static String assertRoundTrip(final DecisionTree tree, final IErgebnisBerechnung calculator)
+            throws IOException {
+        final String text = KnuthRuleWriter.write(tree, calculator);
+        final DecisionTree actual = DecisionTree.compile(KnuthRuleGenerator.parse(text), tree.getSpace(),
+                calculator);
+        final ByteArrayOutputStream expectedBytes = new ByteArrayOutputStream();
+        tree.write(expectedBytes);
+        final ByteArrayOutputStream actualBytes = new ByteArrayOutputStream();
+        actual.write(actualBytes);
+        assertArrayEquals(expectedBytes.toByteArray(), actualBytes.toByteArray());
+        return text;
+    }
+}
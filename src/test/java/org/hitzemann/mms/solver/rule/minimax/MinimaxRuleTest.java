@@ -0,0 +1,73 @@
+package org.hitzemann.mms.solver.rule.minimax;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hitzemann.mms.model.DefaultSpielKombinationFactory;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.solver.IErgebnisBerechnung;
+import org.hitzemann.mms.solver.LinearerErgebnisBerechner;
+import org.hitzemann.mms.solver.rule.ReferenceGuessCheck;
+import org.junit.Test;
+
+/**
+ * Tests für {@link MinimaxRule}.
+ * 
+ * @author chschu
+ */
+public final class MinimaxRuleTest {
+
+    /**
+     * Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     */
+    private final IErgebnisBerechnung calculator = new LinearerErgebnisBerechner();
+
+    /**
+     * Test dass für einige Kandidatenmengen, als Liste und als {@link KombinationsMenge}, die gleiche Kombination
+     * gewählt wird wie bei vollständiger Bewertung aller Kombinationen ohne Abbruch.
+     */
+    @Test
+    public void testGegenVollstaendigeBewertung() {
+        final MinimaxRule rule = new MinimaxRule(calculator, new DefaultSpielKombinationFactory(), 4);
+        new ReferenceGuessCheck(calculator) {
+            @Override
+            protected SpielKombination getReferenceGuess(final List<SpielKombination> all,
+                    final List<SpielKombination> candidates) {
+                return MinimaxRuleTest.this.getReferenceGuess(all, candidates);
+            }
+        }.check(rule);
+    }
+
+    /**
+     * Ermittelt die zu ratende Kombination durch vollständige Bewertung, ohne Reduktion auf Repräsentanten.
+     * 
+     * @param all
+     *            Alle Kombinationen, aufsteigend sortiert.
+     * @param candidates
+     *            Die Kandidaten.
+     * @return Der kleinste Kandidat mit der kleinsten größten Partition, oder ansonsten die kleinste Kombination.
+     */
+    private SpielKombination getReferenceGuess(final List<SpielKombination> all,
+            final List<SpielKombination> candidates) {
+        int minWorstCase = Integer.MAX_VALUE;
+        SpielKombination result = null;
+        for (SpielKombination guess : all) {
+            final Map<Integer, Integer> sizes = new HashMap<Integer, Integer>();
+            int worstCase = 0;
+            for (SpielKombination candidate : candidates) {
+                final Integer response = calculator.berechneErgebnisCode(candidate, guess);
+                final int size = sizes.containsKey(response) ? sizes.get(response) + 1 : 1;
+                sizes.put(response, size);
+                worstCase = Math.max(worstCase, size);
+            }
+            if (worstCase < minWorstCase || worstCase == minWorstCase && !candidates.contains(result)
+                    && candidates.contains(guess)) {
+                minWorstCase = worstCase;
+                result = guess;
+            }
+        }
+        return result;
+    }
+}
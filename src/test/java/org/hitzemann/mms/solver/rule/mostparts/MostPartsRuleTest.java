@@ -0,0 +1,69 @@
+package org.hitzemann.mms.solver.rule.mostparts;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hitzemann.mms.model.DefaultSpielKombinationFactory;
+import org.hitzemann.mms.model.KombinationsMenge;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.solver.IErgebnisBerechnung;
+import org.hitzemann.mms.solver.LinearerErgebnisBerechner;
+import org.hitzemann.mms.solver.rule.ReferenceGuessCheck;
+import org.junit.Test;
+
+/**
+ * Tests für {@link MostPartsRule}.
+ * 
+ * @author chschu
+ */
+public final class MostPartsRuleTest {
+
+    /**
+     * Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     */
+    private final IErgebnisBerechnung calculator = new LinearerErgebnisBerechner();
+
+    /**
+     * Test dass für einige Kandidatenmengen, als Liste und als {@link KombinationsMenge}, die gleiche Kombination
+     * gewählt wird wie bei vollständiger Zählung der Antworten aller Kombinationen.
+     */
+    @Test
+    public void testGegenVollstaendigeZaehlung() {
+        final MostPartsRule rule = new MostPartsRule(calculator, new DefaultSpielKombinationFactory(), 4);
+        new ReferenceGuessCheck(calculator) {
+            @Override
+            protected SpielKombination getReferenceGuess(final List<SpielKombination> all,
+                    final List<SpielKombination> candidates) {
+                return MostPartsRuleTest.this.getReferenceGuess(all, candidates);
+            }
+        }.check(rule);
+    }
+
+    /**
+     * Ermittelt die zu ratende Kombination durch vollständige Zählung, ohne Reduktion auf Repräsentanten.
+     * 
+     * @param all
+     *            Alle Kombinationen, aufsteigend sortiert.
+     * @param candidates
+     *            Die Kandidaten.
+     * @return Der kleinste Kandidat mit den meisten Antworten, oder ansonsten die kleinste Kombination.
+     */
+    private SpielKombination getReferenceGuess(final List<SpielKombination> all,
+            final List<SpielKombination> candidates) {
+        int maxResponseCount = 0;
+        SpielKombination result = null;
+        for (SpielKombination guess : all) {
+            final Set<Integer> responses = new HashSet<Integer>();
+            for (SpielKombination candidate : candidates) {
+                responses.add(calculator.berechneErgebnisCode(candidate, guess));
+            }
+            if (responses.size() > maxResponseCount || responses.size() == maxResponseCount
+                    && !candidates.contains(result) && candidates.contains(guess)) {
+                maxResponseCount = responses.size();
+                result = guess;
+            }
+        }
+        return result;
+    }
+}
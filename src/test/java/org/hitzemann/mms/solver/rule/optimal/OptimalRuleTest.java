@@ -0,0 +1,188 @@
+package org.hitzemann.mms.solver.rule.optimal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.hitzemann.mms.model.DefaultSpielKombinationFactory;
+import org.hitzemann.mms.model.ErgebnisKombination;
+import org.hitzemann.mms.model.KombinationsRaum;
+import org.hitzemann.mms.model.SpielKombination;
+import org.hitzemann.mms.model.SpielKonfiguration;
+import org.hitzemann.mms.solver.IErgebnisBerechnung;
+import org.hitzemann.mms.solver.LinearerErgebnisBerechner;
+import org.hitzemann.mms.solver.rule.DecisionTree;
+import org.hitzemann.mms.solver.rule.minimax.MinimaxRule;
+import org.junit.Test;
+
+/**
+ * Tests für {@link OptimalRule}.
+ * 
+ * @author chschu
+ */
+public final class OptimalRuleTest {
+
+    /**
+     * Test der minimalen Summe der Züge gegen eine vollständige Suche ohne Schranken.
+     */
+    @Test
+    public void testGegenVollstaendigeSuche() {
+        assertOptimal(new SpielKonfiguration(2, 4, true));
+        assertOptimal(new SpielKonfiguration(3, 3, true));
+        assertOptimal(new SpielKonfiguration(2, 5, false));
+    }
+
+    /**
+     * Test dass der Entscheidungsbaum der Regel die minimale Summe der Züge erreicht und nicht schlechter ist als die
+     * {@link MinimaxRule}.
+     */
+    @Test
+    public void testEntscheidungsbaum() {
+        final SpielKonfiguration configuration = new SpielKonfiguration(3, 5, true);
+        final IErgebnisBerechnung calculator = new LinearerErgebnisBerechner(configuration);
+        final KombinationsRaum space = KombinationsRaum.getInstance(configuration);
+        final OptimalRule rule = new OptimalRule(calculator, new DefaultSpielKombinationFactory(), configuration);
+
+        final int optimal = countGuesses(DecisionTree.compile(rule, space, calculator));
+        assertEquals(rule.getTotalGuessCount(space.getAlle()), optimal);
+        final int minimax = countGuesses(DecisionTree.compile(new MinimaxRule(calculator,
+                new DefaultSpielKombinationFactory(), configuration), space, calculator));
+        assertTrue(optimal <= minimax);
+    }
+
+    /**
+     * Test dass die parallele Suche den gleichen Entscheidungsbaum liefert wie die serielle Suche.
+     * 
+     * @throws IOException
+     *             Unerwarteter Fehler.
+     */
+    @Test
+    public void testParallel() throws IOException {
+        final SpielKonfiguration configuration = new SpielKonfiguration(3, 5, true);
+        final IErgebnisBerechnung calculator = new LinearerErgebnisBerechner(configuration);
+        final KombinationsRaum space = KombinationsRaum.getInstance(configuration);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final ByteArrayOutputStream serial = new ByteArrayOutputStream();
+            DecisionTree.compile(new OptimalRule(calculator, new DefaultSpielKombinationFactory(), configuration),
+                    space, calculator).write(serial);
+            final ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+            DecisionTree.compile(
+                    new OptimalRule(calculator, new DefaultSpielKombinationFactory(), configuration, executor), space,
+                    calculator).write(parallel);
+            assertArrayEquals(serial.toByteArray(), parallel.toByteArray());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test für die bei leerer Kandidatenmenge zu werfende {@link IllegalArgumentException}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testKeineKandidaten() {
+        new OptimalRule(new LinearerErgebnisBerechner(), new DefaultSpielKombinationFactory(), 1)
+                .getGuess(new ArrayList<SpielKombination>());
+    }
+
+    /**
+     * Test für die bei zu großen Ergebnis-Codes zu werfende {@link IllegalArgumentException}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testZuVielePins() {
+        new OptimalRule(new LinearerErgebnisBerechner(), new DefaultSpielKombinationFactory(), new SpielKonfiguration(
+                22, 1, true));
+    }
+
+    /**
+     * Vergleicht die minimale Summe der Züge für alle Kombinationen einer Spielvariante mit einer vollständigen Suche.
+     * 
+     * @param configuration
+     *            Die Spielvariante.
+     */
+    private static void assertOptimal(final SpielKonfiguration configuration) {
+        final IErgebnisBerechnung calculator = new LinearerErgebnisBerechner(configuration);
+        final List<SpielKombination> all = KombinationsRaum.getInstance(configuration).getAlle();
+        final OptimalRule rule = new OptimalRule(calculator, new DefaultSpielKombinationFactory(), configuration);
+        assertEquals(bruteForce(all, all, calculator, new HashMap<List<SpielKombination>, Integer>()),
+                rule.getTotalGuessCount(all));
+    }
+
+    /**
+     * Berechnet die minimale Summe der Züge durch Ausprobieren aller Kombinationen.
+     * 
+     * @param candidates
+     *            Die Kandidaten in aufsteigender Reihenfolge.
+     * @param all
+     *            Alle Kombinationen.
+     * @param calculator
+     *            Die zu verwendende Implementierung von {@link IErgebnisBerechnung}.
+     * @param known
+     *            Die bereits berechneten Ergebnisse.
+     * @return Die minimale Summe der Züge.
+     */
+    private static int bruteForce(final List<SpielKombination> candidates, final List<SpielKombination> all,
+            final IErgebnisBerechnung calculator, final Map<List<SpielKombination>, Integer> known) {
+        if (candidates.size() == 1) {
+            return 1;
+        }
+        final Integer cached = known.get(candidates);
+        if (cached != null) {
+            return cached;
+        }
+        int best = Integer.MAX_VALUE;
+        for (SpielKombination guess : all) {
+            final Map<ErgebnisKombination, List<SpielKombination>> parts =
+                    new HashMap<ErgebnisKombination, List<SpielKombination>>();
+            for (SpielKombination candidate : candidates) {
+                final ErgebnisKombination response = calculator.berechneErgebnis(candidate, guess);
+                if (!parts.containsKey(response)) {
+                    parts.put(response, new ArrayList<SpielKombination>());
+                }
+                parts.get(response).add(candidate);
+            }
+            if (parts.size() == 1 && !candidates.contains(guess)) {
+                continue;
+            }
+            int total = candidates.size();
+            for (List<SpielKombination> part : parts.values()) {
+                if (!part.contains(guess)) {
+                    total += bruteForce(part, all, calculator, known);
+                }
+            }
+            best = Math.min(best, total);
+        }
+        known.put(candidates, best);
+        return best;
+    }
+
+    /**
+     * Zählt die Summe der Züge eines Entscheidungsbaums für alle geheimen Kombinationen.
+     * 
+     * @param tree
+     *            Der Entscheidungsbaum.
+     * @return Die Summe der Züge.
+     */
+    private static int countGuesses(final DecisionTree tree) {
+        final IErgebnisBerechnung calculator = new LinearerErgebnisBerechner(tree.getSpace().getKonfiguration());
+        int total = 0;
+        for (SpielKombination secret : tree.getSpace().getAlle()) {
+            int node = DecisionTree.ROOT;
+            total++;
+            while (!tree.getGuess(node).equals(secret)) {
+                node = tree.getChild(node, calculator.berechneErgebnisCode(secret, tree.getGuess(node)));
+                total++;
+            }
+        }
+        return total;
+    }
+}